@@ -7,6 +7,16 @@ import com.brandkit.admin.entity.AdminRole;
 import com.brandkit.admin.service.*;
 import com.brandkit.auth.entity.User;
 import com.brandkit.auth.security.CurrentUser;
+import com.brandkit.order.service.OrderTransitionService;
+import com.brandkit.order.service.OrderViewCache;
+import com.brandkit.order.service.OutboxRelayService;
+import com.brandkit.order.service.PaymentTimeoutService;
+import com.brandkit.partner.service.PartnerPerformanceBatchService;
+import com.brandkit.partner.service.PartnerEventService;
+import com.brandkit.partner.service.PartnerNotificationService;
+import com.brandkit.partner.service.PartnerNotificationWriter;
+import com.brandkit.partner.service.PartnerUnreadCountCache;
+import com.brandkit.partner.service.SettlementRunService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -20,6 +30,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -52,6 +63,39 @@ public class AdminPanelController {
     @Autowired
     private AdminAuditService auditService;
 
+    @Autowired
+    private PartitionMaintenanceService partitionMaintenanceService;
+
+    @Autowired
+    private PartnerPerformanceBatchService partnerPerformanceBatchService;
+
+    @Autowired
+    private SettlementRunService settlementRunService;
+
+    @Autowired
+    private PartnerEventService partnerEventService;
+
+    @Autowired
+    private PartnerNotificationService partnerNotificationService;
+
+    @Autowired
+    private PartnerNotificationWriter partnerNotificationWriter;
+
+    @Autowired
+    private PartnerUnreadCountCache partnerUnreadCountCache;
+
+    @Autowired
+    private PaymentTimeoutService paymentTimeoutService;
+
+    @Autowired
+    private OrderViewCache orderViewCache;
+
+    @Autowired
+    private OrderTransitionService orderTransitionService;
+
+    @Autowired
+    private OutboxRelayService outboxRelayService;
+
     // ============================================================================
     // SUB-PROMPT 1: Admin Role-Based Access Control
     // ============================================================================
@@ -339,4 +383,239 @@ public class AdminPanelController {
         // Default: return all logs
         return ResponseEntity.ok(auditService.searchLogs("", pageable));
     }
+
+    // ============================================================================
+    // PARTITION MAINTENANCE
+    // ============================================================================
+
+    /**
+     * Get partition status for the history tables
+     * GET /api/admin/partitions
+     */
+    @GetMapping("/partitions")
+    @Operation(summary = "Get partition status", description = "Monthly partitions of the history and audit tables")
+    public ResponseEntity<Map<String, Object>> getPartitionStats() {
+        return ResponseEntity.ok(partitionMaintenanceService.getStats());
+    }
+
+    /**
+     * Create upcoming partitions and archive expired ones now
+     * POST /api/admin/partitions/maintenance
+     */
+    @PostMapping("/partitions/maintenance")
+    @Operation(summary = "Run partition maintenance", description = "Create upcoming partitions and archive expired ones")
+    public ResponseEntity<?> runPartitionMaintenance() {
+        int changed = partitionMaintenanceService.runMaintenance();
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "data", Map.of("partitionsChanged", changed)
+        ));
+    }
+
+    // ============================================================================
+    // PARTNER PERFORMANCE BATCH
+    // ============================================================================
+
+    /**
+     * Get partner performance batch status
+     * GET /api/admin/partner-performance
+     */
+    @GetMapping("/partner-performance")
+    @Operation(summary = "Get performance batch status", description = "Nightly partner metrics recalculation")
+    public ResponseEntity<Map<String, Object>> getPartnerPerformanceStats() {
+        return ResponseEntity.ok(partnerPerformanceBatchService.getStats());
+    }
+
+    /**
+     * Recalculate every partner's performance metrics now
+     * POST /api/admin/partner-performance/recalculate
+     */
+    @PostMapping("/partner-performance/recalculate")
+    @Operation(summary = "Recalculate partner metrics", description = "Recalculate performance metrics for all partners")
+    public ResponseEntity<?> recalculatePartnerPerformance() {
+        long recalculated = partnerPerformanceBatchService.recalculateAll();
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "data", Map.of("partnersRecalculated", recalculated)
+        ));
+    }
+
+    // ============================================================================
+    // SETTLEMENT RUNS
+    // ============================================================================
+
+    /**
+     * Get settlement run status and recent runs
+     * GET /api/admin/settlement-runs
+     */
+    @GetMapping("/settlement-runs")
+    @Operation(summary = "Get settlement runs", description = "Monthly settlement run status and recent runs")
+    public ResponseEntity<Map<String, Object>> getSettlementRunStats() {
+        return ResponseEntity.ok(settlementRunService.getStats());
+    }
+
+    /**
+     * Run or resume the settlement of a past month now
+     * POST /api/admin/settlement-runs?period=2024-01
+     */
+    @PostMapping("/settlement-runs")
+    @Operation(summary = "Run monthly settlement", description = "Run or resume the settlement of a past month")
+    public ResponseEntity<?> runSettlement(@RequestParam YearMonth period) {
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "data", settlementRunService.runSettlement(period)
+        ));
+    }
+
+    /**
+     * Reset the attempts of partners that failed a month's run and resume it
+     * POST /api/admin/settlement-runs/retry-failed?period=2024-01
+     */
+    @PostMapping("/settlement-runs/retry-failed")
+    @Operation(summary = "Retry failed settlement partners",
+               description = "Reset partners that used up their attempts and resume the run")
+    public ResponseEntity<?> retryFailedSettlementPartners(@RequestParam YearMonth period) {
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "data", settlementRunService.retryFailedPartners(period)
+        ));
+    }
+
+    // ============================================================================
+    // PARTNER EVENTS
+    // ============================================================================
+
+    /**
+     * Get partner push channel stats
+     * GET /api/admin/partner-events
+     */
+    @GetMapping("/partner-events")
+    @Operation(summary = "Get partner event stats", description = "Open partner connections and event delivery counters")
+    public ResponseEntity<Map<String, Object>> getPartnerEventStats() {
+        return ResponseEntity.ok(partnerEventService.getStats());
+    }
+
+    // ============================================================================
+    // PARTNER NOTIFICATIONS
+    // ============================================================================
+
+    /**
+     * Get partner notification writer and unread count cache stats
+     * GET /api/admin/partner-notifications
+     */
+    @GetMapping("/partner-notifications")
+    @Operation(summary = "Get partner notification stats", description = "Notification write queue and unread count cache")
+    public ResponseEntity<Map<String, Object>> getPartnerNotificationStats() {
+        return ResponseEntity.ok(Map.of(
+                "writer", partnerNotificationWriter.getStats(),
+                "unreadCounts", partnerUnreadCountCache.getStats()
+        ));
+    }
+
+    /**
+     * Send an announcement to every active partner
+     * POST /api/admin/partner-notifications/broadcast
+     */
+    @PostMapping("/partner-notifications/broadcast")
+    @Operation(summary = "Broadcast to partners", description = "Send a notification to every active partner")
+    public ResponseEntity<?> broadcastPartnerNotification(@RequestBody Map<String, String> request,
+                                                          @CurrentUser User currentUser) {
+        String title = request.get("title");
+        String message = request.get("message");
+        if (title == null || title.isBlank() || title.length() > 200 || message == null || message.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "status", "error",
+                    "message", "Title (up to 200 characters) and message are required"
+            ));
+        }
+        int notified = partnerNotificationService.broadcast(title, message);
+        auditService.logAction(
+                currentUser,
+                "BROADCAST_PARTNER_NOTIFICATION",
+                "PARTNER_NOTIFICATION",
+                null,
+                null,
+                Map.of("title", title, "message", message, "partnersNotified", notified)
+        );
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "data", Map.of("partnersNotified", notified)
+        ));
+    }
+
+    // ============================================================================
+    // ORDER PROCESSING
+    // ============================================================================
+
+    /**
+     * Get payment timeout sweeper stats
+     * GET /api/admin/payment-timeouts
+     */
+    @GetMapping("/payment-timeouts")
+    @Operation(summary = "Get payment timeout stats", description = "Expired pending-payment sweeper backlog and lag")
+    public ResponseEntity<Map<String, Object>> getPaymentTimeoutStats() {
+        return ResponseEntity.ok(paymentTimeoutService.getStats());
+    }
+
+    /**
+     * Get order view cache stats
+     * GET /api/admin/order-view-cache
+     */
+    @GetMapping("/order-view-cache")
+    @Operation(summary = "Get order view cache stats", description = "Order detail cache hits, misses and evictions")
+    public ResponseEntity<Map<String, Object>> getOrderViewCacheStats() {
+        return ResponseEntity.ok(orderViewCache.getStats());
+    }
+
+    /**
+     * Get order status transition stats
+     * GET /api/admin/order-transitions
+     */
+    @GetMapping("/order-transitions")
+    @Operation(summary = "Get order transition stats", description = "Applied transitions, conflicts and exhausted retries")
+    public ResponseEntity<Map<String, Object>> getOrderTransitionStats() {
+        return ResponseEntity.ok(orderTransitionService.getStats());
+    }
+
+    /**
+     * Get order event outbox stats
+     * GET /api/admin/order-outbox
+     */
+    @GetMapping("/order-outbox")
+    @Operation(summary = "Get order outbox stats", description = "Pending, dead-lettered and relayed order events")
+    public ResponseEntity<Map<String, Object>> getOrderOutboxStats() {
+        return ResponseEntity.ok(outboxRelayService.getStats());
+    }
+
+    /**
+     * Retry a dead-lettered order event
+     * POST /api/admin/order-outbox/:eventId/requeue
+     */
+    @PostMapping("/order-outbox/{eventId}/requeue")
+    @Operation(summary = "Requeue order event", description = "Retry a dead-lettered outbox event")
+    public ResponseEntity<Void> requeueOrderOutboxEvent(@PathVariable Long eventId,
+                                                        @CurrentUser User currentUser) {
+        if (!outboxRelayService.requeue(eventId)) {
+            return ResponseEntity.notFound().build();
+        }
+        auditService.logAction(currentUser, "REQUEUE_OUTBOX_EVENT", "OUTBOX_EVENT", null, null,
+                Map.of("eventId", eventId));
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Discard a dead-lettered order event, releasing later events for its order
+     * POST /api/admin/order-outbox/:eventId/discard
+     */
+    @PostMapping("/order-outbox/{eventId}/discard")
+    @Operation(summary = "Discard order event", description = "Drop a dead-lettered outbox event")
+    public ResponseEntity<Void> discardOrderOutboxEvent(@PathVariable Long eventId,
+                                                        @CurrentUser User currentUser) {
+        if (!outboxRelayService.discard(eventId)) {
+            return ResponseEntity.notFound().build();
+        }
+        auditService.logAction(currentUser, "DISCARD_OUTBOX_EVENT", "OUTBOX_EVENT", null, null,
+                Map.of("eventId", eventId));
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -11,6 +11,7 @@ import com.brandkit.auth.repository.UserRepository;
 import com.brandkit.auth.repository.UserSessionRepository;
 import com.brandkit.auth.security.CurrentUser;
 import com.brandkit.auth.service.AuthService;
+import com.brandkit.catalog.service.PartnerLookupService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -54,6 +55,9 @@ public class AdminUserController {
     @Autowired
     private AdminAuditService auditService;
 
+    @Autowired
+    private PartnerLookupService partnerLookupService;
+
     /**
      * GET /api/admin/users
      * FRD-006 FR-68: User list with filtering and pagination
@@ -124,6 +128,9 @@ public class AdminUserController {
         UserStatus oldStatus = user.getStatus();
         user.setStatus(newStatus);
         userRepository.save(user);
+        if (user.getUserType() == UserType.PARTNER) {
+            partnerLookupService.evict(user.getEmail());
+        }
 
         // If deactivating, invalidate all sessions
         if (newStatus == UserStatus.INACTIVE) {
@@ -0,0 +1,29 @@
+package com.brandkit.admin.scheduler;
+
+import com.brandkit.admin.service.PartitionMaintenanceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Partition Maintenance Scheduler
+ *
+ * FRD-006: Creates upcoming monthly partitions and archives expired ones
+ * Disable with app.partitions.maintenance-enabled=false
+ */
+@Component
+@ConditionalOnProperty(name = "app.partitions.maintenance-enabled", havingValue = "true", matchIfMissing = true)
+public class PartitionMaintenanceScheduler {
+
+    @Autowired
+    private PartitionMaintenanceService partitionMaintenanceService;
+
+    /**
+     * Run nightly by default; creating partitions months ahead leaves plenty of slack
+     */
+    @Scheduled(cron = "${app.partitions.maintenance-cron:0 30 2 * * *}")
+    public void runMaintenance() {
+        partitionMaintenanceService.runMaintenance();
+    }
+}
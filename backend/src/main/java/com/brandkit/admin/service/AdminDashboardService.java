@@ -52,7 +52,7 @@ public class AdminDashboardService {
     @Transactional(readOnly = true)
     public DashboardSummaryResponse getDashboardSummary() {
         ZonedDateTime now = ZonedDateTime.now();
-        ZonedDateTime startOfMonth = now.withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
+        ZonedDateTime startOfMonth = now.withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
         ZonedDateTime startOfLastMonth = startOfMonth.minusMonths(1);
 
         return DashboardSummaryResponse.builder()
@@ -104,11 +104,12 @@ public class AdminDashboardService {
      */
     private ChartsData getChartsData(ZonedDateTime now) {
         LocalDate today = now.toLocalDate();
-        LocalDate thirtyDaysAgo = today.minusDays(30);
+        ZonedDateTime trendStart = today.minusDays(30).atStartOfDay(now.getZone());
+        ZonedDateTime trendEnd = today.plusDays(1).atStartOfDay(now.getZone());
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
         // Revenue trend (last 30 days)
-        List<TrendDataPoint> revenueTrend = orderRepository.getDailyRevenueTrend(thirtyDaysAgo, today)
+        List<TrendDataPoint> revenueTrend = orderRepository.getDailyRevenueTrend(trendStart, trendEnd)
                 .stream()
                 .map(row -> TrendDataPoint.builder()
                         .date(((java.sql.Date) row[0]).toLocalDate().format(formatter))
@@ -117,7 +118,7 @@ public class AdminDashboardService {
                 .collect(Collectors.toList());
 
         // Orders trend (last 30 days)
-        List<TrendDataPoint> ordersTrend = orderRepository.getDailyOrdersTrend(thirtyDaysAgo, today)
+        List<TrendDataPoint> ordersTrend = orderRepository.getDailyOrdersTrend(trendStart, trendEnd)
                 .stream()
                 .map(row -> TrendDataPoint.builder()
                         .date(((java.sql.Date) row[0]).toLocalDate().format(formatter))
@@ -10,13 +10,18 @@ import com.brandkit.admin.entity.CommissionTier;
 import com.brandkit.admin.repository.CommissionConfigRepository;
 import com.brandkit.auth.entity.User;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Service for commission configuration management
@@ -25,6 +30,12 @@ import java.util.UUID;
  * - Default commission rate
  * - Tiered commission by order value
  * - Partner-specific commission overrides
+ *
+ * Rate lookups never touch the database: the default config's tiers are compiled
+ * into an immutable TierTable held in an atomic reference, swapped after a config
+ * change commits and reloaded every app.commission.refresh-interval-ms so other
+ * instances pick changes up. Settlement, dashboards and previews all resolve
+ * rates here.
  */
 @Service
 public class CommissionService {
@@ -36,6 +47,69 @@ public class CommissionService {
     @Autowired
     private AdminAuditService auditService;
 
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    /**
+     * Used until a default config exists: 10% below ₹10,000, 12% up to ₹50,000, 15% above
+     */
+    private static final TierTable BUILT_IN_TIERS = new TierTable(
+            new BigDecimal[] {BigDecimal.ZERO, new BigDecimal(10000), new BigDecimal(50000)},
+            new BigDecimal[] {new BigDecimal("10.00"), new BigDecimal("12.00"), new BigDecimal("15.00")});
+
+    private final AtomicReference<TierTable> tierTable = new AtomicReference<>();
+
+    /**
+     * Commission tiers compiled for lookup: ascending lower bounds with their rates.
+     * A tier runs up to the next tier's lower bound (so fractional amounts between a
+     * tier's max and the next min fall into the lower tier), and the last tier is
+     * open-ended even if a max was configured on it. Lookup is a binary search over
+     * shared BigDecimals and allocates nothing.
+     */
+    static final class TierTable {
+        private final BigDecimal[] lowerBounds;
+        private final BigDecimal[] rates;
+
+        TierTable(BigDecimal[] lowerBounds, BigDecimal[] rates) {
+            this.lowerBounds = lowerBounds;
+            this.rates = rates;
+        }
+
+        static TierTable compile(List<CommissionTier> tiers) {
+            List<CommissionTier> sorted = tiers.stream()
+                    .sorted(Comparator.comparing(CommissionTier::getMinOrderValue))
+                    .toList();
+            if (sorted.isEmpty()) {
+                return BUILT_IN_TIERS;
+            }
+            BigDecimal[] lowerBounds = new BigDecimal[sorted.size()];
+            BigDecimal[] rates = new BigDecimal[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                lowerBounds[i] = sorted.get(i).getMinOrderValue();
+                rates[i] = sorted.get(i).getCommissionPercentage();
+            }
+            return new TierTable(lowerBounds, rates);
+        }
+
+        /**
+         * Rate of the tier containing the amount, or null if it is below the first tier
+         */
+        BigDecimal rateFor(BigDecimal amount) {
+            int low = 0;
+            int high = lowerBounds.length - 1;
+            int match = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (lowerBounds[mid].compareTo(amount) <= 0) {
+                    match = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return match >= 0 ? rates[match] : null;
+        }
+    }
+
     /**
      * Get the default commission configuration
      */
@@ -109,6 +183,7 @@ public class CommissionService {
         }
 
         config = configRepository.save(config);
+        refreshAfterCommit();
 
         // Log the action
         auditService.logAction(
@@ -170,6 +245,7 @@ public class CommissionService {
         }
 
         config = configRepository.save(config);
+        refreshAfterCommit();
 
         // Log the action
         auditService.logAction(
@@ -187,19 +263,23 @@ public class CommissionService {
     }
 
     /**
-     * Calculate commission rate for an order
+     * Calculate commission rate for an order from the default config's tiers
      */
-    @Transactional(readOnly = true)
     public BigDecimal calculateCommissionRate(BigDecimal orderAmount) {
-        CommissionConfig config = configRepository.findDefaultConfigWithTiers()
-                .orElseThrow(() -> new IllegalStateException("Default commission config not found"));
+        TierTable table = tierTable.get();
+        if (table == null) {
+            table = loadTiers();
+        }
 
-        // Find matching tier
-        return config.getTiers().stream()
-                .filter(tier -> tier.contains(orderAmount))
-                .findFirst()
-                .map(CommissionTier::getCommissionPercentage)
-                .orElse(BigDecimal.valueOf(12.00)); // Default 12%
+        BigDecimal rate = table.rateFor(orderAmount);
+        return rate != null ? rate : BUILT_IN_TIERS.rateFor(orderAmount);
+    }
+
+    /**
+     * Commission rate for a partner's order: the partner's own rate if set, the tiers otherwise
+     */
+    public BigDecimal resolveCommissionRate(BigDecimal orderAmount, BigDecimal partnerRate) {
+        return partnerRate != null ? partnerRate : calculateCommissionRate(orderAmount);
     }
 
     /**
@@ -207,7 +287,37 @@ public class CommissionService {
      */
     public BigDecimal calculateCommissionAmount(BigDecimal orderAmount) {
         BigDecimal rate = calculateCommissionRate(orderAmount);
-        return orderAmount.multiply(rate).divide(BigDecimal.valueOf(100), 2, BigDecimal.ROUND_HALF_UP);
+        return orderAmount.multiply(rate).divide(HUNDRED, 2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Reload and compile the default config's tiers
+     */
+    @Scheduled(fixedDelayString = "${app.commission.refresh-interval-ms:300000}",
+               initialDelayString = "${app.commission.refresh-interval-ms:300000}")
+    public void refresh() {
+        loadTiers();
+    }
+
+    private TierTable loadTiers() {
+        TierTable table = configRepository.findDefaultConfigWithTiers()
+                .map(config -> TierTable.compile(config.getTiers()))
+                .orElse(BUILT_IN_TIERS);
+        tierTable.set(table);
+        return table;
+    }
+
+    private void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                }
+            });
+        } else {
+            refresh();
+        }
     }
 
     /**
@@ -251,7 +361,7 @@ public class CommissionService {
         // Last tier should have no max (unlimited)
         CommissionTierRequest lastTier = sortedTiers.get(sortedTiers.size() - 1);
         if (lastTier.getMaxOrderValue() != null) {
-            log.warn("Last tier has max value set - should be unlimited for full coverage");
+            log.warn("Last tier has max value set - orders above it are charged the last tier's rate");
         }
     }
 }
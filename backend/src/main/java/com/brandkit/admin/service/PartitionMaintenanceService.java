@@ -0,0 +1,180 @@
+package com.brandkit.admin.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service for maintaining the monthly partitions of the history tables
+ *
+ * FRD-004 FR-46 / FRD-006 FR-75: order_status_history and admin_audit_logs are
+ * range-partitioned by month on created_at (see V15). Each run creates the
+ * partitions for the coming months, so inserts never fall into the default
+ * partition, and detaches months older than the retention window into the
+ * archive schema. Each table is maintained in its own transactions.
+ *
+ * If runs were missed and rows did land in the default partition, their months
+ * are partitioned first and the rows moved out (V25). A table whose default
+ * partition is still not empty afterwards counts as a failed run.
+ */
+@Service
+public class PartitionMaintenanceService {
+    private static final Logger log = LoggerFactory.getLogger(PartitionMaintenanceService.class);
+
+    static final List<String> PARTITIONED_TABLES = List.of("order_status_history", "admin_audit_logs");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.partitions.months-ahead:6}")
+    private int monthsAhead;
+
+    @Value("${app.partitions.retention-months:24}")
+    private int retentionMonths;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong partitionsCreated = new AtomicLong();
+    private final AtomicLong partitionsRecovered = new AtomicLong();
+    private final AtomicLong partitionsArchived = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile OffsetDateTime lastRunAt;
+    private volatile List<String> lastArchived = List.of();
+
+    /**
+     * Create upcoming partitions and archive expired ones for every partitioned table
+     *
+     * @return Number of partitions created plus archived
+     */
+    public int runMaintenance() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        LocalDate today = LocalDate.now();
+        LocalDate cutoff = today.withDayOfMonth(1).minusMonths(retentionMonths);
+        List<String> archived = new ArrayList<>();
+        int created = 0;
+        int recovered = 0;
+
+        try {
+            for (String table : PARTITIONED_TABLES) {
+                try {
+                    int tableRecovered = transactionTemplate.execute(status -> partitionDefaultRows(table));
+                    if (tableRecovered > 0) {
+                        log.warn("Moved rows of {} month(s) out of {}_default into new partitions", tableRecovered, table);
+                        recovered += tableRecovered;
+                    }
+                    created += transactionTemplate.execute(status -> createPartitions(table, today));
+                    long stuck = transactionTemplate.execute(status -> countDefaultRows(table));
+                    if (stuck > 0) {
+                        throw new IllegalStateException(stuck + " rows remain in " + table + "_default");
+                    }
+                    if (retentionMonths > 0) {
+                        archived.addAll(transactionTemplate.execute(status -> archivePartitions(table, cutoff)));
+                    }
+                } catch (RuntimeException e) {
+                    failures.incrementAndGet();
+                    log.error("Partition maintenance failed for {}", table, e);
+                }
+            }
+
+            if (created > 0 || !archived.isEmpty()) {
+                log.info("Partition maintenance created {} partitions, archived {}", created, archived);
+            }
+        } finally {
+            partitionsCreated.addAndGet(created + recovered);
+            partitionsRecovered.addAndGet(recovered);
+            partitionsArchived.addAndGet(archived.size());
+            runs.incrementAndGet();
+            lastArchived = List.copyOf(archived);
+            lastRunAt = OffsetDateTime.now();
+            running.set(false);
+        }
+        return created + recovered + archived.size();
+    }
+
+    /**
+     * Partition counts per table plus rows that fell into the default partitions
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> tables = new LinkedHashMap<>();
+        for (String table : PARTITIONED_TABLES) {
+            Map<String, Object> tableStats = new HashMap<>();
+            tableStats.put("partitions", ((Number) entityManager.createNativeQuery(
+                    "SELECT COUNT(*) FROM pg_inherits i JOIN pg_class p ON p.oid = i.inhparent " +
+                    "WHERE p.relname = :table AND p.relnamespace = 'public'::regnamespace")
+                    .setParameter("table", table)
+                    .getSingleResult()).longValue());
+            tableStats.put("defaultPartitionRows", countDefaultRows(table));
+            tables.put(table, tableStats);
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("tables", tables);
+        stats.put("monthsAhead", monthsAhead);
+        stats.put("retentionMonths", retentionMonths);
+        stats.put("running", running.get());
+        stats.put("runs", runs.get());
+        stats.put("failures", failures.get());
+        stats.put("partitionsCreated", partitionsCreated.get());
+        stats.put("partitionsRecovered", partitionsRecovered.get());
+        stats.put("partitionsArchived", partitionsArchived.get());
+        stats.put("lastArchived", lastArchived);
+        stats.put("lastRunAt", lastRunAt != null ? lastRunAt.toString() : null);
+        return stats;
+    }
+
+    // ==================== Helper Methods ====================
+
+    private int partitionDefaultRows(String table) {
+        Number created = (Number) entityManager.createNativeQuery("SELECT partition_default_rows(:table)")
+                .setParameter("table", table)
+                .getSingleResult();
+        return created.intValue();
+    }
+
+    private long countDefaultRows(String table) {
+        return ((Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM " + table + "_default")
+                .getSingleResult()).longValue();
+    }
+
+    private int createPartitions(String table, LocalDate from) {
+        Number created = (Number) entityManager.createNativeQuery(
+                "SELECT create_monthly_partitions(:table, :from, :months)")
+                .setParameter("table", table)
+                .setParameter("from", from)
+                .setParameter("months", monthsAhead + 1)
+                .getSingleResult();
+        return created.intValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> archivePartitions(String table, LocalDate cutoff) {
+        return entityManager.createNativeQuery("SELECT archive_monthly_partitions(:table, :cutoff)")
+                .setParameter("table", table)
+                .setParameter("cutoff", cutoff)
+                .getResultList();
+    }
+}
@@ -39,6 +39,7 @@ public class AuthController {
     private Duration refreshTokenExpiry;
 
     private static final String REFRESH_TOKEN_COOKIE = "refreshToken";
+    private static final String GUEST_CART_COOKIE = "guest_cart";
 
     // ==================== SUB-PROMPT 2: REGISTRATION ====================
 
@@ -70,11 +71,16 @@ public class AuthController {
         String ipAddress = getClientIp(httpRequest);
         String userAgent = httpRequest.getHeader("User-Agent");
 
-        AuthResponse authResponse = authService.login(request, ipAddress, userAgent);
+        // FRD-004 FR-39: a guest cart is merged into the user's cart on login
+        String guestCartToken = getCookie(httpRequest, GUEST_CART_COOKIE);
+        AuthResponse authResponse = authService.login(request, ipAddress, userAgent, guestCartToken);
 
         // Store refresh token in HttpOnly cookie
         setRefreshTokenCookie(response, authResponse.getData().getRefreshToken(), 
                 Boolean.TRUE.equals(request.getRememberMe()));
+        if (guestCartToken != null) {
+            clearGuestCartCookie(response);
+        }
 
         // Don't include refresh token in response body
         authResponse.getData().setRefreshToken(null);
@@ -179,16 +185,29 @@ public class AuthController {
     }
 
     private String getRefreshTokenFromCookie(HttpServletRequest request) {
+        return getCookie(request, REFRESH_TOKEN_COOKIE);
+    }
+
+    private String getCookie(HttpServletRequest request, String name) {
         if (request.getCookies() == null) {
             return null;
         }
         return Arrays.stream(request.getCookies())
-                .filter(c -> REFRESH_TOKEN_COOKIE.equals(c.getName()))
+                .filter(c -> name.equals(c.getName()))
                 .findFirst()
                 .map(Cookie::getValue)
                 .orElse(null);
     }
 
+    private void clearGuestCartCookie(HttpServletResponse response) {
+        Cookie cookie = new Cookie(GUEST_CART_COOKIE, "");
+        cookie.setHttpOnly(true);
+        cookie.setSecure(true);
+        cookie.setPath("/api");
+        cookie.setMaxAge(0);
+        response.addCookie(cookie);
+    }
+
     private void setRefreshTokenCookie(HttpServletResponse response, String token, boolean rememberMe) {
         Cookie cookie = new Cookie(REFRESH_TOKEN_COOKIE, token);
         cookie.setHttpOnly(true);
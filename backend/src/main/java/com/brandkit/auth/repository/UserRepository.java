@@ -12,6 +12,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -124,4 +126,10 @@ public interface UserRepository extends JpaRepository<User, UUID> {
      * Check if email exists (case-sensitive version)
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Storage URLs from the given set that user profiles still reference
+     */
+    @Query("SELECT u.profilePictureUrl FROM User u WHERE u.profilePictureUrl IN :urls")
+    List<String> findReferencedUrls(@Param("urls") Collection<String> urls);
 }
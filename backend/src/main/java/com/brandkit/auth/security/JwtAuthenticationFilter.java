@@ -49,8 +49,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 String email = claims.get("email", String.class);
                 String name = claims.get("name", String.class);
                 UserType role = UserType.valueOf(claims.get("role", String.class));
+                String partnerId = claims.get("partnerId", String.class);
 
-                UserPrincipal userPrincipal = UserPrincipal.fromClaims(userId, email, name, role);
+                UserPrincipal userPrincipal = UserPrincipal.fromClaims(userId, email, name, role,
+                        partnerId != null ? UUID.fromString(partnerId) : null);
 
                 UsernamePasswordAuthenticationToken authentication = 
                         new UsernamePasswordAuthenticationToken(
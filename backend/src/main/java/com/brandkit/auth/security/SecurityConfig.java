@@ -1,5 +1,6 @@
 package com.brandkit.auth.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -65,6 +66,9 @@ public class SecurityConfig {
             
             // Authorization rules
             .authorizeHttpRequests(auth -> auth
+                // Async dispatches of already authorized requests (partner event stream)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Public endpoints - no authentication required
                 .requestMatchers(
                     "/api/auth/register",
@@ -86,6 +90,9 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.GET, "/api/products/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/categories/**").permitAll()
                 .requestMatchers(HttpMethod.POST, "/api/products/*/calculate-price").permitAll()
+
+                // FRD-004 FR-39: Guest carts - identified by a signed cookie
+                .requestMatchers("/api/cart/guest/**").permitAll()
                 
                 // FRD-001 FR-8: Admin routes - ADMIN role only
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
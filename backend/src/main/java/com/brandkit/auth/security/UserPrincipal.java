@@ -23,6 +23,7 @@ public class UserPrincipal implements UserDetails {
     private String email;
     private String fullName;
     private UserType userType;
+    private UUID partnerId; // PARTNER users only, from the partnerId claim
     private boolean enabled;
     private boolean accountNonLocked;
 
@@ -38,11 +39,16 @@ public class UserPrincipal implements UserDetails {
     }
 
     public static UserPrincipal fromClaims(UUID id, String email, String name, UserType role) {
+        return fromClaims(id, email, name, role, null);
+    }
+
+    public static UserPrincipal fromClaims(UUID id, String email, String name, UserType role, UUID partnerId) {
         return UserPrincipal.builder()
                 .id(id)
                 .email(email)
                 .fullName(name)
                 .userType(role)
+                .partnerId(partnerId)
                 .enabled(true)
                 .accountNonLocked(true)
                 .build();
@@ -104,6 +110,9 @@ public class UserPrincipal implements UserDetails {
     public UserType getUserType() {
         return this.userType;
     }
+    public UUID getPartnerId() {
+        return this.partnerId;
+    }
     public boolean getEnabled() {
         return this.enabled;
     }
@@ -130,6 +139,7 @@ public class UserPrincipal implements UserDetails {
         private String email;
         private String fullName;
         private UserType userType;
+        private UUID partnerId;
         private boolean enabled;
         private boolean accountNonLocked;
 
@@ -156,6 +166,11 @@ public class UserPrincipal implements UserDetails {
             return this;
         }
 
+        public UserPrincipalBuilder partnerId(UUID partnerId) {
+            this.partnerId = partnerId;
+            return this;
+        }
+
         public UserPrincipalBuilder enabled(boolean enabled) {
             this.enabled = enabled;
             return this;
@@ -172,6 +187,7 @@ public class UserPrincipal implements UserDetails {
             instance.email = this.email;
             instance.fullName = this.fullName;
             instance.userType = this.userType;
+            instance.partnerId = this.partnerId;
             instance.enabled = this.enabled;
             instance.accountNonLocked = this.accountNonLocked;
             return instance;
@@ -6,6 +6,7 @@ import com.brandkit.auth.dto.*;
 import com.brandkit.auth.entity.*;
 import com.brandkit.auth.exception.AuthException;
 import com.brandkit.auth.repository.*;
+import com.brandkit.order.service.GuestCartService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -52,6 +53,8 @@ public class AuthService {
     private RateLimitService rateLimitService;
     @Autowired
     private CaptchaService captchaService;
+    @Autowired
+    private GuestCartService guestCartService;
 
     @Value("${app.tokens.email-verification-expiry}")
     private Duration emailVerificationExpiry;
@@ -206,6 +209,15 @@ public class AuthService {
      */
     @Transactional
     public AuthResponse login(LoginRequest request, String ipAddress, String userAgent) {
+        return login(request, ipAddress, userAgent, null);
+    }
+
+    /**
+     * Login, folding the visitor's guest cart (signed cookie token, may be null) into the user's cart
+     * FRD-004 FR-39
+     */
+    @Transactional
+    public AuthResponse login(LoginRequest request, String ipAddress, String userAgent, String guestCartToken) {
         String email = request.getEmail().toLowerCase().trim();
         log.info("Login attempt for: {}", email);
 
@@ -248,6 +260,7 @@ public class AuthService {
         userRepository.save(user);
 
         recordLoginAttempt(email, ipAddress, true);
+        mergeGuestCart(guestCartToken, user);
 
         // Generate tokens
         String accessToken = jwtService.generateAccessToken(user);
@@ -291,6 +304,21 @@ public class AuthService {
         }
     }
 
+    /**
+     * Merge the guest cart; a failure is logged and never fails the login
+     */
+    private void mergeGuestCart(String guestCartToken, User user) {
+        String sessionId = guestCartService.resolveSessionId(guestCartToken);
+        if (sessionId == null) {
+            return;
+        }
+        try {
+            guestCartService.mergeIntoUserCart(sessionId, user);
+        } catch (RuntimeException e) {
+            log.warn("Failed to merge guest cart into cart of user {}: {}", user.getId(), e.getMessage());
+        }
+    }
+
     private void handleFailedLogin(String email, String ipAddress) {
         rateLimitService.recordFailedAttempt(email, ipAddress);
         rateLimitService.incrementRateLimit(ipAddress);
@@ -4,7 +4,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.brandkit.auth.entity.User;
 import com.brandkit.auth.entity.UserSession;
+import com.brandkit.auth.entity.UserType;
 import com.brandkit.auth.repository.UserSessionRepository;
+import com.brandkit.catalog.service.PartnerLookupService;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -28,6 +30,7 @@ import java.util.UUID;
  * - Refresh token extended: 30 days (for "Remember Me")
  * 
  * FRD-001 NFR-8: JWT tokens must include user ID, role, and expiry claims
+ * PARTNER tokens also carry the partnerId claim, so partner APIs need no lookup
  */
 @Service
 public class JwtService {
@@ -40,6 +43,7 @@ public class JwtService {
     private final Duration refreshTokenExtended;
     private final UserSessionRepository sessionRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PartnerLookupService partnerLookupService;
 
     public JwtService(
             @Value("${app.jwt.secret}") String secret,
@@ -48,7 +52,8 @@ public class JwtService {
             @Value("${app.jwt.refresh-token-expiry}") Duration refreshTokenExpiry,
             @Value("${app.jwt.refresh-token-extended}") Duration refreshTokenExtended,
             UserSessionRepository sessionRepository,
-            PasswordEncoder passwordEncoder) {
+            PasswordEncoder passwordEncoder,
+            PartnerLookupService partnerLookupService) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.issuer = issuer;
         this.accessTokenExpiry = accessTokenExpiry;
@@ -56,6 +61,7 @@ public class JwtService {
         this.refreshTokenExtended = refreshTokenExtended;
         this.sessionRepository = sessionRepository;
         this.passwordEncoder = passwordEncoder;
+        this.partnerLookupService = partnerLookupService;
     }
 
     /**
@@ -66,12 +72,19 @@ public class JwtService {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + accessTokenExpiry.toMillis());
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .issuer(issuer)
                 .subject(user.getId().toString())
                 .claim("email", user.getEmail())
                 .claim("role", user.getUserType().name())
-                .claim("name", user.getFullName())
+                .claim("name", user.getFullName());
+
+        if (user.getUserType() == UserType.PARTNER) {
+            partnerLookupService.findPartnerIdByEmail(user.getEmail())
+                    .ifPresent(partnerId -> builder.claim("partnerId", partnerId.toString()));
+        }
+
+        return builder
                 .issuedAt(now)
                 .expiration(expiry)
                 .signWith(secretKey, Jwts.SIG.HS256)
@@ -43,6 +43,9 @@ public class ProductImage {
     @Column(name = "file_size_bytes")
     private Integer fileSizeBytes;
 
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // SHA-256 of original image bytes
+
     @Column
     private Integer width;
 
@@ -80,6 +83,9 @@ public class ProductImage {
     public Integer getFileSizeBytes() {
         return this.fileSizeBytes;
     }
+    public String getContentHash() {
+        return this.contentHash;
+    }
     public Integer getWidth() {
         return this.width;
     }
@@ -116,6 +122,9 @@ public class ProductImage {
     public void setFileSizeBytes(Integer fileSizeBytes) {
         this.fileSizeBytes = fileSizeBytes;
     }
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
     public void setWidth(Integer width) {
         this.width = width;
     }
@@ -127,7 +136,7 @@ public class ProductImage {
     }
     public ProductImage() {
     }
-    public ProductImage(UUID id, Product product, String imageUrl, String thumbnailUrl, String mediumUrl, String altText, Integer displayOrder, Boolean isPrimary, Integer fileSizeBytes, Integer width, Integer height, ZonedDateTime createdAt) {
+    public ProductImage(UUID id, Product product, String imageUrl, String thumbnailUrl, String mediumUrl, String altText, Integer displayOrder, Boolean isPrimary, Integer fileSizeBytes, String contentHash, Integer width, Integer height, ZonedDateTime createdAt) {
         this.id = id;
         this.product = product;
         this.imageUrl = imageUrl;
@@ -137,6 +146,7 @@ public class ProductImage {
         this.displayOrder = displayOrder;
         this.isPrimary = isPrimary;
         this.fileSizeBytes = fileSizeBytes;
+        this.contentHash = contentHash;
         this.width = width;
         this.height = height;
         this.createdAt = createdAt;
@@ -155,6 +165,7 @@ public class ProductImage {
         private Integer displayOrder = 0;
         private Boolean isPrimary = false;
         private Integer fileSizeBytes;
+        private String contentHash;
         private Integer width;
         private Integer height;
         private ZonedDateTime createdAt;
@@ -207,6 +218,11 @@ public class ProductImage {
             return this;
         }
 
+        public ProductImageBuilder contentHash(String contentHash) {
+            this.contentHash = contentHash;
+            return this;
+        }
+
         public ProductImageBuilder width(Integer width) {
             this.width = width;
             return this;
@@ -233,6 +249,7 @@ public class ProductImage {
             instance.displayOrder = this.displayOrder;
             instance.isPrimary = this.isPrimary;
             instance.fileSizeBytes = this.fileSizeBytes;
+            instance.contentHash = this.contentHash;
             instance.width = this.width;
             instance.height = this.height;
             instance.createdAt = this.createdAt;
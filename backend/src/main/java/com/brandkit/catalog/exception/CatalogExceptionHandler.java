@@ -65,6 +65,7 @@ public class CatalogExceptionHandler {
             case "CAT_010" -> HttpStatus.PAYLOAD_TOO_LARGE;    // Image too large
             case "CAT_013" -> HttpStatus.NOT_FOUND;            // Partner not found
             case "CAT_014" -> HttpStatus.FORBIDDEN;            // Inactive product
+            case "CAT_015" -> HttpStatus.INTERNAL_SERVER_ERROR; // Image storage failed
             default -> HttpStatus.INTERNAL_SERVER_ERROR;
         };
     }
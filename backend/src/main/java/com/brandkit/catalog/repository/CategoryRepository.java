@@ -2,8 +2,11 @@ package com.brandkit.catalog.repository;
 
 import com.brandkit.catalog.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,4 +27,10 @@ public interface CategoryRepository extends JpaRepository<Category, UUID> {
     boolean existsBySlug(String slug);
     
     boolean existsByName(String name);
+
+    /**
+     * Storage URLs from the given set that categories still reference
+     */
+    @Query("SELECT c.imageUrl FROM Category c WHERE c.imageUrl IN :urls")
+    List<String> findReferencedUrls(@Param("urls") Collection<String> urls);
 }
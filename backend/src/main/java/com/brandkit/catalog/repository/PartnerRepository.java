@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,6 +23,12 @@ import java.util.UUID;
 public interface PartnerRepository extends JpaRepository<Partner, UUID> {
     
     Optional<Partner> findByEmail(String email);
+
+    /**
+     * Find partner ID by email, without loading the partner
+     */
+    @Query("SELECT p.id FROM Partner p WHERE p.email = :email")
+    Optional<UUID> findIdByEmail(@Param("email") String email);
     
     List<Partner> findByStatus(UserStatus status);
     
@@ -62,6 +69,12 @@ public interface PartnerRepository extends JpaRepository<Partner, UUID> {
      */
     Page<Partner> findAllByOrderByCreatedAtDesc(Pageable pageable);
 
+    /**
+     * Next chunk of partner IDs in ID order, for batch jobs (keyset paging)
+     */
+    @Query(value = "SELECT id FROM partners WHERE id > :afterId ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<UUID> findIdsAfter(@Param("afterId") UUID afterId, @Param("limit") int limit);
+
     /**
      * Find partners by status
      */
@@ -83,4 +96,10 @@ public interface PartnerRepository extends JpaRepository<Partner, UUID> {
      */
     @Query(value = "SELECT * FROM partners p WHERE p.status = 'ACTIVE' AND :category = ANY(p.categories)", nativeQuery = true)
     List<Partner> findActivePartnersByCategory(@Param("category") String category);
+
+    /**
+     * Storage URLs from the given set that partner profiles still reference
+     */
+    @Query("SELECT p.profilePictureUrl FROM Partner p WHERE p.profilePictureUrl IN :urls")
+    List<String> findReferencedUrls(@Param("urls") Collection<String> urls);
 }
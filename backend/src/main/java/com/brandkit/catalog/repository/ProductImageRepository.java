@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -30,8 +31,23 @@ public interface ProductImageRepository extends JpaRepository<ProductImage, UUID
     @Query("DELETE FROM ProductImage pi WHERE pi.product.id = :productId")
     void deleteByProductId(@Param("productId") UUID productId);
     
+    /**
+     * Images for many products at once, in display order
+     */
+    @Query("SELECT pi FROM ProductImage pi WHERE pi.product.id IN :productIds ORDER BY pi.displayOrder ASC")
+    List<ProductImage> findByProductIds(@Param("productIds") Collection<UUID> productIds);
+
     long countByProductId(UUID productId);
     
     @Query("SELECT MAX(pi.displayOrder) FROM ProductImage pi WHERE pi.product.id = :productId")
     Integer findMaxDisplayOrder(@Param("productId") UUID productId);
+
+    /**
+     * Storage URLs from the given set that product images still reference
+     */
+    @Query(value = "SELECT image_url FROM product_images WHERE image_url IN (:urls) " +
+           "UNION SELECT thumbnail_url FROM product_images WHERE thumbnail_url IN (:urls) " +
+           "UNION SELECT medium_url FROM product_images WHERE medium_url IN (:urls)",
+           nativeQuery = true)
+    List<String> findReferencedUrls(@Param("urls") Collection<String> urls);
 }
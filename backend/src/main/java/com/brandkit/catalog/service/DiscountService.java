@@ -44,6 +44,8 @@ public class DiscountService {
     private ProductRepository productRepository;
     @Autowired
     private PartnerRepository partnerRepository;
+    @Autowired
+    private PartnerLookupService partnerLookupService;
 
     /**
      * Partner creates a discount proposal
@@ -56,10 +58,10 @@ public class DiscountService {
                 .orElseThrow(() -> new CatalogException("CAT_001", "Product not found"));
 
         // Validate partner owns the product
-        Partner partnerEntity = partnerRepository.findByEmail(partner.getEmail())
+        UUID partnerId = partnerLookupService.findPartnerIdByEmail(partner.getEmail())
                 .orElseThrow(() -> new CatalogException("CAT_013", "Partner not found"));
 
-        if (product.getPartner() == null || !product.getPartner().getId().equals(partnerEntity.getId())) {
+        if (product.getPartner() == null || !product.getPartner().getId().equals(partnerId)) {
             throw new CatalogException("CAT_001", "You can only create discounts for your own products");
         }
 
@@ -86,7 +88,7 @@ public class DiscountService {
         // Create discount
         ProductDiscount discount = ProductDiscount.builder()
                 .product(product)
-                .partner(partnerEntity)
+                .partner(partnerRepository.getReferenceById(partnerId))
                 .discountPercentage(request.getDiscountPercentage())
                 .discountName(request.getDiscountName())
                 .status(DiscountStatus.PENDING)
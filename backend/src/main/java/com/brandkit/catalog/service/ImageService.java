@@ -7,13 +7,18 @@ import com.brandkit.catalog.entity.ProductImage;
 import com.brandkit.catalog.exception.CatalogException;
 import com.brandkit.catalog.repository.ProductImageRepository;
 import com.brandkit.catalog.repository.ProductRepository;
+import com.brandkit.customization.service.LogoStorageService;
+import com.brandkit.customization.util.ContentDigest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,6 +35,8 @@ public class ImageService {
     private ProductImageRepository imageRepository;
     @Autowired
     private ProductRepository productRepository;
+    @Autowired
+    private LogoStorageService storageService;
 
     @Value("${app.cdn.base-url:https://cdn.brandkit.com}")
     private String cdnBaseUrl;
@@ -65,6 +72,9 @@ public class ImageService {
             throw new CatalogException("CAT_010", "Maximum " + maxImagesPerProduct + " images allowed per product");
         }
 
+        // Content digest lets renders reuse prints made from identical base images
+        String contentHash = computeContentHash(file);
+
         // Generate file name and upload to storage
         String fileName = generateFileName(productId, file);
         String imageUrl = uploadToStorage(file, fileName);
@@ -87,6 +97,7 @@ public class ImageService {
                 .displayOrder(displayOrder)
                 .isPrimary(isPrimary || currentCount == 0) // First image is always primary
                 .fileSizeBytes((int) file.getSize())
+                .contentHash(contentHash)
                 .build();
 
         // If marking as primary, clear other primaries
@@ -205,6 +216,14 @@ public class ImageService {
         // This would validate MIN_IMAGE_DIMENSION
     }
 
+    private String computeContentHash(MultipartFile file) {
+        try {
+            return ContentDigest.sha256Hex(file.getBytes());
+        } catch (IOException e) {
+            throw new CatalogException("CAT_010", "Unable to read image file");
+        }
+    }
+
     private String generateFileName(UUID productId, MultipartFile file) {
         String extension = getFileExtension(file.getOriginalFilename());
         return String.format("products/%s/%s.%s", productId, UUID.randomUUID(), extension);
@@ -218,15 +237,22 @@ public class ImageService {
     }
 
     /**
-     * Upload file to storage (S3/GCS)
-     * TODO: Implement actual cloud storage integration
+     * Upload file to storage (S3 or local, see LogoStorageService)
+     * An upload whose record is never committed is left to the housekeeping sweep.
      */
     private String uploadToStorage(MultipartFile file, String fileName) {
-        // Placeholder implementation - would integrate with AWS S3 or GCS
         log.info("Uploading to storage: {}", fileName);
-        
-        // Return CDN URL
-        return cdnBaseUrl + "/" + fileName;
+        Path tempFile = null;
+        try {
+            tempFile = storageService.createTempFile();
+            file.transferTo(tempFile);
+            return storageService.store(tempFile, fileName);
+        } catch (IOException e) {
+            if (tempFile != null) {
+                storageService.deleteQuietly(tempFile);
+            }
+            throw new CatalogException("CAT_015", "Failed to store image: " + e.getMessage());
+        }
     }
 
     /**
@@ -239,13 +265,26 @@ public class ImageService {
     }
 
     /**
-     * Delete file from storage
-     * TODO: Implement actual cloud storage deletion
+     * Delete file from storage once the row removal commits (a rollback keeps the file)
+     * Derived thumbnail URLs have no stored object; deleting their key is a no-op.
      */
     private void deleteFromStorage(String url) {
-        if (url == null) return;
-        log.info("Deleting from storage: {}", url);
-        // Placeholder - would delete from S3/GCS
+        String storageKey = storageService.keyForUrl(url);
+        if (storageKey == null) return;
+        Runnable delete = () -> {
+            log.info("Deleting from storage: {}", storageKey);
+            storageService.deleteKey(storageKey);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    delete.run();
+                }
+            });
+        } else {
+            delete.run();
+        }
     }
 
     public ProductImageRepository getImageRepository() {
@@ -0,0 +1,77 @@
+package com.brandkit.catalog.service;
+
+import com.brandkit.catalog.repository.PartnerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves a partner user's email to their partner ID - FRD-005
+ *
+ * Partner users are linked to their partner profile by email. The mapping is
+ * cached for app.partner.identity-cache-ttl and put in the PARTNER access token
+ * as the partnerId claim, so partner API calls normally need no lookup at all;
+ * this cache serves tokens issued without the claim and the few callers that
+ * only have the email. Entries are evicted when the partner's profile or the
+ * partner user's status changes.
+ */
+@Service
+public class PartnerLookupService {
+
+    @Autowired
+    private PartnerRepository partnerRepository;
+
+    @Value("${app.partner.identity-cache-ttl:10m}")
+    private Duration cacheTtl;
+
+    private final Map<String, CachedPartnerId> partnerIds = new ConcurrentHashMap<>();
+
+    private record CachedPartnerId(UUID partnerId, long expiresAt) {
+    }
+
+    /**
+     * Partner ID for a partner user's email
+     */
+    public Optional<UUID> findPartnerIdByEmail(String email) {
+        String key = email.toLowerCase(Locale.ROOT);
+        CachedPartnerId cached = partnerIds.get(key);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return Optional.of(cached.partnerId());
+        }
+
+        Optional<UUID> partnerId = partnerRepository.findIdByEmail(email);
+        partnerId.ifPresent(id -> partnerIds.put(key,
+                new CachedPartnerId(id, System.currentTimeMillis() + cacheTtl.toMillis())));
+        return partnerId;
+    }
+
+    /**
+     * Drop the cached partner ID for an email once the current transaction commits
+     * (immediately if there is none)
+     */
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        String key = email.toLowerCase(Locale.ROOT);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    partnerIds.remove(key);
+                }
+            });
+        } else {
+            partnerIds.remove(key);
+        }
+    }
+}
@@ -2,20 +2,29 @@ package com.brandkit.customization.controller;
 
 import com.brandkit.auth.security.CurrentUser;
 import com.brandkit.auth.security.UserPrincipal;
+import com.brandkit.customization.dto.BatchValidationRequest;
 import com.brandkit.customization.dto.CreateBundleRequest;
 import com.brandkit.customization.dto.RenderHighResRequest;
 import com.brandkit.customization.dto.SaveDraftRequest;
 import com.brandkit.customization.service.BundleService;
 import com.brandkit.customization.service.CustomizationService;
 import com.brandkit.customization.service.CustomizationValidationService;
+import com.brandkit.customization.service.HousekeepingService;
 import com.brandkit.customization.service.ImageRenderingService;
+import com.brandkit.customization.service.ImageSourceService;
+import com.brandkit.customization.service.LogoIngestionService;
+import com.brandkit.customization.service.RenderCacheService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import com.brandkit.customization.entity.LogoFile;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.Map;
 import java.util.UUID;
@@ -39,6 +48,50 @@ public class CustomizationController {
     private BundleService bundleService;
     @Autowired
     private CustomizationValidationService validationService;
+    @Autowired
+    private RenderCacheService renderCacheService;
+    @Autowired
+    private ImageSourceService imageSourceService;
+    @Autowired
+    private LogoIngestionService logoIngestionService;
+    @Autowired
+    private HousekeepingService housekeepingService;
+
+    /**
+     * POST /api/customization/logos
+     * FRD-003 Sub-Prompt 1: Upload logo (validated asynchronously)
+     */
+    @PostMapping(value = "/logos", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('CLIENT')")
+    @Operation(summary = "Upload logo", description = "Upload a PNG, JPG or SVG logo; poll status until validated")
+    public ResponseEntity<Map<String, Object>> uploadLogo(
+            @RequestParam("file") MultipartFile file,
+            @CurrentUser UserPrincipal userPrincipal
+    ) {
+        LogoFile logoFile = logoIngestionService.ingest(userPrincipal.getId(), file);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of(
+                "status", "success",
+                "message", "Logo uploaded, validation in progress",
+                "data", logoIngestionService.logoToMap(logoFile)
+        ));
+    }
+
+    /**
+     * GET /api/customization/logos/:logoFileId/status
+     * FRD-003 Sub-Prompt 1: Logo validation status
+     */
+    @GetMapping("/logos/{logoFileId}/status")
+    @PreAuthorize("hasRole('CLIENT')")
+    @Operation(summary = "Get logo status", description = "Validation status, dimensions and DPI of an uploaded logo")
+    public ResponseEntity<Map<String, Object>> getLogoStatus(
+            @PathVariable UUID logoFileId,
+            @CurrentUser UserPrincipal userPrincipal
+    ) {
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "data", logoIngestionService.getLogoStatus(logoFileId, userPrincipal.getId())
+        ));
+    }
 
     /**
      * POST /api/customization/save-draft
@@ -158,6 +211,37 @@ public class CustomizationController {
         ));
     }
 
+    /**
+     * GET /api/customization/render-cache/stats
+     * FRD-003 Sub-Prompt 4: Render cache and decoded-image cache metrics
+     */
+    @GetMapping("/render-cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Render cache stats", description = "Hit-ratio metrics for the high-res render cache")
+    public ResponseEntity<Map<String, Object>> getRenderCacheStats() {
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "data", Map.of(
+                        "renders", renderCacheService.getStats(),
+                        "decodedImages", imageSourceService.getStats()
+                )
+        ));
+    }
+
+    /**
+     * GET /api/customization/housekeeping/stats
+     * FRD-003: Draft/logo purge and orphaned-media sweep metrics
+     */
+    @GetMapping("/housekeeping/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Housekeeping stats", description = "Counters for expired-data purges and storage garbage collection")
+    public ResponseEntity<Map<String, Object>> getHousekeepingStats() {
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "data", housekeepingService.getStats()
+        ));
+    }
+
     // ==================== Bundle Endpoints ====================
 
     /**
@@ -242,9 +326,10 @@ public class CustomizationController {
     public ResponseEntity<Map<String, Object>> validateCustomization(
             @RequestParam UUID logoFileId,
             @RequestParam UUID productId,
-            @Valid @RequestBody com.brandkit.customization.dto.CropDataRequest cropData
+            @Valid @RequestBody com.brandkit.customization.dto.CropDataRequest cropData,
+            @CurrentUser UserPrincipal userPrincipal
     ) {
-        var validation = validationService.validateCustomization(logoFileId, productId, cropData);
+        var validation = validationService.validateCustomization(logoFileId, productId, cropData, userPrincipal.getId());
         return ResponseEntity.ok(Map.of(
                 "status", "success",
                 "valid", validation.isValid(),
@@ -252,4 +337,40 @@ public class CustomizationController {
                 "warnings", validation.getWarnings()
         ));
     }
+
+    /**
+     * POST /api/customization/validate/batch
+     * FRD-003 Sub-Prompt 10: Validate many customizations in one request
+     */
+    @PostMapping("/validate/batch")
+    @PreAuthorize("hasRole('CLIENT')")
+    @Operation(summary = "Validate customizations in batch", description = "Validate up to 50 product/logo/crop combinations at once")
+    public ResponseEntity<Map<String, Object>> validateBatch(
+            @Valid @RequestBody BatchValidationRequest request,
+            @CurrentUser UserPrincipal userPrincipal
+    ) {
+        var validation = validationService.validateBatch(request.getItems(), userPrincipal.getId());
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "data", validation
+        ));
+    }
+
+    /**
+     * POST /api/customization/bundles/:bundleId/validate
+     * FRD-003 Sub-Prompt 10: Validate every item of a bundle
+     */
+    @PostMapping("/bundles/{bundleId}/validate")
+    @PreAuthorize("hasRole('CLIENT')")
+    @Operation(summary = "Validate bundle", description = "Validate all customizations in a bundle")
+    public ResponseEntity<Map<String, Object>> validateBundle(
+            @PathVariable UUID bundleId,
+            @CurrentUser UserPrincipal userPrincipal
+    ) {
+        var validation = validationService.validateBundle(bundleId, userPrincipal.getId());
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "data", validation
+        ));
+    }
 }
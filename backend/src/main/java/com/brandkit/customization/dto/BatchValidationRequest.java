@@ -0,0 +1,53 @@
+package com.brandkit.customization.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Batch Validation Request DTO
+ * FRD-003 Sub-Prompt 10: Validate many (product, logo, crop) combinations at once
+ */
+public class BatchValidationRequest {
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 50, message = "Cannot validate more than 50 items per request")
+    private List<Item> items;
+
+    public static class Item {
+        private UUID productId;
+        private UUID logoFileId;
+        private CropDataRequest cropData; // Checked per item so one bad crop doesn't fail the batch
+
+        public Item() {}
+
+        public UUID getProductId() {
+            return this.productId;
+        }
+        public void setProductId(UUID productId) {
+            this.productId = productId;
+        }
+        public UUID getLogoFileId() {
+            return this.logoFileId;
+        }
+        public void setLogoFileId(UUID logoFileId) {
+            this.logoFileId = logoFileId;
+        }
+        public CropDataRequest getCropData() {
+            return this.cropData;
+        }
+        public void setCropData(CropDataRequest cropData) {
+            this.cropData = cropData;
+        }
+    }
+
+    public BatchValidationRequest() {}
+
+    public List<Item> getItems() {
+        return this.items;
+    }
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+}
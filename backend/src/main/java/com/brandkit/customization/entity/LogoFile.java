@@ -36,6 +36,9 @@ public class LogoFile {
     @Column(name = "file_url", nullable = false, length = 2048)
     private String fileUrl; // S3 URL or storage path
 
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // SHA-256 of file bytes, used for deduplication
+
     // Image metadata
     @Column(name = "width")
     private Integer width;
@@ -43,10 +46,19 @@ public class LogoFile {
     @Column(name = "height")
     private Integer height;
 
+    @Column(name = "dpi")
+    private Integer dpi; // From image metadata; print resolution for rasterized SVG
+
     // Security
     @Column(name = "is_validated")
     private Boolean isValidated = false; // Server-side validation flag
 
+    @Column(name = "validation_status", length = 20)
+    private String validationStatus = "pending"; // pending, processing, validated, rejected
+
+    @Column(name = "validation_error", length = 500)
+    private String validationError;
+
     // Metadata
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -73,15 +85,27 @@ public class LogoFile {
     public String getFileUrl() {
         return this.fileUrl;
     }
+    public String getContentHash() {
+        return this.contentHash;
+    }
     public Integer getWidth() {
         return this.width;
     }
     public Integer getHeight() {
         return this.height;
     }
+    public Integer getDpi() {
+        return this.dpi;
+    }
     public Boolean getIsValidated() {
         return this.isValidated;
     }
+    public String getValidationStatus() {
+        return this.validationStatus;
+    }
+    public String getValidationError() {
+        return this.validationError;
+    }
     public LocalDateTime getCreatedAt() {
         return this.createdAt;
     }
@@ -106,15 +130,27 @@ public class LogoFile {
     public void setFileUrl(String fileUrl) {
         this.fileUrl = fileUrl;
     }
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
     public void setWidth(Integer width) {
         this.width = width;
     }
     public void setHeight(Integer height) {
         this.height = height;
     }
+    public void setDpi(Integer dpi) {
+        this.dpi = dpi;
+    }
     public void setIsValidated(Boolean isValidated) {
         this.isValidated = isValidated;
     }
+    public void setValidationStatus(String validationStatus) {
+        this.validationStatus = validationStatus;
+    }
+    public void setValidationError(String validationError) {
+        this.validationError = validationError;
+    }
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
@@ -123,16 +159,20 @@ public class LogoFile {
     }
     public LogoFile() {
     }
-    public LogoFile(UUID id, UUID userId, String fileName, Long fileSize, String fileType, String fileUrl, Integer width, Integer height, Boolean isValidated, LocalDateTime createdAt, LocalDateTime expiresAt) {
+    public LogoFile(UUID id, UUID userId, String fileName, Long fileSize, String fileType, String fileUrl, String contentHash, Integer width, Integer height, Integer dpi, Boolean isValidated, String validationStatus, String validationError, LocalDateTime createdAt, LocalDateTime expiresAt) {
         this.id = id;
         this.userId = userId;
         this.fileName = fileName;
         this.fileSize = fileSize;
         this.fileType = fileType;
         this.fileUrl = fileUrl;
+        this.contentHash = contentHash;
         this.width = width;
         this.height = height;
+        this.dpi = dpi;
         this.isValidated = isValidated;
+        this.validationStatus = validationStatus;
+        this.validationError = validationError;
         this.createdAt = createdAt;
         this.expiresAt = expiresAt;
     }
@@ -147,9 +187,13 @@ public class LogoFile {
         private Long fileSize;
         private String fileType;
         private String fileUrl;
+        private String contentHash;
         private Integer width;
         private Integer height;
+        private Integer dpi;
         private Boolean isValidated = false;
+        private String validationStatus = "pending";
+        private String validationError;
         private LocalDateTime createdAt;
         private LocalDateTime expiresAt;
 
@@ -186,6 +230,11 @@ public class LogoFile {
             return this;
         }
 
+        public LogoFileBuilder contentHash(String contentHash) {
+            this.contentHash = contentHash;
+            return this;
+        }
+
         public LogoFileBuilder width(Integer width) {
             this.width = width;
             return this;
@@ -196,11 +245,26 @@ public class LogoFile {
             return this;
         }
 
+        public LogoFileBuilder dpi(Integer dpi) {
+            this.dpi = dpi;
+            return this;
+        }
+
         public LogoFileBuilder isValidated(Boolean isValidated) {
             this.isValidated = isValidated;
             return this;
         }
 
+        public LogoFileBuilder validationStatus(String validationStatus) {
+            this.validationStatus = validationStatus;
+            return this;
+        }
+
+        public LogoFileBuilder validationError(String validationError) {
+            this.validationError = validationError;
+            return this;
+        }
+
         public LogoFileBuilder createdAt(LocalDateTime createdAt) {
             this.createdAt = createdAt;
             return this;
@@ -219,9 +283,13 @@ public class LogoFile {
             instance.fileSize = this.fileSize;
             instance.fileType = this.fileType;
             instance.fileUrl = this.fileUrl;
+            instance.contentHash = this.contentHash;
             instance.width = this.width;
             instance.height = this.height;
+            instance.dpi = this.dpi;
             instance.isValidated = this.isValidated;
+            instance.validationStatus = this.validationStatus;
+            instance.validationError = this.validationError;
             instance.createdAt = this.createdAt;
             instance.expiresAt = this.expiresAt;
             return instance;
@@ -0,0 +1,105 @@
+package com.brandkit.customization.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Print Render Entity
+ * FRD-003 Sub-Prompt 4: Content-addressed render cache
+ *
+ * Durable record of a completed high-res render. The key is derived from
+ * (logo digest, product image digest, crop data, DPI), so identical
+ * customizations resolve to the same print file.
+ */
+@Entity
+@Table(name = "print_renders")
+public class PrintRender {
+
+    @Id
+    @Column(name = "render_key", length = 64)
+    private String renderKey;
+
+    @Column(name = "logo_hash", nullable = false, length = 64)
+    private String logoHash;
+
+    @Column(name = "product_image_hash", nullable = false, length = 64)
+    private String productImageHash;
+
+    @Column(name = "dpi", nullable = false)
+    private Integer dpi;
+
+    @Column(name = "print_image_url", nullable = false, length = 2048)
+    private String printImageUrl;
+
+    @Column(name = "file_size_bytes")
+    private Long fileSizeBytes;
+
+    @Column(name = "hit_count", nullable = false)
+    private Long hitCount = 0L;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "last_accessed_at")
+    private LocalDateTime lastAccessedAt;
+
+    public String getRenderKey() {
+        return this.renderKey;
+    }
+    public String getLogoHash() {
+        return this.logoHash;
+    }
+    public String getProductImageHash() {
+        return this.productImageHash;
+    }
+    public Integer getDpi() {
+        return this.dpi;
+    }
+    public String getPrintImageUrl() {
+        return this.printImageUrl;
+    }
+    public Long getFileSizeBytes() {
+        return this.fileSizeBytes;
+    }
+    public Long getHitCount() {
+        return this.hitCount;
+    }
+    public LocalDateTime getCreatedAt() {
+        return this.createdAt;
+    }
+    public LocalDateTime getLastAccessedAt() {
+        return this.lastAccessedAt;
+    }
+    public void setRenderKey(String renderKey) {
+        this.renderKey = renderKey;
+    }
+    public void setLogoHash(String logoHash) {
+        this.logoHash = logoHash;
+    }
+    public void setProductImageHash(String productImageHash) {
+        this.productImageHash = productImageHash;
+    }
+    public void setDpi(Integer dpi) {
+        this.dpi = dpi;
+    }
+    public void setPrintImageUrl(String printImageUrl) {
+        this.printImageUrl = printImageUrl;
+    }
+    public void setFileSizeBytes(Long fileSizeBytes) {
+        this.fileSizeBytes = fileSizeBytes;
+    }
+    public void setHitCount(Long hitCount) {
+        this.hitCount = hitCount;
+    }
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    public void setLastAccessedAt(LocalDateTime lastAccessedAt) {
+        this.lastAccessedAt = lastAccessedAt;
+    }
+    public PrintRender() {
+    }
+}
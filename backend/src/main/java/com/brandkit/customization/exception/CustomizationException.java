@@ -0,0 +1,24 @@
+package com.brandkit.customization.exception;
+
+/**
+ * Customization Exception
+ * FRD-003 Error Handling
+ */
+public class CustomizationException extends RuntimeException {
+
+    private final String errorCode;
+
+    public CustomizationException(String errorCode, String message) {
+        super(message);
+        this.errorCode = errorCode;
+    }
+
+    public CustomizationException(String errorCode, String message, Throwable cause) {
+        super(message, cause);
+        this.errorCode = errorCode;
+    }
+
+    public String getErrorCode() {
+        return this.errorCode;
+    }
+}
@@ -0,0 +1,45 @@
+package com.brandkit.customization.exception;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.brandkit.auth.dto.ErrorResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Customization Exception Handler
+ * FRD-003 Error Handling
+ *
+ * Ordered ahead of GlobalExceptionHandler, whose catch-all would otherwise win.
+ */
+@RestControllerAdvice(basePackages = "com.brandkit.customization")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CustomizationExceptionHandler {
+    private static final Logger log = LoggerFactory.getLogger(CustomizationExceptionHandler.class);
+
+    @ExceptionHandler(CustomizationException.class)
+    public ResponseEntity<ErrorResponse> handleCustomizationException(CustomizationException ex) {
+        log.warn("Customization exception: {} - {}", ex.getErrorCode(), ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .status("error")
+                .message(ex.getMessage())
+                .errorCode(ex.getErrorCode())
+                .build();
+
+        return ResponseEntity.status(mapErrorCodeToStatus(ex.getErrorCode())).body(error);
+    }
+
+    private HttpStatus mapErrorCodeToStatus(String errorCode) {
+        return switch (errorCode) {
+            case "CUS_001" -> HttpStatus.NOT_FOUND;            // Logo file not found
+            case "CUS_002" -> HttpStatus.BAD_REQUEST;          // Missing or unsupported logo file
+            case "CUS_003" -> HttpStatus.PAYLOAD_TOO_LARGE;    // Logo file too large
+            default -> HttpStatus.INTERNAL_SERVER_ERROR;       // CUS_004: storage failure
+        };
+    }
+}
@@ -2,11 +2,14 @@ package com.brandkit.customization.repository;
 
 import com.brandkit.customization.entity.CustomizationDraft;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -37,6 +40,31 @@ public interface CustomizationDraftRepository extends JpaRepository<Customizatio
     /**
      * Delete expired drafts
      */
+    @Modifying
     @Query("DELETE FROM CustomizationDraft d WHERE d.expiresAt < :now")
     void deleteExpiredDrafts(@Param("now") LocalDateTime now);
+
+    /**
+     * Find a user's unexpired drafts (expiry filtered in SQL)
+     */
+    List<CustomizationDraft> findByUserIdAndExpiresAtAfterOrderByCreatedAtDesc(UUID userId, LocalDateTime now);
+
+    /**
+     * Delete one bounded batch of expired drafts, oldest expiry first
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM customization_drafts WHERE id IN (" +
+           "SELECT id FROM customization_drafts WHERE expires_at < :now ORDER BY expires_at LIMIT :limit)",
+           nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Storage URLs from the given set that drafts still reference
+     */
+    @Query(value = "SELECT logo_file_url FROM customization_drafts WHERE logo_file_url IN (:urls) " +
+           "UNION SELECT cropped_image_url FROM customization_drafts WHERE cropped_image_url IN (:urls) " +
+           "UNION SELECT preview_image_url FROM customization_drafts WHERE preview_image_url IN (:urls)",
+           nativeQuery = true)
+    List<String> findReferencedUrls(@Param("urls") Collection<String> urls);
 }
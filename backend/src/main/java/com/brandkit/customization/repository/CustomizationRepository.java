@@ -2,8 +2,11 @@ package com.brandkit.customization.repository;
 
 import com.brandkit.customization.entity.Customization;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -33,4 +36,14 @@ public interface CustomizationRepository extends JpaRepository<Customization, UU
      * Find customizations by status
      */
     List<Customization> findByStatus(String status);
+
+    /**
+     * Storage URLs from the given set that customizations still reference
+     */
+    @Query(value = "SELECT logo_file_url FROM customizations WHERE logo_file_url IN (:urls) " +
+           "UNION SELECT cropped_image_url FROM customizations WHERE cropped_image_url IN (:urls) " +
+           "UNION SELECT preview_image_url FROM customizations WHERE preview_image_url IN (:urls) " +
+           "UNION SELECT print_image_url FROM customizations WHERE print_image_url IN (:urls)",
+           nativeQuery = true)
+    List<String> findReferencedUrls(@Param("urls") Collection<String> urls);
 }
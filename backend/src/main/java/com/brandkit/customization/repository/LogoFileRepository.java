@@ -2,11 +2,14 @@ package com.brandkit.customization.repository;
 
 import com.brandkit.customization.entity.LogoFile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,14 +26,48 @@ public interface LogoFileRepository extends JpaRepository<LogoFile, UUID> {
      */
     Optional<LogoFile> findByIdAndUserId(UUID id, UUID userId);
 
+    /**
+     * Find the given logo files that belong to a user (batch validation)
+     */
+    List<LogoFile> findByIdInAndUserId(Collection<UUID> ids, UUID userId);
+
     /**
      * Find all logo files for a user
      */
     List<LogoFile> findByUserIdOrderByCreatedAtDesc(UUID userId);
 
+    /**
+     * Find an earlier upload of identical content (deduplication)
+     */
+    Optional<LogoFile> findFirstByUserIdAndContentHashOrderByCreatedAtAsc(UUID userId, String contentHash);
+
+    /**
+     * Find logos whose validation never completed (lost on restart or rejected by a full queue)
+     */
+    List<LogoFile> findTop100ByValidationStatusInAndCreatedAtBeforeOrderByCreatedAtAsc(
+            Collection<String> statuses, LocalDateTime createdBefore);
+
     /**
      * Find expired logo files
      */
     @Query("SELECT l FROM LogoFile l WHERE l.expiresAt IS NOT NULL AND l.expiresAt < :now")
     List<LogoFile> findExpiredFiles(@Param("now") LocalDateTime now);
+
+    /**
+     * Delete one bounded batch of expired logos that no customization uses
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM logo_files WHERE id IN (" +
+           "SELECT l.id FROM logo_files l WHERE l.expires_at < :now " +
+           "AND NOT EXISTS (SELECT 1 FROM customizations c WHERE c.logo_file_id = l.id) " +
+           "ORDER BY l.expires_at LIMIT :limit)",
+           nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Storage URLs from the given set that logo records still reference
+     */
+    @Query("SELECT l.fileUrl FROM LogoFile l WHERE l.fileUrl IN :urls")
+    List<String> findReferencedUrls(@Param("urls") Collection<String> urls);
 }
@@ -0,0 +1,48 @@
+package com.brandkit.customization.repository;
+
+import com.brandkit.customization.entity.PrintRender;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Print Render Repository
+ * FRD-003 Sub-Prompt 4: Durable tier of the render cache
+ */
+@Repository
+public interface PrintRenderRepository extends JpaRepository<PrintRender, String> {
+
+    /**
+     * Insert a render record, ignoring duplicates from concurrent renders of the same key
+     */
+    @Modifying
+    @Query(value = "INSERT INTO print_renders (render_key, logo_hash, product_image_hash, dpi, print_image_url, file_size_bytes, hit_count, created_at, last_accessed_at) " +
+           "VALUES (:renderKey, :logoHash, :productImageHash, :dpi, :printImageUrl, :fileSizeBytes, 0, :now, :now) " +
+           "ON CONFLICT (render_key) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("renderKey") String renderKey,
+                       @Param("logoHash") String logoHash,
+                       @Param("productImageHash") String productImageHash,
+                       @Param("dpi") int dpi,
+                       @Param("printImageUrl") String printImageUrl,
+                       @Param("fileSizeBytes") long fileSizeBytes,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * Record a cache hit served from the durable tier
+     */
+    @Modifying
+    @Query("UPDATE PrintRender r SET r.hitCount = r.hitCount + 1, r.lastAccessedAt = :now WHERE r.renderKey = :renderKey")
+    void recordHit(@Param("renderKey") String renderKey, @Param("now") LocalDateTime now);
+
+    /**
+     * Storage URLs from the given set that cached renders still reference
+     */
+    @Query("SELECT r.printImageUrl FROM PrintRender r WHERE r.printImageUrl IN :urls")
+    List<String> findReferencedUrls(@Param("urls") Collection<String> urls);
+}
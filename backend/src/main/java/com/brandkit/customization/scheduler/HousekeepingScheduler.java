@@ -0,0 +1,29 @@
+package com.brandkit.customization.scheduler;
+
+import com.brandkit.customization.service.HousekeepingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Housekeeping Scheduler
+ *
+ * FRD-003: Nightly purge of expired drafts/logos and orphaned media
+ * Disable with app.housekeeping.enabled=false
+ */
+@Component
+@ConditionalOnProperty(name = "app.housekeeping.enabled", havingValue = "true", matchIfMissing = true)
+public class HousekeepingScheduler {
+
+    @Autowired
+    private HousekeepingService housekeepingService;
+
+    /**
+     * Start housekeeping daily at 03:30 by default (runs on its own thread)
+     */
+    @Scheduled(cron = "${app.housekeeping.cron:0 30 3 * * *}")
+    public void runHousekeeping() {
+        housekeepingService.submitRun();
+    }
+}
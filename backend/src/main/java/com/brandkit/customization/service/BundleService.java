@@ -26,6 +26,8 @@ public class BundleService {
 
     @Autowired
     private BundleRepository bundleRepository;
+    @Autowired
+    private CustomizationValidationService validationService;
 
     /**
      * Create a new bundle
@@ -149,6 +151,14 @@ public class BundleService {
         Bundle bundle = bundleRepository.findByIdAndUserId(bundleId, userId)
                 .orElseThrow(() -> new RuntimeException("Bundle not found"));
 
+        // All items are checked in one batch pass before the bundle can be completed
+        var validation = validationService.validateBundle(bundleId, userId);
+        if (!validation.isValid()) {
+            throw new RuntimeException(String.format(
+                    "Bundle has %d invalid item(s). Fix customizations before completing.",
+                    validation.getItemCount() - validation.getValidCount()));
+        }
+
         bundle.setStatus("completed");
         bundleRepository.save(bundle);
     }
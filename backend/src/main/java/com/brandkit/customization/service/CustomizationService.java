@@ -69,10 +69,10 @@ public class CustomizationService {
      */
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getUserDrafts(UUID userId) {
-        List<CustomizationDraft> drafts = draftRepository.findByUserIdOrderByCreatedAtDesc(userId);
+        List<CustomizationDraft> drafts = draftRepository.findByUserIdAndExpiresAtAfterOrderByCreatedAtDesc(
+                userId, LocalDateTime.now());
         
         return drafts.stream()
-                .filter(draft -> draft.getExpiresAt().isAfter(LocalDateTime.now()))
                 .map(this::draftToMap)
                 .collect(Collectors.toList());
     }
@@ -5,16 +5,29 @@ import org.slf4j.LoggerFactory;
 import com.brandkit.catalog.entity.Product;
 import com.brandkit.catalog.entity.ProductStatus;
 import com.brandkit.catalog.repository.ProductRepository;
+import com.brandkit.customization.dto.BatchValidationRequest;
 import com.brandkit.customization.dto.CropDataRequest;
+import com.brandkit.customization.entity.Bundle;
+import com.brandkit.customization.entity.BundleItem;
+import com.brandkit.customization.entity.Customization;
 import com.brandkit.customization.entity.LogoFile;
+import com.brandkit.customization.repository.BundleRepository;
+import com.brandkit.customization.repository.CustomizationRepository;
 import com.brandkit.customization.repository.LogoFileRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Customization Validation Service
@@ -25,6 +38,9 @@ import java.util.UUID;
  * - Crop coordinates within valid bounds
  * - Product active and customizable
  * - Logo resolution sufficient for print (min 150 DPI at print size)
+ *
+ * Batch validation loads all products and logos with two IN queries and
+ * checks items in parallel.
  */
 @Service
 public class CustomizationValidationService {
@@ -75,58 +91,223 @@ public class CustomizationValidationService {
         private final boolean valid;
         private final List<ValidationError> errors;
         private final List<ValidationWarning> warnings;
+        private final Double effectiveDpi;
 
         public ValidationResult(boolean valid, List<ValidationError> errors, List<ValidationWarning> warnings) {
+            this(valid, errors, warnings, null);
+        }
+
+        public ValidationResult(boolean valid, List<ValidationError> errors, List<ValidationWarning> warnings, Double effectiveDpi) {
             this.valid = valid;
             this.errors = errors;
             this.warnings = warnings;
+            this.effectiveDpi = effectiveDpi;
         }
 
         public boolean isValid() { return valid; }
         public List<ValidationError> getErrors() { return errors; }
         public List<ValidationWarning> getWarnings() { return warnings; }
+        public Double getEffectiveDpi() { return effectiveDpi; }
+    }
+
+    /**
+     * Per-item result of a batch validation
+     */
+    public static class BatchItemResult {
+        private final int index;
+        private final UUID productId;
+        private final UUID logoFileId;
+        private final ValidationResult result;
+
+        public BatchItemResult(int index, UUID productId, UUID logoFileId, ValidationResult result) {
+            this.index = index;
+            this.productId = productId;
+            this.logoFileId = logoFileId;
+            this.result = result;
+        }
+
+        public int getIndex() { return index; }
+        public UUID getProductId() { return productId; }
+        public UUID getLogoFileId() { return logoFileId; }
+        public boolean isValid() { return result.isValid(); }
+        public List<ValidationError> getErrors() { return result.getErrors(); }
+        public List<ValidationWarning> getWarnings() { return result.getWarnings(); }
+        public Double getEffectiveDpi() { return result.getEffectiveDpi(); }
+    }
+
+    /**
+     * Combined result of a batch validation
+     */
+    public static class BatchValidationResult {
+        private final boolean valid;
+        private final int validCount;
+        private final List<BatchItemResult> items;
+
+        public BatchValidationResult(List<BatchItemResult> items) {
+            this.items = items;
+            this.validCount = (int) items.stream().filter(BatchItemResult::isValid).count();
+            this.valid = validCount == items.size();
+        }
+
+        public boolean isValid() { return valid; }
+        public int getItemCount() { return items.size(); }
+        public int getValidCount() { return validCount; }
+        public List<BatchItemResult> getItems() { return items; }
     }
 
     @Autowired
     private LogoFileRepository logoFileRepository;
     @Autowired
     private ProductRepository productRepository;
+    @Autowired
+    private BundleRepository bundleRepository;
+    @Autowired
+    private CustomizationRepository customizationRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     private static final double MIN_PRINT_DPI = 150.0;
     private static final double CM_TO_INCH = 0.393701;
+    private static final int MAX_BATCH_ITEMS = 50;
 
     /**
      * Validate customization before adding to cart
+     * Another user's logo is reported as not found
      */
     public ValidationResult validateCustomization(
             UUID logoFileId,
             UUID productId,
+            CropDataRequest cropData,
+            UUID userId
+    ) {
+        LogoFile logoFile = logoFileId != null
+                ? logoFileRepository.findByIdAndUserId(logoFileId, userId).orElse(null) : null;
+        Product product = productId != null ? productRepository.findById(productId).orElse(null) : null;
+
+        return validateLoaded(logoFileId, logoFile, productId, product, cropData);
+    }
+
+    /**
+     * Validate a list of (product, logo, crop) items
+     * Products and logos are fetched with one IN query each; items are checked in parallel.
+     * Only the user's own logos are loaded, so another user's logo is reported as not found.
+     */
+    @Transactional(readOnly = true)
+    public BatchValidationResult validateBatch(List<BatchValidationRequest.Item> items, UUID userId) {
+        if (items == null || items.isEmpty()) {
+            throw new RuntimeException("At least one item is required");
+        }
+        if (items.size() > MAX_BATCH_ITEMS) {
+            throw new RuntimeException("Cannot validate more than " + MAX_BATCH_ITEMS + " items per request");
+        }
+
+        Set<UUID> logoIds = items.stream()
+                .map(BatchValidationRequest.Item::getLogoFileId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<UUID> productIds = items.stream()
+                .map(BatchValidationRequest.Item::getProductId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<UUID, LogoFile> logos = logoFileRepository.findByIdInAndUserId(logoIds, userId).stream()
+                .collect(Collectors.toMap(LogoFile::getId, Function.identity()));
+        Map<UUID, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        // Entities are fully loaded above; the checks below touch no lazy associations
+        List<BatchItemResult> results = IntStream.range(0, items.size())
+                .parallel()
+                .mapToObj(i -> {
+                    BatchValidationRequest.Item item = items.get(i);
+                    ValidationResult result = validateLoaded(
+                            item.getLogoFileId(), logos.get(item.getLogoFileId()),
+                            item.getProductId(), products.get(item.getProductId()),
+                            item.getCropData());
+                    return new BatchItemResult(i, item.getProductId(), item.getLogoFileId(), result);
+                })
+                .collect(Collectors.toList());
+
+        return new BatchValidationResult(results);
+    }
+
+    /**
+     * Validate every item of a user's bundle in one pass
+     */
+    @Transactional(readOnly = true)
+    public BatchValidationResult validateBundle(UUID bundleId, UUID userId) {
+        Bundle bundle = bundleRepository.findByIdAndUserId(bundleId, userId)
+                .orElseThrow(() -> new RuntimeException("Bundle not found"));
+
+        List<UUID> customizationIds = bundle.getItems().stream()
+                .map(BundleItem::getCustomizationId)
+                .collect(Collectors.toList());
+        Map<UUID, Customization> customizations = customizationRepository.findAllById(customizationIds).stream()
+                .collect(Collectors.toMap(Customization::getId, Function.identity()));
+
+        List<BatchValidationRequest.Item> items = new ArrayList<>();
+        for (BundleItem bundleItem : bundle.getItems()) {
+            Customization customization = customizations.get(bundleItem.getCustomizationId());
+
+            BatchValidationRequest.Item item = new BatchValidationRequest.Item();
+            item.setProductId(bundleItem.getProductId());
+            if (customization != null) {
+                item.setLogoFileId(customization.getLogoFileId());
+                item.setCropData(parseCropData(customization.getCropData()));
+            }
+            items.add(item);
+        }
+
+        return validateBatch(items, userId);
+    }
+
+    /**
+     * Run all checks against already-loaded entities
+     */
+    private ValidationResult validateLoaded(
+            UUID logoFileId,
+            LogoFile loadedLogo,
+            UUID productId,
+            Product loadedProduct,
             CropDataRequest cropData
     ) {
         List<ValidationError> errors = new ArrayList<>();
         List<ValidationWarning> warnings = new ArrayList<>();
 
         // Validate logo file exists and is valid
-        LogoFile logoFile = validateLogoFile(logoFileId, errors);
+        LogoFile logoFile = validateLogoFile(logoFileId, loadedLogo, errors);
 
         // Validate product exists and is customizable
-        Product product = validateProduct(productId, errors);
+        Product product = validateProduct(productId, loadedProduct, errors);
 
         // Validate crop data
         validateCropData(cropData, product, errors);
 
         // Validate logo resolution for print quality
+        Double effectiveDpi = null;
         if (logoFile != null && product != null && errors.isEmpty()) {
-            validateLogoResolution(logoFile, product, warnings);
+            effectiveDpi = validateLogoResolution(logoFile, product, warnings);
         }
 
-        return new ValidationResult(errors.isEmpty(), errors, warnings);
+        return new ValidationResult(errors.isEmpty(), errors, warnings, effectiveDpi);
+    }
+
+    private CropDataRequest parseCropData(String cropDataJson) {
+        if (cropDataJson == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(cropDataJson, CropDataRequest.class);
+        } catch (Exception e) {
+            log.warn("Unreadable crop data: {}", e.getMessage());
+            return null;
+        }
     }
 
     /**
      * Validate logo file exists and is not corrupted
      */
-    private LogoFile validateLogoFile(UUID logoFileId, List<ValidationError> errors) {
+    private LogoFile validateLogoFile(UUID logoFileId, LogoFile logoFile, List<ValidationError> errors) {
         if (logoFileId == null) {
             errors.add(new ValidationError(
                     "CUST_NO_LOGO",
@@ -136,8 +317,7 @@ public class CustomizationValidationService {
             return null;
         }
 
-        var logoFileOpt = logoFileRepository.findById(logoFileId);
-        if (logoFileOpt.isEmpty()) {
+        if (logoFile == null) {
             errors.add(new ValidationError(
                     "CUST_013",
                     "Logo file not found in system",
@@ -146,7 +326,15 @@ public class CustomizationValidationService {
             return null;
         }
 
-        LogoFile logoFile = logoFileOpt.get();
+        // Rejected by the validation worker (corrupt, unsupported or oversized)
+        if (LogoValidationWorker.STATUS_REJECTED.equals(logoFile.getValidationStatus())) {
+            errors.add(new ValidationError(
+                    "CUST_013",
+                    "Logo file is invalid: " + logoFile.getValidationError(),
+                    "logo"
+            ));
+            return null;
+        }
 
         // Check if file has been validated
         if (!Boolean.TRUE.equals(logoFile.getIsValidated())) {
@@ -164,7 +352,7 @@ public class CustomizationValidationService {
     /**
      * Validate product exists and is customizable
      */
-    private Product validateProduct(UUID productId, List<ValidationError> errors) {
+    private Product validateProduct(UUID productId, Product product, List<ValidationError> errors) {
         if (productId == null) {
             errors.add(new ValidationError(
                     "CUST_008",
@@ -174,8 +362,7 @@ public class CustomizationValidationService {
             return null;
         }
 
-        var productOpt = productRepository.findById(productId);
-        if (productOpt.isEmpty()) {
+        if (product == null) {
             errors.add(new ValidationError(
                     "CUST_008",
                     "Product not found",
@@ -184,8 +371,6 @@ public class CustomizationValidationService {
             return null;
         }
 
-        Product product = productOpt.get();
-
         // Check if product is active
         if (product.getStatus() != ProductStatus.ACTIVE) {
             errors.add(new ValidationError(
@@ -222,6 +407,16 @@ public class CustomizationValidationService {
             return;
         }
 
+        if (cropData.getX() == null || cropData.getY() == null || cropData.getWidth() == null
+                || cropData.getHeight() == null || cropData.getZoom() == null) {
+            errors.add(new ValidationError(
+                    "CUST_005",
+                    "Incomplete crop data. Please recrop logo.",
+                    "crop"
+            ));
+            return;
+        }
+
         // Check minimum size
         if (cropData.getWidth() < 100 || cropData.getHeight() < 100) {
             errors.add(new ValidationError(
@@ -269,14 +464,16 @@ public class CustomizationValidationService {
 
     /**
      * Validate logo resolution for print quality
+     *
+     * @return Effective DPI at print size, or null if it cannot be determined
      */
-    private void validateLogoResolution(LogoFile logoFile, Product product, List<ValidationWarning> warnings) {
+    private Double validateLogoResolution(LogoFile logoFile, Product product, List<ValidationWarning> warnings) {
         if (logoFile.getWidth() == null || logoFile.getHeight() == null) {
-            return; // SVG files may not have dimensions
+            return null; // SVG files may not have dimensions
         }
 
         if (product.getPrintAreaWidth() == null || product.getPrintAreaHeight() == null) {
-            return;
+            return null;
         }
 
         // Calculate print size in inches
@@ -298,6 +495,8 @@ public class CustomizationValidationService {
                     "logo"
             ));
         }
+
+        return effectiveDPI;
     }
 
     /**
@@ -312,8 +511,11 @@ public class CustomizationValidationService {
         List<ValidationError> errors = new ArrayList<>();
         List<ValidationWarning> warnings = new ArrayList<>();
 
-        // Basic validation
-        ValidationResult basicResult = validateCustomization(logoFileId, productId, cropData);
+        // Basic validation (server side, on the order's own logo: not scoped to a user)
+        ValidationResult basicResult = validateLoaded(
+                logoFileId, logoFileId != null ? logoFileRepository.findById(logoFileId).orElse(null) : null,
+                productId, productId != null ? productRepository.findById(productId).orElse(null) : null,
+                cropData);
         errors.addAll(basicResult.getErrors());
         warnings.addAll(basicResult.getWarnings());
 
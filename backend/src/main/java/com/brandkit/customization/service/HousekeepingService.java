@@ -0,0 +1,307 @@
+package com.brandkit.customization.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.brandkit.auth.repository.UserRepository;
+import com.brandkit.catalog.repository.CategoryRepository;
+import com.brandkit.catalog.repository.PartnerRepository;
+import com.brandkit.catalog.repository.ProductImageRepository;
+import com.brandkit.customization.repository.CustomizationDraftRepository;
+import com.brandkit.customization.repository.CustomizationRepository;
+import com.brandkit.customization.repository.LogoFileRepository;
+import com.brandkit.customization.repository.PrintRenderRepository;
+import com.brandkit.order.repository.InvoiceRepository;
+import com.brandkit.order.repository.OrderItemRepository;
+import com.brandkit.order.repository.OrderRepository;
+import com.brandkit.partner.repository.ProofImageRepository;
+import com.brandkit.partner.repository.SettlementRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Housekeeping Service
+ * FRD-003: Retention of drafts, logos and stored media
+ *
+ * - Expired drafts and unused expired logos are deleted in bounded batches,
+ *   each batch in its own short transaction
+ * - Stored objects under app.housekeeping.sweep-prefixes (logo and product image
+ *   uploads) are garbage-collected once no row in any table with a storage URL
+ *   column references them; this also catches uploads whose record was never
+ *   committed. Deleted product images are removed by ImageService right away.
+ *
+ * Work per run is capped and batches are paced, so a large backlog drains over
+ * several runs instead of one long burst. The storage sweep pages through keys
+ * in order from a cursor, so the next run resumes where the previous one stopped.
+ * Runs happen on a dedicated thread, so the pacing never holds up the shared
+ * scheduler.
+ */
+@Service
+public class HousekeepingService {
+    private static final Logger log = LoggerFactory.getLogger(HousekeepingService.class);
+
+    @Autowired
+    private CustomizationDraftRepository draftRepository;
+    @Autowired
+    private LogoFileRepository logoFileRepository;
+    @Autowired
+    private CustomizationRepository customizationRepository;
+    @Autowired
+    private PrintRenderRepository printRenderRepository;
+    @Autowired
+    private ProductImageRepository productImageRepository;
+    @Autowired
+    private ProofImageRepository proofImageRepository;
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    @Autowired
+    private SettlementRepository settlementRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PartnerRepository partnerRepository;
+    @Autowired
+    private LogoStorageService logoStorageService;
+
+    @Value("${app.housekeeping.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.housekeeping.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.housekeeping.batch-pause-ms:200}")
+    private long batchPauseMs;
+
+    @Value("${app.housekeeping.orphan-grace-hours:24}")
+    private long orphanGraceHours;
+
+    @Value("${app.housekeeping.sweep-prefixes:logos/,products/}")
+    private String[] sweepPrefixes;
+
+    private ExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile String storageCursor;
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong draftsDeleted = new AtomicLong();
+    private final AtomicLong logosDeleted = new AtomicLong();
+    private final AtomicLong objectsScanned = new AtomicLong();
+    private final AtomicLong orphansDeleted = new AtomicLong();
+    private final AtomicLong tempFilesDeleted = new AtomicLong();
+    private final AtomicLong storagePassesCompleted = new AtomicLong();
+    private volatile LocalDateTime lastRunAt;
+    private volatile long lastRunMillis;
+
+    @PostConstruct
+    void init() {
+        // Key order across prefixes, so one cursor covers them all
+        Arrays.sort(sweepPrefixes);
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "housekeeping-1");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Start a housekeeping run on the housekeeping thread and return immediately;
+     * returns false if a run is already in progress
+     */
+    public boolean submitRun() {
+        if (running.get()) {
+            log.info("Housekeeping already running, skipping");
+            return false;
+        }
+        executor.execute(this::runAll);
+        return true;
+    }
+
+    /**
+     * Run all housekeeping tasks; skipped if a run is already in progress
+     */
+    public void runAll() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Housekeeping already running, skipping");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            purgeExpiredDrafts();
+            purgeExpiredLogos();
+            collectOrphanedMedia();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Housekeeping interrupted");
+        } finally {
+            runs.incrementAndGet();
+            lastRunAt = LocalDateTime.now();
+            lastRunMillis = System.currentTimeMillis() - start;
+            running.set(false);
+        }
+    }
+
+    /**
+     * Delete expired drafts in bounded batches
+     */
+    public long purgeExpiredDrafts() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        long deleted = drain(() -> draftRepository.deleteExpiredBatch(now, batchSize));
+        draftsDeleted.addAndGet(deleted);
+        if (deleted > 0) {
+            log.info("Purged {} expired drafts", deleted);
+        }
+        return deleted;
+    }
+
+    /**
+     * Delete expired logos in bounded batches (logos still used by a customization are kept)
+     */
+    public long purgeExpiredLogos() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        long deleted = drain(() -> logoFileRepository.deleteExpiredBatch(now, batchSize));
+        logosDeleted.addAndGet(deleted);
+        if (deleted > 0) {
+            log.info("Purged {} expired logo records", deleted);
+        }
+        return deleted;
+    }
+
+    /**
+     * Delete stored objects that no record references, resuming from the last cursor
+     */
+    public long collectOrphanedMedia() throws InterruptedException {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(orphanGraceHours));
+        long deleted = 0;
+
+        try {
+            tempFilesDeleted.addAndGet(logoStorageService.purgeTempFiles(cutoff));
+
+            // One page of keys per run, listed from the cursor; then checked in batches
+            int limit = batchSize * maxBatchesPerRun;
+            List<String> keys = new ArrayList<>();
+            for (String prefix : sweepPrefixes) {
+                if (keys.size() >= limit) {
+                    break;
+                }
+                keys.addAll(logoStorageService.listKeysAfter(prefix, storageCursor, limit - keys.size(), cutoff));
+            }
+
+            for (int from = 0; from < keys.size(); from += batchSize) {
+                List<String> batch = keys.subList(from, Math.min(from + batchSize, keys.size()));
+
+                Map<String, String> keysByUrl = new HashMap<>();
+                for (String key : batch) {
+                    keysByUrl.put(logoStorageService.urlForKey(key), key);
+                }
+
+                Set<String> referenced = findReferencedUrls(keysByUrl.keySet());
+                for (Map.Entry<String, String> entry : keysByUrl.entrySet()) {
+                    if (!referenced.contains(entry.getKey())) {
+                        logoStorageService.deleteKey(entry.getValue());
+                        deleted++;
+                    }
+                }
+
+                objectsScanned.addAndGet(batch.size());
+                storageCursor = batch.get(batch.size() - 1);
+                Thread.sleep(batchPauseMs);
+            }
+
+            if (keys.size() < limit) {
+                storageCursor = null;
+                storagePassesCompleted.incrementAndGet();
+            }
+        } catch (IOException e) {
+            log.error("Storage sweep failed at cursor {}", storageCursor, e);
+        }
+
+        orphansDeleted.addAndGet(deleted);
+        if (deleted > 0) {
+            log.info("Deleted {} orphaned storage objects", deleted);
+        }
+        return deleted;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("running", running.get());
+        stats.put("runs", runs.get());
+        stats.put("lastRunAt", lastRunAt != null ? lastRunAt.toString() : null);
+        stats.put("lastRunMillis", lastRunMillis);
+        stats.put("draftsDeleted", draftsDeleted.get());
+        stats.put("logosDeleted", logosDeleted.get());
+        stats.put("objectsScanned", objectsScanned.get());
+        stats.put("orphansDeleted", orphansDeleted.get());
+        stats.put("tempFilesDeleted", tempFilesDeleted.get());
+        stats.put("storagePassesCompleted", storagePassesCompleted.get());
+        stats.put("storageCursor", storageCursor);
+        return stats;
+    }
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Repeat a batch delete until it comes back short or the per-run cap is hit
+     */
+    private long drain(IntSupplier deleteBatch) throws InterruptedException {
+        long total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int deleted = deleteBatch.getAsInt();
+            total += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+            Thread.sleep(batchPauseMs);
+        }
+        return total;
+    }
+
+    private Set<String> findReferencedUrls(Set<String> urls) {
+        Set<String> referenced = new HashSet<>();
+        referenced.addAll(productImageRepository.findReferencedUrls(urls));
+        referenced.addAll(customizationRepository.findReferencedUrls(urls));
+        referenced.addAll(draftRepository.findReferencedUrls(urls));
+        referenced.addAll(logoFileRepository.findReferencedUrls(urls));
+        referenced.addAll(printRenderRepository.findReferencedUrls(urls));
+        referenced.addAll(proofImageRepository.findReferencedUrls(urls));
+        referenced.addAll(invoiceRepository.findReferencedUrls(urls));
+        referenced.addAll(orderRepository.findReferencedUrls(urls));
+        referenced.addAll(orderItemRepository.findReferencedUrls(urls));
+        referenced.addAll(settlementRepository.findReferencedUrls(urls));
+        referenced.addAll(categoryRepository.findReferencedUrls(urls));
+        referenced.addAll(userRepository.findReferencedUrls(urls));
+        referenced.addAll(partnerRepository.findReferencedUrls(urls));
+        return referenced;
+    }
+}
@@ -6,8 +6,10 @@ import com.brandkit.customization.dto.CropDataRequest;
 import com.brandkit.customization.entity.LogoFile;
 import com.brandkit.customization.repository.LogoFileRepository;
 import com.brandkit.customization.repository.CustomizationRepository;
+import com.brandkit.customization.util.ContentDigest;
 import com.brandkit.catalog.entity.Product;
 import com.brandkit.catalog.entity.ProductImage;
+import com.brandkit.catalog.repository.ProductImageRepository;
 import com.brandkit.catalog.repository.ProductRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -16,9 +18,10 @@ import org.springframework.transaction.annotation.Transactional;
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -26,6 +29,8 @@ import java.util.UUID;
  * FRD-003 Sub-Prompt 4: Server-Side High-Resolution Rendering
  * 
  * Generates print-ready high-resolution images (300 DPI) for production.
+ * Renders are content-addressed: identical (logo, product image, crop, DPI)
+ * inputs resolve to an existing print file through {@link RenderCacheService}.
  */
 @Service
 public class ImageRenderingService {
@@ -37,8 +42,17 @@ public class ImageRenderingService {
     private ProductRepository productRepository;
     @Autowired
     private CustomizationRepository customizationRepository;
+    @Autowired
+    private ProductImageRepository productImageRepository;
+    @Autowired
+    private RenderCacheService renderCacheService;
+    @Autowired
+    private ImageSourceService imageSourceService;
+    @Autowired
+    private LogoStorageService storageService;
     private static final int TARGET_DPI = 300;
     private static final double DPI_SCALE = TARGET_DPI / 72.0; // Assuming 72 DPI base
+    private static final String PRINT_KEY_PREFIX = "prints/";
 
     /**
      * Render high-resolution print-ready image
@@ -75,8 +89,41 @@ public class ImageRenderingService {
             if (firstImage == null) {
                 throw new RuntimeException("Product has no images");
             }
-            BufferedImage productImage = loadImageFromUrl(firstImage.getImageUrl());
-            BufferedImage logoImage = loadImageFromUrl(logoFile.getFileUrl());
+
+            // Resolve content digests; legacy rows without one are hashed once and backfilled
+            byte[] logoBytes = null;
+            String logoHash = logoFile.getContentHash();
+            if (logoHash == null) {
+                logoBytes = imageSourceService.fetchBytes(logoFile.getFileUrl());
+                logoHash = ContentDigest.sha256Hex(logoBytes);
+                logoFile.setContentHash(logoHash);
+                logoFileRepository.save(logoFile);
+            }
+
+            byte[] productBytes = null;
+            String productImageHash = firstImage.getContentHash();
+            if (productImageHash == null) {
+                productBytes = imageSourceService.fetchBytes(firstImage.getImageUrl());
+                productImageHash = ContentDigest.sha256Hex(productBytes);
+                firstImage.setContentHash(productImageHash);
+                productImageRepository.save(firstImage);
+            }
+
+            // Identical customization already rendered: reuse the existing print file
+            String renderKey = renderCacheService.buildRenderKey(logoHash, productImageHash,
+                    product.getPrintAreaWidth(), product.getPrintAreaHeight(), cropData, TARGET_DPI);
+            Optional<String> cachedUrl = renderCacheService.lookup(renderKey);
+            if (cachedUrl.isPresent()) {
+                log.info("High-res render cache hit for order {} product {}: {}", orderId, productId, renderKey);
+                return cachedUrl.get();
+            }
+
+            // Product base rasters are shared across orders; only logos are always fetched
+            BufferedImage productImage = imageSourceService.getProductBaseImage(
+                    productImageHash, firstImage.getImageUrl(), productBytes);
+            // Full resolution: the crop rectangle is in the uploaded logo's pixel coordinates
+            BufferedImage logoImage = imageSourceService.decodeFullResolution(
+                    logoBytes != null ? logoBytes : imageSourceService.fetchBytes(logoFile.getFileUrl()));
 
             // Calculate high-res dimensions
             int highResWidth = (int) (productImage.getWidth() * DPI_SCALE);
@@ -136,14 +183,19 @@ public class ImageRenderingService {
             );
             g.dispose();
 
-            // Convert to PNG bytes
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ImageIO.write(highResProduct, "PNG", baos);
-            byte[] imageBytes = baos.toByteArray();
-
-            // TODO: Upload to S3 and return URL
-            // For now, return placeholder
-            String printImageUrl = "https://s3.brandkit.com/prints/" + orderId + "_" + productId + "_print.png";
+            // Write the PNG and upload it; only a stored file is recorded in the render cache
+            Path tempFile = storageService.createTempFile();
+            String printImageUrl;
+            long fileSize;
+            try {
+                ImageIO.write(highResProduct, "PNG", tempFile.toFile());
+                fileSize = Files.size(tempFile);
+                printImageUrl = storageService.store(tempFile, PRINT_KEY_PREFIX + renderKey + ".png");
+            } catch (IOException e) {
+                storageService.deleteQuietly(tempFile);
+                throw e;
+            }
+            renderCacheService.store(renderKey, logoHash, productImageHash, TARGET_DPI, printImageUrl, fileSize);
             
             log.info("High-res image generated: {}x{}px, {} DPI", highResWidth, highResHeight, TARGET_DPI);
             
@@ -155,11 +207,6 @@ public class ImageRenderingService {
         }
     }
 
-    private BufferedImage loadImageFromUrl(String imageUrl) throws IOException {
-        URL url = new URL(imageUrl);
-        return ImageIO.read(url);
-    }
-
     private BufferedImage scaleImage(BufferedImage original, int targetWidth, int targetHeight) {
         BufferedImage scaled = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_ARGB);
         Graphics2D g = scaled.createGraphics();
@@ -0,0 +1,337 @@
+package com.brandkit.customization.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Image Source Service
+ * FRD-003 Sub-Prompt 4: Rendering input fetcher and decoded-image cache
+ *
+ * - Single pooled HTTP client with connect/read timeouts, a deadline on the whole
+ *   download (headers and body) and a download size limit
+ * - Streaming decode with source subsampling down to the max render dimension
+ *   (product base images only; logos keep the resolution their crop refers to)
+ * - Memory-budgeted cache of decoded product base images, weighted by pixel bytes.
+ *   Values are soft references, so the GC can reclaim rasters under memory pressure.
+ *
+ * Cached images are shared: callers must treat them as read-only.
+ */
+@Service
+public class ImageSourceService {
+    private static final Logger log = LoggerFactory.getLogger(ImageSourceService.class);
+
+    @Value("${app.image-source.connect-timeout-ms:3000}")
+    private long connectTimeoutMs;
+
+    @Value("${app.image-source.read-timeout-ms:10000}")
+    private long readTimeoutMs;
+
+    // Whole download, body included: the read timeout only covers the wait for headers
+    @Value("${app.image-source.total-timeout-ms:30000}")
+    private long totalTimeoutMs;
+
+    @Value("${app.image-source.max-bytes:26214400}") // 25MB
+    private long maxBytes;
+
+    @Value("${app.image-source.max-decode-dimension:6000}")
+    private int maxDecodeDimension;
+
+    @Value("${app.image-source.cache-budget-bytes:268435456}") // 256MB
+    private long cacheBudgetBytes;
+
+    private HttpClient httpClient;
+
+    private final LinkedHashMap<String, CachedRaster> rasterCache = new LinkedHashMap<>(64, 0.75f, true);
+    private long cachedBytes;
+
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final AtomicLong softEvictions = new AtomicLong();
+
+    private static final class CachedRaster {
+        private final SoftReference<BufferedImage> image;
+        private final long weight;
+
+        private CachedRaster(BufferedImage image, long weight) {
+            this.image = new SoftReference<>(image);
+            this.weight = weight;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        // HttpClient keeps a connection pool per instance; one client is shared by all renders
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * Download raw bytes with timeouts and the configured size limit
+     */
+    public byte[] fetchBytes(String imageUrl) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(imageUrl))
+                .timeout(Duration.ofMillis(readTimeoutMs))
+                .GET()
+                .build();
+
+        CompletableFuture<HttpResponse<byte[]>> download = httpClient.sendAsync(request, info -> info.statusCode() == 200
+                ? new LimitedBody(imageUrl, info.headers().firstValueAsLong("Content-Length").orElse(-1L))
+                : HttpResponse.BodySubscribers.replacing(null));
+        HttpResponse<byte[]> response;
+        try {
+            response = download.get(totalTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Aborts the exchange, so a server trickling the body does not hold the connection either
+            download.cancel(true);
+            throw new IOException("Image download exceeded " + totalTimeoutMs + "ms: " + imageUrl, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw new IOException("Image fetch failed: " + imageUrl, e.getCause());
+        } catch (InterruptedException e) {
+            download.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching image: " + imageUrl, e);
+        }
+
+        if (response.statusCode() != 200) {
+            throw new IOException("Image fetch failed with HTTP " + response.statusCode() + ": " + imageUrl);
+        }
+        return response.body();
+    }
+
+    /**
+     * Decode image bytes, subsampling at read time when larger than the max decode dimension
+     */
+    public BufferedImage decode(byte[] imageBytes) throws IOException {
+        return decode(imageBytes, maxDecodeDimension);
+    }
+
+    /**
+     * Decode image bytes at full resolution, for images addressed in source pixels
+     * (logos, whose crop rectangle is in the uploaded image's coordinates)
+     */
+    public BufferedImage decodeFullResolution(byte[] imageBytes) throws IOException {
+        return decode(imageBytes, 0);
+    }
+
+    /**
+     * Decode image bytes, subsampling at read time so neither side exceeds maxDimension
+     * (0: never subsample)
+     */
+    public BufferedImage decode(byte[] imageBytes, int maxDimension) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(imageBytes))) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("Unsupported or corrupt image data");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = subsamplingFactor(width, height, maxDimension);
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                    log.debug("Subsampling {}x{} image by {}", width, height, subsampling);
+                }
+
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Load a decoded product base image, skipping network and decode on a cache hit
+     *
+     * @param cacheKey Stable key, preferably the image content digest
+     * @param imageUrl Source URL used on a miss
+     * @param prefetchedBytes Bytes already downloaded by the caller, or null
+     */
+    public BufferedImage getProductBaseImage(String cacheKey, String imageUrl, byte[] prefetchedBytes) throws IOException {
+        BufferedImage cached = getCached(cacheKey);
+        if (cached != null) {
+            cacheHits.incrementAndGet();
+            return cached;
+        }
+
+        cacheMisses.incrementAndGet();
+        byte[] bytes = prefetchedBytes != null ? prefetchedBytes : fetchBytes(imageUrl);
+        BufferedImage image = decode(bytes);
+        putCached(cacheKey, image);
+        return image;
+    }
+
+    /**
+     * Cache metrics since startup
+     */
+    public synchronized Map<String, Object> getStats() {
+        long hits = cacheHits.get();
+        long misses = cacheMisses.get();
+        long total = hits + misses;
+
+        return Map.of(
+                "hits", hits,
+                "misses", misses,
+                "hitRatio", total == 0 ? 0.0 : Math.round((double) hits / total * 10000) / 10000.0,
+                "softEvictions", softEvictions.get(),
+                "entries", rasterCache.size(),
+                "cachedBytes", cachedBytes,
+                "budgetBytes", cacheBudgetBytes
+        );
+    }
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Collects a response body, failing (and cancelling the download) once it passes maxBytes
+     */
+    private final class LimitedBody implements HttpResponse.BodySubscriber<byte[]> {
+        private final String imageUrl;
+        private final long declaredLength;
+        private final CompletableFuture<byte[]> body = new CompletableFuture<>();
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private Flow.Subscription subscription;
+
+        private LimitedBody(String imageUrl, long declaredLength) {
+            this.imageUrl = imageUrl;
+            this.declaredLength = declaredLength;
+        }
+
+        @Override
+        public CompletionStage<byte[]> getBody() {
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (declaredLength > maxBytes) {
+                fail(new IOException("Image exceeds size limit (" + declaredLength + " bytes): " + imageUrl));
+                return;
+            }
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            for (ByteBuffer buffer : buffers) {
+                if (body.isDone()) {
+                    return;
+                }
+                if (out.size() + (long) buffer.remaining() > maxBytes) {
+                    fail(new IOException("Image exceeds size limit of " + maxBytes + " bytes: " + imageUrl));
+                    return;
+                }
+                byte[] chunk = new byte[buffer.remaining()];
+                buffer.get(chunk);
+                out.write(chunk, 0, chunk.length);
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            body.completeExceptionally(error);
+        }
+
+        @Override
+        public void onComplete() {
+            body.complete(out.toByteArray());
+        }
+
+        private void fail(IOException error) {
+            subscription.cancel();
+            body.completeExceptionally(error);
+        }
+    }
+
+    private int subsamplingFactor(int width, int height, int maxDimension) {
+        int longest = Math.max(width, height);
+        if (maxDimension <= 0 || longest <= maxDimension) {
+            return 1;
+        }
+        return (int) Math.ceil((double) longest / maxDimension);
+    }
+
+    private synchronized BufferedImage getCached(String cacheKey) {
+        CachedRaster entry = rasterCache.get(cacheKey);
+        if (entry == null) {
+            return null;
+        }
+
+        BufferedImage image = entry.image.get();
+        if (image == null) {
+            // Reclaimed by the GC under memory pressure
+            rasterCache.remove(cacheKey);
+            cachedBytes -= entry.weight;
+            softEvictions.incrementAndGet();
+        }
+        return image;
+    }
+
+    private synchronized void putCached(String cacheKey, BufferedImage image) {
+        long weight = pixelBytes(image);
+        if (weight > cacheBudgetBytes) {
+            return; // Larger than the whole budget: never worth caching
+        }
+
+        CachedRaster previous = rasterCache.put(cacheKey, new CachedRaster(image, weight));
+        if (previous != null) {
+            cachedBytes -= previous.weight;
+        }
+        cachedBytes += weight;
+
+        // Evict least recently used until back under budget
+        Iterator<Map.Entry<String, CachedRaster>> it = rasterCache.entrySet().iterator();
+        while (cachedBytes > cacheBudgetBytes && it.hasNext()) {
+            Map.Entry<String, CachedRaster> eldest = it.next();
+            cachedBytes -= eldest.getValue().weight;
+            it.remove();
+        }
+    }
+
+    private long pixelBytes(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        long bytesPerElement = DataBuffer.getDataTypeSize(buffer.getDataType()) / 8L;
+        return (long) buffer.getSize() * buffer.getNumBanks() * Math.max(1L, bytesPerElement);
+    }
+}
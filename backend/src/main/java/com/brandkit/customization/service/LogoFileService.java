@@ -0,0 +1,59 @@
+package com.brandkit.customization.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.brandkit.customization.entity.LogoFile;
+import com.brandkit.customization.repository.LogoFileRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Logo File Service
+ * FRD-003: Logo file registration with content deduplication
+ *
+ * Corporate clients upload the same logo for many products; identical bytes
+ * from the same user resolve to a single LogoFile record.
+ */
+@Service
+public class LogoFileService {
+    private static final Logger log = LoggerFactory.getLogger(LogoFileService.class);
+
+    @Autowired
+    private LogoFileRepository logoFileRepository;
+
+    /**
+     * Find an existing logo with the same content for this user
+     */
+    @Transactional(readOnly = true)
+    public Optional<LogoFile> findDuplicate(UUID userId, String contentHash) {
+        return logoFileRepository.findFirstByUserIdAndContentHashOrderByCreatedAtAsc(userId, contentHash);
+    }
+
+    /**
+     * Register an uploaded logo, reusing an existing record when the content matches
+     */
+    @Transactional
+    public LogoFile registerLogo(UUID userId, String fileName, String fileType, String fileUrl,
+                                 String contentHash, long fileSize) {
+        Optional<LogoFile> existing = logoFileRepository.findFirstByUserIdAndContentHashOrderByCreatedAtAsc(userId, contentHash);
+        if (existing.isPresent()) {
+            log.info("Logo deduplicated: {} matches existing {}", fileName, existing.get().getId());
+            return existing.get();
+        }
+
+        LogoFile logoFile = LogoFile.builder()
+                .userId(userId)
+                .fileName(fileName)
+                .fileSize(fileSize)
+                .fileType(fileType)
+                .fileUrl(fileUrl)
+                .contentHash(contentHash)
+                .build();
+
+        return logoFileRepository.save(logoFile);
+    }
+}
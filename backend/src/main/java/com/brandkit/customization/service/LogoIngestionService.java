@@ -0,0 +1,209 @@
+package com.brandkit.customization.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.brandkit.customization.entity.LogoFile;
+import com.brandkit.customization.exception.CustomizationException;
+import com.brandkit.customization.repository.LogoFileRepository;
+import com.brandkit.customization.util.ContentDigest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Logo Ingestion Service
+ * FRD-003 Sub-Prompt 1: Logo upload
+ *
+ * Streams uploads to storage while hashing, sniffs the real format from magic
+ * bytes (the declared content type is not trusted), deduplicates by digest and
+ * queues the logo for asynchronous validation once the record is committed.
+ */
+@Service
+public class LogoIngestionService {
+    private static final Logger log = LoggerFactory.getLogger(LogoIngestionService.class);
+
+    @Autowired
+    private LogoStorageService logoStorageService;
+    @Autowired
+    private LogoFileService logoFileService;
+    @Autowired
+    private LogoFileRepository logoFileRepository;
+    @Autowired
+    private LogoValidationWorker logoValidationWorker;
+
+    @Value("${app.logo.max-file-size:10485760}") // 10MB
+    private long maxFileSize;
+
+    private static final int SNIFF_BYTES = 512;
+
+    /**
+     * Ingest an uploaded logo and queue it for validation
+     */
+    @Transactional
+    public LogoFile ingest(UUID userId, MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new CustomizationException("CUS_002", "Logo file is required");
+        }
+        if (file.getSize() > maxFileSize) {
+            throw new CustomizationException("CUS_003", "Logo file exceeds " + (maxFileSize / (1024 * 1024)) + "MB limit");
+        }
+
+        Path tempFile = null;
+        try {
+            tempFile = logoStorageService.createTempFile();
+            MessageDigest digest = ContentDigest.newSha256();
+            byte[] header = new byte[SNIFF_BYTES];
+            int headerLength = 0;
+            long written = 0;
+
+            // Stream to disk, hashing and capturing the header in the same pass
+            try (InputStream in = file.getInputStream(); OutputStream out = Files.newOutputStream(tempFile)) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    written += read;
+                    if (written > maxFileSize) {
+                        throw new CustomizationException("CUS_003", "Logo file exceeds " + (maxFileSize / (1024 * 1024)) + "MB limit");
+                    }
+                    if (headerLength < SNIFF_BYTES) {
+                        int copy = Math.min(read, SNIFF_BYTES - headerLength);
+                        System.arraycopy(buffer, 0, header, headerLength, copy);
+                        headerLength += copy;
+                    }
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+
+            String fileType = sniffFormat(Arrays.copyOf(header, headerLength));
+            if (fileType == null) {
+                throw new CustomizationException("CUS_002", "Unsupported logo format. Allowed: PNG, JPG, SVG");
+            }
+
+            String contentHash = ContentDigest.toHex(digest.digest());
+            Optional<LogoFile> duplicate = logoFileService.findDuplicate(userId, contentHash);
+            if (duplicate.isPresent()) {
+                log.info("Logo upload by {} matches existing logo {}", userId, duplicate.get().getId());
+                return duplicate.get();
+            }
+
+            // Content-addressed key: concurrent uploads of the same bytes write the same object
+            String storageKey = String.format("logos/%s/%s.%s", userId, contentHash, extensionFor(fileType));
+            String fileUrl = logoStorageService.store(tempFile, storageKey);
+            tempFile = null;
+
+            LogoFile logoFile = logoFileService.registerLogo(
+                    userId, originalName(file), fileType, fileUrl, contentHash, written);
+
+            queueValidationAfterCommit(logoFile.getId());
+            return logoFile;
+        } catch (IOException e) {
+            log.error("Failed to store logo upload", e);
+            throw new CustomizationException("CUS_004", "Failed to upload logo: " + e.getMessage(), e);
+        } finally {
+            logoStorageService.deleteQuietly(tempFile);
+        }
+    }
+
+    /**
+     * Validation status for a user's logo
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getLogoStatus(UUID logoFileId, UUID userId) {
+        LogoFile logoFile = logoFileRepository.findByIdAndUserId(logoFileId, userId)
+                .orElseThrow(() -> new CustomizationException("CUS_001", "Logo file not found"));
+        return logoToMap(logoFile);
+    }
+
+    public Map<String, Object> logoToMap(LogoFile logoFile) {
+        // HashMap: width/height/dpi/error are null until validation completes
+        Map<String, Object> map = new HashMap<>();
+        map.put("logoFileId", logoFile.getId().toString());
+        map.put("fileName", logoFile.getFileName());
+        map.put("fileType", logoFile.getFileType());
+        map.put("fileSize", logoFile.getFileSize());
+        map.put("fileUrl", logoFile.getFileUrl());
+        map.put("validationStatus", logoFile.getValidationStatus());
+        map.put("isValidated", Boolean.TRUE.equals(logoFile.getIsValidated()));
+        map.put("width", logoFile.getWidth());
+        map.put("height", logoFile.getHeight());
+        map.put("dpi", logoFile.getDpi());
+        map.put("error", logoFile.getValidationError());
+        return map;
+    }
+
+    // ==================== Helper Methods ====================
+
+    private void queueValidationAfterCommit(UUID logoFileId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            logoValidationWorker.submit(logoFileId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                logoValidationWorker.submit(logoFileId);
+            }
+        });
+    }
+
+    /**
+     * Detect the real format from magic bytes
+     */
+    private String sniffFormat(byte[] header) {
+        if (header.length >= 8
+                && (header[0] & 0xFF) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G'
+                && header[4] == 0x0D && header[5] == 0x0A && header[6] == 0x1A && header[7] == 0x0A) {
+            return "image/png";
+        }
+        if (header.length >= 3
+                && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return "image/jpeg";
+        }
+
+        String text = new String(header, StandardCharsets.UTF_8).stripLeading();
+        if (text.startsWith("\uFEFF")) {
+            text = text.substring(1).stripLeading();
+        }
+        if (text.startsWith("<svg") || (text.startsWith("<?xml") && text.contains("<svg"))) {
+            return "image/svg+xml";
+        }
+        return null;
+    }
+
+    private String extensionFor(String fileType) {
+        return switch (fileType) {
+            case "image/png" -> "png";
+            case "image/jpeg" -> "jpg";
+            default -> "svg";
+        };
+    }
+
+    private String originalName(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        if (name == null || name.isBlank()) {
+            return "logo";
+        }
+        // Strip any client-supplied path and cap to the column length
+        name = name.replace('\\', '/');
+        name = name.substring(name.lastIndexOf('/') + 1);
+        return name.length() > 255 ? name.substring(0, 255) : name;
+    }
+}
@@ -0,0 +1,322 @@
+package com.brandkit.customization.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Logo Storage Service
+ * FRD-003: Logo file storage
+ *
+ * Objects are addressed by storage key and served through the CDN base URL.
+ * app.storage.type selects the backend: "local" keeps them on disk under
+ * app.storage.upload-path (key = path relative to the upload root), "s3" puts
+ * them in app.s3.bucket (key = object key). Upload temp files always live on
+ * local disk under the upload path.
+ */
+@Service
+public class LogoStorageService {
+    private static final Logger log = LoggerFactory.getLogger(LogoStorageService.class);
+
+    @Value("${app.storage.upload-path:./uploads}")
+    private String uploadPath;
+
+    @Value("${app.cdn.base-url:https://cdn.brandkit.com}")
+    private String cdnBaseUrl;
+
+    @Value("${app.storage.type:local}")
+    private String storageType;
+
+    @Value("${app.s3.bucket:brandkit-products}")
+    private String bucket;
+
+    @Value("${app.s3.region:ap-south-1}")
+    private String region;
+
+    @Value("${app.s3.access-key:}")
+    private String accessKey;
+
+    @Value("${app.s3.secret-key:}")
+    private String secretKey;
+
+    /**
+     * S3 client, or null when storing on local disk
+     */
+    private S3Client s3Client;
+
+    @PostConstruct
+    void init() {
+        if ("s3".equalsIgnoreCase(storageType)) {
+            // Explicit keys if configured, otherwise the default chain (env, instance role, ...)
+            AwsCredentialsProvider credentials = accessKey.isBlank()
+                    ? DefaultCredentialsProvider.create()
+                    : StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+            s3Client = S3Client.builder()
+                    .region(Region.of(region))
+                    .credentialsProvider(credentials)
+                    .build();
+            log.info("Logo storage: S3 bucket {} ({})", bucket, region);
+        } else if ("local".equalsIgnoreCase(storageType)) {
+            log.info("Logo storage: local disk at {}", Paths.get(uploadPath).toAbsolutePath().normalize());
+        } else {
+            throw new IllegalStateException("Unsupported app.storage.type: " + storageType);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (s3Client != null) {
+            s3Client.close();
+        }
+    }
+
+    /**
+     * Create a temp file in the upload area (same filesystem, so the final move is atomic)
+     */
+    public Path createTempFile() throws IOException {
+        Path tmpDir = Paths.get(uploadPath, "tmp");
+        Files.createDirectories(tmpDir);
+        return Files.createTempFile(tmpDir, "logo-", ".upload");
+    }
+
+    /**
+     * Move a fully written temp file to its permanent key and return the public URL
+     */
+    public String store(Path tempFile, String storageKey) throws IOException {
+        if (s3Client != null) {
+            try {
+                s3Client.putObject(PutObjectRequest.builder()
+                                .bucket(bucket)
+                                .key(storageKey)
+                                .contentType(Files.probeContentType(tempFile))
+                                .build(),
+                        RequestBody.fromFile(tempFile));
+            } catch (SdkException e) {
+                throw new IOException("Failed to upload " + storageKey + " to S3", e);
+            } finally {
+                deleteQuietly(tempFile);
+            }
+            log.info("Stored logo in S3: {}", storageKey);
+            return urlForKey(storageKey);
+        }
+
+        Path target = Paths.get(uploadPath).resolve(storageKey).normalize();
+        Files.createDirectories(target.getParent());
+        Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Stored logo: {}", storageKey);
+        return cdnBaseUrl + "/" + storageKey;
+    }
+
+    /**
+     * Resolve a public URL to the local file backing it, or null for external URLs
+     * (and always under S3, where callers fetch the URL instead)
+     */
+    public Path resolveLocalPath(String fileUrl) {
+        String prefix = cdnBaseUrl + "/";
+        if (s3Client != null || fileUrl == null || !fileUrl.startsWith(prefix)) {
+            return null;
+        }
+
+        Path root = Paths.get(uploadPath).toAbsolutePath().normalize();
+        Path path = root.resolve(fileUrl.substring(prefix.length())).normalize();
+        return path.startsWith(root) && Files.exists(path) ? path : null;
+    }
+
+    /**
+     * Storage key behind a public URL, or null for URLs this service did not issue
+     */
+    public String keyForUrl(String fileUrl) {
+        String prefix = cdnBaseUrl + "/";
+        if (fileUrl == null || !fileUrl.startsWith(prefix)) {
+            return null;
+        }
+        return fileUrl.substring(prefix.length());
+    }
+
+    /**
+     * Public URL for a storage key
+     */
+    public String urlForKey(String storageKey) {
+        return cdnBaseUrl + "/" + storageKey;
+    }
+
+    /**
+     * Stored object keys under a prefix (e.g. "logos/") after the given cursor, in
+     * key order, skipping objects modified after the cutoff (uploads whose record
+     * may not be committed yet). Only the part of the tree after the cursor is
+     * visited, and listing stops once the limit is reached.
+     */
+    public List<String> listKeysAfter(String prefix, String cursor, int limit, Instant modifiedBefore) throws IOException {
+        if (s3Client != null) {
+            return listS3KeysAfter(prefix, cursor, limit, modifiedBefore);
+        }
+
+        Path root = Paths.get(uploadPath).toAbsolutePath().normalize();
+        Path start = root.resolve(prefix).normalize();
+        if (!start.startsWith(root) || !Files.isDirectory(start)) {
+            return List.of();
+        }
+
+        List<String> keys = new ArrayList<>();
+        collectKeys(root, start, cursor, limit, modifiedBefore, keys);
+        return keys;
+    }
+
+    /**
+     * Delete a stored object by key
+     */
+    public void deleteKey(String storageKey) {
+        if (s3Client != null) {
+            try {
+                s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(storageKey).build());
+            } catch (SdkException e) {
+                log.warn("Failed to delete S3 object {}: {}", storageKey, e.getMessage());
+            }
+            return;
+        }
+
+        Path root = Paths.get(uploadPath).toAbsolutePath().normalize();
+        Path path = root.resolve(storageKey).normalize();
+        if (path.startsWith(root)) {
+            deleteQuietly(path);
+        }
+    }
+
+    /**
+     * Delete abandoned temp files (uploads interrupted before the final move)
+     */
+    public int purgeTempFiles(Instant modifiedBefore) throws IOException {
+        Path tmpDir = Paths.get(uploadPath, "tmp");
+        if (!Files.isDirectory(tmpDir)) {
+            return 0;
+        }
+
+        int deleted = 0;
+        try (Stream<Path> paths = Files.list(tmpDir)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (Files.isRegularFile(path) && isModifiedBefore(path, modifiedBefore)) {
+                    deleteQuietly(path);
+                    deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Depth-first walk in key order. Children are sorted by their key ("dir/"
+     * for directories) so the walk matches a sort of the full keys, and whole
+     * directories at or before the cursor are skipped without being listed.
+     */
+    private void collectKeys(Path root, Path dir, String cursor, int limit, Instant modifiedBefore,
+                             List<String> keys) throws IOException {
+        Path tmpDir = root.resolve("tmp");
+        TreeMap<String, Path> children = new TreeMap<>();
+        try (Stream<Path> paths = Files.list(dir)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (path.startsWith(tmpDir)) {
+                    continue;
+                }
+                String key = root.relativize(path).toString().replace('\\', '/');
+                children.put(Files.isDirectory(path) ? key + "/" : key, path);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        for (Map.Entry<String, Path> child : children.entrySet()) {
+            if (keys.size() >= limit) {
+                return;
+            }
+            String key = child.getKey();
+            if (key.endsWith("/")) {
+                boolean beforeCursor = cursor != null && !cursor.startsWith(key) && key.compareTo(cursor) < 0;
+                if (!beforeCursor) {
+                    collectKeys(root, child.getValue(), cursor, limit, modifiedBefore, keys);
+                }
+            } else if ((cursor == null || key.compareTo(cursor) > 0)
+                    && isModifiedBefore(child.getValue(), modifiedBefore)) {
+                keys.add(key);
+            }
+        }
+    }
+
+    /**
+     * S3 lists keys in the same lexicographic order, so the cursor carries over
+     */
+    private List<String> listS3KeysAfter(String prefix, String cursor, int limit, Instant modifiedBefore) throws IOException {
+        List<String> keys = new ArrayList<>();
+        String startAfter = cursor;
+        try {
+            while (keys.size() < limit) {
+                ListObjectsV2Response page = s3Client.listObjectsV2(ListObjectsV2Request.builder()
+                        .bucket(bucket)
+                        .prefix(prefix)
+                        .startAfter(startAfter)
+                        .maxKeys(Math.min(1000, limit))
+                        .build());
+                for (S3Object object : page.contents()) {
+                    if (object.lastModified().isBefore(modifiedBefore) && keys.size() < limit) {
+                        keys.add(object.key());
+                    }
+                }
+                if (!Boolean.TRUE.equals(page.isTruncated()) || page.contents().isEmpty()) {
+                    break;
+                }
+                startAfter = page.contents().get(page.contents().size() - 1).key();
+            }
+        } catch (SdkException e) {
+            throw new IOException("Failed to list S3 bucket " + bucket, e);
+        }
+        return keys;
+    }
+
+    private boolean isModifiedBefore(Path path, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false; // Vanished or unreadable: leave it for the next pass
+        }
+    }
+
+    /**
+     * Delete a temp or stored file, ignoring missing files
+     */
+    public void deleteQuietly(Path path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete {}: {}", path, e.getMessage());
+        }
+    }
+}
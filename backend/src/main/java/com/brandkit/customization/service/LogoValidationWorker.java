@@ -0,0 +1,352 @@
+package com.brandkit.customization.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.brandkit.customization.entity.LogoFile;
+import com.brandkit.customization.repository.LogoFileRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Element;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Logo Validation Worker
+ * FRD-003 Sub-Prompt 10: Server-side logo validation
+ *
+ * Inspects uploaded logos off the request thread and flips LogoFile.isValidated:
+ * - Raster (PNG/JPEG): dimensions and DPI read from headers/metadata, then the pixel
+ *   data is decoded (subsampled) so truncated or corrupt files are rejected
+ * - SVG: intrinsic size parsed (XXE-safe) and sized at print resolution (300 DPI)
+ * - Max-pixel guard rejects decompression bombs before anything is decoded
+ *
+ * Concurrency is bounded by a private pool; logos that could not be queued
+ * stay "pending" and are picked up by the periodic sweep.
+ */
+@Component
+public class LogoValidationWorker {
+    private static final Logger log = LoggerFactory.getLogger(LogoValidationWorker.class);
+
+    public static final String STATUS_PENDING = "pending";
+    public static final String STATUS_PROCESSING = "processing";
+    public static final String STATUS_VALIDATED = "validated";
+    public static final String STATUS_REJECTED = "rejected";
+
+    private static final int PRINT_DPI = 300;
+    private static final int VERIFY_MAX_DIMENSION = 1024;
+    private static final double MM_PER_INCH = 25.4;
+    private static final Pattern SVG_LENGTH = Pattern.compile("^\\s*([0-9]*\\.?[0-9]+)\\s*(px|pt|pc|in|cm|mm)?\\s*$");
+
+    @Autowired
+    private LogoFileRepository logoFileRepository;
+    @Autowired
+    private LogoStorageService logoStorageService;
+    @Autowired
+    private ImageSourceService imageSourceService;
+
+    @Value("${app.logo.validation.threads:2}")
+    private int threads;
+
+    @Value("${app.logo.validation.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${app.logo.max-pixels:40000000}") // 40 megapixels
+    private long maxPixels;
+
+    private ThreadPoolExecutor executor;
+
+    /**
+     * Extracted logo metadata
+     */
+    static final class LogoMetadata {
+        private final int width;
+        private final int height;
+        private final Integer dpi;
+
+        LogoMetadata(int width, int height, Integer dpi) {
+            this.width = width;
+            this.height = height;
+            this.dpi = dpi;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "logo-validation-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Queue a logo for validation; returns false if the queue is full
+     */
+    public boolean submit(UUID logoFileId) {
+        try {
+            executor.execute(() -> validate(logoFileId));
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("Logo validation queue full, {} left pending for sweep", logoFileId);
+            return false;
+        }
+    }
+
+    /**
+     * Re-queue logos stuck in pending/processing every 5 minutes
+     */
+    @Scheduled(fixedRate = 300000) // 5 minutes in milliseconds
+    public void sweepPending() {
+        List<LogoFile> stale = logoFileRepository.findTop100ByValidationStatusInAndCreatedAtBeforeOrderByCreatedAtAsc(
+                List.of(STATUS_PENDING, STATUS_PROCESSING),
+                LocalDateTime.now().minusMinutes(5)
+        );
+
+        for (LogoFile logoFile : stale) {
+            if (!submit(logoFile.getId())) {
+                break;
+            }
+        }
+
+        if (!stale.isEmpty()) {
+            log.info("Re-queued {} pending logo validations", stale.size());
+        }
+    }
+
+    /**
+     * Validate a single logo and record the outcome
+     */
+    void validate(UUID logoFileId) {
+        LogoFile logoFile = logoFileRepository.findById(logoFileId).orElse(null);
+        if (logoFile == null || STATUS_VALIDATED.equals(logoFile.getValidationStatus())
+                || STATUS_REJECTED.equals(logoFile.getValidationStatus())) {
+            return;
+        }
+
+        logoFile.setValidationStatus(STATUS_PROCESSING);
+        logoFile = logoFileRepository.save(logoFile);
+
+        try {
+            LogoMetadata metadata = inspect(logoFile);
+
+            logoFile.setWidth(metadata.width);
+            logoFile.setHeight(metadata.height);
+            logoFile.setDpi(metadata.dpi);
+            logoFile.setIsValidated(true);
+            logoFile.setValidationStatus(STATUS_VALIDATED);
+            logoFile.setValidationError(null);
+            log.info("Logo {} validated: {}x{}px, {} DPI", logoFileId, metadata.width, metadata.height, metadata.dpi);
+        } catch (Exception e) {
+            logoFile.setIsValidated(false);
+            logoFile.setValidationStatus(STATUS_REJECTED);
+            logoFile.setValidationError(truncate(e.getMessage()));
+            log.warn("Logo {} rejected: {}", logoFileId, e.getMessage());
+        }
+
+        logoFileRepository.save(logoFile);
+    }
+
+    // ==================== Inspection ====================
+
+    private LogoMetadata inspect(LogoFile logoFile) throws Exception {
+        Path localPath = logoStorageService.resolveLocalPath(logoFile.getFileUrl());
+        if ("image/svg+xml".equals(logoFile.getFileType())) {
+            byte[] svg = localPath != null ? Files.readAllBytes(localPath) : imageSourceService.fetchBytes(logoFile.getFileUrl());
+            return inspectSvg(svg);
+        }
+
+        if (localPath != null) {
+            try (InputStream in = Files.newInputStream(localPath)) {
+                return inspectRaster(in);
+            }
+        }
+        return inspectRaster(new ByteArrayInputStream(imageSourceService.fetchBytes(logoFile.getFileUrl())));
+    }
+
+    /**
+     * Read dimensions and DPI from image headers/metadata, then check the pixel data decodes
+     */
+    private LogoMetadata inspectRaster(InputStream in) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("File is not a readable image");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, false);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                checkPixelBudget(width, height);
+                Integer dpi = readDpi(reader.getImageMetadata(0));
+                verifyPixelData(reader, width, height);
+
+                return new LogoMetadata(width, height, dpi);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Decode the whole image so truncated or corrupt data fails validation instead of
+     * at render time. Every row is still read and decompressed, but only every Nth
+     * pixel is kept, so memory stays around VERIFY_MAX_DIMENSION² pixels.
+     */
+    private void verifyPixelData(ImageReader reader, int width, int height) throws IOException {
+        List<String> warnings = new ArrayList<>();
+        reader.addIIOReadWarningListener((source, warning) -> warnings.add(warning));
+
+        int subsampling = Math.max(1, (Math.max(width, height) + VERIFY_MAX_DIMENSION - 1) / VERIFY_MAX_DIMENSION);
+        ImageReadParam param = reader.getDefaultReadParam();
+        param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+
+        try {
+            reader.read(0, param);
+        } catch (IOException | RuntimeException e) {
+            throw new IOException("Image data is corrupt or truncated", e);
+        }
+        if (!warnings.isEmpty()) {
+            throw new IOException("Image data is corrupt or truncated: " + warnings.get(0));
+        }
+    }
+
+    /**
+     * DPI from the standard metadata tree (HorizontalPixelSize is millimetres per pixel)
+     */
+    private Integer readDpi(IIOMetadata metadata) {
+        if (metadata == null || !metadata.isStandardMetadataFormatSupported()) {
+            return null;
+        }
+
+        IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree("javax_imageio_1.0");
+        var nodes = root.getElementsByTagName("HorizontalPixelSize");
+        if (nodes.getLength() == 0) {
+            return null;
+        }
+
+        try {
+            double mmPerPixel = Double.parseDouble(((IIOMetadataNode) nodes.item(0)).getAttribute("value"));
+            return mmPerPixel > 0 ? (int) Math.round(MM_PER_INCH / mmPerPixel) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Size an SVG at print resolution from its width/height (or viewBox)
+     */
+    private LogoMetadata inspectSvg(byte[] svg) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        factory.setXIncludeAware(false);
+        factory.setExpandEntityReferences(false);
+        factory.setNamespaceAware(true);
+
+        DocumentBuilder builder = factory.newDocumentBuilder();
+        Element root = builder.parse(new ByteArrayInputStream(svg)).getDocumentElement();
+        if (!"svg".equals(root.getLocalName())) {
+            throw new IOException("File is not a valid SVG document");
+        }
+
+        Double widthInches = svgLengthInches(root.getAttribute("width"));
+        Double heightInches = svgLengthInches(root.getAttribute("height"));
+
+        if (widthInches == null || heightInches == null) {
+            String[] viewBox = root.getAttribute("viewBox").trim().split("[\\s,]+");
+            if (viewBox.length != 4) {
+                throw new IOException("SVG has no width/height or viewBox");
+            }
+            // viewBox user units are CSS pixels (96 per inch)
+            widthInches = Double.parseDouble(viewBox[2]) / 96.0;
+            heightInches = Double.parseDouble(viewBox[3]) / 96.0;
+        }
+
+        int width = (int) Math.round(widthInches * PRINT_DPI);
+        int height = (int) Math.round(heightInches * PRINT_DPI);
+        if (width <= 0 || height <= 0) {
+            throw new IOException("SVG has empty dimensions");
+        }
+        checkPixelBudget(width, height);
+
+        return new LogoMetadata(width, height, PRINT_DPI);
+    }
+
+    private Double svgLengthInches(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+
+        Matcher matcher = SVG_LENGTH.matcher(value);
+        if (!matcher.matches()) {
+            return null; // Percentages and other relative units fall back to viewBox
+        }
+
+        double number = Double.parseDouble(matcher.group(1));
+        String unit = matcher.group(2) != null ? matcher.group(2) : "px";
+        return switch (unit) {
+            case "in" -> number;
+            case "cm" -> number / 2.54;
+            case "mm" -> number / MM_PER_INCH;
+            case "pt" -> number / 72.0;
+            case "pc" -> number / 6.0;
+            default -> number / 96.0;
+        };
+    }
+
+    private void checkPixelBudget(int width, int height) throws IOException {
+        if ((long) width * height > maxPixels) {
+            throw new IOException(String.format(
+                    "Image too large: %d×%dpx exceeds %d pixel limit", width, height, maxPixels));
+        }
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return "Logo validation failed";
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
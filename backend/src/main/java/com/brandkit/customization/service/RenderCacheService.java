@@ -0,0 +1,140 @@
+package com.brandkit.customization.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.brandkit.customization.dto.CropDataRequest;
+import com.brandkit.customization.entity.PrintRender;
+import com.brandkit.customization.repository.PrintRenderRepository;
+import com.brandkit.customization.util.ContentDigest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Render Cache Service
+ * FRD-003 Sub-Prompt 4: Content-addressed render result cache
+ *
+ * Two tiers:
+ * - Local: in-memory LRU of render key to print URL, bounded by entry count
+ * - Durable: print_renders table, shared by all nodes
+ *
+ * Keys are SHA-256 of (logo digest, product image digest, print area, crop data, DPI),
+ * so reorders and repeated customizations resolve to an existing print file, while a
+ * changed print area or another product sharing the base image renders anew.
+ */
+@Service
+public class RenderCacheService {
+    private static final Logger log = LoggerFactory.getLogger(RenderCacheService.class);
+
+    @Autowired
+    private PrintRenderRepository printRenderRepository;
+
+    @Value("${app.render-cache.max-entries:2000}")
+    private int maxEntries;
+
+    private final Map<String, String> localTier = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return size() > maxEntries;
+                }
+            });
+
+    private final AtomicLong localHits = new AtomicLong();
+    private final AtomicLong durableHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Build the content-addressed key for a render
+     */
+    public String buildRenderKey(String logoHash, String productImageHash, BigDecimal printAreaWidth,
+                                 BigDecimal printAreaHeight, CropDataRequest cropData, int dpi) {
+        // Fixed precision so equivalent crops from different clients map to the same key
+        String canonical = String.format(Locale.ROOT,
+                "logo=%s|product=%s|area=%sx%s|x=%.2f|y=%.2f|w=%.2f|h=%.2f|zoom=%.3f|dpi=%d",
+                logoHash,
+                productImageHash,
+                printAreaWidth.stripTrailingZeros().toPlainString(),
+                printAreaHeight.stripTrailingZeros().toPlainString(),
+                cropData.getX(),
+                cropData.getY(),
+                cropData.getWidth(),
+                cropData.getHeight(),
+                cropData.getZoom() != null ? cropData.getZoom() : 1.0,
+                dpi);
+        return ContentDigest.sha256Hex(canonical);
+    }
+
+    /**
+     * Resolve a render key to an existing print URL, checking the local tier first
+     */
+    @Transactional
+    public Optional<String> lookup(String renderKey) {
+        String localUrl = localTier.get(renderKey);
+        if (localUrl != null) {
+            localHits.incrementAndGet();
+            return Optional.of(localUrl);
+        }
+
+        Optional<PrintRender> durable = printRenderRepository.findById(renderKey);
+        if (durable.isPresent()) {
+            durableHits.incrementAndGet();
+            printRenderRepository.recordHit(renderKey, LocalDateTime.now());
+            localTier.put(renderKey, durable.get().getPrintImageUrl());
+            return Optional.of(durable.get().getPrintImageUrl());
+        }
+
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    /**
+     * Store a completed render in both tiers
+     */
+    @Transactional
+    public void store(String renderKey, String logoHash, String productImageHash, int dpi,
+                      String printImageUrl, long fileSizeBytes) {
+        printRenderRepository.insertIfAbsent(
+                renderKey,
+                logoHash,
+                productImageHash,
+                dpi,
+                printImageUrl,
+                fileSizeBytes,
+                LocalDateTime.now()
+        );
+        localTier.put(renderKey, printImageUrl);
+        log.debug("Render cached: {} -> {}", renderKey, printImageUrl);
+    }
+
+    /**
+     * Hit-ratio metrics since startup
+     */
+    public Map<String, Object> getStats() {
+        long local = localHits.get();
+        long durable = durableHits.get();
+        long miss = misses.get();
+        long total = local + durable + miss;
+        double hitRatio = total == 0 ? 0.0 : (double) (local + durable) / total;
+
+        return Map.of(
+                "localHits", local,
+                "durableHits", durable,
+                "misses", miss,
+                "lookups", total,
+                "hitRatio", Math.round(hitRatio * 10000) / 10000.0,
+                "localEntries", localTier.size(),
+                "localCapacity", maxEntries
+        );
+    }
+}
@@ -0,0 +1,51 @@
+package com.brandkit.customization.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content Digest
+ * FRD-003: Content-addressed storage helpers
+ * 
+ * SHA-256 hex digests used to deduplicate uploaded images and key rendered prints.
+ */
+public final class ContentDigest {
+
+    private ContentDigest() {
+    }
+
+    /**
+     * SHA-256 digest of raw bytes as lowercase hex (64 chars)
+     */
+    public static String sha256Hex(byte[] content) {
+        return toHex(newSha256().digest(content));
+    }
+
+    /**
+     * SHA-256 digest of a UTF-8 string as lowercase hex (64 chars)
+     */
+    public static String sha256Hex(String content) {
+        return sha256Hex(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Fresh SHA-256 digest for incremental hashing of streamed content
+     */
+    public static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM is required to support SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Lowercase hex of a finished digest
+     */
+    public static String toHex(byte[] digest) {
+        return HexFormat.of().formatHex(digest);
+    }
+}
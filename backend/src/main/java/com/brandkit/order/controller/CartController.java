@@ -50,12 +50,12 @@ public class CartController {
      * POST /api/cart/add
      */
     @PostMapping("/add")
-    public ResponseEntity<CartResponse> addToCart(
+    public ResponseEntity<CartMutationResponse> addToCart(
             @CurrentUser UserPrincipal userPrincipal,
             @Valid @RequestBody AddToCartRequest request) {
         User user = userPrincipal.getUser(userRepository);
-        CartResponse cart = cartService.addToCart(user, request);
-        return ResponseEntity.ok(cart);
+        CartMutationResponse change = cartService.addToCart(user, request);
+        return ResponseEntity.ok(change);
     }
 
     /**
@@ -63,13 +63,13 @@ public class CartController {
      * PUT /api/cart/item/:itemId
      */
     @PutMapping("/item/{itemId}")
-    public ResponseEntity<CartResponse> updateCartItem(
+    public ResponseEntity<CartMutationResponse> updateCartItem(
             @CurrentUser UserPrincipal userPrincipal,
             @PathVariable UUID itemId,
             @Valid @RequestBody UpdateCartItemRequest request) {
         User user = userPrincipal.getUser(userRepository);
-        CartResponse cart = cartService.updateCartItem(user, itemId, request);
-        return ResponseEntity.ok(cart);
+        CartMutationResponse change = cartService.updateCartItem(user, itemId, request);
+        return ResponseEntity.ok(change);
     }
 
     /**
@@ -77,12 +77,12 @@ public class CartController {
      * DELETE /api/cart/item/:itemId
      */
     @DeleteMapping("/item/{itemId}")
-    public ResponseEntity<CartResponse> removeCartItem(
+    public ResponseEntity<CartMutationResponse> removeCartItem(
             @CurrentUser UserPrincipal userPrincipal,
             @PathVariable UUID itemId) {
         User user = userPrincipal.getUser(userRepository);
-        CartResponse cart = cartService.removeCartItem(user, itemId);
-        return ResponseEntity.ok(cart);
+        CartMutationResponse change = cartService.removeCartItem(user, itemId);
+        return ResponseEntity.ok(change);
     }
 
     /**
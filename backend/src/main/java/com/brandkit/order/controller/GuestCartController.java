@@ -0,0 +1,129 @@
+package com.brandkit.order.controller;
+
+import com.brandkit.order.dto.AddToCartRequest;
+import com.brandkit.order.dto.CartResponse;
+import com.brandkit.order.dto.UpdateCartItemRequest;
+import com.brandkit.order.exception.OrderException;
+import com.brandkit.order.service.GuestCartService;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * REST controller for guest (not logged in) carts - FRD-004 FR-39
+ * The guest is identified by a signed HttpOnly cookie issued on the first add;
+ * the cart is merged into the user's cart on login.
+ */
+@RestController
+@RequestMapping("/api/cart/guest")
+public class GuestCartController {
+
+    private static final String GUEST_CART_COOKIE = "guest_cart";
+
+    @Autowired
+    private GuestCartService guestCartService;
+
+    /**
+     * Get guest cart
+     * GET /api/cart/guest
+     */
+    @GetMapping
+    public ResponseEntity<CartResponse> getCart(HttpServletRequest httpRequest) {
+        String sessionId = resolveSessionId(httpRequest);
+        if (sessionId == null) {
+            return ResponseEntity.ok(new CartResponse());
+        }
+        return ResponseEntity.ok(guestCartService.getCart(sessionId));
+    }
+
+    /**
+     * Add item to guest cart (starts a guest session if there is none)
+     * POST /api/cart/guest/add
+     */
+    @PostMapping("/add")
+    public ResponseEntity<CartResponse> addToCart(
+            @Valid @RequestBody AddToCartRequest request,
+            HttpServletRequest httpRequest,
+            HttpServletResponse response) {
+        String sessionId = resolveSessionId(httpRequest);
+        if (sessionId == null) {
+            String token = guestCartService.newToken();
+            setGuestCartCookie(response, token);
+            sessionId = guestCartService.resolveSessionId(token);
+        }
+        return ResponseEntity.ok(guestCartService.addToCart(sessionId, request));
+    }
+
+    /**
+     * Update guest cart item quantity
+     * PUT /api/cart/guest/item/:itemId
+     */
+    @PutMapping("/item/{itemId}")
+    public ResponseEntity<CartResponse> updateCartItem(
+            @PathVariable UUID itemId,
+            @Valid @RequestBody UpdateCartItemRequest request,
+            HttpServletRequest httpRequest) {
+        return ResponseEntity.ok(guestCartService.updateCartItem(requireSessionId(httpRequest), itemId, request));
+    }
+
+    /**
+     * Remove item from guest cart
+     * DELETE /api/cart/guest/item/:itemId
+     */
+    @DeleteMapping("/item/{itemId}")
+    public ResponseEntity<CartResponse> removeCartItem(
+            @PathVariable UUID itemId,
+            HttpServletRequest httpRequest) {
+        return ResponseEntity.ok(guestCartService.removeCartItem(requireSessionId(httpRequest), itemId));
+    }
+
+    /**
+     * Get guest cart item count (for header badge)
+     * GET /api/cart/guest/count
+     */
+    @GetMapping("/count")
+    public ResponseEntity<Map<String, Integer>> getCartCount(HttpServletRequest httpRequest) {
+        String sessionId = resolveSessionId(httpRequest);
+        int count = sessionId != null ? guestCartService.getCartItemCount(sessionId) : 0;
+        return ResponseEntity.ok(Map.of("count", count));
+    }
+
+    // ==================== Helper Methods ====================
+
+    private String resolveSessionId(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return null;
+        }
+        return Arrays.stream(request.getCookies())
+                .filter(c -> GUEST_CART_COOKIE.equals(c.getName()))
+                .findFirst()
+                .map(c -> guestCartService.resolveSessionId(c.getValue()))
+                .orElse(null);
+    }
+
+    private String requireSessionId(HttpServletRequest request) {
+        String sessionId = resolveSessionId(request);
+        if (sessionId == null) {
+            throw OrderException.cartItemNotFound();
+        }
+        return sessionId;
+    }
+
+    private void setGuestCartCookie(HttpServletResponse response, String token) {
+        Cookie cookie = new Cookie(GUEST_CART_COOKIE, token);
+        cookie.setHttpOnly(true);
+        cookie.setSecure(true);
+        cookie.setPath("/api");
+        cookie.setMaxAge((int) guestCartService.getTtl().getSeconds());
+        cookie.setAttribute("SameSite", "Lax");
+        response.addCookie(cookie);
+    }
+}
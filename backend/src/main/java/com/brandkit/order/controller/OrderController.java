@@ -6,7 +6,9 @@ import com.brandkit.auth.security.CurrentUser;
 import com.brandkit.auth.security.UserPrincipal;
 import com.brandkit.order.dto.*;
 import com.brandkit.order.entity.OrderStatus;
+import com.brandkit.order.service.IdempotencyService;
 import com.brandkit.order.service.OrderService;
+import com.brandkit.order.service.RefundService;
 import com.brandkit.order.service.ReorderService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,22 +37,50 @@ public class OrderController {
     @Autowired
     private ReorderService reorderService;
     
+    @Autowired
+    private RefundService refundService;
+    
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @Autowired
     private UserRepository userRepository;
 
     /**
      * Create order from cart
      * POST /api/orders/create
+     * Retries with the same Idempotency-Key return the first order instead of creating another
      */
     @PostMapping("/create")
     public ResponseEntity<OrderResponse> createOrder(
             @CurrentUser UserPrincipal userPrincipal,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody CheckoutRequest request) {
         User user = userPrincipal.getUser(userRepository);
-        OrderResponse order = orderService.createOrder(user, request);
+        String fingerprint = request.getDeliveryAddressId() + "|" + request.getDeliveryOption() + "|" + request.getNotes();
+        OrderResponse order = idempotencyService.execute("checkout", user.getId(), idempotencyKey, fingerprint,
+                OrderResponse.class, () -> orderService.createOrder(user, request));
         return ResponseEntity.ok(order);
     }
 
+    /**
+     * Cancel an order
+     * POST /api/orders/:orderId/cancel
+     * Retries with the same Idempotency-Key return the first cancellation result
+     */
+    @PostMapping("/{orderId}/cancel")
+    public ResponseEntity<CancellationResponse> cancelOrder(
+            @CurrentUser UserPrincipal userPrincipal,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @PathVariable UUID orderId,
+            @RequestParam(required = false) String reason) {
+        User user = userPrincipal.getUser(userRepository);
+        String fingerprint = orderId + "|" + reason;
+        CancellationResponse response = idempotencyService.execute("cancel", user.getId(), idempotencyKey, fingerprint,
+                CancellationResponse.class, () -> refundService.cancelOrder(user, orderId, reason));
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get user's orders with pagination
      * GET /api/orders
@@ -0,0 +1,86 @@
+package com.brandkit.order.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Response DTO for a cart mutation (add, update, remove) - FRD-004 FR-39
+ * Carries only the changed line, the change it made and the new cart totals;
+ * clients patch their cart view instead of re-rendering the whole cart.
+ */
+public class CartMutationResponse {
+
+    private UUID cartId;
+    private CartItemResponse item; // Null when the line was removed
+    private UUID removedItemId;
+    private Integer quantityDelta;
+    private BigDecimal subtotalDelta;
+    private Integer itemCount;
+    private Integer totalQuantity;
+    private CartResponse.CartPricing pricing;
+
+    // Getters and Setters
+    public UUID getCartId() {
+        return cartId;
+    }
+
+    public void setCartId(UUID cartId) {
+        this.cartId = cartId;
+    }
+
+    public CartItemResponse getItem() {
+        return item;
+    }
+
+    public void setItem(CartItemResponse item) {
+        this.item = item;
+    }
+
+    public UUID getRemovedItemId() {
+        return removedItemId;
+    }
+
+    public void setRemovedItemId(UUID removedItemId) {
+        this.removedItemId = removedItemId;
+    }
+
+    public Integer getQuantityDelta() {
+        return quantityDelta;
+    }
+
+    public void setQuantityDelta(Integer quantityDelta) {
+        this.quantityDelta = quantityDelta;
+    }
+
+    public BigDecimal getSubtotalDelta() {
+        return subtotalDelta;
+    }
+
+    public void setSubtotalDelta(BigDecimal subtotalDelta) {
+        this.subtotalDelta = subtotalDelta;
+    }
+
+    public Integer getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(Integer itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    public Integer getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public void setTotalQuantity(Integer totalQuantity) {
+        this.totalQuantity = totalQuantity;
+    }
+
+    public CartResponse.CartPricing getPricing() {
+        return pricing;
+    }
+
+    public void setPricing(CartResponse.CartPricing pricing) {
+        this.pricing = pricing;
+    }
+}
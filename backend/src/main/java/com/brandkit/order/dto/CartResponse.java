@@ -25,6 +25,7 @@ public class CartResponse {
         private BigDecimal total;
         private Boolean freeDeliveryEligible;
         private BigDecimal freeDeliveryThreshold;
+        private BigDecimal amountToFreeDelivery;
 
         // Getters and Setters
         public BigDecimal getOriginalSubtotal() {
@@ -90,6 +91,14 @@ public class CartResponse {
         public void setFreeDeliveryThreshold(BigDecimal freeDeliveryThreshold) {
             this.freeDeliveryThreshold = freeDeliveryThreshold;
         }
+
+        public BigDecimal getAmountToFreeDelivery() {
+            return amountToFreeDelivery;
+        }
+
+        public void setAmountToFreeDelivery(BigDecimal amountToFreeDelivery) {
+            this.amountToFreeDelivery = amountToFreeDelivery;
+        }
     }
 
     // Getters and Setters
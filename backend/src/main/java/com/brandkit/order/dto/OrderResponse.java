@@ -50,6 +50,9 @@ public class OrderResponse {
     private BigDecimal refundAmount;
     private String refundStatus;
 
+    // Tracking timeline (client-safe descriptions only)
+    private List<OrderStatusHistoryResponse> statusHistory;
+
     // Timestamps
     private OffsetDateTime createdAt;
     private OffsetDateTime updatedAt;
@@ -382,6 +385,14 @@ public class OrderResponse {
         this.refundStatus = refundStatus;
     }
 
+    public List<OrderStatusHistoryResponse> getStatusHistory() {
+        return statusHistory;
+    }
+
+    public void setStatusHistory(List<OrderStatusHistoryResponse> statusHistory) {
+        this.statusHistory = statusHistory;
+    }
+
     public OffsetDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,53 @@
+package com.brandkit.order.entity;
+
+import com.brandkit.partner.service.PartnerEventService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Pushes partner assignment changes to connected partners - FRD-005 FR-53
+ * Compares against the persisted snapshot, so it must run before
+ * AssignmentMetricsListener, which refreshes it. Events go out after commit.
+ */
+@Component
+public class AssignmentEventListener {
+
+    @Lazy
+    @Autowired
+    private PartnerEventService eventService;
+
+    @PostPersist
+    @PostUpdate
+    public void onWrite(OrderPartnerAssignment assignment) {
+        UUID previousPartnerId = assignment.getPersistedPartnerId();
+        PartnerOrderStatus previousStatus = assignment.getPersistedStatus();
+        UUID partnerId = assignment.getPartner() != null ? assignment.getPartner().getId() : null;
+
+        if (!Objects.equals(previousPartnerId, partnerId)) {
+            if (previousPartnerId != null) {
+                eventService.publish(previousPartnerId, "order.unassigned", payload(assignment, null));
+            }
+            eventService.publish(partnerId, "order.assigned", payload(assignment, null));
+        } else if (previousStatus != assignment.getStatus()) {
+            eventService.publish(partnerId, "order.status", payload(assignment, previousStatus));
+        }
+    }
+
+    private Map<String, Object> payload(OrderPartnerAssignment assignment, PartnerOrderStatus previousStatus) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("orderId", assignment.getOrder().getId());
+        data.put("status", assignment.getStatus().name());
+        if (previousStatus != null) {
+            data.put("previousStatus", previousStatus.name());
+        }
+        return data;
+    }
+}
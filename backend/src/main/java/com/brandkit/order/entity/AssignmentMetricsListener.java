@@ -0,0 +1,59 @@
+package com.brandkit.order.entity;
+
+import com.brandkit.partner.service.PartnerMetricsAccumulator;
+import com.brandkit.partner.service.PartnerMetricsAccumulator.Delta;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Feeds partner assignment changes into the incremental performance counters - FRD-005 FR-63
+ * Covers every write path (routing, partner actions, shipments) without each
+ * service having to report its transitions. The accumulator is resolved lazily
+ * because Hibernate creates listeners while the EntityManagerFactory is built.
+ */
+@Component
+public class AssignmentMetricsListener {
+
+    @Lazy
+    @Autowired
+    private PartnerMetricsAccumulator metricsAccumulator;
+
+    @PostLoad
+    public void onLoad(OrderPartnerAssignment assignment) {
+        assignment.markPersisted();
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onWrite(OrderPartnerAssignment assignment) {
+        UUID previousPartnerId = assignment.getPersistedPartnerId();
+        PartnerOrderStatus previousStatus = assignment.getPersistedStatus();
+        UUID partnerId = assignment.getPartner() != null ? assignment.getPartner().getId() : null;
+
+        if (!Objects.equals(previousPartnerId, partnerId) || previousStatus != assignment.getStatus()) {
+            if (previousPartnerId != null) {
+                metricsAccumulator.record(previousPartnerId, contribution(previousStatus, assignment).negate());
+            }
+            metricsAccumulator.record(partnerId, contribution(assignment.getStatus(), assignment));
+        }
+        assignment.markPersisted();
+    }
+
+    @PostRemove
+    public void onRemove(OrderPartnerAssignment assignment) {
+        metricsAccumulator.record(assignment.getPersistedPartnerId(),
+                contribution(assignment.getPersistedStatus(), assignment).negate());
+    }
+
+    private Delta contribution(PartnerOrderStatus status, OrderPartnerAssignment assignment) {
+        return Delta.of(status, assignment.getAcceptedAt(), assignment.getShippedAt());
+    }
+}
@@ -2,6 +2,7 @@ package com.brandkit.order.entity;
 
 import com.brandkit.auth.entity.User;
 import jakarta.persistence.*;
+import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -31,6 +32,20 @@ public class Cart {
     @OneToMany(mappedBy = "cart", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<CartItem> items = new ArrayList<>();
 
+    // Aggregates over the items, maintained by CartRepository.applyAggregateDelta.
+    // Read-only here so flushing a stale Cart never overwrites a concurrent delta.
+    @Column(name = "item_count", nullable = false, insertable = false, updatable = false)
+    private Integer itemCount = 0;
+
+    @Column(name = "total_quantity", nullable = false, insertable = false, updatable = false)
+    private Integer totalQuantity = 0;
+
+    @Column(name = "subtotal", nullable = false, precision = 12, scale = 2, insertable = false, updatable = false)
+    private BigDecimal subtotal = BigDecimal.ZERO;
+
+    @Column(name = "original_subtotal", nullable = false, precision = 12, scale = 2, insertable = false, updatable = false)
+    private BigDecimal originalSubtotal = BigDecimal.ZERO; // Before discounts
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private OffsetDateTime createdAt;
 
@@ -81,6 +96,22 @@ public class Cart {
         this.items = items;
     }
 
+    public Integer getItemCount() {
+        return itemCount;
+    }
+
+    public Integer getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public BigDecimal getSubtotal() {
+        return subtotal;
+    }
+
+    public BigDecimal getOriginalSubtotal() {
+        return originalSubtotal;
+    }
+
     public OffsetDateTime getCreatedAt() {
         return createdAt;
     }
@@ -100,14 +131,6 @@ public class Cart {
         item.setCart(null);
     }
 
-    public int getItemCount() {
-        return items.size();
-    }
-
-    public int getTotalQuantity() {
-        return items.stream().mapToInt(CartItem::getQuantity).sum();
-    }
-
     public boolean isEmpty() {
         return items.isEmpty();
     }
@@ -46,6 +46,10 @@ public class CartItem {
     @Column(name = "unit_price", nullable = false, precision = 10, scale = 2)
     private BigDecimal unitPrice;
 
+    @DecimalMin(value = "0", message = "Original unit price must be non-negative")
+    @Column(name = "original_unit_price", precision = 10, scale = 2)
+    private BigDecimal originalUnitPrice;
+
     @DecimalMin(value = "0", message = "Discount percentage must be non-negative")
     @DecimalMax(value = "100", message = "Discount percentage must not exceed 100")
     @Column(name = "discount_percentage", precision = 5, scale = 2)
@@ -139,6 +143,14 @@ public class CartItem {
         calculateSubtotal();
     }
 
+    public BigDecimal getOriginalUnitPrice() {
+        return originalUnitPrice;
+    }
+
+    public void setOriginalUnitPrice(BigDecimal originalUnitPrice) {
+        this.originalUnitPrice = originalUnitPrice;
+    }
+
     public BigDecimal getDiscountPercentage() {
         return discountPercentage;
     }
@@ -178,4 +190,13 @@ public class CartItem {
     public BigDecimal getEffectiveUnitPrice() {
         return unitPrice.add(customizationFee != null ? customizationFee : BigDecimal.ZERO);
     }
+
+    /**
+     * Line total before discounts, at the base price captured when the line was last priced
+     */
+    public BigDecimal getOriginalSubtotal() {
+        BigDecimal basePrice = originalUnitPrice != null ? originalUnitPrice : product.getBasePrice();
+        return basePrice.add(customizationFee != null ? customizationFee : BigDecimal.ZERO)
+                .multiply(BigDecimal.valueOf(quantity));
+    }
 }
@@ -16,6 +16,7 @@ import java.util.UUID;
  * Note: partner_id is INTERNAL ONLY and NEVER exposed in client-facing APIs
  */
 @Entity
+@EntityListeners(OrderViewInvalidationListener.class)
 @Table(name = "orders", indexes = {
     @Index(name = "idx_orders_user_id", columnList = "user_id"),
     @Index(name = "idx_orders_status", columnList = "status"),
@@ -160,6 +161,11 @@ public class Order {
     @Column(name = "updated_at", nullable = false)
     private OffsetDateTime updatedAt;
 
+    // Optimistic lock; status changes also compare-and-set on it (OrderTransitionService)
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version = 0L;
+
     @PrePersist
     protected void onCreate() {
         createdAt = OffsetDateTime.now();
@@ -467,6 +473,14 @@ public class Order {
         return updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // Helper methods
     public void addItem(OrderItem item) {
         items.add(item);
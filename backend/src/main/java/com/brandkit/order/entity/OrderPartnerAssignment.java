@@ -2,6 +2,7 @@ package com.brandkit.order.entity;
 
 import com.brandkit.catalog.entity.Partner;
 import jakarta.persistence.*;
+import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
@@ -10,6 +11,7 @@ import java.util.UUID;
  * Maps orders to fulfillment partners - NEVER exposed to clients
  */
 @Entity
+@EntityListeners({AssignmentEventListener.class, AssignmentMetricsListener.class})
 @Table(name = "order_partner_assignments", indexes = {
     @Index(name = "idx_order_partner_order_id", columnList = "order_id"),
     @Index(name = "idx_order_partner_partner_id", columnList = "partner_id"),
@@ -61,6 +63,10 @@ public class OrderPartnerAssignment {
     @Column(name = "delivered_at")
     private OffsetDateTime deliveredAt;
 
+    // Partner earnings captured on delivery, summed for the pending settlement
+    @Column(name = "partner_earnings", precision = 12, scale = 2)
+    private BigDecimal partnerEarnings;
+
     // Internal notes
     @Column(name = "internal_notes")
     private String internalNotes;
@@ -71,6 +77,13 @@ public class OrderPartnerAssignment {
     @Column(name = "updated_at", nullable = false)
     private OffsetDateTime updatedAt;
 
+    // Partner and status as last read from or written to the database (see AssignmentMetricsListener)
+    @Transient
+    private UUID persistedPartnerId;
+
+    @Transient
+    private PartnerOrderStatus persistedStatus;
+
     @PrePersist
     protected void onCreate() {
         createdAt = OffsetDateTime.now();
@@ -180,6 +193,14 @@ public class OrderPartnerAssignment {
         this.deliveredAt = deliveredAt;
     }
 
+    public BigDecimal getPartnerEarnings() {
+        return partnerEarnings;
+    }
+
+    public void setPartnerEarnings(BigDecimal partnerEarnings) {
+        this.partnerEarnings = partnerEarnings;
+    }
+
     public String getInternalNotes() {
         return internalNotes;
     }
@@ -227,4 +248,17 @@ public class OrderPartnerAssignment {
         this.status = PartnerOrderStatus.DELIVERED;
         this.deliveredAt = OffsetDateTime.now();
     }
+
+    UUID getPersistedPartnerId() {
+        return persistedPartnerId;
+    }
+
+    PartnerOrderStatus getPersistedStatus() {
+        return persistedStatus;
+    }
+
+    void markPersisted() {
+        this.persistedPartnerId = partner != null ? partner.getId() : null;
+        this.persistedStatus = status;
+    }
 }
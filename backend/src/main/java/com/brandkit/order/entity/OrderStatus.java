@@ -1,5 +1,10 @@
 package com.brandkit.order.entity;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Order status enum - FRD-004 FR-46
  * Status progression for orders (client-facing)
@@ -20,6 +25,25 @@ public enum OrderStatus {
 
     private final String displayName;
 
+    // Allowed transitions (order state machine); filled in below because enum
+    // constants cannot reference later constants in their constructors
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        TRANSITIONS.put(PENDING_PAYMENT, EnumSet.of(PAYMENT_FAILED, CONFIRMED, CANCELLED));
+        TRANSITIONS.put(PAYMENT_FAILED, EnumSet.of(PENDING_PAYMENT, CONFIRMED, CANCELLED));
+        TRANSITIONS.put(CONFIRMED, EnumSet.of(ACCEPTED, CANCELLED));
+        TRANSITIONS.put(ACCEPTED, EnumSet.of(IN_PRODUCTION, CANCELLED));
+        TRANSITIONS.put(IN_PRODUCTION, EnumSet.of(READY_TO_SHIP));
+        TRANSITIONS.put(READY_TO_SHIP, EnumSet.of(SHIPPED));
+        TRANSITIONS.put(SHIPPED, EnumSet.of(OUT_FOR_DELIVERY, DELIVERED));
+        TRANSITIONS.put(OUT_FOR_DELIVERY, EnumSet.of(DELIVERED));
+        TRANSITIONS.put(DELIVERED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(CANCELLED, EnumSet.of(REFUND_INITIATED, REFUNDED));
+        TRANSITIONS.put(REFUND_INITIATED, EnumSet.of(REFUNDED));
+        TRANSITIONS.put(REFUNDED, EnumSet.noneOf(OrderStatus.class));
+    }
+
     OrderStatus(String displayName) {
         this.displayName = displayName;
     }
@@ -39,6 +63,13 @@ public enum OrderStatus {
         };
     }
 
+    /**
+     * Check if the state machine allows moving from this status to the next one
+     */
+    public boolean canTransitionTo(OrderStatus next) {
+        return TRANSITIONS.get(this).contains(next);
+    }
+
     /**
      * Check if order can be modified
      */
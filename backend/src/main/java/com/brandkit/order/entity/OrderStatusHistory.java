@@ -10,6 +10,7 @@ import java.util.UUID;
  * Tracks order status changes
  */
 @Entity
+@EntityListeners(OrderViewInvalidationListener.class)
 @Table(name = "order_status_history", indexes = {
     @Index(name = "idx_order_status_history_order_id", columnList = "order_id"),
     @Index(name = "idx_order_status_history_created_at", columnList = "created_at")
@@ -0,0 +1,37 @@
+package com.brandkit.order.entity;
+
+import com.brandkit.order.service.OrderViewCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts cached order views when an order or its status timeline changes - FRD-004 FR-46
+ * Covers every entity write path (updateOrderStatus, partner updates, shipments,
+ * refunds, invoices) without each service having to remember the cache.
+ */
+@Component
+public class OrderViewInvalidationListener {
+
+    @Autowired
+    private OrderViewCache orderViewCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onOrderChange(Object entity) {
+        if (entity instanceof Order order) {
+            orderViewCache.evictAfterCommit(order.getId());
+        } else if (entity instanceof OrderStatusHistory history && history.getOrder() != null) {
+            orderViewCache.evictAfterCommit(history.getOrder().getId());
+        }
+    }
+
+    @PostPersist
+    public void onHistoryAdded(Object entity) {
+        if (entity instanceof OrderStatusHistory history && history.getOrder() != null) {
+            orderViewCache.evictAfterCommit(history.getOrder().getId());
+        }
+    }
+}
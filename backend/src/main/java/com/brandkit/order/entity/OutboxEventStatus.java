@@ -0,0 +1,10 @@
+package com.brandkit.order.entity;
+
+/**
+ * Delivery state of an outbox event - FRD-004
+ */
+public enum OutboxEventStatus {
+    PENDING,    // Waiting for (re)delivery
+    DONE,       // Handler completed
+    DEAD        // Retries exhausted; needs manual attention
+}
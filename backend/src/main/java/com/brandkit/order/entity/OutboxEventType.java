@@ -0,0 +1,11 @@
+package com.brandkit.order.entity;
+
+/**
+ * Order lifecycle events published through the outbox - FRD-004, FRD-005
+ */
+public enum OutboxEventType {
+    ORDER_CONFIRMED,        // Payment received; routing and invoicing follow
+    ORDER_ROUTED,           // Partner assignment created; partner is notified
+    ORDER_STATUS_CHANGED,   // Fulfillment status moved
+    PARTNER_ORDER_REJECTED  // Partner declined the assignment
+}
@@ -116,4 +116,20 @@ public class OrderException extends RuntimeException {
     public static OrderException orderNotModifiable() {
         return new OrderException("ORD_020", "Order cannot be modified", HttpStatus.BAD_REQUEST);
     }
+
+    public static OrderException idempotencyKeyReused() {
+        return new OrderException("ORD_021", "Idempotency-Key was already used for a different request", HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    public static OrderException requestInProgress() {
+        return new OrderException("ORD_022", "A request with this Idempotency-Key is still being processed", HttpStatus.CONFLICT);
+    }
+
+    public static OrderException invalidTransition(String from, String to) {
+        return new OrderException("ORD_023", "Order cannot move from " + from + " to " + to, HttpStatus.CONFLICT);
+    }
+
+    public static OrderException concurrentUpdate() {
+        return new OrderException("ORD_024", "Order was updated by another request. Please retry", HttpStatus.CONFLICT);
+    }
 }
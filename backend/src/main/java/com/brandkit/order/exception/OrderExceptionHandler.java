@@ -0,0 +1,45 @@
+package com.brandkit.order.exception;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.brandkit.auth.dto.ErrorResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Order Exception Handler
+ * FRD-004 Error Handling
+ *
+ * Ordered ahead of GlobalExceptionHandler, whose catch-all would otherwise
+ * turn every OrderException into a 500. Partner endpoints drive the same order
+ * transitions, so their conflicts get the same 409s.
+ */
+@RestControllerAdvice(basePackages = {"com.brandkit.order", "com.brandkit.partner"})
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class OrderExceptionHandler {
+    private static final Logger log = LoggerFactory.getLogger(OrderExceptionHandler.class);
+
+    @ExceptionHandler(OrderException.class)
+    public ResponseEntity<ErrorResponse> handleOrderException(OrderException ex) {
+        log.warn("Order exception: {} - {}", ex.getErrorCode(), ex.getMessage());
+        return ResponseEntity
+                .status(ex.getHttpStatus())
+                .body(ErrorResponse.of(ex.getErrorCode(), ex.getMessage()));
+    }
+
+    /**
+     * A versioned save lost a race with another writer: same answer as a failed compare-and-set
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        OrderException conflict = OrderException.concurrentUpdate();
+        log.warn("Order exception: {} - {}", conflict.getErrorCode(), ex.getMessage());
+        return ResponseEntity
+                .status(conflict.getHttpStatus())
+                .body(ErrorResponse.of(conflict.getErrorCode(), conflict.getMessage()));
+    }
+}
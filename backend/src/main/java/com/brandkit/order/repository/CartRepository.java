@@ -2,10 +2,13 @@ package com.brandkit.order.repository;
 
 import com.brandkit.order.entity.Cart;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,6 +18,17 @@ import java.util.UUID;
 @Repository
 public interface CartRepository extends JpaRepository<Cart, UUID> {
 
+    /**
+     * Stored cart aggregates, read without loading items
+     */
+    interface CartSummary {
+        UUID getId();
+        Integer getItemCount();
+        Integer getTotalQuantity();
+        BigDecimal getSubtotal();
+        BigDecimal getOriginalSubtotal();
+    }
+
     /**
      * Find cart by user ID
      */
@@ -25,18 +39,100 @@ public interface CartRepository extends JpaRepository<Cart, UUID> {
      */
     Optional<Cart> findBySessionId(String sessionId);
 
+    /**
+     * Create the saved cart for a guest session unless another request already has
+     *
+     * @return 1 if this call created it
+     */
+    @Modifying
+    @Query(value = "INSERT INTO carts (session_id) VALUES (:sessionId) " +
+                   "ON CONFLICT (session_id) WHERE user_id IS NULL AND session_id IS NOT NULL DO NOTHING",
+           nativeQuery = true)
+    int createGuestCartIfAbsent(@Param("sessionId") String sessionId);
+
     /**
      * Find cart with items eagerly loaded
      */
     @Query("SELECT c FROM Cart c LEFT JOIN FETCH c.items WHERE c.user.id = :userId")
     Optional<Cart> findByUserIdWithItems(@Param("userId") UUID userId);
 
+    /**
+     * Load a cart for checkout: items, products, partners and customizations in one query
+     */
+    @Query("SELECT DISTINCT c FROM Cart c " +
+           "LEFT JOIN FETCH c.items i " +
+           "LEFT JOIN FETCH i.product p " +
+           "LEFT JOIN FETCH p.partner " +
+           "LEFT JOIN FETCH i.customization " +
+           "WHERE c.user.id = :userId")
+    Optional<Cart> findByUserIdForCheckout(@Param("userId") UUID userId);
+
     /**
      * Find cart with items eagerly loaded by session ID
      */
     @Query("SELECT c FROM Cart c LEFT JOIN FETCH c.items WHERE c.sessionId = :sessionId")
     Optional<Cart> findBySessionIdWithItems(@Param("sessionId") String sessionId);
 
+    @Query("SELECT c.id AS id, c.itemCount AS itemCount, c.totalQuantity AS totalQuantity, " +
+           "c.subtotal AS subtotal, c.originalSubtotal AS originalSubtotal FROM Cart c WHERE c.id = :cartId")
+    Optional<CartSummary> findSummaryById(@Param("cartId") UUID cartId);
+
+    /**
+     * Item count for the header badge (single column, no items loaded)
+     */
+    @Query("SELECT c.itemCount FROM Cart c WHERE c.user.id = :userId")
+    Optional<Integer> findItemCountByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Apply the change of one cart mutation to the stored aggregates.
+     * Relative update, so concurrent mutations of the same cart add up.
+     */
+    @Modifying
+    @Query("UPDATE Cart c SET c.itemCount = c.itemCount + :items, " +
+           "c.totalQuantity = c.totalQuantity + :quantity, " +
+           "c.subtotal = c.subtotal + :subtotal, " +
+           "c.originalSubtotal = c.originalSubtotal + :originalSubtotal, " +
+           "c.updatedAt = :now WHERE c.id = :cartId")
+    int applyAggregateDelta(@Param("cartId") UUID cartId,
+                            @Param("items") int items,
+                            @Param("quantity") int quantity,
+                            @Param("subtotal") BigDecimal subtotal,
+                            @Param("originalSubtotal") BigDecimal originalSubtotal,
+                            @Param("now") OffsetDateTime now);
+
+    /**
+     * Zero the aggregates after the items were bulk deleted
+     */
+    @Modifying
+    @Query("UPDATE Cart c SET c.itemCount = 0, c.totalQuantity = 0, c.subtotal = 0, " +
+           "c.originalSubtotal = 0, c.updatedAt = :now WHERE c.id = :cartId")
+    int resetAggregates(@Param("cartId") UUID cartId, @Param("now") OffsetDateTime now);
+
+    /**
+     * Rebuild the aggregates from the items (after multi-item changes, and at checkout validation)
+     */
+    @Modifying
+    @Query(value = "UPDATE carts c SET " +
+           "item_count = COALESCE(agg.item_count, 0), " +
+           "total_quantity = COALESCE(agg.total_quantity, 0), " +
+           "subtotal = COALESCE(agg.subtotal, 0), " +
+           "original_subtotal = COALESCE(agg.original_subtotal, 0), " +
+           "updated_at = CURRENT_TIMESTAMP " +
+           "FROM (SELECT COUNT(ci.id) AS item_count, SUM(ci.quantity) AS total_quantity, " +
+           "             SUM(ci.subtotal) AS subtotal, " +
+           "             SUM((COALESCE(ci.original_unit_price, p.base_price) + COALESCE(ci.customization_fee, 0)) * ci.quantity) AS original_subtotal " +
+           "      FROM cart_items ci JOIN products p ON p.id = ci.product_id " +
+           "      WHERE ci.cart_id = :cartId) agg " +
+           "WHERE c.id = :cartId", nativeQuery = true)
+    int recalculateAggregates(@Param("cartId") UUID cartId);
+
+    /**
+     * Delete persisted guest carts untouched since the cutoff (items cascade in the database)
+     */
+    @Modifying
+    @Query("DELETE FROM Cart c WHERE c.user IS NULL AND c.updatedAt < :cutoff")
+    int deleteAbandonedGuestCarts(@Param("cutoff") OffsetDateTime cutoff);
+
     /**
      * Check if user has a cart
      */
@@ -2,8 +2,12 @@ package com.brandkit.order.repository;
 
 import com.brandkit.order.entity.Invoice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -27,4 +31,16 @@ public interface InvoiceRepository extends JpaRepository<Invoice, UUID> {
      * Check if invoice exists for order
      */
     boolean existsByOrderId(UUID orderId);
+
+    /**
+     * Storage URLs from the given set that invoices still reference
+     */
+    @Query("SELECT i.pdfUrl FROM Invoice i WHERE i.pdfUrl IN :urls")
+    List<String> findReferencedUrls(@Param("urls") Collection<String> urls);
+
+    /**
+     * Lease the next block of invoice numbers (sequence increments by the block size)
+     */
+    @Query(value = "SELECT nextval('invoice_number_seq')", nativeQuery = true)
+    long nextInvoiceNumberBlock();
 }
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -38,4 +39,29 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, UUID> {
      * Find items by product ID
      */
     List<OrderItem> findByProductId(UUID productId);
+
+    /**
+     * Item name, image and quantity per order for a page of order list rows, first item first
+     * Returns: [orderId, productName, productImageUrl, quantity]
+     */
+    @Query("SELECT oi.order.id, oi.productName, oi.productImageUrl, oi.quantity FROM OrderItem oi " +
+           "WHERE oi.order.id IN :orderIds ORDER BY oi.createdAt ASC, oi.id ASC")
+    List<Object[]> findListSummariesByOrderIds(@Param("orderIds") Collection<UUID> orderIds);
+
+    /**
+     * Item name and quantity per order for the partner dashboard, first item first
+     * Returns: [orderId, productName, quantity]
+     */
+    @Query("SELECT oi.order.id, oi.productName, oi.quantity FROM OrderItem oi " +
+           "WHERE oi.order.id IN :orderIds ORDER BY oi.createdAt ASC, oi.id ASC")
+    List<Object[]> findQuantitiesByOrderIds(@Param("orderIds") Collection<UUID> orderIds);
+
+    /**
+     * Storage URLs from the given set that order items still reference
+     */
+    @Query(value = "SELECT product_image_url FROM order_items WHERE product_image_url IN (:urls) " +
+           "UNION SELECT preview_image_url FROM order_items WHERE preview_image_url IN (:urls) " +
+           "UNION SELECT print_ready_image_url FROM order_items WHERE print_ready_image_url IN (:urls)",
+           nativeQuery = true)
+    List<String> findReferencedUrls(@Param("urls") Collection<String> urls);
 }
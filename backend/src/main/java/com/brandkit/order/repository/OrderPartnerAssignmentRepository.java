@@ -5,8 +5,13 @@ import com.brandkit.order.entity.PartnerOrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,6 +23,19 @@ import java.util.UUID;
 @Repository
 public interface OrderPartnerAssignmentRepository extends JpaRepository<OrderPartnerAssignment, UUID> {
 
+    /**
+     * Recent assignment row for the partner dashboard, read without loading entities
+     */
+    interface RecentAssignmentView {
+        UUID getOrderId();
+        String getOrderNumber();
+        PartnerOrderStatus getStatus();
+        BigDecimal getSubtotal();
+        OffsetDateTime getOrderCreatedAt();
+        LocalDate getEstimatedDeliveryStart();
+        BigDecimal getCommissionRate();
+    }
+
     /**
      * Find assignment by order ID
      */
@@ -43,4 +61,71 @@ public interface OrderPartnerAssignmentRepository extends JpaRepository<OrderPar
      * Count assignments by status for a partner
      */
     long countByPartnerIdAndStatus(UUID partnerId, PartnerOrderStatus status);
+
+    /**
+     * Count assignments per status for a partner in one query
+     * Returns: [status, count]
+     */
+    @Query("SELECT a.status, COUNT(a) FROM OrderPartnerAssignment a WHERE a.partner.id = :partnerId GROUP BY a.status")
+    List<Object[]> countByPartnerIdGroupByStatus(@Param("partnerId") UUID partnerId);
+
+    /**
+     * Most recent assignments for a partner with their order and commission rate joined in
+     */
+    @Query("SELECT o.id AS orderId, o.orderNumber AS orderNumber, a.status AS status, o.subtotal AS subtotal, " +
+           "o.createdAt AS orderCreatedAt, o.estimatedDeliveryStart AS estimatedDeliveryStart, " +
+           "p.commissionRate AS commissionRate " +
+           "FROM OrderPartnerAssignment a JOIN a.order o JOIN a.partner p " +
+           "WHERE p.id = :partnerId ORDER BY a.createdAt DESC")
+    List<RecentAssignmentView> findRecentByPartnerId(@Param("partnerId") UUID partnerId, Pageable pageable);
+
+    /**
+     * Earnings captured on delivery over a partner's delivered orders not yet in a settlement,
+     * plus how many of those orders have no captured earnings
+     * Returns: [sum of partner earnings, orders without earnings]
+     */
+    @Query("SELECT COALESCE(SUM(a.partnerEarnings), 0), COUNT(a) - COUNT(a.partnerEarnings) " +
+           "FROM OrderPartnerAssignment a WHERE a.partner.id = :partnerId AND a.status = :status " +
+           "AND NOT EXISTS (SELECT 1 FROM SettlementOrder so WHERE so.order.id = a.order.id)")
+    List<Object[]> sumUnsettledEarnings(@Param("partnerId") UUID partnerId, @Param("status") PartnerOrderStatus status);
+
+    /**
+     * Delivered orders not yet in a settlement that have no captured earnings, with order and partner
+     */
+    @Query("SELECT a FROM OrderPartnerAssignment a JOIN FETCH a.order JOIN FETCH a.partner " +
+           "WHERE a.partner.id = :partnerId AND a.status = :status AND a.partnerEarnings IS NULL " +
+           "AND NOT EXISTS (SELECT 1 FROM SettlementOrder so WHERE so.order.id = a.order.id)")
+    List<OrderPartnerAssignment> findUnsettledWithoutEarnings(@Param("partnerId") UUID partnerId,
+                                                              @Param("status") PartnerOrderStatus status);
+
+    /**
+     * Next chunk of a partner's unsettled order IDs delivered before a cutoff, in order ID order
+     * (keyset paging for the settlement run)
+     */
+    @Query(value = "SELECT a.order_id FROM order_partner_assignments a " +
+                   "WHERE a.partner_id = :partnerId AND a.status = 'DELIVERED' " +
+                   "AND COALESCE(a.delivered_at, a.updated_at) < :deliveredBefore AND a.order_id > :afterOrderId " +
+                   "AND NOT EXISTS (SELECT 1 FROM settlement_orders so WHERE so.order_id = a.order_id) " +
+                   "ORDER BY a.order_id LIMIT :limit", nativeQuery = true)
+    List<UUID> findUnsettledOrderIdsAfter(@Param("partnerId") UUID partnerId,
+                                          @Param("deliveredBefore") OffsetDateTime deliveredBefore,
+                                          @Param("afterOrderId") UUID afterOrderId,
+                                          @Param("limit") int limit);
+
+    /**
+     * A partner's assignments for the given orders (ownership check for bulk actions);
+     * orders are left unloaded
+     */
+    @Query("SELECT a FROM OrderPartnerAssignment a WHERE a.partner.id = :partnerId AND a.order.id IN :orderIds")
+    List<OrderPartnerAssignment> findByPartnerIdAndOrderIds(@Param("partnerId") UUID partnerId,
+                                                            @Param("orderIds") List<UUID> orderIds);
+
+    /**
+     * A partner's assignments in the given status for the given orders, with order and partner
+     */
+    @Query("SELECT a FROM OrderPartnerAssignment a JOIN FETCH a.order JOIN FETCH a.partner " +
+           "WHERE a.partner.id = :partnerId AND a.status = :status AND a.order.id IN :orderIds")
+    List<OrderPartnerAssignment> findWithOrderByPartnerIdAndOrderIds(@Param("partnerId") UUID partnerId,
+                                                                     @Param("status") PartnerOrderStatus status,
+                                                                     @Param("orderIds") List<UUID> orderIds);
 }
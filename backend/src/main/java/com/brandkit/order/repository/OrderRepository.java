@@ -5,11 +5,16 @@ import com.brandkit.order.entity.OrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,6 +25,109 @@ import java.util.UUID;
 @Repository
 public interface OrderRepository extends JpaRepository<Order, UUID> {
 
+    /**
+     * Status, version and partner of an order, read without loading the entity
+     */
+    interface StatusVersion {
+        OrderStatus getStatus();
+        Long getVersion();
+        UUID getPartnerId();
+    }
+
+    @Query("SELECT o.status AS status, o.version AS version, p.id AS partnerId " +
+           "FROM Order o LEFT JOIN o.partner p WHERE o.id = :orderId")
+    Optional<StatusVersion> findStatusVersion(@Param("orderId") UUID orderId);
+
+    /**
+     * Compare-and-set status: applies only if nobody changed the order since it was read
+     *
+     * @return 1 if applied, 0 if the status or version no longer match
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :newStatus, o.version = o.version + 1, o.updatedAt = :now " +
+           "WHERE o.id = :orderId AND o.status = :expectedStatus AND o.version = :expectedVersion")
+    int compareAndSetStatus(@Param("orderId") UUID orderId,
+                            @Param("expectedStatus") OrderStatus expectedStatus,
+                            @Param("expectedVersion") Long expectedVersion,
+                            @Param("newStatus") OrderStatus newStatus,
+                            @Param("now") OffsetDateTime now);
+
+    /**
+     * Current status of each of the given orders, as (id, status) rows
+     */
+    @Query("SELECT o.id, o.status FROM Order o WHERE o.id IN :orderIds")
+    List<Object[]> findStatusesByIdIn(@Param("orderIds") List<UUID> orderIds);
+
+    /**
+     * Set-wise compare-and-set: moves the given orders that are still in expectedStatus
+     *
+     * @return IDs of the orders this update moved (not ones another request already moved)
+     */
+    @Query(value = "UPDATE orders SET status = :newStatus, version = version + 1, updated_at = :now " +
+           "WHERE id IN (:orderIds) AND status = :expectedStatus " +
+           "RETURNING id",
+           nativeQuery = true)
+    List<UUID> compareAndSetStatuses(@Param("orderIds") List<UUID> orderIds,
+                                     @Param("expectedStatus") String expectedStatus,
+                                     @Param("newStatus") String newStatus,
+                                     @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.trackingId = :trackingId, o.courierName = :courierName, " +
+           "o.trackingUrl = :trackingUrl, o.version = o.version + 1, o.updatedAt = :now WHERE o.id = :orderId")
+    int updateTracking(@Param("orderId") UUID orderId, @Param("trackingId") String trackingId,
+                       @Param("courierName") String courierName, @Param("trackingUrl") String trackingUrl,
+                       @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.actualDeliveryDate = :deliveryDate, o.version = o.version + 1, o.updatedAt = :now " +
+           "WHERE o.id = :orderId")
+    int markDelivered(@Param("orderId") UUID orderId, @Param("deliveryDate") LocalDate deliveryDate,
+                      @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.cancelledAt = :now, o.cancellationReason = :reason, o.refundAmount = :refundAmount, " +
+           "o.version = o.version + 1, o.updatedAt = :now WHERE o.id = :orderId")
+    int markCancelled(@Param("orderId") UUID orderId, @Param("reason") String reason,
+                      @Param("refundAmount") BigDecimal refundAmount, @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.refundInitiatedAt = :now, o.version = o.version + 1, o.updatedAt = :now " +
+           "WHERE o.id = :orderId")
+    int markRefundInitiated(@Param("orderId") UUID orderId, @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.refundedAt = :now, o.version = o.version + 1, o.updatedAt = :now " +
+           "WHERE o.id = :orderId")
+    int markRefunded(@Param("orderId") UUID orderId, @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.refundAmount = :refundAmount, o.refundInitiatedAt = :now, " +
+           "o.version = o.version + 1, o.updatedAt = :now WHERE o.id = :orderId")
+    int markManualRefundInitiated(@Param("orderId") UUID orderId, @Param("refundAmount") BigDecimal refundAmount,
+                                  @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.invoiceNumber = :invoiceNumber, o.version = o.version + 1, o.updatedAt = :now " +
+           "WHERE o.id = :orderId")
+    int setInvoiceNumber(@Param("orderId") UUID orderId, @Param("invoiceNumber") String invoiceNumber,
+                         @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.invoiceUrl = :invoiceUrl, o.version = o.version + 1, o.updatedAt = :now " +
+           "WHERE o.id = :orderId")
+    int setInvoiceUrl(@Param("orderId") UUID orderId, @Param("invoiceUrl") String invoiceUrl,
+                      @Param("now") OffsetDateTime now);
+
+    /**
+     * Append a line to the order notes in place, so concurrent writers never overwrite each other
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.notes = CASE WHEN o.notes IS NULL THEN :note ELSE CONCAT(o.notes, :separator, :note) END, " +
+           "o.version = o.version + 1, o.updatedAt = :now WHERE o.id = :orderId")
+    int appendNote(@Param("orderId") UUID orderId, @Param("note") String note,
+                   @Param("separator") String separator, @Param("now") OffsetDateTime now);
+
     /**
      * Find order by order number
      */
@@ -35,6 +143,12 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
      */
     Optional<Order> findByOrderNumberAndUserId(String orderNumber, UUID userId);
 
+    /**
+     * Resolve an order number to its ID (security check on user)
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.orderNumber = :orderNumber AND o.user.id = :userId")
+    Optional<UUID> findIdByOrderNumberAndUserId(@Param("orderNumber") String orderNumber, @Param("userId") UUID userId);
+
     /**
      * Find all orders for a user with pagination
      */
@@ -81,6 +195,47 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
     @Query("SELECT o FROM Order o WHERE o.status = 'PENDING_PAYMENT' AND o.paymentTimeoutAt < :now")
     List<Order> findExpiredPendingPaymentOrders(@Param("now") OffsetDateTime now);
 
+    /**
+     * Cancel one batch of expired pending-payment orders and record their status history
+     * (the application owns the timeline; there is no status trigger since V24).
+     * SKIP LOCKED lets several nodes sweep concurrently without blocking on each other
+     * or on a checkout that is confirming the same order.
+     *
+     * @return Number of orders cancelled
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "WITH expired AS (" +
+            "  SELECT id FROM orders" +
+            "  WHERE status = 'PENDING_PAYMENT' AND payment_timeout_at < :now" +
+            "  ORDER BY payment_timeout_at" +
+            "  LIMIT :limit" +
+            "  FOR UPDATE SKIP LOCKED" +
+            "), cancelled AS (" +
+            "  UPDATE orders o SET status = 'CANCELLED', cancelled_at = :now," +
+            "    cancellation_reason = :reason, updated_at = :now, version = o.version + 1" +
+            "  FROM expired e WHERE o.id = e.id" +
+            "  RETURNING o.id, o.status" +
+            ") " +
+            "INSERT INTO order_status_history (id, order_id, status, description, created_at) " +
+            "SELECT gen_random_uuid(), c.id, c.status, :reason, :now FROM cancelled c",
+            nativeQuery = true)
+    int cancelExpiredPendingPaymentBatch(@Param("now") OffsetDateTime now,
+                                         @Param("reason") String reason,
+                                         @Param("limit") int limit);
+
+    /**
+     * Count pending-payment orders past their payment timeout (sweeper backlog)
+     */
+    @Query("SELECT COUNT(o) FROM Order o WHERE o.status = 'PENDING_PAYMENT' AND o.paymentTimeoutAt < :now")
+    long countExpiredPendingPaymentOrders(@Param("now") OffsetDateTime now);
+
+    /**
+     * Oldest payment timeout still waiting to be swept (sweeper lag)
+     */
+    @Query("SELECT MIN(o.paymentTimeoutAt) FROM Order o WHERE o.status = 'PENDING_PAYMENT' AND o.paymentTimeoutAt < :now")
+    OffsetDateTime findOldestExpiredPaymentTimeout(@Param("now") OffsetDateTime now);
+
     /**
      * Count orders by user ID
      */
@@ -102,28 +257,29 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
     // ============================================================================
 
     /**
-     * Sum total amount within date range
+     * Sum total amount within date range (end exclusive)
      */
-    @Query("SELECT COALESCE(SUM(o.totalAmount), 0) FROM Order o WHERE o.createdAt BETWEEN :startDate AND :endDate AND o.status NOT IN ('CANCELLED', 'PAYMENT_FAILED')")
+    @Query("SELECT COALESCE(SUM(o.totalAmount), 0) FROM Order o WHERE o.createdAt >= :startDate AND o.createdAt < :endDate AND o.status NOT IN ('CANCELLED', 'PAYMENT_FAILED')")
     Optional<java.math.BigDecimal> sumTotalAmountByDateRange(@Param("startDate") java.time.ZonedDateTime startDate, @Param("endDate") java.time.ZonedDateTime endDate);
 
     /**
-     * Count orders within date range
+     * Count orders within date range (end exclusive)
      */
-    @Query("SELECT COUNT(o) FROM Order o WHERE o.createdAt BETWEEN :startDate AND :endDate")
+    @Query("SELECT COUNT(o) FROM Order o WHERE o.createdAt >= :startDate AND o.createdAt < :endDate")
     Long countByDateRange(@Param("startDate") java.time.ZonedDateTime startDate, @Param("endDate") java.time.ZonedDateTime endDate);
 
     /**
-     * Get daily revenue trend
+     * Get daily revenue trend (end exclusive)
+     * Filters on the bare created_at range so the created_at index applies
      */
-    @Query(value = "SELECT DATE(created_at) as date, COALESCE(SUM(total_amount), 0) as revenue FROM orders WHERE DATE(created_at) BETWEEN :startDate AND :endDate AND status NOT IN ('CANCELLED', 'PAYMENT_FAILED') GROUP BY DATE(created_at) ORDER BY date", nativeQuery = true)
-    List<Object[]> getDailyRevenueTrend(@Param("startDate") java.time.LocalDate startDate, @Param("endDate") java.time.LocalDate endDate);
+    @Query(value = "SELECT DATE(created_at) as date, COALESCE(SUM(total_amount), 0) as revenue FROM orders WHERE created_at >= :startDate AND created_at < :endDate AND status NOT IN ('CANCELLED', 'PAYMENT_FAILED') GROUP BY DATE(created_at) ORDER BY date", nativeQuery = true)
+    List<Object[]> getDailyRevenueTrend(@Param("startDate") java.time.ZonedDateTime startDate, @Param("endDate") java.time.ZonedDateTime endDate);
 
     /**
-     * Get daily orders trend
+     * Get daily orders trend (end exclusive)
      */
-    @Query(value = "SELECT DATE(created_at) as date, COUNT(*) as count FROM orders WHERE DATE(created_at) BETWEEN :startDate AND :endDate GROUP BY DATE(created_at) ORDER BY date", nativeQuery = true)
-    List<Object[]> getDailyOrdersTrend(@Param("startDate") java.time.LocalDate startDate, @Param("endDate") java.time.LocalDate endDate);
+    @Query(value = "SELECT DATE(created_at) as date, COUNT(*) as count FROM orders WHERE created_at >= :startDate AND created_at < :endDate GROUP BY DATE(created_at) ORDER BY date", nativeQuery = true)
+    List<Object[]> getDailyOrdersTrend(@Param("startDate") java.time.ZonedDateTime startDate, @Param("endDate") java.time.ZonedDateTime endDate);
 
     /**
      * Get order status distribution
@@ -167,4 +323,16 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
      */
     @Query("SELECT o FROM Order o WHERE o.orderNumber LIKE %:search% OR o.user.email LIKE %:search%")
     Page<Order> searchOrdersAdmin(@Param("search") String search, Pageable pageable);
+
+    /**
+     * Lease the next block of order numbers (sequence increments by the block size)
+     */
+    @Query(value = "SELECT nextval('order_number_seq')", nativeQuery = true)
+    long nextOrderNumberBlock();
+
+    /**
+     * Storage URLs from the given set that orders still reference
+     */
+    @Query("SELECT o.invoiceUrl FROM Order o WHERE o.invoiceUrl IN :urls")
+    List<String> findReferencedUrls(@Param("urls") Collection<String> urls);
 }
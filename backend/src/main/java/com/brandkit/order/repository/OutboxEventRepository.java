@@ -0,0 +1,92 @@
+package com.brandkit.order.repository;
+
+import com.brandkit.order.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for OutboxEvent entity - FRD-004
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Lock due events that are next in line for their (order, consumer) pair.
+     * An event waits while an earlier pending or dead event for the same pair exists,
+     * which keeps delivery in order; SKIP LOCKED lets several relays claim disjoint sets.
+     */
+    @Query(value = "SELECT e.id FROM outbox_events e " +
+            "WHERE e.status = 'PENDING' AND e.next_attempt_at <= :now " +
+            "AND NOT EXISTS (SELECT 1 FROM outbox_events p " +
+            "  WHERE p.aggregate_id = e.aggregate_id AND p.consumer = e.consumer " +
+            "  AND p.status IN ('PENDING', 'DEAD') AND p.id < e.id) " +
+            "ORDER BY e.id " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> lockDueEventIds(@Param("now") OffsetDateTime now, @Param("limit") int limit);
+
+    /**
+     * Lease claimed events: count the attempt and hide them from other relays until the lease ends
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :leaseUntil WHERE e.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("leaseUntil") OffsetDateTime leaseUntil);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = com.brandkit.order.entity.OutboxEventStatus.DONE, e.processedAt = :now, e.lastError = NULL WHERE e.id = :id")
+    int markDone(@Param("id") Long id, @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.nextAttemptAt = :nextAttemptAt, e.lastError = :error WHERE e.id = :id")
+    int scheduleRetry(@Param("id") Long id, @Param("nextAttemptAt") OffsetDateTime nextAttemptAt, @Param("error") String error);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.status = com.brandkit.order.entity.OutboxEventStatus.DEAD, e.processedAt = :now, e.lastError = :error WHERE e.id = :id")
+    int markDead(@Param("id") Long id, @Param("now") OffsetDateTime now, @Param("error") String error);
+
+    /**
+     * Put a dead-lettered event back in the queue with a fresh retry budget
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.status = com.brandkit.order.entity.OutboxEventStatus.PENDING, e.attempts = 0, e.nextAttemptAt = :now, e.processedAt = NULL " +
+            "WHERE e.id = :id AND e.status = 'DEAD'")
+    int requeueDead(@Param("id") Long id, @Param("now") OffsetDateTime now);
+
+    /**
+     * Give up on a dead-lettered event so later events for its order are released
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.status = com.brandkit.order.entity.OutboxEventStatus.DONE, e.processedAt = :now, " +
+            "e.lastError = CONCAT('Discarded: ', COALESCE(e.lastError, '')) " +
+            "WHERE e.id = :id AND e.status = 'DEAD'")
+    int discardDead(@Param("id") Long id, @Param("now") OffsetDateTime now);
+
+    /**
+     * Delete one batch of delivered events older than the retention window
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM outbox_events WHERE id IN (" +
+            "SELECT id FROM outbox_events WHERE status = 'DONE' AND processed_at < :before LIMIT :limit)",
+            nativeQuery = true)
+    int deleteDeliveredBatch(@Param("before") OffsetDateTime before, @Param("limit") int limit);
+
+    @Query("SELECT e.status AS status, COUNT(e) AS count FROM OutboxEvent e GROUP BY e.status")
+    List<Object[]> getStatusDistribution();
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.status = 'PENDING'")
+    OffsetDateTime findOldestPendingCreatedAt();
+}
@@ -1,7 +1,11 @@
 package com.brandkit.order.repository;
 
 import com.brandkit.order.entity.Refund;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -24,6 +28,13 @@ public interface RefundRepository extends JpaRepository<Refund, UUID> {
      */
     Optional<Refund> findByGatewayRefundId(String gatewayRefundId);
 
+    /**
+     * Find refund by gateway refund ID, locking the row (serializes duplicate webhook deliveries)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Refund r WHERE r.gatewayRefundId = :gatewayRefundId")
+    Optional<Refund> findByGatewayRefundIdForUpdate(@Param("gatewayRefundId") String gatewayRefundId);
+
     /**
      * Find refunds by status
      */
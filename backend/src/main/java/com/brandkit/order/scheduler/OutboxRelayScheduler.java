@@ -0,0 +1,37 @@
+package com.brandkit.order.scheduler;
+
+import com.brandkit.order.service.OutboxRelayService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Outbox Relay Scheduler
+ *
+ * FRD-004: Delivers order lifecycle events and purges delivered ones
+ * Disable with app.outbox.relay-enabled=false (events keep accumulating)
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.relay-enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelayScheduler {
+
+    @Autowired
+    private OutboxRelayService outboxRelayService;
+
+    /**
+     * Poll for due events every second by default
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}")
+    public void relayPending() {
+        outboxRelayService.relayPending();
+    }
+
+    /**
+     * Purge delivered events daily at 04:00
+     */
+    @Scheduled(cron = "0 0 4 * * *")
+    public void purgeDelivered() {
+        outboxRelayService.purgeDelivered();
+    }
+}
@@ -0,0 +1,29 @@
+package com.brandkit.order.scheduler;
+
+import com.brandkit.order.service.PaymentTimeoutService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Payment Timeout Scheduler
+ *
+ * FRD-004: Cancels orders whose payment window has expired
+ * Disable with app.order.payment-timeout.enabled=false
+ */
+@Component
+@ConditionalOnProperty(name = "app.order.payment-timeout.enabled", havingValue = "true", matchIfMissing = true)
+public class PaymentTimeoutScheduler {
+
+    @Autowired
+    private PaymentTimeoutService paymentTimeoutService;
+
+    /**
+     * Sweep expired orders every minute by default
+     */
+    @Scheduled(fixedDelayString = "${app.order.payment-timeout.sweep-interval-ms:60000}")
+    public void expireOverdueOrders() {
+        paymentTimeoutService.expireOverdueOrders();
+    }
+}
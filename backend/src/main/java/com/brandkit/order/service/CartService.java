@@ -19,13 +19,24 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service for shopping cart operations - FRD-004 FR-39, Sub-Prompt 1
+ *
+ * Cart totals are stored on the cart. Each mutation adjusts them by the difference
+ * it made to its line and answers with that line plus the new totals, instead of
+ * reloading and re-summing the whole cart.
  */
 @Service
 @Transactional
@@ -42,6 +53,18 @@ public class CartService {
     @Autowired
     private PriceCalculationService priceCalculationService;
 
+    /**
+     * What one cart line contributes to the cart aggregates
+     */
+    private record LineTotals(int items, int quantity, BigDecimal subtotal, BigDecimal originalSubtotal) {
+
+        static final LineTotals NONE = new LineTotals(0, 0, BigDecimal.ZERO, BigDecimal.ZERO);
+
+        static LineTotals of(CartItem item) {
+            return new LineTotals(1, item.getQuantity(), item.getSubtotal(), item.getOriginalSubtotal());
+        }
+    }
+
     /**
      * Get or create cart for user
      */
@@ -72,28 +95,17 @@ public class CartService {
     /**
      * Add item to cart
      */
-    public CartResponse addToCart(User user, AddToCartRequest request) {
-        Cart cart = getOrCreateCart(user);
-
-        // Validate product
-        Product product = productRepository.findById(request.getProductId())
-                .orElseThrow(() -> new OrderException("ORD_002", "Product not found"));
-
-        if (product.getStatus() != ProductStatus.ACTIVE) {
-            throw OrderException.productUnavailable();
-        }
-
-        // Validate quantity
-        if (request.getQuantity() < 1 || request.getQuantity() > 10000) {
-            throw OrderException.invalidQuantity();
-        }
+    public CartMutationResponse addToCart(User user, AddToCartRequest request) {
+        return addToCart(getOrCreateCart(user), request);
+    }
 
-        // Validate customization if provided
-        Customization customization = null;
-        if (request.getCustomizationId() != null) {
-            customization = customizationRepository.findById(request.getCustomizationId())
-                    .orElseThrow(OrderException::customizationMissing);
-        }
+    /**
+     * Add item to a user or persisted guest cart
+     */
+    public CartMutationResponse addToCart(Cart cart, AddToCartRequest request) {
+        Product product = loadActiveProduct(request.getProductId());
+        validateQuantity(request.getQuantity());
+        Customization customization = loadCustomization(request.getCustomizationId());
 
         // Check for existing item with same product and customization
         Optional<CartItem> existingItem = cartItemRepository
@@ -102,9 +114,12 @@ public class CartService {
                         request.getProductId(), 
                         request.getCustomizationId());
 
+        CartItem item;
+        LineTotals before;
         if (existingItem.isPresent()) {
             // Update quantity of existing item
-            CartItem item = existingItem.get();
+            item = existingItem.get();
+            before = LineTotals.of(item);
             int newQuantity = item.getQuantity() + request.getQuantity();
             if (newQuantity > 10000) {
                 throw OrderException.invalidQuantity();
@@ -113,56 +128,68 @@ public class CartService {
             updateItemPricing(item, product);
             cartItemRepository.save(item);
         } else {
-            // Add new item
-            CartItem item = new CartItem();
+            // Add new item (not added to cart.items, which would load the collection)
+            item = new CartItem();
             item.setCart(cart);
             item.setProduct(product);
             item.setCustomization(customization);
             item.setQuantity(request.getQuantity());
             updateItemPricing(item, product);
-            cart.addItem(item);
             cartItemRepository.save(item);
+            before = LineTotals.NONE;
         }
 
-        return getCart(user);
+        return applyMutation(cart.getId(), item, before, LineTotals.of(item));
     }
 
     /**
      * Update cart item quantity
      */
-    public CartResponse updateCartItem(User user, UUID itemId, UpdateCartItemRequest request) {
+    public CartMutationResponse updateCartItem(User user, UUID itemId, UpdateCartItemRequest request) {
         Cart cart = cartRepository.findByUserId(user.getId())
                 .orElseThrow(OrderException::cartEmpty);
+        return updateCartItem(cart, itemId, request);
+    }
 
+    /**
+     * Update item quantity in a user or persisted guest cart
+     */
+    public CartMutationResponse updateCartItem(Cart cart, UUID itemId, UpdateCartItemRequest request) {
         CartItem item = cartItemRepository.findByIdAndCartId(itemId, cart.getId())
                 .orElseThrow(OrderException::cartItemNotFound);
 
-        // Validate quantity
-        if (request.getQuantity() < 1 || request.getQuantity() > 10000) {
-            throw OrderException.invalidQuantity();
-        }
+        validateQuantity(request.getQuantity());
 
+        LineTotals before = LineTotals.of(item);
         item.setQuantity(request.getQuantity());
         updateItemPricing(item, item.getProduct());
         cartItemRepository.save(item);
 
-        return getCart(user);
+        return applyMutation(cart.getId(), item, before, LineTotals.of(item));
     }
 
     /**
      * Remove item from cart
      */
-    public CartResponse removeCartItem(User user, UUID itemId) {
+    public CartMutationResponse removeCartItem(User user, UUID itemId) {
         Cart cart = cartRepository.findByUserId(user.getId())
                 .orElseThrow(OrderException::cartEmpty);
+        return removeCartItem(cart, itemId);
+    }
 
+    /**
+     * Remove item from a user or persisted guest cart
+     */
+    public CartMutationResponse removeCartItem(Cart cart, UUID itemId) {
         CartItem item = cartItemRepository.findByIdAndCartId(itemId, cart.getId())
                 .orElseThrow(OrderException::cartItemNotFound);
 
-        cart.removeItem(item);
+        LineTotals before = LineTotals.of(item);
         cartItemRepository.delete(item);
 
-        return getCart(user);
+        CartMutationResponse response = applyMutation(cart.getId(), null, before, LineTotals.NONE);
+        response.setRemovedItemId(itemId);
+        return response;
     }
 
     /**
@@ -172,18 +199,158 @@ public class CartService {
         Cart cart = cartRepository.findByUserId(user.getId()).orElse(null);
         if (cart != null) {
             cartItemRepository.deleteAllByCartId(cart.getId());
+            cartRepository.resetAggregates(cart.getId(), OffsetDateTime.now());
             cart.clearItems();
         }
     }
 
     /**
-     * Get cart item count for header badge
+     * Fold guest cart lines into the user's cart (merge-on-login)
+     *
+     * Products and customizations are loaded in one query each and the lines are
+     * written in one batch. A line for a product/customization already in the cart
+     * adds to its quantity (capped at 10,000); lines whose product is no longer
+     * available are dropped.
+     *
+     * @return Number of cart lines added or updated
+     */
+    public int mergeGuestLines(User user, List<GuestCartService.GuestCartLine> lines) {
+        if (lines.isEmpty()) {
+            return 0;
+        }
+        return mergeGuestLines(getOrCreateCart(user), lines);
+    }
+
+    /**
+     * Fold guest cart lines into a saved cart (user cart, or a guest cart being persisted)
+     */
+    public int mergeGuestLines(Cart cart, List<GuestCartService.GuestCartLine> lines) {
+        Map<String, CartItem> itemsByKey = new HashMap<>();
+        for (CartItem item : cartItemRepository.findByCartId(cart.getId())) {
+            UUID customizationId = item.getCustomization() != null ? item.getCustomization().getId() : null;
+            itemsByKey.put(lineKey(item.getProduct().getId(), customizationId), item);
+        }
+
+        Set<UUID> productIds = lines.stream().map(GuestCartService.GuestCartLine::productId).collect(Collectors.toSet());
+        Set<UUID> customizationIds = lines.stream().map(GuestCartService.GuestCartLine::customizationId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<UUID, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Map<UUID, Customization> customizations = customizationIds.isEmpty() ? Map.of()
+                : customizationRepository.findAllById(customizationIds).stream()
+                        .collect(Collectors.toMap(Customization::getId, Function.identity()));
+
+        List<CartItem> changed = new ArrayList<>();
+        for (GuestCartService.GuestCartLine line : lines) {
+            Product product = products.get(line.productId());
+            Customization customization = line.customizationId() != null
+                    ? customizations.get(line.customizationId()) : null;
+            if (product == null || product.getStatus() != ProductStatus.ACTIVE
+                    || (line.customizationId() != null && customization == null)) {
+                continue;
+            }
+
+            String key = lineKey(line.productId(), line.customizationId());
+            CartItem item = itemsByKey.get(key);
+            if (item == null) {
+                item = new CartItem();
+                item.setCart(cart);
+                item.setProduct(product);
+                item.setCustomization(customization);
+                item.setQuantity(line.quantity());
+                itemsByKey.put(key, item);
+            } else {
+                item.setQuantity(Math.min(10000, item.getQuantity() + line.quantity()));
+            }
+            updateItemPricing(item, product);
+            changed.add(item);
+        }
+
+        cartItemRepository.saveAll(changed);
+        cartRepository.recalculateAggregates(cart.getId());
+        return changed.size();
+    }
+
+    /**
+     * Get cart item count for header badge (reads the stored count only)
      */
     @Transactional(readOnly = true)
     public int getCartItemCount(User user) {
-        return cartRepository.findByUserId(user.getId())
-                .map(Cart::getItemCount)
-                .orElse(0);
+        return cartRepository.findItemCountByUserId(user.getId()).orElse(0);
+    }
+
+    /**
+     * Apply a line change to the stored aggregates and build the delta response
+     */
+    private CartMutationResponse applyMutation(UUID cartId, CartItem item, LineTotals before, LineTotals after) {
+        int quantityDelta = after.quantity() - before.quantity();
+        BigDecimal subtotalDelta = after.subtotal().subtract(before.subtotal());
+        cartRepository.applyAggregateDelta(cartId,
+                after.items() - before.items(),
+                quantityDelta,
+                subtotalDelta,
+                after.originalSubtotal().subtract(before.originalSubtotal()),
+                OffsetDateTime.now());
+
+        CartRepository.CartSummary summary = cartRepository.findSummaryById(cartId)
+                .orElseThrow(OrderException::cartEmpty);
+
+        CartMutationResponse response = new CartMutationResponse();
+        response.setCartId(cartId);
+        response.setItem(item != null ? mapToCartItemResponse(item) : null);
+        response.setQuantityDelta(quantityDelta);
+        response.setSubtotalDelta(subtotalDelta);
+        response.setItemCount(summary.getItemCount());
+        response.setTotalQuantity(summary.getTotalQuantity());
+        response.setPricing(buildPricing(summary.getSubtotal(), summary.getOriginalSubtotal()));
+        return response;
+    }
+
+    private static String lineKey(UUID productId, UUID customizationId) {
+        return productId + ":" + customizationId;
+    }
+
+    /**
+     * Product that can be added to a cart
+     */
+    public Product loadActiveProduct(UUID productId) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new OrderException("ORD_002", "Product not found"));
+
+        if (product.getStatus() != ProductStatus.ACTIVE) {
+            throw OrderException.productUnavailable();
+        }
+        return product;
+    }
+
+    /**
+     * Customization for a cart line (null if none)
+     */
+    public Customization loadCustomization(UUID customizationId) {
+        if (customizationId == null) {
+            return null;
+        }
+        return customizationRepository.findById(customizationId)
+                .orElseThrow(OrderException::customizationMissing);
+    }
+
+    public void validateQuantity(Integer quantity) {
+        if (quantity == null || quantity < 1 || quantity > 10000) {
+            throw OrderException.invalidQuantity();
+        }
+    }
+
+    /**
+     * Price a cart line without saving it (guest carts held outside the database)
+     */
+    public CartItem priceLine(UUID lineId, Product product, Customization customization, int quantity) {
+        CartItem item = new CartItem();
+        item.setId(lineId);
+        item.setProduct(product);
+        item.setCustomization(customization);
+        item.setQuantity(quantity);
+        updateItemPricing(item, product);
+        return item;
     }
 
     /**
@@ -210,6 +377,7 @@ public class CartService {
             customizationFee = priceCalculationService.getCustomizationFee(product);
         }
 
+        item.setOriginalUnitPrice(product.getBasePrice());
         item.setUnitPrice(discountedPrice);
         item.setDiscountPercentage(discountPercentage);
         item.setCustomizationFee(customizationFee);
@@ -219,7 +387,7 @@ public class CartService {
     /**
      * Map cart entity to response DTO
      */
-    private CartResponse mapToCartResponse(Cart cart) {
+    public CartResponse mapToCartResponse(Cart cart) {
         CartResponse response = new CartResponse();
         response.setCartId(cart.getId());
         response.setUserId(cart.getUser() != null ? cart.getUser().getId() : null);
@@ -234,20 +402,24 @@ public class CartService {
             itemResponses.add(itemResponse);
 
             // Calculate original subtotal (before discounts)
-            BigDecimal originalItemSubtotal = item.getProduct().getBasePrice()
-                    .add(item.getCustomizationFee())
-                    .multiply(BigDecimal.valueOf(item.getQuantity()));
-            originalSubtotal = originalSubtotal.add(originalItemSubtotal);
+            originalSubtotal = originalSubtotal.add(item.getOriginalSubtotal());
 
             subtotal = subtotal.add(item.getSubtotal());
             totalQuantity += item.getQuantity();
         }
 
         response.setItems(itemResponses);
-        response.setItemCount(cart.getItemCount());
+        response.setItemCount(itemResponses.size());
         response.setTotalQuantity(totalQuantity);
+        response.setPricing(buildPricing(subtotal, originalSubtotal));
+
+        return response;
+    }
 
-        // Calculate pricing
+    /**
+     * Cart pricing (GST preview, delivery, free-delivery gap) from the cart subtotals
+     */
+    private CartResponse.CartPricing buildPricing(BigDecimal subtotal, BigDecimal originalSubtotal) {
         CartResponse.CartPricing pricing = new CartResponse.CartPricing();
         pricing.setOriginalSubtotal(originalSubtotal);
         pricing.setSubtotal(subtotal);
@@ -255,14 +427,13 @@ public class CartService {
         pricing.setGst(priceCalculationService.calculateGst(subtotal));
         pricing.setFreeDeliveryEligible(priceCalculationService.isEligibleForFreeDelivery(subtotal));
         pricing.setFreeDeliveryThreshold(priceCalculationService.getFreeDeliveryThreshold());
+        pricing.setAmountToFreeDelivery(pricing.getFreeDeliveryThreshold().subtract(subtotal).max(BigDecimal.ZERO));
         
         // Default to standard delivery for cart display
         pricing.setDeliveryCharges(priceCalculationService.calculateDeliveryCharge(subtotal, DeliveryOption.STANDARD));
         pricing.setTotal(priceCalculationService.calculateTotal(subtotal, pricing.getGst(), pricing.getDeliveryCharges()));
 
-        response.setPricing(pricing);
-
-        return response;
+        return pricing;
     }
 
     /**
@@ -288,7 +459,8 @@ public class CartService {
         response.setPreviewUrl(item.getCustomization() != null ? item.getCustomization().getPreviewImageUrl() : null);
         response.setHasCustomization(item.getCustomization() != null);
         response.setQuantity(item.getQuantity());
-        response.setOriginalUnitPrice(item.getProduct().getBasePrice());
+        response.setOriginalUnitPrice(item.getOriginalUnitPrice() != null
+                ? item.getOriginalUnitPrice() : item.getProduct().getBasePrice());
         response.setUnitPrice(item.getUnitPrice());
         response.setDiscountPercentage(item.getDiscountPercentage());
         response.setCustomizationFee(item.getCustomizationFee());
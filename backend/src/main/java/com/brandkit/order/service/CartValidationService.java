@@ -42,6 +42,9 @@ public class CartValidationService {
             throw OrderException.cartEmpty();
         }
 
+        // Re-sync the stored totals with the items before checkout
+        cartRepository.recalculateAggregates(cart.getId());
+
         CartValidationResponse response = new CartValidationResponse();
         response.setIsValid(true);
         response.setPricesUpdated(false);
@@ -129,6 +132,7 @@ public class CartValidationService {
                         cartItemRepository.delete(item);
                     });
         }
+        cartRepository.recalculateAggregates(cart.getId());
 
         return cartService.getCart(user);
     }
@@ -14,6 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -69,7 +70,9 @@ public class DeliveryIntegrationService {
     @Autowired
     private PinCodeServiceabilityRepository pinCodeRepository;
     @Autowired
-    private OrderService orderService;
+    private OrderTransitionService orderTransitionService;
+    @Autowired
+    private OrderViewCache orderViewCache;
 
     /**
      * Check if a PIN code is serviceable
@@ -171,16 +174,11 @@ public class DeliveryIntegrationService {
      * Update tracking information (called by webhook or scheduled job)
      */
     public void updateTrackingInfo(UUID orderId, String trackingId, String courierName, String trackingUrl) {
-        Order order = orderRepository.findById(orderId).orElse(null);
-        if (order == null) {
+        if (orderRepository.updateTracking(orderId, trackingId, courierName, trackingUrl, OffsetDateTime.now()) == 0) {
             logger.error("Order not found for tracking update: {}", orderId);
             return;
         }
-
-        order.setTrackingId(trackingId);
-        order.setCourierName(courierName);
-        order.setTrackingUrl(trackingUrl);
-        orderRepository.save(order);
+        orderViewCache.evictAfterCommit(orderId);
 
         logger.info("Tracking info updated for order {}: {}", orderId, trackingId);
     }
@@ -189,22 +187,15 @@ public class DeliveryIntegrationService {
      * Mark order as shipped (called by partner or webhook)
      */
     public void markOrderShipped(UUID orderId, String trackingId, String courierName, String trackingUrl) {
-        Order order = orderRepository.findById(orderId).orElse(null);
-        if (order == null) {
+        if (!orderRepository.existsById(orderId)) {
             logger.error("Order not found for shipping update: {}", orderId);
             return;
         }
 
-        order.setTrackingId(trackingId);
-        order.setCourierName(courierName);
-        order.setTrackingUrl(trackingUrl);
-        order.setStatus(OrderStatus.SHIPPED);
-        orderRepository.save(order);
-
-        // Add status history
-        orderService.updateOrderStatus(orderId, OrderStatus.SHIPPED, 
-                "Your order has been shipped", 
-                "Tracking: " + trackingId);
+        orderTransitionService.transition(orderId, OrderStatus.SHIPPED, null,
+                "Your order has been shipped",
+                "Tracking: " + trackingId,
+                from -> orderRepository.updateTracking(orderId, trackingId, courierName, trackingUrl, OffsetDateTime.now()));
 
         // TODO: Send shipping notification to client
         logger.info("Order {} marked as shipped with tracking {}", orderId, trackingId);
@@ -214,16 +205,12 @@ public class DeliveryIntegrationService {
      * Mark order as out for delivery (called by webhook)
      */
     public void markOutForDelivery(UUID orderId) {
-        Order order = orderRepository.findById(orderId).orElse(null);
-        if (order == null) {
+        if (!orderRepository.existsById(orderId)) {
             return;
         }
 
-        order.setStatus(OrderStatus.OUT_FOR_DELIVERY);
-        orderRepository.save(order);
-
-        orderService.updateOrderStatus(orderId, OrderStatus.OUT_FOR_DELIVERY, 
-                "Your order is out for delivery", 
+        orderTransitionService.transition(orderId, OrderStatus.OUT_FOR_DELIVERY,
+                "Your order is out for delivery",
                 null);
 
         // TODO: Send notification
@@ -234,44 +221,37 @@ public class DeliveryIntegrationService {
      * Mark order as delivered (called by webhook or manual confirmation)
      */
     public void markOrderDelivered(UUID orderId, LocalDate deliveryDate) {
-        Order order = orderRepository.findById(orderId).orElse(null);
-        if (order == null) {
+        if (!orderRepository.existsById(orderId)) {
             return;
         }
 
-        order.setStatus(OrderStatus.DELIVERED);
-        order.setActualDeliveryDate(deliveryDate != null ? deliveryDate : LocalDate.now());
-        orderRepository.save(order);
-
-        orderService.updateOrderStatus(orderId, OrderStatus.DELIVERED, 
-                "Order delivered successfully", 
-                "Delivered on " + order.getActualDeliveryDate());
+        LocalDate deliveredOn = deliveryDate != null ? deliveryDate : LocalDate.now();
+        orderTransitionService.transition(orderId, OrderStatus.DELIVERED, null,
+                "Order delivered successfully",
+                "Delivered on " + deliveredOn,
+                from -> orderRepository.markDelivered(orderId, deliveredOn, OffsetDateTime.now()));
 
         // TODO: Send delivery confirmation notification
         // TODO: Request delivery feedback/review
-        logger.info("Order {} delivered on {}", orderId, order.getActualDeliveryDate());
+        logger.info("Order {} delivered on {}", orderId, deliveredOn);
     }
 
     /**
      * Handle delivery failure (called by webhook)
      */
     public void handleDeliveryFailure(UUID orderId, String reason, boolean willRetry) {
-        Order order = orderRepository.findById(orderId).orElse(null);
-        if (order == null) {
+        if (!orderRepository.existsById(orderId)) {
             return;
         }
 
         if (willRetry) {
             // Just add a note, courier will retry
-            orderService.updateOrderStatus(orderId, order.getStatus(), 
-                    "Delivery attempt failed, courier will retry", 
+            orderTransitionService.addNote(orderId,
+                    "Delivery attempt failed, courier will retry",
                     reason);
         } else {
             // Multiple failed attempts - needs attention
-            order.setNotes(order.getNotes() != null ? 
-                    order.getNotes() + "\nDelivery failed: " + reason : 
-                    "Delivery failed: " + reason);
-            orderRepository.save(order);
+            orderRepository.appendNote(orderId, "Delivery failed: " + reason, "\n", OffsetDateTime.now());
 
             // TODO: Notify admin and customer
             logger.warn("Delivery failed for order {}: {}", orderId, reason);
@@ -330,7 +310,10 @@ public class DeliveryIntegrationService {
     public PinCodeServiceabilityRepository getPinCodeRepository() {
         return this.pinCodeRepository;
     }
-    public OrderService getOrderService() {
-        return this.orderService;
+    public OrderTransitionService getOrderTransitionService() {
+        return this.orderTransitionService;
+    }
+    public OrderViewCache getOrderViewCache() {
+        return this.orderViewCache;
     }
 }
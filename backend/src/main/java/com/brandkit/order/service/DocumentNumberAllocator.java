@@ -0,0 +1,96 @@
+package com.brandkit.order.service;
+
+import com.brandkit.order.repository.InvoiceRepository;
+import com.brandkit.order.repository.OrderRepository;
+import com.brandkit.partner.repository.SettlementRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.function.LongSupplier;
+
+/**
+ * Allocator for human-readable document numbers - FRD-004 FR-43, FR-44
+ *
+ * Numbers come from Postgres sequences created with INCREMENT BY {@link #BLOCK_SIZE}:
+ * each nextval() leases a block of numbers that this node then hands out from
+ * memory, so checkouts never scan or lock the orders table for a number.
+ * Blocks are disjoint across nodes; numbers left in a block when a node stops
+ * are skipped (gaps are expected, duplicates are not possible).
+ *
+ * Formats (the suffix is zero-padded to 6 digits and widens as needed):
+ * - Order:      BK-YYYYMMDD-000001
+ * - Invoice:    INV-YYYY-000001
+ * - Settlement: SET-YYYY-MM-000001
+ */
+@Service
+public class DocumentNumberAllocator {
+
+    /**
+     * Must match INCREMENT BY of the V11 number sequences
+     */
+    static final int BLOCK_SIZE = 20;
+
+    private static final DateTimeFormatter ORDER_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter INVOICE_DATE = DateTimeFormatter.ofPattern("yyyy");
+    private static final DateTimeFormatter SETTLEMENT_DATE = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private SettlementRepository settlementRepository;
+
+    private BlockLease orderNumbers;
+    private BlockLease invoiceNumbers;
+    private BlockLease settlementNumbers;
+
+    @PostConstruct
+    void init() {
+        orderNumbers = new BlockLease(orderRepository::nextOrderNumberBlock);
+        invoiceNumbers = new BlockLease(invoiceRepository::nextInvoiceNumberBlock);
+        settlementNumbers = new BlockLease(settlementRepository::nextSettlementNumberBlock);
+    }
+
+    public String nextOrderNumber() {
+        return format("BK-", LocalDate.now().format(ORDER_DATE), orderNumbers.next());
+    }
+
+    public String nextInvoiceNumber() {
+        return format("INV-", LocalDate.now().format(INVOICE_DATE), invoiceNumbers.next());
+    }
+
+    public String nextSettlementNumber() {
+        return format("SET-", LocalDate.now().format(SETTLEMENT_DATE), settlementNumbers.next());
+    }
+
+    private String format(String prefix, String datePart, long sequence) {
+        return String.format("%s%s-%06d", prefix, datePart, sequence);
+    }
+
+    /**
+     * Hands out numbers from a leased block, leasing the next one when exhausted
+     */
+    private static final class BlockLease {
+        private final LongSupplier leaseBlock;
+        private long next;
+        private long limit;
+
+        BlockLease(LongSupplier leaseBlock) {
+            this.leaseBlock = leaseBlock;
+        }
+
+        synchronized long next() {
+            if (next >= limit) {
+                next = leaseBlock.getAsLong();
+                limit = next + BLOCK_SIZE;
+            }
+            return next++;
+        }
+    }
+}
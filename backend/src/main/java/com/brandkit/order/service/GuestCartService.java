@@ -0,0 +1,443 @@
+package com.brandkit.order.service;
+
+import com.brandkit.auth.entity.User;
+import com.brandkit.catalog.entity.Product;
+import com.brandkit.catalog.repository.ProductRepository;
+import com.brandkit.customization.entity.Customization;
+import com.brandkit.customization.repository.CustomizationRepository;
+import com.brandkit.order.dto.AddToCartRequest;
+import com.brandkit.order.dto.CartResponse;
+import com.brandkit.order.dto.UpdateCartItemRequest;
+import com.brandkit.order.entity.Cart;
+import com.brandkit.order.exception.OrderException;
+import com.brandkit.order.repository.CartRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for guest (anonymous) carts - FRD-004 FR-39
+ *
+ * A guest is identified by a random session ID carried in an HMAC-signed cookie,
+ * so browsing visitors can build a cart without registering or logging in. The
+ * cookie is signed with its own key (app.cart.guest.cookie-secret), never the
+ * JWT signing key; startup fails if it is not configured.
+ * Small guest carts only hold product, customization and quantity per line, in
+ * Redis with a sliding TTL, and are priced on read. Redis is the copy every
+ * instance reads; the size-capped local map (app.cart.guest.local-max-entries)
+ * is only read when Redis is not configured or not reachable. Once a cart
+ * reaches app.cart.guest.persist-min-lines lines it is saved as a carts row
+ * keyed by session_id and handled like a user cart.
+ *
+ * On login the guest lines are folded into the user's cart in one batched write
+ * (see AuthService.login).
+ */
+@Service
+@Transactional
+public class GuestCartService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GuestCartService.class);
+
+    private static final String REDIS_PREFIX = "guest-cart:";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_LENGTH = 32;
+
+    @Autowired
+    private CartService cartService;
+    @Autowired
+    private CartRepository cartRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CustomizationRepository customizationRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired(required = false)
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${app.cart.guest.ttl:7d}")
+    private Duration ttl;
+
+    @Value("${app.cart.guest.persist-min-lines:3}")
+    private int persistMinLines;
+
+    @Value("${app.cart.guest.max-lines:50}")
+    private int maxLines;
+
+    @Value("${app.cart.guest.local-max-entries:10000}")
+    private int localMaxEntries;
+
+    @Value("${app.cart.guest.cookie-secret:}")
+    private String cookieSecret;
+
+    @Value("${app.jwt.secret:}")
+    private String jwtSecret;
+
+    private SecretKeySpec cookieKey;
+
+    /**
+     * Local copies, least recently used first
+     */
+    private final Map<String, GuestCart> carts = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, GuestCart> eldest) {
+                    return size() > localMaxEntries;
+                }
+            });
+
+    /**
+     * One line of a guest cart
+     */
+    public record GuestCartLine(UUID id, UUID productId, UUID customizationId, int quantity) {
+    }
+
+    /**
+     * Lines of a guest cart that is not saved yet
+     */
+    private record GuestCart(List<GuestCartLine> lines, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    @PostConstruct
+    void initCookieKey() {
+        if (cookieSecret == null || cookieSecret.length() < MIN_SECRET_LENGTH) {
+            throw new IllegalStateException("app.cart.guest.cookie-secret (GUEST_CART_SECRET) must be set to at least "
+                    + MIN_SECRET_LENGTH + " characters");
+        }
+        if (cookieSecret.equals(jwtSecret)) {
+            throw new IllegalStateException("app.cart.guest.cookie-secret must differ from app.jwt.secret");
+        }
+        cookieKey = new SecretKeySpec(cookieSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+    }
+
+    // ==================== Session Token ====================
+
+    /**
+     * New signed guest cart token ("sessionId.signature")
+     */
+    public String newToken() {
+        String sessionId = UUID.randomUUID().toString();
+        return sessionId + "." + sign(sessionId);
+    }
+
+    /**
+     * Session ID from a guest cart token, or null if missing or not signed by us
+     */
+    public String resolveSessionId(String token) {
+        if (token == null) {
+            return null;
+        }
+        int separator = token.indexOf('.');
+        if (separator <= 0) {
+            return null;
+        }
+        String sessionId = token.substring(0, separator);
+        byte[] expected = sign(sessionId).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = token.substring(separator + 1).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, actual) ? sessionId : null;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    // ==================== Cart Operations ====================
+
+    /**
+     * Get guest cart
+     */
+    public CartResponse getCart(String sessionId) {
+        Optional<Cart> saved = cartRepository.findBySessionIdWithItems(sessionId);
+        if (saved.isPresent()) {
+            return cartService.mapToCartResponse(saved.get());
+        }
+        return priceLines(sessionId, readLines(sessionId));
+    }
+
+    /**
+     * Add item to guest cart
+     */
+    public CartResponse addToCart(String sessionId, AddToCartRequest request) {
+        Optional<Cart> saved = cartRepository.findBySessionId(sessionId);
+        if (saved.isPresent()) {
+            cartService.addToCart(saved.get(), request);
+            return getCart(sessionId);
+        }
+
+        cartService.loadActiveProduct(request.getProductId());
+        cartService.validateQuantity(request.getQuantity());
+        cartService.loadCustomization(request.getCustomizationId());
+
+        List<GuestCartLine> lines = new ArrayList<>(readLines(sessionId));
+        int index = indexOf(lines, request.getProductId(), request.getCustomizationId());
+        if (index >= 0) {
+            GuestCartLine line = lines.get(index);
+            int quantity = line.quantity() + request.getQuantity();
+            cartService.validateQuantity(quantity);
+            lines.set(index, new GuestCartLine(line.id(), line.productId(), line.customizationId(), quantity));
+        } else {
+            if (lines.size() >= maxLines) {
+                throw new OrderException("ORD_003", "A cart can hold at most " + maxLines + " items");
+            }
+            lines.add(new GuestCartLine(UUID.randomUUID(), request.getProductId(),
+                    request.getCustomizationId(), request.getQuantity()));
+        }
+
+        if (lines.size() >= persistMinLines) {
+            if (!persist(sessionId, lines)) {
+                // A concurrent request saved this cart first; add to the saved cart instead
+                Cart cart = cartRepository.findBySessionId(sessionId).orElseThrow(OrderException::cartEmpty);
+                cartService.addToCart(cart, request);
+            }
+            return getCart(sessionId);
+        }
+
+        writeLines(sessionId, lines);
+        return priceLines(sessionId, lines);
+    }
+
+    /**
+     * Update guest cart item quantity
+     */
+    public CartResponse updateCartItem(String sessionId, UUID itemId, UpdateCartItemRequest request) {
+        Optional<Cart> saved = cartRepository.findBySessionId(sessionId);
+        if (saved.isPresent()) {
+            cartService.updateCartItem(saved.get(), itemId, request);
+            return getCart(sessionId);
+        }
+
+        cartService.validateQuantity(request.getQuantity());
+        List<GuestCartLine> lines = new ArrayList<>(readLines(sessionId));
+        int index = indexOf(lines, itemId);
+        GuestCartLine line = lines.get(index);
+        lines.set(index, new GuestCartLine(line.id(), line.productId(), line.customizationId(), request.getQuantity()));
+
+        writeLines(sessionId, lines);
+        return priceLines(sessionId, lines);
+    }
+
+    /**
+     * Remove item from guest cart
+     */
+    public CartResponse removeCartItem(String sessionId, UUID itemId) {
+        Optional<Cart> saved = cartRepository.findBySessionId(sessionId);
+        if (saved.isPresent()) {
+            cartService.removeCartItem(saved.get(), itemId);
+            return getCart(sessionId);
+        }
+
+        List<GuestCartLine> lines = new ArrayList<>(readLines(sessionId));
+        lines.remove(indexOf(lines, itemId));
+
+        writeLines(sessionId, lines);
+        return priceLines(sessionId, lines);
+    }
+
+    /**
+     * Get guest cart item count for header badge
+     */
+    @Transactional(readOnly = true)
+    public int getCartItemCount(String sessionId) {
+        List<GuestCartLine> lines = readLines(sessionId);
+        if (!lines.isEmpty()) {
+            return lines.size();
+        }
+        return cartRepository.findBySessionId(sessionId).map(Cart::getItemCount).orElse(0);
+    }
+
+    /**
+     * Fold a guest cart into the user's cart and discard it
+     *
+     * Runs in its own transaction so a failed merge never fails the login.
+     *
+     * @return Number of cart lines added or updated
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int mergeIntoUserCart(String sessionId, User user) {
+        List<GuestCartLine> lines = readLines(sessionId);
+        Optional<Cart> saved = cartRepository.findBySessionIdWithItems(sessionId);
+        if (saved.isPresent()) {
+            lines = saved.get().getItems().stream()
+                    .map(item -> new GuestCartLine(item.getId(), item.getProduct().getId(),
+                            item.getCustomization() != null ? item.getCustomization().getId() : null,
+                            item.getQuantity()))
+                    .collect(Collectors.toList());
+        }
+
+        int merged = cartService.mergeGuestLines(user, lines);
+
+        saved.ifPresent(cartRepository::delete);
+        discardLines(sessionId);
+        if (merged > 0) {
+            logger.info("Merged {} guest cart lines into cart of user {}", merged, user.getId());
+        }
+        return merged;
+    }
+
+    /**
+     * Drop expired in-memory guest carts and saved guest carts untouched for a TTL, every hour
+     */
+    @Scheduled(fixedRate = 3600000) // 1 hour in milliseconds
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        carts.entrySet().removeIf(e -> e.getValue().isExpired(now));
+
+        int deleted = cartRepository.deleteAbandonedGuestCarts(OffsetDateTime.now().minus(ttl));
+        if (deleted > 0) {
+            logger.info("Deleted {} abandoned guest carts", deleted);
+        }
+    }
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Save the guest cart as a carts row keyed by session ID
+     *
+     * @return false if another request saved the cart first (nothing written)
+     */
+    private boolean persist(String sessionId, List<GuestCartLine> lines) {
+        if (cartRepository.createGuestCartIfAbsent(sessionId) == 0) {
+            return false;
+        }
+        Cart cart = cartRepository.findBySessionId(sessionId).orElseThrow(OrderException::cartEmpty);
+        cartService.mergeGuestLines(cart, lines);
+        discardLines(sessionId);
+        return true;
+    }
+
+    /**
+     * Price unsaved guest lines into a cart response
+     */
+    private CartResponse priceLines(String sessionId, List<GuestCartLine> lines) {
+        Map<UUID, Product> products = productRepository.findAllById(
+                        lines.stream().map(GuestCartLine::productId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Product::getId, Function.identity()));
+        Map<UUID, Customization> customizations = customizationRepository.findAllById(
+                        lines.stream().map(GuestCartLine::customizationId)
+                                .filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Customization::getId, Function.identity()));
+
+        Cart cart = new Cart();
+        cart.setSessionId(sessionId);
+        for (GuestCartLine line : lines) {
+            Product product = products.get(line.productId());
+            if (product != null) {
+                cart.addItem(cartService.priceLine(line.id(), product,
+                        customizations.get(line.customizationId()), line.quantity()));
+            }
+        }
+        return cartService.mapToCartResponse(cart);
+    }
+
+    private List<GuestCartLine> readLines(String sessionId) {
+        if (redisTemplate != null) {
+            try {
+                String value = redisTemplate.opsForValue().get(REDIS_PREFIX + sessionId);
+                if (value == null) {
+                    carts.remove(sessionId);
+                    return List.of();
+                }
+                List<GuestCartLine> lines = objectMapper.readValue(value, new TypeReference<List<GuestCartLine>>() {});
+                carts.put(sessionId, new GuestCart(List.copyOf(lines), System.currentTimeMillis() + ttl.toMillis()));
+                return lines;
+            } catch (Exception e) {
+                logger.warn("Guest cart store unavailable, using local state only: {}", e.getMessage());
+            }
+        }
+
+        GuestCart cart = carts.get(sessionId);
+        if (cart != null && !cart.isExpired(System.currentTimeMillis())) {
+            return cart.lines();
+        }
+        return List.of();
+    }
+
+    private void writeLines(String sessionId, List<GuestCartLine> lines) {
+        if (lines.isEmpty()) {
+            discardLines(sessionId);
+            return;
+        }
+
+        carts.put(sessionId, new GuestCart(List.copyOf(lines), System.currentTimeMillis() + ttl.toMillis()));
+        if (redisTemplate != null) {
+            try {
+                redisTemplate.opsForValue().set(REDIS_PREFIX + sessionId, objectMapper.writeValueAsString(lines), ttl);
+            } catch (Exception e) {
+                logger.warn("Failed to store guest cart {}: {}", sessionId, e.getMessage());
+            }
+        }
+    }
+
+    private void discardLines(String sessionId) {
+        carts.remove(sessionId);
+        if (redisTemplate != null) {
+            try {
+                redisTemplate.delete(REDIS_PREFIX + sessionId);
+            } catch (Exception e) {
+                logger.warn("Failed to delete guest cart {}: {}", sessionId, e.getMessage());
+            }
+        }
+    }
+
+    private static int indexOf(List<GuestCartLine> lines, UUID productId, UUID customizationId) {
+        for (int i = 0; i < lines.size(); i++) {
+            GuestCartLine line = lines.get(i);
+            if (line.productId().equals(productId) && Objects.equals(line.customizationId(), customizationId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(List<GuestCartLine> lines, UUID itemId) {
+        for (int i = 0; i < lines.size(); i++) {
+            if (lines.get(i).id().equals(itemId)) {
+                return i;
+            }
+        }
+        throw OrderException.cartItemNotFound();
+    }
+
+    private String sign(String sessionId) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(cookieKey);
+            byte[] signature = mac.doFinal(sessionId.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign guest cart token", e);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.brandkit.order.service;
+
+import com.brandkit.order.exception.OrderException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Service for Idempotency-Key handling - FRD-004 FR-43, FR-48
+ *
+ * The first successful response for a key is cached and replayed to retries.
+ * Duplicates that arrive while the first request is still running wait for its
+ * result instead of executing again. Failed requests are not cached, so the
+ * client can retry with the same key.
+ *
+ * Keys live in memory with a TTL. When Redis is available, completed responses
+ * are also stored there so a retry routed to another node is replayed too; a
+ * concurrent duplicate on another node gets ORD_022 rather than waiting.
+ *
+ * Call this outside the business transaction, so only committed results are cached.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final String REDIS_PREFIX = "idempotency:";
+    private static final String IN_FLIGHT = "in-flight";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Autowired(required = false)
+    private StringRedisTemplate redisTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.idempotency.ttl:24h}")
+    private Duration ttl;
+
+    @Value("${app.idempotency.wait-timeout:30s}")
+    private Duration waitTimeout;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * In-flight or completed request for a key
+     */
+    private static final class Entry {
+        private final String fingerprint;
+        private final long expiresAt;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        Entry(String fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    /**
+     * Stored response for cross-node replay
+     */
+    static final class StoredResponse {
+        public String fingerprint;
+        public String body;
+    }
+
+    /**
+     * Run an action at most once per (scope, owner, key)
+     *
+     * @param scope          Operation name, e.g. "checkout"
+     * @param ownerId        User the key belongs to (keys are not shared across users)
+     * @param idempotencyKey Client-supplied key; null or blank runs the action directly
+     * @param fingerprint    Summary of the request; reusing a key for a different request is rejected
+     */
+    public <T> T execute(String scope, UUID ownerId, String idempotencyKey, String fingerprint,
+                         Class<T> responseType, Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new OrderException("ORD_021", "Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String cacheKey = scope + ":" + ownerId + ":" + idempotencyKey;
+        long now = System.currentTimeMillis();
+        Entry created = new Entry(fingerprint, now + ttl.toMillis());
+        Entry entry = entries.compute(cacheKey, (key, current) ->
+                current != null && !current.isExpired(now) ? current : created);
+
+        if (entry != created) {
+            return awaitExisting(cacheKey, entry, fingerprint, responseType);
+        }
+
+        boolean claimed = false;
+        try {
+            T replayed = readStored(cacheKey, fingerprint, responseType);
+            if (replayed != null) {
+                entry.result.complete(replayed);
+                return replayed;
+            }
+
+            claimed = true;
+            T result = action.get();
+            entry.result.complete(result);
+            store(cacheKey, fingerprint, result);
+            return result;
+        } catch (RuntimeException e) {
+            entries.remove(cacheKey, entry);
+            if (claimed) {
+                releaseClaim(cacheKey);
+            }
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Drop expired keys every 10 minutes
+     */
+    @Scheduled(fixedRate = 600000) // 10 minutes in milliseconds
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.entrySet().removeIf(e -> e.getValue().isExpired(now) && e.getValue().result.isDone());
+    }
+
+    // ==================== Helper Methods ====================
+
+    private <T> T awaitExisting(String cacheKey, Entry entry, String fingerprint, Class<T> responseType) {
+        if (!entry.fingerprint.equals(fingerprint)) {
+            throw OrderException.idempotencyKeyReused();
+        }
+
+        try {
+            logger.info("Duplicate request for idempotency key {}, replaying first response", cacheKey);
+            return responseType.cast(entry.result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new OrderException("ORD_022", "Original request failed. Please retry");
+        } catch (TimeoutException e) {
+            throw OrderException.requestInProgress();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw OrderException.requestInProgress();
+        }
+    }
+
+    /**
+     * Replay a response completed on another node, or claim the key there
+     */
+    private <T> T readStored(String cacheKey, String fingerprint, Class<T> responseType) {
+        if (redisTemplate == null) {
+            return null;
+        }
+
+        try {
+            String redisKey = REDIS_PREFIX + cacheKey;
+            Boolean claimed = redisTemplate.opsForValue().setIfAbsent(redisKey, IN_FLIGHT, waitTimeout.multipliedBy(2));
+            if (Boolean.TRUE.equals(claimed)) {
+                return null;
+            }
+
+            String value = redisTemplate.opsForValue().get(redisKey);
+            if (value == null) {
+                return null; // Claim expired between the two calls; run locally
+            }
+            if (IN_FLIGHT.equals(value)) {
+                throw OrderException.requestInProgress();
+            }
+
+            StoredResponse stored = objectMapper.readValue(value, StoredResponse.class);
+            if (!stored.fingerprint.equals(fingerprint)) {
+                throw OrderException.idempotencyKeyReused();
+            }
+            return objectMapper.readValue(stored.body, responseType);
+        } catch (OrderException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.warn("Idempotency store unavailable, using local state only: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void store(String cacheKey, String fingerprint, Object result) {
+        if (redisTemplate == null) {
+            return;
+        }
+
+        try {
+            StoredResponse stored = new StoredResponse();
+            stored.fingerprint = fingerprint;
+            stored.body = objectMapper.writeValueAsString(result);
+            redisTemplate.opsForValue().set(REDIS_PREFIX + cacheKey, objectMapper.writeValueAsString(stored), ttl);
+        } catch (Exception e) {
+            logger.warn("Failed to store idempotent response for {}: {}", cacheKey, e.getMessage());
+        }
+    }
+
+    private void releaseClaim(String cacheKey) {
+        if (redisTemplate == null) {
+            return;
+        }
+
+        try {
+            String redisKey = REDIS_PREFIX + cacheKey;
+            if (IN_FLIGHT.equals(redisTemplate.opsForValue().get(redisKey))) {
+                redisTemplate.delete(redisKey);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to release idempotency claim for {}: {}", cacheKey, e.getMessage());
+        }
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
 /**
@@ -37,6 +38,10 @@ public class InvoiceService {
     private InvoiceRepository invoiceRepository;
     @Autowired
     private OrderRepository orderRepository;
+    @Autowired
+    private DocumentNumberAllocator numberAllocator;
+    @Autowired
+    private OrderViewCache orderViewCache;
 
     /**
      * Generate invoice for an order after payment confirmation
@@ -58,6 +63,7 @@ public class InvoiceService {
 
         // Create invoice
         Invoice invoice = new Invoice();
+        invoice.setInvoiceNumber(numberAllocator.nextInvoiceNumber());
         invoice.setOrder(order);
         invoice.setInvoiceDate(LocalDate.now());
 
@@ -98,9 +104,9 @@ public class InvoiceService {
 
         invoice = invoiceRepository.save(invoice);
 
-        // Update order with invoice info
-        order.setInvoiceNumber(invoice.getInvoiceNumber());
-        orderRepository.save(order);
+        // Update order with invoice info (targeted update, no version check against status changes)
+        orderRepository.setInvoiceNumber(orderId, invoice.getInvoiceNumber(), OffsetDateTime.now());
+        orderViewCache.evictAfterCommit(orderId);
 
         // TODO: Generate PDF and upload to S3
         // This would use iText or similar library to create the PDF
@@ -154,8 +160,8 @@ public class InvoiceService {
             invoiceRepository.save(invoice);
 
             // Update order with invoice URL
-            order.setInvoiceUrl(pdfUrl);
-            orderRepository.save(order);
+            orderRepository.setInvoiceUrl(order.getId(), pdfUrl, OffsetDateTime.now());
+            orderViewCache.evictAfterCommit(order.getId());
 
             logger.info("Invoice PDF generated and stored: {}", s3Key);
 
@@ -0,0 +1,61 @@
+package com.brandkit.order.service;
+
+import com.brandkit.catalog.entity.Partner;
+import com.brandkit.catalog.repository.PartnerRepository;
+import com.brandkit.order.entity.Order;
+import com.brandkit.order.entity.OutboxEvent;
+import com.brandkit.order.entity.OutboxEventType;
+import com.brandkit.order.repository.OrderRepository;
+import com.brandkit.partner.service.PartnerNotificationService;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Wiring of order lifecycle events to their consumers - FRD-004, FRD-005
+ *
+ * ORDER_CONFIRMED        -> partner routing, invoice generation
+ * ORDER_ROUTED           -> partner new-order notification
+ *
+ * Handlers run on the outbox relay, each in its own transaction. Partner
+ * performance counters follow assignment changes directly (see
+ * AssignmentMetricsListener) and are not driven from here.
+ */
+@Component
+public class OrderEventSubscriptions {
+
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private PartnerRoutingService partnerRoutingService;
+    @Autowired
+    private InvoiceService invoiceService;
+    @Autowired
+    private PartnerNotificationService partnerNotificationService;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private PartnerRepository partnerRepository;
+
+    @PostConstruct
+    void subscribe() {
+        outboxService.subscribe(OutboxEventType.ORDER_CONFIRMED, "partner-routing",
+                event -> partnerRoutingService.routeOrderToPartner(event.getAggregateId()));
+        outboxService.subscribe(OutboxEventType.ORDER_CONFIRMED, "invoice",
+                event -> invoiceService.generateInvoice(event.getAggregateId()));
+        outboxService.subscribe(OutboxEventType.ORDER_ROUTED, "partner-notification",
+                this::notifyPartner);
+    }
+
+    private void notifyPartner(OutboxEvent event) {
+        UUID partnerId = UUID.fromString(outboxService.readPayload(event).get("partnerId"));
+        Order order = orderRepository.findByIdWithItems(event.getAggregateId()).orElse(null);
+        Partner partner = partnerRepository.findById(partnerId).orElse(null);
+        if (order == null || partner == null) {
+            return; // Deleted since the event was written
+        }
+        partnerNotificationService.createNewOrderNotification(partner, order);
+    }
+}
@@ -1,6 +1,8 @@
 package com.brandkit.order.service;
 
 import com.brandkit.auth.entity.User;
+import com.brandkit.catalog.entity.ProductImage;
+import com.brandkit.catalog.repository.ProductImageRepository;
 import com.brandkit.order.dto.*;
 import com.brandkit.order.entity.*;
 import com.brandkit.order.exception.OrderException;
@@ -15,7 +17,10 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -37,6 +42,12 @@ public class OrderService {
     
     @Autowired
     private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private ProductImageRepository productImageRepository;
     
     @Autowired
     private AddressRepository addressRepository;
@@ -50,8 +61,22 @@ public class OrderService {
     @Autowired
     private PriceCalculationService priceCalculationService;
 
+    @Autowired
+    private DocumentNumberAllocator numberAllocator;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private OrderViewCache orderViewCache;
+    @Autowired
+    private OrderTransitionService orderTransitionService;
+
     /**
      * Create order from cart (pre-payment)
+     *
+     * Write path is set-based: the cart, products, partners and customizations
+     * come from one fetch-join, primary images from one IN query, and the order,
+     * its items and the first status entry are flushed together as JDBC batches
+     * (hibernate.jdbc.batch_size). The cart is cleared with a single bulk delete.
      */
     public OrderResponse createOrder(User user, CheckoutRequest request) {
         // Validate terms acceptance
@@ -60,7 +85,7 @@ public class OrderService {
         }
 
         // Get cart
-        Cart cart = cartRepository.findByUserIdWithItems(user.getId())
+        Cart cart = cartRepository.findByUserIdForCheckout(user.getId())
                 .orElseThrow(OrderException::cartEmpty);
 
         if (cart.isEmpty()) {
@@ -85,10 +110,7 @@ public class OrderService {
         BigDecimal originalSubtotal = BigDecimal.ZERO;
         for (CartItem item : cart.getItems()) {
             subtotal = subtotal.add(item.getSubtotal());
-            BigDecimal originalItemSubtotal = item.getProduct().getBasePrice()
-                    .add(item.getCustomizationFee())
-                    .multiply(BigDecimal.valueOf(item.getQuantity()));
-            originalSubtotal = originalSubtotal.add(originalItemSubtotal);
+            originalSubtotal = originalSubtotal.add(item.getOriginalSubtotal());
         }
 
         boolean isInterState = priceCalculationService.isInterState(address.getState());
@@ -107,6 +129,7 @@ public class OrderService {
 
         // Create order
         Order order = new Order();
+        order.setOrderNumber(numberAllocator.nextOrderNumber());
         order.setUser(user);
         order.setStatus(OrderStatus.PENDING_PAYMENT);
         order.setDeliveryAddress(address);
@@ -131,25 +154,16 @@ public class OrderService {
             order.setPartner(cart.getItems().get(0).getProduct().getPartner());
         }
 
-        order = orderRepository.save(order);
+        Map<UUID, String> primaryImages = findPrimaryImageUrls(cart);
 
-        // Create order items
+        // Create order items (persisted with the order by cascade)
         for (CartItem cartItem : cart.getItems()) {
             OrderItem orderItem = new OrderItem();
-            orderItem.setOrder(order);
             orderItem.setProduct(cartItem.getProduct());
             orderItem.setCustomization(cartItem.getCustomization());
             orderItem.setProductName(cartItem.getProduct().getName());
             orderItem.setProductSlug(cartItem.getProduct().getSlug());
-            
-            // Get primary image
-            if (cartItem.getProduct().getImages() != null && !cartItem.getProduct().getImages().isEmpty()) {
-                orderItem.setProductImageUrl(cartItem.getProduct().getImages().stream()
-                        .filter(img -> Boolean.TRUE.equals(img.getIsPrimary()))
-                        .findFirst()
-                        .map(img -> img.getImageUrl())
-                        .orElse(cartItem.getProduct().getImages().get(0).getImageUrl()));
-            }
+            orderItem.setProductImageUrl(primaryImages.get(cartItem.getProduct().getId()));
             
             if (cartItem.getCustomization() != null) {
                 orderItem.setPreviewImageUrl(cartItem.getCustomization().getPreviewImageUrl());
@@ -157,7 +171,8 @@ public class OrderService {
             
             orderItem.setHsnCode("6109"); // Default HSN for promotional items
             orderItem.setQuantity(cartItem.getQuantity());
-            orderItem.setOriginalUnitPrice(cartItem.getProduct().getBasePrice());
+            orderItem.setOriginalUnitPrice(cartItem.getOriginalUnitPrice() != null
+                    ? cartItem.getOriginalUnitPrice() : cartItem.getProduct().getBasePrice());
             orderItem.setDiscountPercentage(cartItem.getDiscountPercentage());
             orderItem.setUnitPrice(cartItem.getUnitPrice());
             orderItem.setCustomizationFee(cartItem.getCustomizationFee());
@@ -171,22 +186,40 @@ public class OrderService {
         history.setOrder(order);
         history.setStatus(OrderStatus.PENDING_PAYMENT);
         history.setDescription("Order created, awaiting payment");
-        statusHistoryRepository.save(history);
+        order.getStatusHistory().add(history);
+
+        order = orderRepository.save(order);
 
-        // Clear cart after order creation
-        cartService.clearCart(user);
+        // Clear cart after order creation (single bulk delete; flushes the order batch first)
+        cartItemRepository.deleteAllByCartId(cart.getId());
+        cartRepository.resetAggregates(cart.getId(), OffsetDateTime.now());
 
         return mapToOrderResponse(order);
     }
 
     /**
-     * Get order by ID
+     * Get order by ID, with its status timeline
+     * Served from OrderViewCache; a miss costs two queries (order with items and
+     * address, then history)
      */
     @Transactional(readOnly = true)
     public OrderResponse getOrder(User user, UUID orderId) {
+        long cacheVersion = orderViewCache.version(orderId);
+        OrderResponse cached = orderViewCache.get(orderId, user.getId());
+        if (cached != null) {
+            return cached;
+        }
+
         Order order = orderRepository.findByIdAndUserIdWithDetails(orderId, user.getId())
                 .orElseThrow(OrderException::orderNotFound);
-        return mapToOrderResponse(order);
+        OrderResponse response = mapToOrderResponse(order);
+        response.setStatusHistory(statusHistoryRepository.findByOrderIdOrderByCreatedAtAsc(orderId)
+                .stream()
+                .map(this::mapToStatusHistoryResponse)
+                .collect(Collectors.toList()));
+
+        orderViewCache.put(orderId, user.getId(), response, cacheVersion);
+        return response;
     }
 
     /**
@@ -194,9 +227,9 @@ public class OrderService {
      */
     @Transactional(readOnly = true)
     public OrderResponse getOrderByNumber(User user, String orderNumber) {
-        Order order = orderRepository.findByOrderNumberAndUserId(orderNumber, user.getId())
+        UUID orderId = orderRepository.findIdByOrderNumberAndUserId(orderNumber, user.getId())
                 .orElseThrow(OrderException::orderNotFound);
-        return mapToOrderResponse(order);
+        return getOrder(user, orderId);
     }
 
     /**
@@ -204,8 +237,7 @@ public class OrderService {
      */
     @Transactional(readOnly = true)
     public Page<OrderListResponse> getUserOrders(User user, Pageable pageable) {
-        return orderRepository.findByUserIdOrderByCreatedAtDesc(user.getId(), pageable)
-                .map(this::mapToOrderListResponse);
+        return mapToOrderListPage(orderRepository.findByUserIdOrderByCreatedAtDesc(user.getId(), pageable));
     }
 
     /**
@@ -213,8 +245,8 @@ public class OrderService {
      */
     @Transactional(readOnly = true)
     public Page<OrderListResponse> getUserOrdersByStatus(User user, OrderStatus status, Pageable pageable) {
-        return orderRepository.findByUserIdAndStatusOrderByCreatedAtDesc(user.getId(), status, pageable)
-                .map(this::mapToOrderListResponse);
+        return mapToOrderListPage(
+                orderRepository.findByUserIdAndStatusOrderByCreatedAtDesc(user.getId(), status, pageable));
     }
 
     /**
@@ -222,67 +254,64 @@ public class OrderService {
      */
     @Transactional(readOnly = true)
     public Page<OrderListResponse> searchOrders(User user, String searchTerm, Pageable pageable) {
-        return orderRepository.searchByOrderNumber(user.getId(), "%" + searchTerm + "%", pageable)
-                .map(this::mapToOrderListResponse);
+        return mapToOrderListPage(
+                orderRepository.searchByOrderNumber(user.getId(), "%" + searchTerm + "%", pageable));
     }
 
     /**
-     * Get order status history
+     * Get order status history (part of the cached order view)
      */
     @Transactional(readOnly = true)
     public List<OrderStatusHistoryResponse> getOrderStatusHistory(User user, UUID orderId) {
-        Order order = orderRepository.findByIdAndUserId(orderId, user.getId())
-                .orElseThrow(OrderException::orderNotFound);
-
-        return statusHistoryRepository.findByOrderIdOrderByCreatedAtAsc(order.getId())
-                .stream()
-                .map(this::mapToStatusHistoryResponse)
-                .collect(Collectors.toList());
+        return getOrder(user, orderId).getStatusHistory();
     }
 
     /**
      * Update order status (internal use)
      */
     public void updateOrderStatus(UUID orderId, OrderStatus newStatus, String description, String internalNotes) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(OrderException::orderNotFound);
-
-        order.setStatus(newStatus);
-        orderRepository.save(order);
-
-        // Create status history entry
-        OrderStatusHistory history = new OrderStatusHistory();
-        history.setOrder(order);
-        history.setStatus(newStatus);
-        history.setDescription(description);
-        history.setInternalNotes(internalNotes);
-        statusHistoryRepository.save(history);
+        orderTransitionService.transition(orderId, newStatus, description, internalNotes);
     }
 
     /**
      * Confirm order after successful payment
      */
     public OrderResponse confirmOrder(UUID orderId) {
-        Order order = orderRepository.findByIdWithItems(orderId)
-                .orElseThrow(OrderException::orderNotFound);
+        OrderTransitionService.Transition transition = orderTransitionService.transition(
+                orderId, OrderStatus.CONFIRMED, Set.of(OrderStatus.PENDING_PAYMENT),
+                "Payment received, order confirmed", null, null);
 
-        if (order.getStatus() != OrderStatus.PENDING_PAYMENT) {
-            throw OrderException.orderNotModifiable();
+        // Routing and invoicing run from the outbox after commit; a repeated confirmation publishes nothing
+        if (transition.applied()) {
+            outboxService.publish(OutboxEventType.ORDER_CONFIRMED, orderId);
         }
 
-        order.setStatus(OrderStatus.CONFIRMED);
-        orderRepository.save(order);
-
-        // Create status history
-        OrderStatusHistory history = new OrderStatusHistory();
-        history.setOrder(order);
-        history.setStatus(OrderStatus.CONFIRMED);
-        history.setDescription("Payment received, order confirmed");
-        statusHistoryRepository.save(history);
+        Order order = orderRepository.findByIdWithItems(orderId)
+                .orElseThrow(OrderException::orderNotFound);
 
         return mapToOrderResponse(order);
     }
 
+    /**
+     * Primary image URL per product in the cart (first image by display order if none is primary)
+     */
+    private Map<UUID, String> findPrimaryImageUrls(Cart cart) {
+        Set<UUID> productIds = cart.getItems().stream()
+                .map(item -> item.getProduct().getId())
+                .collect(Collectors.toSet());
+
+        Map<UUID, String> imageUrls = new HashMap<>();
+        for (ProductImage image : productImageRepository.findByProductIds(productIds)) {
+            UUID productId = image.getProduct().getId();
+            if (Boolean.TRUE.equals(image.getIsPrimary())) {
+                imageUrls.put(productId, image.getImageUrl());
+            } else {
+                imageUrls.putIfAbsent(productId, image.getImageUrl());
+            }
+        }
+        return imageUrls;
+    }
+
     /**
      * Map order entity to response DTO
      * Note: Partner information is NEVER included
@@ -385,25 +414,44 @@ public class OrderService {
         return response;
     }
 
+    /**
+     * Map a page of orders to list rows, loading item summaries for the whole page in one query
+     */
+    private Page<OrderListResponse> mapToOrderListPage(Page<Order> orders) {
+        if (orders.isEmpty()) {
+            return orders.map(order -> mapToOrderListResponse(order, List.of()));
+        }
+
+        Set<UUID> orderIds = orders.stream().map(Order::getId).collect(Collectors.toSet());
+        Map<UUID, List<Object[]>> itemsByOrder = orderItemRepository.findListSummariesByOrderIds(orderIds)
+                .stream()
+                .collect(Collectors.groupingBy(row -> (UUID) row[0]));
+
+        return orders.map(order -> mapToOrderListResponse(order, itemsByOrder.getOrDefault(order.getId(), List.of())));
+    }
+
     /**
      * Map order to list response DTO
+     *
+     * @param items Item summaries [orderId, productName, productImageUrl], first item first
      */
-    private OrderListResponse mapToOrderListResponse(Order order) {
+    private OrderListResponse mapToOrderListResponse(Order order, List<Object[]> items) {
         OrderListResponse response = new OrderListResponse();
         response.setId(order.getId());
         response.setOrderNumber(order.getOrderNumber());
         response.setOrderDate(order.getCreatedAt());
         response.setStatus(order.getStatus());
         response.setStatusDisplayName(order.getStatus().getClientDisplayName());
-        response.setItemCount(order.getItems().size());
-        response.setTotalQuantity(order.getTotalQuantity());
+        response.setItemCount(items.size());
+        // From the summary rows: order.getTotalQuantity() would load each row's items
+        response.setTotalQuantity(items.stream().mapToInt(item -> ((Number) item[3]).intValue()).sum());
         response.setTotalAmount(order.getTotalAmount());
 
         // Get first product info
-        if (!order.getItems().isEmpty()) {
-            OrderItem firstItem = order.getItems().get(0);
-            response.setFirstProductName(firstItem.getProductName());
-            response.setFirstProductImageUrl(firstItem.getProductImageUrl());
+        if (!items.isEmpty()) {
+            Object[] firstItem = items.get(0);
+            response.setFirstProductName((String) firstItem[1]);
+            response.setFirstProductImageUrl((String) firstItem[2]);
         }
 
         response.setCanReorder(order.getStatus() == OrderStatus.DELIVERED);
@@ -0,0 +1,249 @@
+package com.brandkit.order.service;
+
+import com.brandkit.order.entity.Order;
+import com.brandkit.order.entity.OrderStatus;
+import com.brandkit.order.entity.OrderStatusHistory;
+import com.brandkit.order.exception.OrderException;
+import com.brandkit.order.repository.OrderRepository;
+import com.brandkit.order.repository.OrderStatusHistoryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Service for order status transitions - FRD-004 FR-46
+ *
+ * Every status change goes through the state machine in OrderStatus and is
+ * applied as a compare-and-set on (status, version), without loading the order.
+ * A concurrent change makes the update miss; the transition then re-reads the
+ * order and tries again (bounded attempts, jittered backoff), so two writers
+ * can never silently overwrite each other.
+ *
+ * Applying the same target twice is a no-op, which makes webhook and event
+ * redeliveries safe.
+ *
+ * This service writes the timeline entry of every change it applies; there is
+ * no database trigger adding one (dropped in V24), so nothing else may update
+ * orders.status without recording its own entry.
+ */
+@Service
+@Transactional
+public class OrderTransitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderTransitionService.class);
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderStatusHistoryRepository statusHistoryRepository;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private OrderViewCache orderViewCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.order.transition.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.order.transition.backoff-ms:20}")
+    private long backoffMs;
+
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+    private final AtomicLong exhausted = new AtomicLong();
+
+    /**
+     * Outcome of a transition
+     *
+     * @param from    Status the order was in when the change was applied (or its current status)
+     * @param applied false if the order was already in the target status
+     */
+    public record Transition(UUID orderId, OrderStatus from, OrderStatus to, boolean applied) {
+    }
+
+    /**
+     * Outcome of a bulk transition
+     *
+     * @param transitions Transition per order now in the target status
+     * @param rejected    Status of each order the state machine does not allow to move to target
+     */
+    public record BulkTransition(Map<UUID, Transition> transitions, Map<UUID, OrderStatus> rejected) {
+    }
+
+    /**
+     * Move an order to a new status and record it in the timeline
+     */
+    public Transition transition(UUID orderId, OrderStatus target, String description, String internalNotes) {
+        return transition(orderId, target, null, description, internalNotes, null);
+    }
+
+    /**
+     * Move an order to a new status
+     *
+     * @param allowedFrom Further restricts the source statuses (null: anything the state machine allows)
+     * @param onApplied   Runs after the status is swapped, in the same transaction, with the
+     *                    source status; use it for the column updates that go with the change
+     */
+    public Transition transition(UUID orderId, OrderStatus target, Set<OrderStatus> allowedFrom,
+                                 String description, String internalNotes, Consumer<OrderStatus> onApplied) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            OrderRepository.StatusVersion state = orderRepository.findStatusVersion(orderId)
+                    .orElseThrow(OrderException::orderNotFound);
+            OrderStatus from = state.getStatus();
+
+            if (from == target) {
+                return new Transition(orderId, from, target, false);
+            }
+            if ((allowedFrom != null && !allowedFrom.contains(from)) || !from.canTransitionTo(target)) {
+                throw OrderException.invalidTransition(from.name(), target.name());
+            }
+
+            OffsetDateTime now = OffsetDateTime.now();
+            if (orderRepository.compareAndSetStatus(orderId, from, state.getVersion(), target, now) == 1) {
+                if (onApplied != null) {
+                    onApplied.accept(from);
+                }
+                recordApplied(orderId, target, description, internalNotes, state.getPartnerId());
+                applied.incrementAndGet();
+                return new Transition(orderId, from, target, true);
+            }
+
+            conflicts.incrementAndGet();
+            logger.debug("Status update conflict on order {} ({} -> {}), attempt {}", orderId, from, target, attempt);
+            pause(attempt);
+        }
+
+        exhausted.incrementAndGet();
+        logger.warn("Gave up moving order {} to {} after {} conflicting attempts", orderId, target, maxAttempts);
+        throw OrderException.concurrentUpdate();
+    }
+
+    /**
+     * Move many orders to the same status, with one set-wise compare-and-set per source status
+     * and the timeline entries inserted as a batch (bulk partner actions)
+     *
+     * Unlike a single transition, a miss is not retried: orders that changed concurrently are
+     * left out of the result, and orders the state machine does not allow to move to target are
+     * returned as rejected, for the caller to report.
+     *
+     * @param fromStatuses Status each order was read in
+     * @param description  Timeline entry per order
+     * @param partnerId    Partner the orders are assigned to, for the status events
+     */
+    public BulkTransition transitionAll(Map<UUID, OrderStatus> fromStatuses, OrderStatus target,
+                                        Function<UUID, String> description, UUID partnerId) {
+        Map<UUID, Transition> result = new HashMap<>();
+        Map<UUID, OrderStatus> rejected = new HashMap<>();
+        Map<OrderStatus, List<UUID>> bySource = new EnumMap<>(OrderStatus.class);
+        fromStatuses.forEach((orderId, from) -> {
+            if (from == target) {
+                result.put(orderId, new Transition(orderId, from, target, false));
+            } else if (from.canTransitionTo(target)) {
+                bySource.computeIfAbsent(from, status -> new ArrayList<>()).add(orderId);
+            } else {
+                rejected.put(orderId, from);
+            }
+        });
+
+        OffsetDateTime now = OffsetDateTime.now();
+        List<OrderStatusHistory> histories = new ArrayList<>();
+        bySource.forEach((from, orderIds) -> {
+            // Only the rows this update moved: an order another request took to target has its own history
+            List<UUID> appliedIds = orderRepository.compareAndSetStatuses(orderIds, from.name(), target.name(), now);
+            conflicts.addAndGet(orderIds.size() - appliedIds.size());
+            for (UUID orderId : appliedIds) {
+                refreshIfLoaded(orderId);
+                histories.add(newHistory(orderId, target, description.apply(orderId), null));
+                outboxService.publishStatusChanged(orderId, target, partnerId);
+                orderViewCache.evictAfterCommit(orderId);
+                result.put(orderId, new Transition(orderId, from, target, true));
+            }
+            applied.addAndGet(appliedIds.size());
+        });
+        // The only history rows for these changes (no status trigger since V24)
+        statusHistoryRepository.saveAll(histories);
+        return new BulkTransition(result, rejected);
+    }
+
+    /**
+     * Add a timeline entry without changing status (e.g. failed delivery attempt)
+     */
+    public void addNote(UUID orderId, String description, String internalNotes) {
+        OrderRepository.StatusVersion state = orderRepository.findStatusVersion(orderId)
+                .orElseThrow(OrderException::orderNotFound);
+        saveHistory(orderId, state.getStatus(), description, internalNotes);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("applied", applied.get());
+        stats.put("conflicts", conflicts.get());
+        stats.put("exhausted", exhausted.get());
+        return stats;
+    }
+
+    // ==================== Helper Methods ====================
+
+    private void recordApplied(UUID orderId, OrderStatus status, String description, String internalNotes,
+                               UUID partnerId) {
+        refreshIfLoaded(orderId);
+        saveHistory(orderId, status, description, internalNotes);
+        outboxService.publishStatusChanged(orderId, status, partnerId);
+        orderViewCache.evictAfterCommit(orderId);
+    }
+
+    private void saveHistory(UUID orderId, OrderStatus status, String description, String internalNotes) {
+        statusHistoryRepository.save(newHistory(orderId, status, description, internalNotes));
+    }
+
+    private OrderStatusHistory newHistory(UUID orderId, OrderStatus status, String description, String internalNotes) {
+        OrderStatusHistory history = new OrderStatusHistory();
+        history.setOrder(orderRepository.getReferenceById(orderId));
+        history.setStatus(status);
+        history.setDescription(description);
+        history.setInternalNotes(internalNotes);
+        return history;
+    }
+
+    /**
+     * The bulk update bypasses the persistence context; re-read an Order the caller
+     * already loaded so it neither shows nor flushes the old status and version
+     */
+    private void refreshIfLoaded(UUID orderId) {
+        Order loaded = entityManager.getReference(Order.class, orderId);
+        if (Hibernate.isInitialized(loaded)) {
+            entityManager.refresh(loaded);
+        }
+    }
+
+    private void pause(int attempt) {
+        try {
+            long delay = backoffMs * attempt;
+            Thread.sleep(delay + ThreadLocalRandom.current().nextLong(delay + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw OrderException.concurrentUpdate();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.brandkit.order.service;
+
+import com.brandkit.order.dto.OrderResponse;
+import com.brandkit.order.entity.OrderStatus;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cache of client order views (detail + status timeline) - FRD-004 FR-46
+ *
+ * The order-tracking page polls the same order repeatedly; a hit costs no queries.
+ * Entries are evicted after the transaction that changes the order commits (see
+ * OrderViewInvalidationListener). Each eviction also bumps a version stripe for the
+ * order; a reader takes the version before loading and put() drops its view if an
+ * eviction happened in between, so a read that raced a commit cannot re-cache the
+ * old state. Bulk SQL updates bypass the listener; the TTL bounds staleness there.
+ *
+ * Entries live on one instance. With several instances, set
+ * app.order.view-cache.invalidation=redis so evictions reach every node;
+ * otherwise other nodes can serve a changed order until the TTL.
+ */
+@Service
+public class OrderViewCache {
+    private static final Logger log = LoggerFactory.getLogger(OrderViewCache.class);
+
+    /**
+     * Version stripes (power of two); orders sharing a stripe only cost each other a put
+     */
+    private static final int VERSION_STRIPES = 1024;
+    private static final String STATUS_PREFIX = "status:";
+
+    @Autowired(required = false)
+    private RedisOrderViewInvalidation remoteInvalidation;
+
+    @Value("${app.order.view-cache.max-entries:5000}")
+    private int maxEntries;
+
+    @Value("${app.order.view-cache.ttl:60s}")
+    private Duration ttl;
+
+    private final Map<UUID, CachedView> views = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UUID, CachedView> eldest) {
+                    return size() > maxEntries;
+                }
+            });
+
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong stalePutsDropped = new AtomicLong();
+
+    /**
+     * Cached view with its owner, so ownership is checked without a query
+     */
+    private record CachedView(UUID userId, OrderResponse response, long expiresAt) {
+    }
+
+    @PostConstruct
+    void init() {
+        if (remoteInvalidation != null) {
+            remoteInvalidation.subscribe(this::applyRemoteEviction);
+        }
+    }
+
+    /**
+     * Version to pass to put(); read it before loading the order
+     */
+    public long version(UUID orderId) {
+        return versions.get(stripe(orderId));
+    }
+
+    /**
+     * Cached view for an order owned by the user, or null
+     */
+    public OrderResponse get(UUID orderId, UUID userId) {
+        CachedView view = views.get(orderId);
+        if (view == null || view.expiresAt() <= System.currentTimeMillis() || !view.userId().equals(userId)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return view.response();
+    }
+
+    /**
+     * Cache a view loaded after version(orderId) returned loadedVersion; dropped if the
+     * order was evicted since, because the view may predate that change
+     */
+    public void put(UUID orderId, UUID userId, OrderResponse response, long loadedVersion) {
+        CachedView view = new CachedView(userId, response, System.currentTimeMillis() + ttl.toMillis());
+        synchronized (views) {
+            if (versions.get(stripe(orderId)) != loadedVersion) {
+                stalePutsDropped.incrementAndGet();
+                return;
+            }
+            views.put(orderId, view);
+        }
+    }
+
+    /**
+     * Evict once the current transaction commits (immediately if there is none)
+     */
+    public void evictAfterCommit(UUID orderId) {
+        if (orderId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(orderId);
+                }
+            });
+        } else {
+            evict(orderId);
+        }
+    }
+
+    public void evict(UUID orderId) {
+        evictLocal(orderId);
+        publish(orderId.toString());
+    }
+
+    /**
+     * Evict every cached order in a status (after bulk updates that do not report IDs)
+     */
+    public void evictByStatus(OrderStatus status) {
+        evictLocalByStatus(status);
+        publish(STATUS_PREFIX + status.name());
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("entries", views.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hitCount);
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        stats.put("stalePutsDropped", stalePutsDropped.get());
+        stats.put("invalidation", remoteInvalidation != null ? "redis" : "local");
+        stats.put("hitRatio", total == 0 ? 0.0 : (double) hitCount / total);
+        return stats;
+    }
+
+    // ==================== Helper Methods ====================
+
+    private void evictLocal(UUID orderId) {
+        CachedView removed;
+        synchronized (views) {
+            versions.incrementAndGet(stripe(orderId));
+            removed = views.remove(orderId);
+        }
+        if (removed != null) {
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void evictLocalByStatus(OrderStatus status) {
+        synchronized (views) {
+            // Orders of this status are not known up front, so every version moves on
+            for (int i = 0; i < VERSION_STRIPES; i++) {
+                versions.incrementAndGet(i);
+            }
+            views.values().removeIf(view -> view.response().getStatus() == status);
+        }
+    }
+
+    private void publish(String eviction) {
+        if (remoteInvalidation == null) {
+            return;
+        }
+        try {
+            remoteInvalidation.publish(eviction);
+        } catch (RuntimeException e) {
+            // Other nodes fall back to the TTL
+            log.warn("Could not broadcast order view eviction {}", eviction, e);
+        }
+    }
+
+    /**
+     * Evictions from any instance (including this one, which is harmless)
+     */
+    private void applyRemoteEviction(String eviction) {
+        try {
+            if (eviction.startsWith(STATUS_PREFIX)) {
+                evictLocalByStatus(OrderStatus.valueOf(eviction.substring(STATUS_PREFIX.length())));
+            } else {
+                evictLocal(UUID.fromString(eviction));
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring unreadable order view eviction {}", eviction);
+        }
+    }
+
+    private int stripe(UUID orderId) {
+        int hash = orderId.hashCode();
+        return (hash ^ (hash >>> 16)) & (VERSION_STRIPES - 1);
+    }
+}
@@ -0,0 +1,288 @@
+package com.brandkit.order.service;
+
+import com.brandkit.order.entity.OutboxEvent;
+import com.brandkit.order.entity.OutboxEventStatus;
+import com.brandkit.order.repository.OutboxEventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Service for delivering outbox events to their handlers - FRD-004
+ *
+ * - Due events are claimed in batches (FOR UPDATE SKIP LOCKED) and leased, so
+ *   several nodes can relay at once and a crashed node's events come back
+ *   after the lease
+ * - Only the oldest pending event per (order, consumer) is claimable, which keeps
+ *   per-order delivery in order while different orders run in parallel. A dead
+ *   event holds back the later events of its pair until it is requeued or discarded
+ * - Each handler runs on a bounded pool in its own transaction together with
+ *   marking the event done; failures back off exponentially and move to DEAD
+ *   after the configured number of attempts
+ */
+@Service
+public class OutboxRelayService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelayService.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.outbox.threads:4}")
+    private int threads;
+
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retry-base-delay:5s}")
+    private Duration retryBaseDelay;
+
+    @Value("${app.outbox.retry-max-delay:30m}")
+    private Duration retryMaxDelay;
+
+    @Value("${app.outbox.lease:5m}")
+    private Duration lease;
+
+    @Value("${app.outbox.retention:7d}")
+    private Duration retention;
+
+    private ThreadPoolExecutor executor;
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final AtomicLong purged = new AtomicLong();
+    private volatile OffsetDateTime lastRunAt;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(batchSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "outbox-relay-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Deliver due events until a batch comes back short or the per-run cap is hit
+     *
+     * @return Number of events handled (delivered, retried or dead-lettered)
+     */
+    public long relayPending() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+
+        long handled = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                List<OutboxEvent> events = claimBatch();
+                dispatchAll(events);
+                handled += events.size();
+                if (events.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.error("Outbox relay run failed", e);
+        } finally {
+            lastRunAt = OffsetDateTime.now();
+            running.set(false);
+        }
+        return handled;
+    }
+
+    /**
+     * Delete delivered events past the retention window, in batches
+     */
+    public long purgeDelivered() {
+        OffsetDateTime before = OffsetDateTime.now().minus(retention);
+        long deleted = 0;
+        int removed;
+        do {
+            removed = outboxEventRepository.deleteDeliveredBatch(before, batchSize * 10);
+            deleted += removed;
+        } while (removed == batchSize * 10);
+
+        purged.addAndGet(deleted);
+        if (deleted > 0) {
+            logger.info("Purged {} delivered outbox events", deleted);
+        }
+        return deleted;
+    }
+
+    /**
+     * Return a dead-lettered event to the queue
+     */
+    public boolean requeue(Long eventId) {
+        return outboxEventRepository.requeueDead(eventId, OffsetDateTime.now()) > 0;
+    }
+
+    /**
+     * Drop a dead-lettered event, releasing the events queued behind it
+     */
+    public boolean discard(Long eventId) {
+        boolean discarded = outboxEventRepository.discardDead(eventId, OffsetDateTime.now()) > 0;
+        if (discarded) {
+            logger.warn("Outbox event {} discarded", eventId);
+        }
+        return discarded;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        for (OutboxEventStatus status : OutboxEventStatus.values()) {
+            stats.put(status.name().toLowerCase(), 0L);
+        }
+        for (Object[] row : outboxEventRepository.getStatusDistribution()) {
+            stats.put(row[0].toString().toLowerCase(), row[1]);
+        }
+
+        OffsetDateTime oldestPending = outboxEventRepository.findOldestPendingCreatedAt();
+        stats.put("oldestPendingAgeSeconds", oldestPending != null
+                ? Duration.between(oldestPending, OffsetDateTime.now()).getSeconds() : 0);
+        stats.put("running", running.get());
+        stats.put("delivered", delivered.get());
+        stats.put("retried", retried.get());
+        stats.put("deadLettered", deadLettered.get());
+        stats.put("purgedDelivered", purged.get());
+        stats.put("activeThreads", executor.getActiveCount());
+        stats.put("lastRunAt", lastRunAt != null ? lastRunAt.toString() : null);
+        return stats;
+    }
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Lock and lease the next batch of due events (short transaction)
+     */
+    private List<OutboxEvent> claimBatch() {
+        List<OutboxEvent> events = transactionTemplate.execute(status -> {
+            OffsetDateTime now = OffsetDateTime.now();
+            List<Long> ids = outboxEventRepository.lockDueEventIds(now, batchSize);
+            if (ids.isEmpty()) {
+                return List.<OutboxEvent>of();
+            }
+            outboxEventRepository.lease(ids, now.plus(lease));
+            return outboxEventRepository.findAllById(ids);
+        });
+
+        List<OutboxEvent> sorted = new ArrayList<>(events);
+        sorted.sort(Comparator.comparing(OutboxEvent::getId));
+        return sorted;
+    }
+
+    private void dispatchAll(List<OutboxEvent> events) throws InterruptedException {
+        List<Future<?>> futures = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            futures.add(executor.submit(() -> dispatch(event)));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                logger.error("Outbox dispatch failed unexpectedly", e.getCause());
+            }
+        }
+    }
+
+    private void dispatch(OutboxEvent event) {
+        Consumer<OutboxEvent> handler = outboxService.findHandler(event);
+        if (handler == null) {
+            deadLetter(event, "No handler registered for consumer " + event.getConsumer());
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                handler.accept(event);
+                outboxEventRepository.markDone(event.getId(), OffsetDateTime.now());
+            });
+            delivered.incrementAndGet();
+        } catch (RuntimeException e) {
+            String error = describe(e);
+            if (event.getAttempts() >= maxAttempts) {
+                deadLetter(event, error);
+            } else {
+                OffsetDateTime nextAttemptAt = OffsetDateTime.now().plus(backoff(event.getAttempts()));
+                outboxEventRepository.scheduleRetry(event.getId(), nextAttemptAt, error);
+                retried.incrementAndGet();
+                logger.warn("Outbox event {} ({} -> {}) failed on attempt {}, retrying at {}: {}",
+                        event.getId(), event.getEventType(), event.getConsumer(),
+                        event.getAttempts(), nextAttemptAt, error);
+            }
+        }
+    }
+
+    private void deadLetter(OutboxEvent event, String error) {
+        outboxEventRepository.markDead(event.getId(), OffsetDateTime.now(), error);
+        deadLettered.incrementAndGet();
+        logger.error("Outbox event {} ({} -> {}) for order {} dead-lettered after {} attempts: {}",
+                event.getId(), event.getEventType(), event.getConsumer(),
+                event.getAggregateId(), event.getAttempts(), error);
+    }
+
+    /**
+     * Exponential backoff from the base delay, capped at the max delay
+     */
+    private Duration backoff(int attempts) {
+        Duration delay = retryBaseDelay.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(retryMaxDelay) > 0 ? retryMaxDelay : delay;
+    }
+
+    private String describe(RuntimeException e) {
+        String message = e.getClass().getSimpleName() + ": " + e.getMessage();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
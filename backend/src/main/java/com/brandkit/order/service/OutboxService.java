@@ -0,0 +1,142 @@
+package com.brandkit.order.service;
+
+import com.brandkit.order.entity.Order;
+import com.brandkit.order.entity.OrderStatus;
+import com.brandkit.order.entity.OutboxEvent;
+import com.brandkit.order.entity.OutboxEventType;
+import com.brandkit.order.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Service for the order event outbox - FRD-004
+ *
+ * publish() writes one outbox row per subscribed consumer inside the caller's
+ * transaction, so an event exists if and only if the order change commits.
+ * OutboxRelayService delivers the rows afterwards; the caller never waits for
+ * routing, invoicing, notifications or metrics.
+ *
+ * Consumers subscribe once at startup (see OrderEventSubscriptions). Handlers
+ * may run more than once for an event and must tolerate redelivery.
+ */
+@Service
+public class OutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxService.class);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<OutboxEventType, Map<String, Consumer<OutboxEvent>>> subscriptions =
+            Collections.synchronizedMap(new EnumMap<>(OutboxEventType.class));
+
+    /**
+     * Register a handler; consumer names are stored on the rows and must stay stable
+     */
+    public void subscribe(OutboxEventType eventType, String consumer, Consumer<OutboxEvent> handler) {
+        subscriptions.computeIfAbsent(eventType, type -> Collections.synchronizedMap(new LinkedHashMap<>()))
+                .put(consumer, handler);
+    }
+
+    /**
+     * Record an event for an order in the current transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(OutboxEventType eventType, UUID orderId, Map<String, String> payload) {
+        Map<String, Consumer<OutboxEvent>> consumers = subscriptions.get(eventType);
+        if (consumers == null || consumers.isEmpty()) {
+            return;
+        }
+
+        String json = toJson(payload);
+        List<OutboxEvent> events = new ArrayList<>();
+        for (String consumer : consumers.keySet()) {
+            OutboxEvent event = new OutboxEvent();
+            event.setAggregateId(orderId);
+            event.setEventType(eventType);
+            event.setConsumer(consumer);
+            event.setPayload(json);
+            events.add(event);
+        }
+        outboxEventRepository.saveAll(events);
+    }
+
+    /**
+     * Record an event without payload
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(OutboxEventType eventType, UUID orderId) {
+        publish(eventType, orderId, Map.of());
+    }
+
+    /**
+     * Record a fulfillment status change; carries the assigned partner for metrics consumers
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishStatusChanged(Order order) {
+        publishStatusChanged(order.getId(), order.getStatus(),
+                order.getPartner() != null ? order.getPartner().getId() : null);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishStatusChanged(UUID orderId, OrderStatus status, UUID partnerId) {
+        Map<String, String> payload = new HashMap<>();
+        payload.put("status", status.name());
+        if (partnerId != null) {
+            payload.put("partnerId", partnerId.toString());
+        }
+        publish(OutboxEventType.ORDER_STATUS_CHANGED, orderId, payload);
+    }
+
+    /**
+     * Handler for an event's consumer, or null if the consumer was removed
+     */
+    Consumer<OutboxEvent> findHandler(OutboxEvent event) {
+        Map<String, Consumer<OutboxEvent>> consumers = subscriptions.get(event.getEventType());
+        return consumers != null ? consumers.get(event.getConsumer()) : null;
+    }
+
+    /**
+     * Decode an event payload
+     */
+    public Map<String, String> readPayload(OutboxEvent event) {
+        if (event.getPayload() == null || event.getPayload().isBlank()) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(event.getPayload(), new TypeReference<Map<String, String>>() {});
+        } catch (JsonProcessingException e) {
+            logger.error("Unreadable payload on outbox event {}", event.getId());
+            throw new IllegalStateException("Unreadable outbox payload", e);
+        }
+    }
+
+    // ==================== Helper Methods ====================
+
+    private String toJson(Map<String, String> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize outbox payload", e);
+        }
+    }
+}
@@ -10,6 +10,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -28,6 +30,10 @@ public class PartnerRoutingService {
     private OrderPartnerAssignmentRepository assignmentRepository;
     @Autowired
     private OrderService orderService;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private OrderTransitionService orderTransitionService;
 
     /**
      * Route order to partner after payment confirmation
@@ -46,6 +52,12 @@ public class PartnerRoutingService {
             return;
         }
 
+        // Redelivered ORDER_CONFIRMED event
+        if (assignmentRepository.findByOrderId(orderId).isPresent()) {
+            logger.info("Order {} already routed, skipping", orderId);
+            return;
+        }
+
         Partner partner = order.getPartner();
         
         if (partner == null) {
@@ -71,8 +83,9 @@ public class PartnerRoutingService {
 
         logger.info("Order {} routed to partner {}", orderId, partner.getId());
 
-        // Send notification to partner (via internal partner portal)
-        sendPartnerNotification(order, partner);
+        // Partner notification goes out from the outbox (internal partner portal)
+        outboxService.publish(OutboxEventType.ORDER_ROUTED, orderId,
+                Map.of("partnerId", partner.getId().toString()));
     }
 
     /**
@@ -110,6 +123,8 @@ public class PartnerRoutingService {
 
         assignment.reject(reason);
         assignmentRepository.save(assignment);
+        outboxService.publish(OutboxEventType.PARTNER_ORDER_REJECTED, orderId,
+                Map.of("partnerId", partnerId.toString()));
 
         // Notify admin for manual reassignment
         notifyAdminForManualRouting(assignment.getOrder());
@@ -172,27 +187,15 @@ public class PartnerRoutingService {
         assignmentRepository.save(assignment);
 
         // Update order with tracking info
-        Order order = assignment.getOrder();
-        order.setTrackingId(trackingId);
-        order.setCourierName(courierName);
-        order.setTrackingUrl(trackingUrl);
-        order.setStatus(OrderStatus.SHIPPED);
-        orderRepository.save(order);
+        orderTransitionService.transition(orderId, OrderStatus.SHIPPED, null,
+                "Your order has been shipped", "Tracking: " + trackingId,
+                from -> orderRepository.updateTracking(orderId, trackingId, courierName, trackingUrl, OffsetDateTime.now()));
 
         logger.info("Order {} shipped by partner {} - Tracking: {}", orderId, partnerId, trackingId);
 
         // TODO: Send shipping notification to client (no partner details)
     }
 
-    /**
-     * Send notification to partner (internal)
-     */
-    private void sendPartnerNotification(Order order, Partner partner) {
-        // TODO: Implement partner notification via email/SMS
-        // This notification goes to internal partner portal only
-        logger.info("Notification sent to partner {} for order {}", partner.getId(), order.getOrderNumber());
-    }
-
     /**
      * Notify admin for manual routing (internal)
      */
@@ -0,0 +1,114 @@
+package com.brandkit.order.service;
+
+import com.brandkit.order.entity.OrderStatus;
+import com.brandkit.order.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service for expiring unpaid orders - FRD-004 FR-43
+ *
+ * Orders still PENDING_PAYMENT after their payment timeout are cancelled in
+ * bounded batches. Each batch is one statement in its own transaction: it locks
+ * the rows with FOR UPDATE SKIP LOCKED, cancels them and writes their status
+ * history, so nodes running the sweep at the same time split the work instead
+ * of blocking each other. A payment confirmed for an order that was swept is
+ * rejected by confirmOrder, which only accepts PENDING_PAYMENT.
+ */
+@Service
+public class PaymentTimeoutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentTimeoutService.class);
+
+    static final String EXPIRY_REASON = "Payment not received within the payment window";
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderViewCache orderViewCache;
+
+    @Value("${app.order.payment-timeout.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.order.payment-timeout.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong ordersExpired = new AtomicLong();
+    private final AtomicLong failedRuns = new AtomicLong();
+    private volatile long lastRunExpired;
+    private volatile long lastRunMillis;
+    private volatile OffsetDateTime lastRunAt;
+
+    /**
+     * Cancel expired orders until the backlog is empty or the per-run cap is hit
+     *
+     * @return Number of orders cancelled in this run
+     */
+    public long expireOverdueOrders() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+
+        long start = System.currentTimeMillis();
+        long expired = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int cancelled = orderRepository.cancelExpiredPendingPaymentBatch(
+                        OffsetDateTime.now(), EXPIRY_REASON, batchSize);
+                expired += cancelled;
+                if (cancelled < batchSize) {
+                    break;
+                }
+            }
+
+            if (expired > 0) {
+                orderViewCache.evictByStatus(OrderStatus.PENDING_PAYMENT);
+                logger.info("Cancelled {} orders with expired payment window", expired);
+            }
+        } catch (RuntimeException e) {
+            failedRuns.incrementAndGet();
+            logger.error("Payment timeout sweep failed after {} orders", expired, e);
+        } finally {
+            ordersExpired.addAndGet(expired);
+            runs.incrementAndGet();
+            lastRunExpired = expired;
+            lastRunMillis = System.currentTimeMillis() - start;
+            lastRunAt = OffsetDateTime.now();
+            running.set(false);
+        }
+        return expired;
+    }
+
+    /**
+     * Sweeper counters plus the current backlog and lag (age of the oldest overdue order)
+     */
+    public Map<String, Object> getStats() {
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime oldest = orderRepository.findOldestExpiredPaymentTimeout(now);
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("running", running.get());
+        stats.put("runs", runs.get());
+        stats.put("failedRuns", failedRuns.get());
+        stats.put("ordersExpired", ordersExpired.get());
+        stats.put("lastRunExpired", lastRunExpired);
+        stats.put("lastRunMillis", lastRunMillis);
+        stats.put("lastRunAt", lastRunAt != null ? lastRunAt.toString() : null);
+        stats.put("backlog", orderRepository.countExpiredPendingPaymentOrders(now));
+        stats.put("lagSeconds", oldest != null ? Duration.between(oldest, now).getSeconds() : 0);
+        return stats;
+    }
+}
@@ -0,0 +1,61 @@
+package com.brandkit.order.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Cross-instance order view cache invalidation over Redis pub/sub - FRD-004 FR-46
+ * Every instance applies every eviction, so a change committed on one node is not
+ * served stale from another node's OrderViewCache until the TTL. Requires Redis to
+ * be configured (see RedisPartnerEventBroker) and app.order.view-cache.invalidation=redis.
+ */
+@Service
+@ConditionalOnProperty(name = "app.order.view-cache.invalidation", havingValue = "redis")
+public class RedisOrderViewInvalidation {
+
+    private static final String CHANNEL = "order-view-evictions";
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+    private RedisMessageListenerContainer container;
+
+    @PostConstruct
+    void init() {
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisTemplate.getRequiredConnectionFactory());
+        container.addMessageListener((message, pattern) -> {
+            String eviction = new String(message.getBody(), StandardCharsets.UTF_8);
+            for (Consumer<String> listener : listeners) {
+                listener.accept(eviction);
+            }
+        }, new ChannelTopic(CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    @PreDestroy
+    void shutdown() throws Exception {
+        container.destroy();
+    }
+
+    public void publish(String eviction) {
+        redisTemplate.convertAndSend(CHANNEL, eviction);
+    }
+
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+}
@@ -55,7 +55,9 @@ public class RefundService {
     @Autowired
     private RefundRepository refundRepository;
     @Autowired
-    private OrderService orderService;
+    private OrderTransitionService orderTransitionService;
+    @Autowired
+    private OrderViewCache orderViewCache;
 
     /**
      * Check if an order can be cancelled
@@ -119,20 +121,19 @@ public class RefundService {
                     "Status: " + getStatusDisplayName(order.getStatus()));
         }
 
-        // Calculate refund
-        BigDecimal refundAmount = calculateRefundAmount(order);
-
-        // Update order status
-        order.setStatus(OrderStatus.CANCELLED);
-        order.setCancelledAt(OffsetDateTime.now());
-        order.setCancellationReason(reason);
-        order.setRefundAmount(refundAmount);
-        orderRepository.save(order);
+        // Cancel from whatever status the order is in at that moment; the refund
+        // follows that status, not the one read above
+        OrderTransitionService.Transition transition = orderTransitionService.transition(
+                orderId, OrderStatus.CANCELLED, CANCELLABLE_STATUSES,
+                "Order cancelled by customer", reason,
+                from -> orderRepository.markCancelled(orderId, reason,
+                        calculateRefundAmount(order, from), OffsetDateTime.now()));
+        if (!transition.applied()) {
+            throw new OrderException("ORD_020", "This order is already cancelled");
+        }
 
-        // Add status history
-        orderService.updateOrderStatus(orderId, OrderStatus.CANCELLED, 
-                "Order cancelled by customer", 
-                reason);
+        // Calculate refund
+        BigDecimal refundAmount = calculateRefundAmount(order, transition.from());
 
         // Initiate refund if payment was made
         Refund refund = null;
@@ -179,6 +180,13 @@ public class RefundService {
      * Calculate refund amount based on order status
      */
     private BigDecimal calculateRefundAmount(Order order) {
+        return calculateRefundAmount(order, order.getStatus());
+    }
+
+    /**
+     * Calculate refund amount for an order cancelled from the given status
+     */
+    private BigDecimal calculateRefundAmount(Order order, OrderStatus status) {
         if (order.getPaymentId() == null) {
             // No payment made
             return BigDecimal.ZERO;
@@ -186,12 +194,12 @@ public class RefundService {
 
         BigDecimal totalAmount = order.getTotalAmount();
 
-        if (FULL_REFUND_STATUSES.contains(order.getStatus())) {
+        if (FULL_REFUND_STATUSES.contains(status)) {
             // Full refund for orders not yet in processing
             return totalAmount;
         }
 
-        if (order.getStatus() == OrderStatus.ACCEPTED) {
+        if (status == OrderStatus.ACCEPTED) {
             // 90% refund for orders in processing
             return totalAmount.multiply(PROCESSING_REFUND_PERCENTAGE)
                     .setScale(2, RoundingMode.HALF_UP);
@@ -221,9 +229,9 @@ public class RefundService {
         refund = refundRepository.save(refund);
 
         // Update order
-        order.setRefundInitiatedAt(OffsetDateTime.now());
-        order.setStatus(OrderStatus.REFUND_INITIATED);
-        orderRepository.save(order);
+        orderTransitionService.transition(order.getId(), OrderStatus.REFUND_INITIATED, null,
+                "Refund initiated", "Refund of ₹" + refundAmount,
+                from -> orderRepository.markRefundInitiated(order.getId(), OffsetDateTime.now()));
 
         // TODO: Call payment gateway to process refund
         // For now, simulate refund processing
@@ -258,14 +266,21 @@ public class RefundService {
 
     /**
      * Handle refund webhook from payment gateway
+     * Idempotent: the refund row is locked and redeliveries after a final outcome are ignored
      */
     public void handleRefundWebhook(String refundId, boolean success, String message) {
-        Refund refund = refundRepository.findByGatewayRefundId(refundId).orElse(null);
+        Refund refund = refundRepository.findByGatewayRefundIdForUpdate(refundId).orElse(null);
         if (refund == null) {
             logger.error("Refund not found for webhook: {}", refundId);
             return;
         }
 
+        if (refund.getStatus() == Refund.RefundStatus.SUCCESS
+                || (refund.getStatus() == Refund.RefundStatus.FAILED && !success)) {
+            logger.info("Duplicate refund webhook ignored: {} already {}", refundId, refund.getStatus());
+            return;
+        }
+
         if (success) {
             refund.setStatus(Refund.RefundStatus.SUCCESS);
             refund.setCompletedAt(OffsetDateTime.now());
@@ -273,13 +288,10 @@ public class RefundService {
 
             // Update order
             Order order = refund.getOrder();
-            order.setStatus(OrderStatus.REFUNDED);
-            order.setRefundedAt(OffsetDateTime.now());
-            orderRepository.save(order);
-
-            orderService.updateOrderStatus(order.getId(), OrderStatus.REFUNDED, 
-                    "Refund completed", 
-                    "Refund of ₹" + refund.getAmount() + " processed");
+            orderTransitionService.transition(order.getId(), OrderStatus.REFUNDED, null,
+                    "Refund completed",
+                    "Refund of ₹" + refund.getAmount() + " processed",
+                    from -> orderRepository.markRefunded(order.getId(), OffsetDateTime.now()));
 
             // TODO: Send refund confirmation notification
             logger.info("Refund {} completed for order {}", refundId, order.getOrderNumber());
@@ -350,9 +362,8 @@ public class RefundService {
         refund.setStatus(Refund.RefundStatus.INITIATED);
         refund = refundRepository.save(refund);
 
-        order.setRefundAmount(amount);
-        order.setRefundInitiatedAt(OffsetDateTime.now());
-        orderRepository.save(order);
+        orderRepository.markManualRefundInitiated(orderId, amount, OffsetDateTime.now());
+        orderViewCache.evictAfterCommit(orderId);
 
         processRefundWithGateway(refund, payment);
 
@@ -1,8 +1,7 @@
 package com.brandkit.partner.controller;
 
-import com.brandkit.auth.entity.User;
 import com.brandkit.auth.security.CurrentUser;
-import com.brandkit.catalog.entity.Partner;
+import com.brandkit.auth.security.UserPrincipal;
 import com.brandkit.partner.dto.PartnerDashboardResponse;
 import com.brandkit.partner.service.PartnerDashboardService;
 import com.brandkit.partner.service.PartnerProfileService;
@@ -13,6 +12,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.UUID;
+
 /**
  * Partner Dashboard Controller - FRD-005 FR-52
  * Dashboard overview with key metrics
@@ -34,9 +35,9 @@ public class PartnerDashboardController {
      */
     @GetMapping
     @Operation(summary = "Get dashboard summary", description = "Get partner dashboard with metrics and alerts")
-    public ResponseEntity<PartnerDashboardResponse> getDashboard(@CurrentUser User user) {
-        Partner partner = profileService.getPartnerByUserId(user.getId());
-        PartnerDashboardResponse response = dashboardService.getDashboard(partner.getId());
+    public ResponseEntity<PartnerDashboardResponse> getDashboard(@CurrentUser UserPrincipal principal) {
+        UUID partnerId = profileService.getPartnerId(principal);
+        PartnerDashboardResponse response = dashboardService.getDashboard(partnerId);
         return ResponseEntity.ok(response);
     }
 }
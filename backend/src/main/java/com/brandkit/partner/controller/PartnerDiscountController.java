@@ -1,8 +1,7 @@
 package com.brandkit.partner.controller;
 
-import com.brandkit.auth.entity.User;
 import com.brandkit.auth.security.CurrentUser;
-import com.brandkit.catalog.entity.Partner;
+import com.brandkit.auth.security.UserPrincipal;
 import com.brandkit.partner.dto.DiscountRequest;
 import com.brandkit.partner.dto.DiscountResponse;
 import com.brandkit.partner.dto.DiscountResponse.ProductDiscountDto;
@@ -40,11 +39,11 @@ public class PartnerDiscountController {
     @GetMapping
     @Operation(summary = "Get discounts", description = "Get discount dashboard for partner")
     public ResponseEntity<DiscountResponse> getDiscounts(
-            @CurrentUser User user,
+            @CurrentUser UserPrincipal principal,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
-        Partner partner = profileService.getPartnerByUserId(user.getId());
-        DiscountResponse response = discountService.getDiscounts(partner.getId(), page, size);
+        UUID partnerId = profileService.getPartnerId(principal);
+        DiscountResponse response = discountService.getDiscounts(partnerId, page, size);
         return ResponseEntity.ok(response);
     }
 
@@ -54,10 +53,10 @@ public class PartnerDiscountController {
     @PostMapping
     @Operation(summary = "Create/Update discount", description = "Create or update a product discount")
     public ResponseEntity<ProductDiscountDto> createOrUpdateDiscount(
-            @CurrentUser User user,
+            @CurrentUser UserPrincipal principal,
             @Valid @RequestBody DiscountRequest request) {
-        Partner partner = profileService.getPartnerByUserId(user.getId());
-        ProductDiscountDto response = discountService.createOrUpdateDiscount(partner.getId(), request, user);
+        UUID partnerId = profileService.getPartnerId(principal);
+        ProductDiscountDto response = discountService.createOrUpdateDiscount(partnerId, request, principal.getId());
         return ResponseEntity.ok(response);
     }
 
@@ -67,10 +66,10 @@ public class PartnerDiscountController {
     @DeleteMapping("/{discountId}")
     @Operation(summary = "Delete discount", description = "Remove a product discount")
     public ResponseEntity<Void> deleteDiscount(
-            @CurrentUser User user,
+            @CurrentUser UserPrincipal principal,
             @PathVariable UUID discountId) {
-        Partner partner = profileService.getPartnerByUserId(user.getId());
-        discountService.deleteDiscount(partner.getId(), discountId, user);
+        UUID partnerId = profileService.getPartnerId(principal);
+        discountService.deleteDiscount(partnerId, discountId, principal.getId());
         return ResponseEntity.ok().build();
     }
 }
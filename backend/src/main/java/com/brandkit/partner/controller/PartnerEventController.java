@@ -0,0 +1,44 @@
+package com.brandkit.partner.controller;
+
+import com.brandkit.auth.security.CurrentUser;
+import com.brandkit.auth.security.UserPrincipal;
+import com.brandkit.partner.service.PartnerEventService;
+import com.brandkit.partner.service.PartnerProfileService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+/**
+ * Partner Event Controller - FRD-005 FR-53
+ * Server-sent event stream of notifications and order changes for the partner portal
+ */
+@RestController
+@RequestMapping("/api/partner/events")
+@PreAuthorize("hasRole('PARTNER') or hasRole('ADMIN')")
+@Tag(name = "Partner Events", description = "Partner push channel - Internal Portal Only")
+public class PartnerEventController {
+
+    @Autowired
+    private PartnerEventService eventService;
+    @Autowired
+    private PartnerProfileService profileService;
+
+    /**
+     * Subscribe to partner events
+     * Reconnecting clients send Last-Event-ID to receive the events they missed
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to events", description = "Stream new notifications and order changes")
+    public SseEmitter subscribe(
+            @CurrentUser UserPrincipal principal,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        UUID partnerId = profileService.getPartnerId(principal);
+        return eventService.subscribe(partnerId, lastEventId);
+    }
+}
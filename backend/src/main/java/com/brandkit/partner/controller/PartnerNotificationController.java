@@ -1,8 +1,7 @@
 package com.brandkit.partner.controller;
 
-import com.brandkit.auth.entity.User;
 import com.brandkit.auth.security.CurrentUser;
-import com.brandkit.catalog.entity.Partner;
+import com.brandkit.auth.security.UserPrincipal;
 import com.brandkit.partner.dto.NotificationResponse;
 import com.brandkit.partner.service.PartnerNotificationService;
 import com.brandkit.partner.service.PartnerProfileService;
@@ -38,11 +37,11 @@ public class PartnerNotificationController {
     @GetMapping
     @Operation(summary = "Get notifications", description = "Get partner notifications")
     public ResponseEntity<NotificationResponse> getNotifications(
-            @CurrentUser User user,
+            @CurrentUser UserPrincipal principal,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
-        Partner partner = profileService.getPartnerByUserId(user.getId());
-        NotificationResponse response = notificationService.getNotifications(partner.getId(), page, size);
+        UUID partnerId = profileService.getPartnerId(principal);
+        NotificationResponse response = notificationService.getNotifications(partnerId, page, size);
         return ResponseEntity.ok(response);
     }
 
@@ -51,9 +50,9 @@ public class PartnerNotificationController {
      */
     @GetMapping("/unread-count")
     @Operation(summary = "Get unread count", description = "Get unread notification count")
-    public ResponseEntity<Map<String, Long>> getUnreadCount(@CurrentUser User user) {
-        Partner partner = profileService.getPartnerByUserId(user.getId());
-        long count = notificationService.getUnreadCount(partner.getId());
+    public ResponseEntity<Map<String, Long>> getUnreadCount(@CurrentUser UserPrincipal principal) {
+        UUID partnerId = profileService.getPartnerId(principal);
+        long count = notificationService.getUnreadCount(partnerId);
         return ResponseEntity.ok(Map.of("count", count));
     }
 
@@ -63,10 +62,10 @@ public class PartnerNotificationController {
     @PutMapping("/{notificationId}/read")
     @Operation(summary = "Mark as read", description = "Mark a notification as read")
     public ResponseEntity<Void> markAsRead(
-            @CurrentUser User user,
+            @CurrentUser UserPrincipal principal,
             @PathVariable UUID notificationId) {
-        Partner partner = profileService.getPartnerByUserId(user.getId());
-        notificationService.markAsRead(partner.getId(), notificationId);
+        UUID partnerId = profileService.getPartnerId(principal);
+        notificationService.markAsRead(partnerId, notificationId);
         return ResponseEntity.ok().build();
     }
 
@@ -75,9 +74,9 @@ public class PartnerNotificationController {
      */
     @PutMapping("/read-all")
     @Operation(summary = "Mark all as read", description = "Mark all notifications as read")
-    public ResponseEntity<Map<String, Integer>> markAllAsRead(@CurrentUser User user) {
-        Partner partner = profileService.getPartnerByUserId(user.getId());
-        int count = notificationService.markAllAsRead(partner.getId());
+    public ResponseEntity<Map<String, Integer>> markAllAsRead(@CurrentUser UserPrincipal principal) {
+        UUID partnerId = profileService.getPartnerId(principal);
+        int count = notificationService.markAllAsRead(partnerId);
         return ResponseEntity.ok(Map.of("marked", count));
     }
 }
@@ -1,8 +1,7 @@
 package com.brandkit.partner.controller;
 
-import com.brandkit.auth.entity.User;
 import com.brandkit.auth.security.CurrentUser;
-import com.brandkit.catalog.entity.Partner;
+import com.brandkit.auth.security.UserPrincipal;
 import com.brandkit.partner.dto.*;
 import com.brandkit.partner.service.*;
 import io.swagger.v3.oas.annotations.Operation;
@@ -43,12 +42,12 @@ public class PartnerOrderController {
     @GetMapping
     @Operation(summary = "Get orders list", description = "Get paginated list of partner's orders")
     public ResponseEntity<PartnerOrderListResponse> getOrders(
-            @CurrentUser User user,
+            @CurrentUser UserPrincipal principal,
             @RequestParam(required = false) String status,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
-        Partner partner = profileService.getPartnerByUserId(user.getId());
-        PartnerOrderListResponse response = orderService.getOrders(partner.getId(), status, page, size);
+        UUID partnerId = profileService.getPartnerId(principal);
+        PartnerOrderListResponse response = orderService.getOrders(partnerId, status, page, size);
         return ResponseEntity.ok(response);
     }
 
@@ -59,10 +58,10 @@ public class PartnerOrderController {
     @GetMapping("/{orderId}")
     @Operation(summary = "Get order details", description = "Get detailed order information")
     public ResponseEntity<PartnerOrderResponse> getOrderDetails(
-            @CurrentUser User user,
+            @CurrentUser UserPrincipal principal,
             @PathVariable UUID orderId) {
-        Partner partner = profileService.getPartnerByUserId(user.getId());
-        PartnerOrderResponse response = orderService.getOrderDetails(partner.getId(), orderId);
+        UUID partnerId = profileService.getPartnerId(principal);
+        PartnerOrderResponse response = orderService.getOrderDetails(partnerId, orderId);
         return ResponseEntity.ok(response);
     }
 
@@ -73,10 +72,10 @@ public class PartnerOrderController {
     @PostMapping("/{orderId}/accept")
     @Operation(summary = "Accept order", description = "Accept an order for fulfillment")
     public ResponseEntity<PartnerOrderResponse> acceptOrder(
-            @CurrentUser User user,
+            @CurrentUser UserPrincipal principal,
             @PathVariable UUID orderId) {
-        Partner partner = profileService.getPartnerByUserId(user.getId());
-        PartnerOrderResponse response = orderService.acceptOrder(partner.getId(), orderId);
+        UUID partnerId = profileService.getPartnerId(principal);
+        PartnerOrderResponse response = orderService.acceptOrder(partnerId, orderId);
         return ResponseEntity.ok(response);
     }
 
@@ -87,11 +86,11 @@ public class PartnerOrderController {
     @PostMapping("/{orderId}/reject")
     @Operation(summary = "Reject order", description = "Reject an order with reason")
     public ResponseEntity<Void> rejectOrder(
-            @CurrentUser User user,
+            @CurrentUser UserPrincipal principal,
             @PathVariable UUID orderId,
             @Valid @RequestBody OrderActionRequest request) {
-        Partner partner = profileService.getPartnerByUserId(user.getId());
-        orderService.rejectOrder(partner.getId(), orderId, request);
+        UUID partnerId = profileService.getPartnerId(principal);
+        orderService.rejectOrder(partnerId, orderId, request);
         return ResponseEntity.ok().build();
     }
 
@@ -102,11 +101,11 @@ public class PartnerOrderController {
     @PutMapping("/{orderId}/status")
     @Operation(summary = "Update status", description = "Update order production status")
     public ResponseEntity<PartnerOrderResponse> updateStatus(
-            @CurrentUser User user,
+            @CurrentUser UserPrincipal principal,
             @PathVariable UUID orderId,
             @Valid @RequestBody StatusUpdateRequest request) {
-        Partner partner = profileService.getPartnerByUserId(user.getId());
-        PartnerOrderResponse response = orderService.updateStatus(partner.getId(), orderId, request);
+        UUID partnerId = profileService.getPartnerId(principal);
+        PartnerOrderResponse response = orderService.updateStatus(partnerId, orderId, request);
         return ResponseEntity.ok(response);
     }
 
@@ -117,11 +116,11 @@ public class PartnerOrderController {
     @PostMapping("/{orderId}/proof")
     @Operation(summary = "Upload proofs", description = "Upload proof sample images")
     public ResponseEntity<List<PartnerOrderResponse.ProofImageDto>> uploadProofs(
-            @CurrentUser User user,
+            @CurrentUser UserPrincipal principal,
             @PathVariable UUID orderId,
             @RequestParam("files") List<MultipartFile> files,
             @RequestParam(required = false) List<String> captions) {
-        Partner partner = profileService.getPartnerByUserId(user.getId());
+        UUID partnerId = profileService.getPartnerId(principal);
         
         // Convert captions to request objects
         List<ProofUploadRequest> metadata = null;
@@ -132,7 +131,7 @@ public class PartnerOrderController {
         }
         
         List<PartnerOrderResponse.ProofImageDto> response = proofUploadService.uploadProofs(
-                partner.getId(), orderId, files, metadata);
+                partnerId, orderId, files, metadata);
         return ResponseEntity.ok(response);
     }
 
@@ -142,7 +141,7 @@ public class PartnerOrderController {
     @GetMapping("/{orderId}/proof")
     @Operation(summary = "Get proofs", description = "Get proof images for an order")
     public ResponseEntity<List<PartnerOrderResponse.ProofImageDto>> getProofs(
-            @CurrentUser User user,
+            @CurrentUser UserPrincipal principal,
             @PathVariable UUID orderId) {
         List<PartnerOrderResponse.ProofImageDto> response = proofUploadService.getProofImages(orderId);
         return ResponseEntity.ok(response);
@@ -155,11 +154,39 @@ public class PartnerOrderController {
     @PostMapping("/{orderId}/ship")
     @Operation(summary = "Mark as shipped", description = "Mark order as shipped with tracking")
     public ResponseEntity<Void> markAsShipped(
-            @CurrentUser User user,
+            @CurrentUser UserPrincipal principal,
             @PathVariable UUID orderId,
             @Valid @RequestBody ShipmentRequest request) {
-        Partner partner = profileService.getPartnerByUserId(user.getId());
-        shipmentService.createShipment(partner.getId(), orderId, request);
+        UUID partnerId = profileService.getPartnerId(principal);
+        shipmentService.createShipment(partnerId, orderId, request);
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * Accept or advance many orders at once
+     * FRD-005 FR-56, FR-57: Bulk order actions
+     */
+    @PostMapping("/bulk/status")
+    @Operation(summary = "Bulk status update", description = "Accept or update the status of many orders, with per-order results")
+    public ResponseEntity<BulkOrderActionResponse> bulkUpdateStatus(
+            @CurrentUser UserPrincipal principal,
+            @Valid @RequestBody BulkStatusUpdateRequest request) {
+        UUID partnerId = profileService.getPartnerId(principal);
+        BulkOrderActionResponse response = orderService.bulkUpdateStatus(partnerId, request);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Mark many orders as shipped
+     * FRD-005 FR-59: Bulk shipment creation
+     */
+    @PostMapping("/bulk/ship")
+    @Operation(summary = "Bulk mark as shipped", description = "Mark many orders as shipped with tracking, with per-order results")
+    public ResponseEntity<BulkOrderActionResponse> bulkMarkAsShipped(
+            @CurrentUser UserPrincipal principal,
+            @Valid @RequestBody BulkShipmentRequest request) {
+        UUID partnerId = profileService.getPartnerId(principal);
+        BulkOrderActionResponse response = shipmentService.createShipments(partnerId, request);
+        return ResponseEntity.ok(response);
+    }
 }
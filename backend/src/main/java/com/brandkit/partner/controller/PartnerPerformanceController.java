@@ -1,8 +1,7 @@
 package com.brandkit.partner.controller;
 
-import com.brandkit.auth.entity.User;
 import com.brandkit.auth.security.CurrentUser;
-import com.brandkit.catalog.entity.Partner;
+import com.brandkit.auth.security.UserPrincipal;
 import com.brandkit.partner.dto.PerformanceMetricsResponse;
 import com.brandkit.partner.service.PartnerPerformanceService;
 import com.brandkit.partner.service.PartnerProfileService;
@@ -13,6 +12,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.UUID;
+
 /**
  * Partner Performance Controller - FRD-005 FR-63
  * Performance metrics and monitoring
@@ -35,10 +36,10 @@ public class PartnerPerformanceController {
     @GetMapping
     @Operation(summary = "Get performance", description = "Get partner performance metrics")
     public ResponseEntity<PerformanceMetricsResponse> getPerformanceMetrics(
-            @CurrentUser User user,
+            @CurrentUser UserPrincipal principal,
             @RequestParam(defaultValue = "all_time") String period) {
-        Partner partner = profileService.getPartnerByUserId(user.getId());
-        PerformanceMetricsResponse response = performanceService.getPerformanceMetrics(partner.getId(), period);
+        UUID partnerId = profileService.getPartnerId(principal);
+        PerformanceMetricsResponse response = performanceService.getPerformanceMetrics(partnerId, period);
         return ResponseEntity.ok(response);
     }
 
@@ -48,9 +49,9 @@ public class PartnerPerformanceController {
     @PostMapping("/recalculate")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Recalculate metrics", description = "Recalculate partner performance metrics (Admin only)")
-    public ResponseEntity<Void> recalculateMetrics(@CurrentUser User user) {
-        Partner partner = profileService.getPartnerByUserId(user.getId());
-        performanceService.recalculateMetrics(partner.getId());
+    public ResponseEntity<Void> recalculateMetrics(@CurrentUser UserPrincipal principal) {
+        UUID partnerId = profileService.getPartnerId(principal);
+        performanceService.recalculateMetrics(partnerId);
         return ResponseEntity.ok().build();
     }
 }
@@ -1,8 +1,7 @@
 package com.brandkit.partner.controller;
 
-import com.brandkit.auth.entity.User;
 import com.brandkit.auth.security.CurrentUser;
-import com.brandkit.catalog.entity.Partner;
+import com.brandkit.auth.security.UserPrincipal;
 import com.brandkit.partner.dto.PartnerProfileRequest;
 import com.brandkit.partner.dto.PartnerProfileResponse;
 import com.brandkit.partner.service.PartnerProfileService;
@@ -14,6 +13,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.UUID;
+
 /**
  * Partner Profile Controller - FRD-005 FR-64
  * Partner profile management
@@ -33,9 +34,9 @@ public class PartnerProfileController {
      */
     @GetMapping
     @Operation(summary = "Get profile", description = "Get partner profile information")
-    public ResponseEntity<PartnerProfileResponse> getProfile(@CurrentUser User user) {
-        Partner partner = profileService.getPartnerByUserId(user.getId());
-        PartnerProfileResponse response = profileService.getProfile(partner.getId());
+    public ResponseEntity<PartnerProfileResponse> getProfile(@CurrentUser UserPrincipal principal) {
+        UUID partnerId = profileService.getPartnerId(principal);
+        PartnerProfileResponse response = profileService.getProfile(partnerId);
         return ResponseEntity.ok(response);
     }
 
@@ -45,10 +46,10 @@ public class PartnerProfileController {
     @PutMapping
     @Operation(summary = "Update profile", description = "Update partner profile information")
     public ResponseEntity<PartnerProfileResponse> updateProfile(
-            @CurrentUser User user,
+            @CurrentUser UserPrincipal principal,
             @Valid @RequestBody PartnerProfileRequest request) {
-        Partner partner = profileService.getPartnerByUserId(user.getId());
-        PartnerProfileResponse response = profileService.updateProfile(partner.getId(), request);
+        UUID partnerId = profileService.getPartnerId(principal);
+        PartnerProfileResponse response = profileService.updateProfile(partnerId, request);
         return ResponseEntity.ok(response);
     }
 
@@ -58,10 +59,10 @@ public class PartnerProfileController {
     @PostMapping("/complete")
     @Operation(summary = "Complete profile", description = "Complete first login profile setup")
     public ResponseEntity<PartnerProfileResponse> completeProfile(
-            @CurrentUser User user,
+            @CurrentUser UserPrincipal principal,
             @Valid @RequestBody PartnerProfileRequest request) {
-        Partner partner = profileService.getPartnerByUserId(user.getId());
-        PartnerProfileResponse response = profileService.completeProfile(partner.getId(), request);
+        UUID partnerId = profileService.getPartnerId(principal);
+        PartnerProfileResponse response = profileService.completeProfile(partnerId, request);
         return ResponseEntity.ok(response);
     }
 }
@@ -1,8 +1,7 @@
 package com.brandkit.partner.controller;
 
-import com.brandkit.auth.entity.User;
 import com.brandkit.auth.security.CurrentUser;
-import com.brandkit.catalog.entity.Partner;
+import com.brandkit.auth.security.UserPrincipal;
 import com.brandkit.partner.dto.SettlementDetailResponse;
 import com.brandkit.partner.dto.SettlementResponse;
 import com.brandkit.partner.service.PartnerProfileService;
@@ -38,11 +37,11 @@ public class PartnerSettlementController {
     @GetMapping
     @Operation(summary = "Get settlements", description = "Get settlement dashboard with summary")
     public ResponseEntity<SettlementResponse> getSettlements(
-            @CurrentUser User user,
+            @CurrentUser UserPrincipal principal,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
-        Partner partner = profileService.getPartnerByUserId(user.getId());
-        SettlementResponse response = settlementService.getSettlementDashboard(partner.getId(), page, size);
+        UUID partnerId = profileService.getPartnerId(principal);
+        SettlementResponse response = settlementService.getSettlementDashboard(partnerId, page, size);
         return ResponseEntity.ok(response);
     }
 
@@ -52,10 +51,10 @@ public class PartnerSettlementController {
     @GetMapping("/{settlementId}")
     @Operation(summary = "Get settlement details", description = "Get detailed settlement breakdown")
     public ResponseEntity<SettlementDetailResponse> getSettlementDetails(
-            @CurrentUser User user,
+            @CurrentUser UserPrincipal principal,
             @PathVariable UUID settlementId) {
-        Partner partner = profileService.getPartnerByUserId(user.getId());
-        SettlementDetailResponse response = settlementService.getSettlementDetails(partner.getId(), settlementId);
+        UUID partnerId = profileService.getPartnerId(principal);
+        SettlementDetailResponse response = settlementService.getSettlementDetails(partnerId, settlementId);
         return ResponseEntity.ok(response);
     }
 }
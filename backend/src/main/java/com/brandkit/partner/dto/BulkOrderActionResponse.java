@@ -0,0 +1,125 @@
+package com.brandkit.partner.dto;
+
+import java.util.List;
+
+/**
+ * Bulk Order Action Response - FRD-005 FR-56, FR-57, FR-59
+ * Per-order outcome of a bulk action; failed orders do not affect the others
+ */
+public class BulkOrderActionResponse {
+
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private List<OrderResult> results;
+
+    public static class OrderResult {
+        private String orderId;
+        private boolean success;
+        private String partnerStatus;
+        private String error;
+
+        public OrderResult() {}
+
+        public String getOrderId() {
+            return this.orderId;
+        }
+        public void setOrderId(String orderId) {
+            this.orderId = orderId;
+        }
+        public boolean getSuccess() {
+            return this.success;
+        }
+        public void setSuccess(boolean success) {
+            this.success = success;
+        }
+        public String getPartnerStatus() {
+            return this.partnerStatus;
+        }
+        public void setPartnerStatus(String partnerStatus) {
+            this.partnerStatus = partnerStatus;
+        }
+        public String getError() {
+            return this.error;
+        }
+        public void setError(String error) {
+            this.error = error;
+        }
+
+        public static OrderResultBuilder builder() {
+            return new OrderResultBuilder();
+        }
+
+        public static class OrderResultBuilder {
+            private String orderId;
+            private boolean success;
+            private String partnerStatus;
+            private String error;
+
+            public OrderResultBuilder orderId(String orderId) {
+                this.orderId = orderId;
+                return this;
+            }
+            public OrderResultBuilder success(boolean success) {
+                this.success = success;
+                return this;
+            }
+            public OrderResultBuilder partnerStatus(String partnerStatus) {
+                this.partnerStatus = partnerStatus;
+                return this;
+            }
+            public OrderResultBuilder error(String error) {
+                this.error = error;
+                return this;
+            }
+
+            public OrderResult build() {
+                OrderResult instance = new OrderResult();
+                instance.orderId = this.orderId;
+                instance.success = this.success;
+                instance.partnerStatus = this.partnerStatus;
+                instance.error = this.error;
+                return instance;
+            }
+        }
+    }
+
+    public BulkOrderActionResponse() {}
+
+    public int getRequested() {
+        return this.requested;
+    }
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+    public int getSucceeded() {
+        return this.succeeded;
+    }
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+    public int getFailed() {
+        return this.failed;
+    }
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+    public List<OrderResult> getResults() {
+        return this.results;
+    }
+    public void setResults(List<OrderResult> results) {
+        this.results = results;
+    }
+
+    /**
+     * Summarize per-order results
+     */
+    public static BulkOrderActionResponse of(List<OrderResult> results) {
+        BulkOrderActionResponse response = new BulkOrderActionResponse();
+        response.results = results;
+        response.requested = results.size();
+        response.succeeded = (int) results.stream().filter(OrderResult::getSuccess).count();
+        response.failed = response.requested - response.succeeded;
+        return response;
+    }
+}
@@ -0,0 +1,49 @@
+package com.brandkit.partner.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk Shipment Request - FRD-005 FR-59
+ * Mark many orders as shipped, each with its own tracking details
+ */
+public class BulkShipmentRequest {
+
+    // Hard cap on the payload (each item is validated); app.partner.bulk.max-orders is checked per distinct order
+    @NotEmpty(message = "At least one shipment is required")
+    @Size(max = 1000, message = "Maximum 1000 shipments per request")
+    @Valid
+    private List<Item> shipments;
+
+    public static class Item extends ShipmentRequest {
+
+        @NotNull(message = "Order ID is required")
+        private UUID orderId;
+
+        public Item() {
+        }
+
+        public UUID getOrderId() {
+            return this.orderId;
+        }
+        public void setOrderId(UUID orderId) {
+            this.orderId = orderId;
+        }
+    }
+
+    public List<Item> getShipments() {
+        return this.shipments;
+    }
+    public void setShipments(List<Item> shipments) {
+        this.shipments = shipments;
+    }
+    public BulkShipmentRequest() {
+    }
+    public BulkShipmentRequest(List<Item> shipments) {
+        this.shipments = shipments;
+    }
+}
@@ -0,0 +1,41 @@
+package com.brandkit.partner.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk Status Update Request - FRD-005 FR-56, FR-57
+ * Accept or advance the production status of many orders at once
+ */
+public class BulkStatusUpdateRequest {
+
+    // Hard cap on the payload; app.partner.bulk.max-orders is checked after removing duplicates
+    @NotEmpty(message = "At least one order is required")
+    @Size(max = 1000, message = "Maximum 1000 orders per request")
+    private List<UUID> orderIds;
+
+    @NotBlank(message = "Status is required")
+    private String status; // ACCEPTED, IN_PRODUCTION, READY_TO_SHIP, SHIPPED, DELIVERED
+
+    public List<UUID> getOrderIds() {
+        return this.orderIds;
+    }
+    public String getStatus() {
+        return this.status;
+    }
+    public void setOrderIds(List<UUID> orderIds) {
+        this.orderIds = orderIds;
+    }
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    public BulkStatusUpdateRequest() {
+    }
+    public BulkStatusUpdateRequest(List<UUID> orderIds, String status) {
+        this.orderIds = orderIds;
+        this.status = status;
+    }
+}
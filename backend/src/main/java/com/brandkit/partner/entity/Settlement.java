@@ -19,6 +19,8 @@ import java.util.UUID;
     @Index(name = "idx_settlements_partner_id", columnList = "partner_id"),
     @Index(name = "idx_settlements_status", columnList = "status"),
     @Index(name = "idx_settlements_created_at", columnList = "created_at")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "unique_settlement_partner_period", columnNames = {"partner_id", "period_start"})
 })
 public class Settlement {
 
@@ -13,7 +13,7 @@ import java.util.UUID;
 @Entity
 @Table(name = "settlement_orders", indexes = {
     @Index(name = "idx_settlement_orders_settlement_id", columnList = "settlement_id"),
-    @Index(name = "idx_settlement_orders_order_id", columnList = "order_id")
+    @Index(name = "idx_settlement_orders_order_id", columnList = "order_id", unique = true)
 }, uniqueConstraints = {
     @UniqueConstraint(name = "unique_settlement_order", columnNames = {"settlement_id", "order_id"})
 })
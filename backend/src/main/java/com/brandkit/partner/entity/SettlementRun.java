@@ -0,0 +1,165 @@
+package com.brandkit.partner.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Settlement Run Entity - FRD-005 FR-61
+ * One monthly settlement run; the instance running it holds a lease on the row,
+ * so a run whose instance died is picked up again once the lease expires.
+ */
+@Entity
+@Table(name = "settlement_runs")
+public class SettlementRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "period_start", nullable = false, unique = true)
+    private LocalDate periodStart;
+
+    @Column(name = "period_end", nullable = false)
+    private LocalDate periodEnd;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private SettlementRunStatus status = SettlementRunStatus.PENDING;
+
+    @Column(name = "lease_until")
+    private OffsetDateTime leaseUntil;
+
+    @Column(name = "partners_total", nullable = false)
+    private Integer partnersTotal = 0;
+
+    @Column(name = "partners_done", nullable = false)
+    private Integer partnersDone = 0;
+
+    @Column(name = "partners_failed", nullable = false)
+    private Integer partnersFailed = 0;
+
+    @Column(name = "orders_settled", nullable = false)
+    private Integer ordersSettled = 0;
+
+    @Column(name = "started_at")
+    private OffsetDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private OffsetDateTime completedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = OffsetDateTime.now();
+        updatedAt = OffsetDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = OffsetDateTime.now();
+    }
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public LocalDate getPeriodEnd() {
+        return periodEnd;
+    }
+
+    public void setPeriodEnd(LocalDate periodEnd) {
+        this.periodEnd = periodEnd;
+    }
+
+    public SettlementRunStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SettlementRunStatus status) {
+        this.status = status;
+    }
+
+    public OffsetDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public void setLeaseUntil(OffsetDateTime leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+
+    public Integer getPartnersTotal() {
+        return partnersTotal;
+    }
+
+    public void setPartnersTotal(Integer partnersTotal) {
+        this.partnersTotal = partnersTotal;
+    }
+
+    public Integer getPartnersDone() {
+        return partnersDone;
+    }
+
+    public void setPartnersDone(Integer partnersDone) {
+        this.partnersDone = partnersDone;
+    }
+
+    public Integer getPartnersFailed() {
+        return partnersFailed;
+    }
+
+    public void setPartnersFailed(Integer partnersFailed) {
+        this.partnersFailed = partnersFailed;
+    }
+
+    public Integer getOrdersSettled() {
+        return ordersSettled;
+    }
+
+    public void setOrdersSettled(Integer ordersSettled) {
+        this.ordersSettled = ordersSettled;
+    }
+
+    public OffsetDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(OffsetDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public OffsetDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(OffsetDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
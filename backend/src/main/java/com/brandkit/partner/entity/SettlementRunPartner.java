@@ -0,0 +1,148 @@
+package com.brandkit.partner.entity;
+
+import com.brandkit.catalog.entity.Partner;
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Settlement Run Partner Entity - FRD-005 FR-61
+ * Progress of one partner within a settlement run. lastOrderId is the keyset
+ * checkpoint: every delivered order up to it has been settled, and it is
+ * updated in the same transaction as the settlement_orders of each chunk.
+ */
+@Entity
+@Table(name = "settlement_run_partners", uniqueConstraints = {
+    @UniqueConstraint(name = "unique_settlement_run_partner", columnNames = {"run_id", "partner_id"})
+})
+public class SettlementRunPartner {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "run_id", nullable = false)
+    private SettlementRun run;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "partner_id", nullable = false)
+    private Partner partner;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "settlement_id")
+    private Settlement settlement; // Created with the first settled chunk
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private SettlementRunStatus status = SettlementRunStatus.PENDING;
+
+    @Column(name = "last_order_id")
+    private UUID lastOrderId;
+
+    @Column(name = "orders_settled", nullable = false)
+    private Integer ordersSettled = 0;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "statement_generated", nullable = false)
+    private Boolean statementGenerated = false;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = OffsetDateTime.now();
+    }
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public SettlementRun getRun() {
+        return run;
+    }
+
+    public void setRun(SettlementRun run) {
+        this.run = run;
+    }
+
+    public Partner getPartner() {
+        return partner;
+    }
+
+    public void setPartner(Partner partner) {
+        this.partner = partner;
+    }
+
+    public Settlement getSettlement() {
+        return settlement;
+    }
+
+    public void setSettlement(Settlement settlement) {
+        this.settlement = settlement;
+    }
+
+    public SettlementRunStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SettlementRunStatus status) {
+        this.status = status;
+    }
+
+    public UUID getLastOrderId() {
+        return lastOrderId;
+    }
+
+    public void setLastOrderId(UUID lastOrderId) {
+        this.lastOrderId = lastOrderId;
+    }
+
+    public Integer getOrdersSettled() {
+        return ordersSettled;
+    }
+
+    public void setOrdersSettled(Integer ordersSettled) {
+        this.ordersSettled = ordersSettled;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public Boolean getStatementGenerated() {
+        return statementGenerated;
+    }
+
+    public void setStatementGenerated(Boolean statementGenerated) {
+        this.statementGenerated = statementGenerated;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
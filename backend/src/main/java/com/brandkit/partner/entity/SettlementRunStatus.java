@@ -0,0 +1,12 @@
+package com.brandkit.partner.entity;
+
+/**
+ * Settlement run status enum - FRD-005 FR-61
+ * Used for a monthly run and for each partner within it
+ */
+public enum SettlementRunStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -44,6 +44,13 @@ public interface PartnerDiscountRepository extends JpaRepository<PartnerDiscount
      */
     long countByPartnerIdAndStatus(UUID partnerId, DiscountStatus status);
 
+    /**
+     * Count discounts per status for a partner in one query
+     * Returns: [status, count]
+     */
+    @Query("SELECT pd.status, COUNT(pd) FROM PartnerDiscount pd WHERE pd.partner.id = :partnerId GROUP BY pd.status")
+    List<Object[]> countByPartnerIdGroupByStatus(@Param("partnerId") UUID partnerId);
+
     /**
      * Find all pending discounts (for admin review)
      */
@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -40,6 +41,30 @@ public interface PartnerNotificationRepository extends JpaRepository<PartnerNoti
     List<PartnerNotification> findByPartnerIdAndNotificationTypeOrderByCreatedAtDesc(
             UUID partnerId, NotificationType type);
 
+    boolean existsByIdAndPartnerId(UUID id, UUID partnerId);
+
+    /**
+     * Mark one of a partner's notifications as read, without loading it
+     *
+     * @return 1 if it was unread, 0 if already read or not the partner's
+     */
+    @Modifying
+    @Query("UPDATE PartnerNotification n SET n.isRead = true, n.readAt = :now " +
+           "WHERE n.id = :id AND n.partner.id = :partnerId AND n.isRead = false")
+    int markAsRead(@Param("id") UUID id, @Param("partnerId") UUID partnerId, @Param("now") OffsetDateTime now);
+
+    /**
+     * Fan a notification out to every active partner in one statement
+     *
+     * @return (notification id, partner id) of each notification inserted
+     */
+    @Query(value = "INSERT INTO partner_notifications (partner_id, notification_type, title, message, is_read, created_at) " +
+                   "SELECT p.id, CAST(:type AS notification_type), :title, :message, false, :now " +
+                   "FROM partners p WHERE p.status = 'ACTIVE' " +
+                   "RETURNING id, partner_id", nativeQuery = true)
+    List<Object[]> insertForActivePartners(@Param("type") String type, @Param("title") String title,
+                                @Param("message") String message, @Param("now") OffsetDateTime now);
+
     /**
      * Mark all notifications as read for partner
      */
@@ -52,5 +77,5 @@ public interface PartnerNotificationRepository extends JpaRepository<PartnerNoti
      */
     @Modifying
     @Query("DELETE FROM PartnerNotification n WHERE n.isRead = true AND n.createdAt < :cutoffDate")
-    int deleteOldReadNotifications(@Param("cutoffDate") java.time.OffsetDateTime cutoffDate);
+    int deleteOldReadNotifications(@Param("cutoffDate") OffsetDateTime cutoffDate);
 }
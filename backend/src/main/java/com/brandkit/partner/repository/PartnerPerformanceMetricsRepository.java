@@ -5,8 +5,11 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -32,4 +35,83 @@ public interface PartnerPerformanceMetricsRepository extends JpaRepository<Partn
      */
     @Query("SELECT AVG(m.averageLeadTimeDays) FROM PartnerPerformanceMetrics m WHERE m.totalOrdersFulfilled > 0")
     BigDecimal calculatePlatformAverageLeadTime();
+
+    /**
+     * Recompute and upsert the metrics of a set of partners in one statement
+     *
+     * Order counts and the accept-to-ship lead time come from one pass over the
+     * partners' assignments, revenue from their completed settlements.
+     * Returns [partnerId, alert, drifted] for the partners that need attention:
+     * alert when the fulfillment rate dropped below the threshold with this run
+     * (so a partner is alerted once, not on every recalculation), drifted when the
+     * incrementally maintained counters no longer matched the recomputed ones.
+     */
+    @Transactional
+    @Query(value = "WITH previous AS (" +
+            "  SELECT partner_id, fulfillment_rate, total_orders_assigned, total_orders_accepted," +
+            "         total_orders_rejected, total_orders_fulfilled, total_orders_delivered," +
+            "         lead_time_seconds, lead_time_orders" +
+            "  FROM partner_performance_metrics WHERE partner_id IN (:partnerIds)" +
+            "), assignment_stats AS (" +
+            "  SELECT partner_id," +
+            "         COUNT(*) AS assigned," +
+            "         COUNT(*) FILTER (WHERE status IN ('ACCEPTED', 'IN_PRODUCTION', 'READY_TO_SHIP', 'SHIPPED', 'DELIVERED')) AS accepted," +
+            "         COUNT(*) FILTER (WHERE status = 'REJECTED') AS rejected," +
+            "         COUNT(*) FILTER (WHERE status IN ('SHIPPED', 'DELIVERED')) AS shipped," +
+            "         COUNT(*) FILTER (WHERE status = 'DELIVERED') AS delivered," +
+            "         SUM(CAST(FLOOR(EXTRACT(EPOCH FROM shipped_at - accepted_at)) AS BIGINT))" +
+            "             FILTER (WHERE status = 'DELIVERED' AND accepted_at IS NOT NULL AND shipped_at IS NOT NULL) AS lead_time_seconds," +
+            "         COUNT(*) FILTER (WHERE status = 'DELIVERED' AND accepted_at IS NOT NULL AND shipped_at IS NOT NULL) AS lead_time_orders" +
+            "  FROM order_partner_assignments WHERE partner_id IN (:partnerIds) GROUP BY partner_id" +
+            "), revenue AS (" +
+            "  SELECT partner_id, SUM(total_partner_earnings) AS total FROM settlements" +
+            "  WHERE partner_id IN (:partnerIds) AND status = 'COMPLETED' GROUP BY partner_id" +
+            "), upserted AS (" +
+            "  INSERT INTO partner_performance_metrics (partner_id, total_orders_assigned, total_orders_accepted," +
+            "      total_orders_rejected, total_orders_fulfilled, total_orders_delivered, lead_time_seconds," +
+            "      lead_time_orders, fulfillment_rate, average_lead_time_days, delivery_success_rate, total_revenue," +
+            "      last_calculated_at)" +
+            "  SELECT p.id, COALESCE(a.assigned, 0), COALESCE(a.accepted, 0), COALESCE(a.rejected, 0)," +
+            "         COALESCE(a.shipped, 0), COALESCE(a.delivered, 0), COALESCE(a.lead_time_seconds, 0)," +
+            "         COALESCE(a.lead_time_orders, 0)," +
+            "         CASE WHEN a.assigned > 0 THEN ROUND(a.accepted * 100.0 / a.assigned, 2) ELSE 0 END," +
+            "         CASE WHEN a.lead_time_orders > 0 THEN ROUND(a.lead_time_seconds / 86400.0 / a.lead_time_orders, 2) ELSE 0 END," +
+            "         CASE WHEN a.shipped > 0 THEN ROUND(a.delivered * 100.0 / a.shipped, 2) ELSE 0 END," +
+            "         COALESCE(r.total, 0), CURRENT_TIMESTAMP" +
+            "  FROM partners p" +
+            "  LEFT JOIN assignment_stats a ON a.partner_id = p.id" +
+            "  LEFT JOIN revenue r ON r.partner_id = p.id" +
+            "  WHERE p.id IN (:partnerIds)" +
+            "  ON CONFLICT (partner_id) DO UPDATE SET" +
+            "      total_orders_assigned = EXCLUDED.total_orders_assigned," +
+            "      total_orders_accepted = EXCLUDED.total_orders_accepted," +
+            "      total_orders_rejected = EXCLUDED.total_orders_rejected," +
+            "      total_orders_fulfilled = EXCLUDED.total_orders_fulfilled," +
+            "      total_orders_delivered = EXCLUDED.total_orders_delivered," +
+            "      lead_time_seconds = EXCLUDED.lead_time_seconds," +
+            "      lead_time_orders = EXCLUDED.lead_time_orders," +
+            "      fulfillment_rate = EXCLUDED.fulfillment_rate," +
+            "      average_lead_time_days = EXCLUDED.average_lead_time_days," +
+            "      delivery_success_rate = EXCLUDED.delivery_success_rate," +
+            "      total_revenue = EXCLUDED.total_revenue," +
+            "      last_calculated_at = EXCLUDED.last_calculated_at" +
+            "  RETURNING partner_id, fulfillment_rate, total_orders_assigned, total_orders_accepted," +
+            "            total_orders_rejected, total_orders_fulfilled, total_orders_delivered," +
+            "            lead_time_seconds, lead_time_orders" +
+            "), flagged AS (" +
+            "  SELECT u.partner_id," +
+            "         (u.total_orders_assigned > 0 AND u.fulfillment_rate < :threshold AND (pr.partner_id IS NULL" +
+            "             OR pr.total_orders_assigned = 0 OR pr.fulfillment_rate >= :threshold)) AS alert," +
+            "         (pr.partner_id IS NOT NULL AND (pr.total_orders_assigned, pr.total_orders_accepted," +
+            "             pr.total_orders_rejected, pr.total_orders_fulfilled, pr.total_orders_delivered," +
+            "             pr.lead_time_seconds, pr.lead_time_orders)" +
+            "             IS DISTINCT FROM (u.total_orders_assigned, u.total_orders_accepted," +
+            "             u.total_orders_rejected, u.total_orders_fulfilled, u.total_orders_delivered," +
+            "             u.lead_time_seconds, u.lead_time_orders)) AS drifted" +
+            "  FROM upserted u LEFT JOIN previous pr ON pr.partner_id = u.partner_id" +
+            ") " +
+            "SELECT partner_id, alert, drifted FROM flagged WHERE alert OR drifted",
+            nativeQuery = true)
+    List<Object[]> recalculateForPartners(@Param("partnerIds") Collection<UUID> partnerIds,
+                                          @Param("threshold") BigDecimal threshold);
 }
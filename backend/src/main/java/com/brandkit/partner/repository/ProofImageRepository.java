@@ -2,8 +2,11 @@ package com.brandkit.partner.repository;
 
 import com.brandkit.partner.entity.ProofImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -32,4 +35,10 @@ public interface ProofImageRepository extends JpaRepository<ProofImage, UUID> {
      * Delete all proof images by order ID
      */
     void deleteByOrderId(UUID orderId);
+
+    /**
+     * Storage URLs from the given set that proof images still reference
+     */
+    @Query("SELECT p.imageUrl FROM ProofImage p WHERE p.imageUrl IN :urls")
+    List<String> findReferencedUrls(@Param("urls") Collection<String> urls);
 }
@@ -4,6 +4,8 @@ import com.brandkit.partner.entity.SettlementOrder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -25,6 +27,15 @@ public interface SettlementOrderRepository extends JpaRepository<SettlementOrder
      */
     List<SettlementOrder> findBySettlementId(UUID settlementId);
 
+    /**
+     * Statement lines of a settlement in order number order:
+     * [orderNumber, finalAmount, commissionPercentage, platformCommission, partnerEarnings]
+     */
+    @Query("SELECT o.orderNumber, so.finalAmount, so.commissionPercentage, so.platformCommission, " +
+           "so.partnerEarnings FROM SettlementOrder so JOIN so.order o " +
+           "WHERE so.settlement.id = :settlementId ORDER BY o.orderNumber")
+    List<Object[]> findStatementLines(@Param("settlementId") UUID settlementId);
+
     /**
      * Check if order is already in a settlement
      */
@@ -11,6 +11,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -86,4 +87,16 @@ public interface SettlementRepository extends JpaRepository<Settlement, UUID> {
      */
     @Query("SELECT COALESCE(SUM(s.totalPartnerEarnings), 0) FROM Settlement s WHERE s.status = 'COMPLETED' AND s.createdAt BETWEEN :startDate AND :endDate")
     BigDecimal sumCompletedSettlementsInPeriod(@Param("startDate") java.time.ZonedDateTime startDate, @Param("endDate") java.time.ZonedDateTime endDate);
+
+    /**
+     * Lease the next block of settlement numbers (sequence increments by the block size)
+     */
+    @Query(value = "SELECT nextval('settlement_number_seq')", nativeQuery = true)
+    long nextSettlementNumberBlock();
+
+    /**
+     * Storage URLs from the given set that settlements still reference
+     */
+    @Query("SELECT s.statementUrl FROM Settlement s WHERE s.statementUrl IN :urls")
+    List<String> findReferencedUrls(@Param("urls") Collection<String> urls);
 }
@@ -0,0 +1,62 @@
+package com.brandkit.partner.repository;
+
+import com.brandkit.partner.entity.SettlementRunPartner;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for SettlementRunPartner entity - FRD-005 FR-61
+ */
+@Repository
+public interface SettlementRunPartnerRepository extends JpaRepository<SettlementRunPartner, UUID> {
+
+    /**
+     * Add every partner with unsettled orders delivered before the end of the period to a run;
+     * partners already in the run are left alone
+     */
+    @Modifying
+    @Query(value = "INSERT INTO settlement_run_partners (run_id, partner_id) " +
+                   "SELECT DISTINCT :runId, a.partner_id FROM order_partner_assignments a " +
+                   "WHERE a.status = 'DELIVERED' AND COALESCE(a.delivered_at, a.updated_at) < :deliveredBefore " +
+                   "AND NOT EXISTS (SELECT 1 FROM settlement_orders so WHERE so.order_id = a.order_id) " +
+                   "ON CONFLICT (run_id, partner_id) DO NOTHING", nativeQuery = true)
+    int seedPartners(@Param("runId") UUID runId, @Param("deliveredBefore") OffsetDateTime deliveredBefore);
+
+    /**
+     * Partners of a run still to settle, in partner ID order
+     */
+    @Query("SELECT p.id FROM SettlementRunPartner p WHERE p.run.id = :runId " +
+           "AND p.status <> 'COMPLETED' AND p.attempts < :maxAttempts ORDER BY p.partner.id")
+    List<UUID> findOpenIds(@Param("runId") UUID runId, @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * Put failed partners of a run back in line with a fresh set of attempts
+     */
+    @Modifying
+    @Query("UPDATE SettlementRunPartner p SET p.status = 'PENDING', p.attempts = 0, p.lastError = null " +
+           "WHERE p.run.id = :runId AND p.status = 'FAILED'")
+    int resetFailed(@Param("runId") UUID runId);
+
+    /**
+     * Partner counts and settled orders of a run by status: [status, partners, orders]
+     */
+    @Query("SELECT p.status, COUNT(p), COALESCE(SUM(p.ordersSettled), 0) FROM SettlementRunPartner p " +
+           "WHERE p.run.id = :runId GROUP BY p.status")
+    List<Object[]> countByRunIdGroupByStatus(@Param("runId") UUID runId);
+
+    /**
+     * Settled partners of a run whose statement has not been generated, with settlement and partner
+     */
+    @Query("SELECT p FROM SettlementRunPartner p JOIN FETCH p.settlement JOIN FETCH p.partner " +
+           "WHERE p.run.id = :runId AND p.status = 'COMPLETED' AND p.statementGenerated = false " +
+           "ORDER BY p.id")
+    List<SettlementRunPartner> findStatementsPending(@Param("runId") UUID runId, Pageable pageable);
+}
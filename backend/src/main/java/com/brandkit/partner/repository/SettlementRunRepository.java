@@ -0,0 +1,57 @@
+package com.brandkit.partner.repository;
+
+import com.brandkit.partner.entity.SettlementRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for SettlementRun entity - FRD-005 FR-61
+ */
+@Repository
+public interface SettlementRunRepository extends JpaRepository<SettlementRun, UUID> {
+
+    /**
+     * Find the run for a period
+     */
+    Optional<SettlementRun> findByPeriodStart(LocalDate periodStart);
+
+    /**
+     * Most recent runs, for the admin panel
+     */
+    List<SettlementRun> findTop12ByOrderByPeriodStartDesc();
+
+    /**
+     * Create the run for a period unless it already exists
+     */
+    @Modifying
+    @Query(value = "INSERT INTO settlement_runs (period_start, period_end) VALUES (:periodStart, :periodEnd) " +
+                   "ON CONFLICT (period_start) DO NOTHING", nativeQuery = true)
+    int createIfAbsent(@Param("periodStart") LocalDate periodStart, @Param("periodEnd") LocalDate periodEnd);
+
+    /**
+     * Take the lease on a run that is not completed and not held by a live instance
+     *
+     * @return 1 if the lease was taken
+     */
+    @Modifying
+    @Query("UPDATE SettlementRun r SET r.status = 'RUNNING', r.leaseUntil = :leaseUntil, " +
+           "r.startedAt = COALESCE(r.startedAt, :now), r.updatedAt = :now " +
+           "WHERE r.id = :id AND r.status <> 'COMPLETED' AND (r.leaseUntil IS NULL OR r.leaseUntil < :now)")
+    int claim(@Param("id") UUID id, @Param("now") OffsetDateTime now, @Param("leaseUntil") OffsetDateTime leaseUntil);
+
+    /**
+     * Extend the lease held on a running run
+     */
+    @Modifying
+    @Query("UPDATE SettlementRun r SET r.leaseUntil = :leaseUntil WHERE r.id = :id AND r.status = 'RUNNING'")
+    int renewLease(@Param("id") UUID id, @Param("leaseUntil") OffsetDateTime leaseUntil);
+}
@@ -4,8 +4,11 @@ import com.brandkit.partner.entity.Shipment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -34,4 +37,10 @@ public interface ShipmentRepository extends JpaRepository<Shipment, UUID> {
      * Check if shipment exists for order
      */
     boolean existsByOrderId(UUID orderId);
+
+    /**
+     * Orders among the given ones that already have a shipment
+     */
+    @Query("SELECT s.order.id FROM Shipment s WHERE s.order.id IN :orderIds")
+    List<UUID> findOrderIdsByOrderIdIn(@Param("orderIds") List<UUID> orderIds);
 }
@@ -0,0 +1,29 @@
+package com.brandkit.partner.scheduler;
+
+import com.brandkit.partner.service.PartnerPerformanceBatchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Partner Performance Scheduler
+ *
+ * FRD-005 FR-63: Recalculates every partner's performance metrics nightly
+ * Disable with app.partner.performance.batch-enabled=false
+ */
+@Component
+@ConditionalOnProperty(name = "app.partner.performance.batch-enabled", havingValue = "true", matchIfMissing = true)
+public class PartnerPerformanceScheduler {
+
+    @Autowired
+    private PartnerPerformanceBatchService batchService;
+
+    /**
+     * Run nightly by default, after the partition maintenance job
+     */
+    @Scheduled(cron = "${app.partner.performance.recalc-cron:0 0 3 * * *}")
+    public void recalculateAll() {
+        batchService.recalculateAll();
+    }
+}
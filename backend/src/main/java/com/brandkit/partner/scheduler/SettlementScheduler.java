@@ -0,0 +1,31 @@
+package com.brandkit.partner.scheduler;
+
+import com.brandkit.partner.service.SettlementRunService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settlement Scheduler
+ *
+ * FRD-005 FR-61: Settles the previous month from its settlement day on; later
+ * days resume a run that did not complete
+ * Disable with app.partner.settlement.run-enabled=false
+ */
+@Component
+@ConditionalOnProperty(name = "app.partner.settlement.run-enabled", havingValue = "true", matchIfMissing = true)
+public class SettlementScheduler {
+
+    @Autowired
+    private SettlementRunService settlementRunService;
+
+    /**
+     * Run nightly by default; a no-op before the settlement day and once the month is settled.
+     * The run happens on the settlement service's own thread, not the scheduler's.
+     */
+    @Scheduled(cron = "${app.partner.settlement.run-cron:0 0 1 * * *}")
+    public void runDueSettlements() {
+        settlementRunService.submitDueSettlements();
+    }
+}
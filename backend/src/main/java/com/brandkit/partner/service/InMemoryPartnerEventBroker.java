@@ -0,0 +1,37 @@
+package com.brandkit.partner.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Single-instance partner event broker - FRD-005 FR-53
+ * Hands events straight to this instance's listeners. IDs start from the
+ * current time so they keep increasing across restarts.
+ */
+@Service
+@ConditionalOnProperty(name = "app.partner.events.broker", havingValue = "memory", matchIfMissing = true)
+public class InMemoryPartnerEventBroker implements PartnerEventBroker {
+
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final List<Consumer<Event>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(UUID partnerId, String type, Map<String, Object> data) {
+        Event event = new Event(sequence.incrementAndGet(), partnerId, type, data);
+        for (Consumer<Event> listener : listeners) {
+            listener.accept(event);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<Event> listener) {
+        listeners.add(listener);
+    }
+}
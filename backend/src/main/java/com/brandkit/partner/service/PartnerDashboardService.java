@@ -2,144 +2,252 @@ package com.brandkit.partner.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import com.brandkit.catalog.entity.Partner;
+import com.brandkit.admin.service.CommissionService;
 import com.brandkit.catalog.repository.PartnerRepository;
-import com.brandkit.order.entity.OrderPartnerAssignment;
 import com.brandkit.order.entity.PartnerOrderStatus;
+import com.brandkit.order.repository.OrderItemRepository;
 import com.brandkit.order.repository.OrderPartnerAssignmentRepository;
+import com.brandkit.order.repository.OrderPartnerAssignmentRepository.RecentAssignmentView;
 import com.brandkit.partner.dto.PartnerDashboardResponse;
 import com.brandkit.partner.dto.PartnerDashboardResponse.*;
 import com.brandkit.partner.entity.DiscountStatus;
 import com.brandkit.partner.entity.SettlementStatus;
 import com.brandkit.partner.repository.*;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.OffsetDateTime;
+import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Partner Dashboard Service - FRD-005 FR-52
  * Dashboard overview with key metrics
+ *
+ * The dashboard is built from six queries: assignment and discount counts grouped
+ * by status, the settlement earnings sum, the unread notification count, the recent
+ * assignments with their order joined in, and the items of those orders. The
+ * sections run in parallel on a small private pool (the caller runs them when it
+ * is busy), and the result is cached per partner for a short TTL. A partner's own
+ * order actions evict their entry once the transaction commits.
  */
 @Service
 public class PartnerDashboardService {
     private static final Logger log = LoggerFactory.getLogger(PartnerDashboardService.class);
 
+    private static final int RECENT_ORDERS = 10;
+
     @Autowired
     private PartnerRepository partnerRepository;
     @Autowired
     private OrderPartnerAssignmentRepository assignmentRepository;
     @Autowired
+    private OrderItemRepository orderItemRepository;
+    @Autowired
     private PartnerNotificationRepository notificationRepository;
     @Autowired
     private PartnerDiscountRepository discountRepository;
     @Autowired
     private SettlementRepository settlementRepository;
+    @Autowired
+    private CommissionService commissionService;
+
+    @Value("${app.partner.dashboard.threads:4}")
+    private int threads;
+
+    @Value("${app.partner.dashboard.cache-ttl:15s}")
+    private Duration cacheTtl;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final Map<UUID, CachedDashboard> dashboards = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    private record CachedDashboard(PartnerDashboardResponse response, long expiresAt) {
+    }
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 4),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "partner-dashboard-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
 
     /**
      * Get partner dashboard summary
      * FRD-005 FR-52: Partner Dashboard Home
      */
-    @Transactional(readOnly = true)
     public PartnerDashboardResponse getDashboard(UUID partnerId) {
-        log.debug("Getting dashboard for partner: {}", partnerId);
-
-        Partner partner = partnerRepository.findById(partnerId)
-                .orElseThrow(() -> new IllegalArgumentException("Partner not found"));
+        CachedDashboard cached = dashboards.get(partnerId);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return cached.response();
+        }
 
-        // Build summary cards
-        SummaryCards summary = buildSummaryCards(partnerId);
+        log.debug("Getting dashboard for partner: {}", partnerId);
 
-        // Get recent orders
-        List<RecentOrderDto> recentOrders = getRecentOrders(partnerId);
+        if (!partnerRepository.existsById(partnerId)) {
+            throw new IllegalArgumentException("Partner not found");
+        }
 
-        // Get alerts
-        List<AlertDto> alerts = buildAlerts(partnerId);
+        // Each section is one query (recent orders two) on its own connection
+        CompletableFuture<Map<PartnerOrderStatus, Long>> orderCounts =
+                CompletableFuture.supplyAsync(() -> countAssignments(partnerId), executor);
+        CompletableFuture<Map<DiscountStatus, Long>> discountCounts =
+                CompletableFuture.supplyAsync(() -> countDiscounts(partnerId), executor);
+        CompletableFuture<BigDecimal> earnings = CompletableFuture.supplyAsync(() ->
+                settlementRepository.sumPartnerEarningsByPartnerIdAndStatus(partnerId, SettlementStatus.COMPLETED),
+                executor);
+        CompletableFuture<Long> unread = CompletableFuture.supplyAsync(() ->
+                notificationRepository.countByPartnerIdAndIsReadFalse(partnerId), executor);
+        CompletableFuture<List<RecentOrderDto>> recentOrders =
+                CompletableFuture.supplyAsync(() -> getRecentOrders(partnerId), executor);
 
-        // Get discount summary
-        DiscountSummary discountStatus = buildDiscountSummary(partnerId);
+        PartnerDashboardResponse response;
+        try {
+            Map<PartnerOrderStatus, Long> orders = orderCounts.join();
+            Map<DiscountStatus, Long> discounts = discountCounts.join();
 
-        // Get unread notification count
-        long unreadNotifications = notificationRepository.countByPartnerIdAndIsReadFalse(partnerId);
+            response = PartnerDashboardResponse.builder()
+                    .summary(buildSummaryCards(orders, discounts, earnings.join()))
+                    .recentOrders(recentOrders.join())
+                    .alerts(buildAlerts(orders, discounts))
+                    .discountStatus(buildDiscountSummary(discounts))
+                    .unreadNotifications(unread.join())
+                    .build();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
 
-        return PartnerDashboardResponse.builder()
-                .summary(summary)
-                .recentOrders(recentOrders)
-                .alerts(alerts)
-                .discountStatus(discountStatus)
-                .unreadNotifications(unreadNotifications)
-                .build();
+        dashboards.put(partnerId, new CachedDashboard(response, System.currentTimeMillis() + cacheTtl.toMillis()));
+        return response;
     }
 
-    private SummaryCards buildSummaryCards(UUID partnerId) {
-        long pendingOrders = assignmentRepository.countByPartnerIdAndStatus(partnerId, PartnerOrderStatus.AWAITING_ACCEPTANCE);
-        long activeOrders = assignmentRepository.countByPartnerIdAndStatus(partnerId, PartnerOrderStatus.IN_PRODUCTION);
-        long readyToShip = assignmentRepository.countByPartnerIdAndStatus(partnerId, PartnerOrderStatus.READY_TO_SHIP);
+    /**
+     * Drop the cached dashboard once the current transaction commits (immediately if there is none)
+     */
+    public void evictAfterCommit(UUID partnerId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dashboards.remove(partnerId);
+                }
+            });
+        } else {
+            dashboards.remove(partnerId);
+        }
+    }
 
-        // Calculate this month's revenue from completed settlements
-        BigDecimal revenueThisMonth = settlementRepository.sumPartnerEarningsByPartnerIdAndStatus(
-                partnerId, SettlementStatus.COMPLETED);
-        if (revenueThisMonth == null) {
-            revenueThisMonth = BigDecimal.ZERO;
+    private Map<PartnerOrderStatus, Long> countAssignments(UUID partnerId) {
+        Map<PartnerOrderStatus, Long> counts = new EnumMap<>(PartnerOrderStatus.class);
+        for (Object[] row : assignmentRepository.countByPartnerIdGroupByStatus(partnerId)) {
+            counts.put((PartnerOrderStatus) row[0], ((Number) row[1]).longValue());
         }
+        return counts;
+    }
 
-        long activeDiscounts = discountRepository.countByPartnerIdAndStatus(partnerId, DiscountStatus.APPROVED);
+    private Map<DiscountStatus, Long> countDiscounts(UUID partnerId) {
+        Map<DiscountStatus, Long> counts = new EnumMap<>(DiscountStatus.class);
+        for (Object[] row : discountRepository.countByPartnerIdGroupByStatus(partnerId)) {
+            counts.put((DiscountStatus) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
 
+    private SummaryCards buildSummaryCards(Map<PartnerOrderStatus, Long> orders,
+                                           Map<DiscountStatus, Long> discounts,
+                                           BigDecimal revenueThisMonth) {
         return SummaryCards.builder()
-                .pendingOrders(pendingOrders)
-                .activeOrders(activeOrders)
-                .readyToShip(readyToShip)
-                .revenueThisMonth(revenueThisMonth)
-                .activeDiscounts(activeDiscounts)
+                .pendingOrders(orders.getOrDefault(PartnerOrderStatus.AWAITING_ACCEPTANCE, 0L))
+                .activeOrders(orders.getOrDefault(PartnerOrderStatus.IN_PRODUCTION, 0L))
+                .readyToShip(orders.getOrDefault(PartnerOrderStatus.READY_TO_SHIP, 0L))
+                .revenueThisMonth(revenueThisMonth != null ? revenueThisMonth : BigDecimal.ZERO)
+                .activeDiscounts(discounts.getOrDefault(DiscountStatus.APPROVED, 0L))
                 .build();
     }
 
     private List<RecentOrderDto> getRecentOrders(UUID partnerId) {
-        List<OrderPartnerAssignment> assignments = assignmentRepository
-                .findByPartnerIdOrderByCreatedAtDesc(partnerId, PageRequest.of(0, 10))
-                .getContent();
+        List<RecentAssignmentView> assignments = assignmentRepository
+                .findRecentByPartnerId(partnerId, PageRequest.of(0, RECENT_ORDERS));
+        if (assignments.isEmpty()) {
+            return List.of();
+        }
 
-        List<RecentOrderDto> recentOrders = new ArrayList<>();
-        for (OrderPartnerAssignment assignment : assignments) {
-            var order = assignment.getOrder();
-            String productName = order.getItems().isEmpty() ? "N/A" : order.getItems().get(0).getProductName();
-            int quantity = order.getTotalQuantity();
+        // First item name and total quantity per order, from one query over all of them
+        Map<UUID, String> productNames = new HashMap<>();
+        Map<UUID, Integer> quantities = new HashMap<>();
+        List<UUID> orderIds = assignments.stream().map(RecentAssignmentView::getOrderId).toList();
+        for (Object[] row : orderItemRepository.findQuantitiesByOrderIds(orderIds)) {
+            UUID orderId = (UUID) row[0];
+            productNames.putIfAbsent(orderId, (String) row[1]);
+            quantities.merge(orderId, (Integer) row[2], Integer::sum);
+        }
 
-            // Calculate partner earnings (simplified - actual calculation in commission service)
-            BigDecimal partnerEarnings = order.getSubtotal()
-                    .multiply(BigDecimal.ONE.subtract(assignment.getPartner().getCommissionRate().divide(new BigDecimal(100))));
+        List<RecentOrderDto> recentOrders = new ArrayList<>();
+        for (RecentAssignmentView assignment : assignments) {
+            BigDecimal commissionRate = commissionService.resolveCommissionRate(
+                    assignment.getSubtotal(), assignment.getCommissionRate());
+            BigDecimal partnerEarnings = assignment.getSubtotal().subtract(assignment.getSubtotal()
+                    .multiply(commissionRate).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP));
 
             recentOrders.add(RecentOrderDto.builder()
-                    .orderId(order.getId().toString())
-                    .orderNumber(order.getOrderNumber())
-                    .productName(productName)
-                    .quantity(quantity)
+                    .orderId(assignment.getOrderId().toString())
+                    .orderNumber(assignment.getOrderNumber())
+                    .productName(productNames.getOrDefault(assignment.getOrderId(), "N/A"))
+                    .quantity(quantities.getOrDefault(assignment.getOrderId(), 0))
                     .status(assignment.getStatus().name())
-                    .orderDate(order.getCreatedAt().format(DATE_FORMATTER))
-                    .expectedShipDate(order.getEstimatedDeliveryStart() != null ?
-                            order.getEstimatedDeliveryStart().format(DATE_FORMATTER) : null)
+                    .orderDate(assignment.getOrderCreatedAt().format(DATE_FORMATTER))
+                    .expectedShipDate(assignment.getEstimatedDeliveryStart() != null ?
+                            assignment.getEstimatedDeliveryStart().format(DATE_FORMATTER) : null)
                     .partnerEarnings(partnerEarnings)
                     .build());
         }
         return recentOrders;
     }
 
-    private List<AlertDto> buildAlerts(UUID partnerId) {
+    private List<AlertDto> buildAlerts(Map<PartnerOrderStatus, Long> orders, Map<DiscountStatus, Long> discounts) {
         List<AlertDto> alerts = new ArrayList<>();
 
         // Alert for pending orders
-        long pendingCount = assignmentRepository.countByPartnerIdAndStatus(partnerId, PartnerOrderStatus.AWAITING_ACCEPTANCE);
+        long pendingCount = orders.getOrDefault(PartnerOrderStatus.AWAITING_ACCEPTANCE, 0L);
         if (pendingCount > 0) {
             alerts.add(AlertDto.builder()
                     .type("ORDER_PENDING")
@@ -150,7 +258,7 @@ public class PartnerDashboardService {
         }
 
         // Alert for orders ready to ship
-        long readyToShipCount = assignmentRepository.countByPartnerIdAndStatus(partnerId, PartnerOrderStatus.READY_TO_SHIP);
+        long readyToShipCount = orders.getOrDefault(PartnerOrderStatus.READY_TO_SHIP, 0L);
         if (readyToShipCount > 0) {
             alerts.add(AlertDto.builder()
                     .type("READY_TO_SHIP")
@@ -161,7 +269,7 @@ public class PartnerDashboardService {
         }
 
         // Alert for pending discounts
-        long pendingDiscounts = discountRepository.countByPartnerIdAndStatus(partnerId, DiscountStatus.PENDING);
+        long pendingDiscounts = discounts.getOrDefault(DiscountStatus.PENDING, 0L);
         if (pendingDiscounts > 0) {
             alerts.add(AlertDto.builder()
                     .type("DISCOUNT_PENDING")
@@ -174,15 +282,11 @@ public class PartnerDashboardService {
         return alerts;
     }
 
-    private DiscountSummary buildDiscountSummary(UUID partnerId) {
-        long active = discountRepository.countByPartnerIdAndStatus(partnerId, DiscountStatus.APPROVED);
-        long pending = discountRepository.countByPartnerIdAndStatus(partnerId, DiscountStatus.PENDING);
-        long disabled = discountRepository.countByPartnerIdAndStatus(partnerId, DiscountStatus.DISABLED);
-
+    private DiscountSummary buildDiscountSummary(Map<DiscountStatus, Long> discounts) {
         return DiscountSummary.builder()
-                .active(active)
-                .pending(pending)
-                .disabled(disabled)
+                .active(discounts.getOrDefault(DiscountStatus.APPROVED, 0L))
+                .pending(discounts.getOrDefault(DiscountStatus.PENDING, 0L))
+                .disabled(discounts.getOrDefault(DiscountStatus.DISABLED, 0L))
                 .build();
     }
 }
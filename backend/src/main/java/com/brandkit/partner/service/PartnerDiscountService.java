@@ -2,7 +2,9 @@ package com.brandkit.partner.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.brandkit.admin.service.CommissionService;
 import com.brandkit.auth.entity.User;
+import com.brandkit.auth.repository.UserRepository;
 import com.brandkit.catalog.entity.Partner;
 import com.brandkit.catalog.entity.Product;
 import com.brandkit.catalog.repository.PartnerRepository;
@@ -46,11 +48,15 @@ public class PartnerDiscountService {
     @Autowired
     private PartnerRepository partnerRepository;
     @Autowired
+    private UserRepository userRepository;
+    @Autowired
     private ProductRepository productRepository;
     @Autowired
     private PlatformSettingRepository settingRepository;
     @Autowired
     private PartnerNotificationService notificationService;
+    @Autowired
+    private CommissionService commissionService;
 
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
@@ -90,10 +96,11 @@ public class PartnerDiscountService {
      * FRD-005 FR-64b: Define Discount
      */
     @Transactional
-    public ProductDiscountDto createOrUpdateDiscount(UUID partnerId, DiscountRequest request, User user) {
+    public ProductDiscountDto createOrUpdateDiscount(UUID partnerId, DiscountRequest request, UUID userId) {
         log.info("Partner {} creating/updating discount for product {}: {}%",
                 partnerId, request.getProductId(), request.getDiscountPercentage());
 
+        User user = userRepository.getReferenceById(userId);
         Partner partner = partnerRepository.findById(partnerId)
                 .orElseThrow(() -> new PartnerException("Partner not found"));
 
@@ -144,7 +151,8 @@ public class PartnerDiscountService {
      * Delete discount
      */
     @Transactional
-    public void deleteDiscount(UUID partnerId, UUID discountId, User user) {
+    public void deleteDiscount(UUID partnerId, UUID discountId, UUID userId) {
+        User user = userRepository.getReferenceById(userId);
         PartnerDiscount discount = discountRepository.findById(discountId)
                 .orElseThrow(() -> new PartnerException("Discount not found"));
 
@@ -270,7 +278,7 @@ public class PartnerDiscountService {
                 BigDecimal.ONE.subtract(discountPercentage.divide(new BigDecimal(100), 4, RoundingMode.HALF_UP)));
 
         // Calculate earnings impact
-        BigDecimal commissionRate = partner.getCommissionRate();
+        BigDecimal commissionRate = commissionService.resolveCommissionRate(basePrice, partner.getCommissionRate());
         BigDecimal originalEarnings = basePrice.multiply(
                 BigDecimal.ONE.subtract(commissionRate.divide(new BigDecimal(100), 4, RoundingMode.HALF_UP)));
         BigDecimal discountedEarnings = discountedPrice.multiply(
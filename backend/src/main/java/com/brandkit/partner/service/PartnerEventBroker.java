@@ -0,0 +1,37 @@
+package com.brandkit.partner.service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Carries partner push events between application instances - FRD-005 FR-53
+ *
+ * Every instance publishes the events it produces and receives the events of
+ * all instances, so a partner connected to any instance sees them. The broker
+ * assigns event IDs, which increase in publishing order and are what the
+ * Last-Event-ID header of a reconnecting client refers to.
+ * Selected with app.partner.events.broker (memory by default, or redis).
+ */
+public interface PartnerEventBroker {
+
+    /**
+     * Partner push event
+     *
+     * @param id      Broker-assigned, increasing
+     * @param type    SSE event name, e.g. notification, order.assigned
+     * @param data    JSON-serializable payload
+     */
+    record Event(long id, UUID partnerId, String type, Map<String, Object> data) {
+    }
+
+    /**
+     * Publish an event to every instance
+     */
+    void publish(UUID partnerId, String type, Map<String, Object> data);
+
+    /**
+     * Receive every published event
+     */
+    void subscribe(Consumer<Event> listener);
+}
@@ -0,0 +1,349 @@
+package com.brandkit.partner.service;
+
+import com.brandkit.partner.service.PartnerEventBroker.Event;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Partner push channel over server-sent events - FRD-005 FR-53
+ *
+ * Replaces polling of the order list and unread count: new notifications and
+ * assignment changes are pushed to each partner's open connections. Connections
+ * are async servlet responses (SseEmitter), so an idle one holds no thread.
+ *
+ * Events are published after the producing transaction commits and go through
+ * the PartnerEventBroker, so partners connected to other instances get them too.
+ * Each instance keeps the last app.partner.events.replay-size events per partner
+ * for app.partner.events.replay-window; a client reconnecting with Last-Event-ID
+ * is sent what it missed from there. Sends happen on a small dispatch pool; each
+ * connection has its own queue (app.partner.events.subscriber-queue-size) drained by
+ * one task at a time, so a connection gets its events in the order they arrived and
+ * a connection that cannot keep up is closed (the client resumes with Last-Event-ID).
+ * A heartbeat comment keeps connections open through proxies and weeds out dead ones.
+ */
+@Service
+public class PartnerEventService {
+    private static final Logger log = LoggerFactory.getLogger(PartnerEventService.class);
+
+    @Autowired
+    private PartnerEventBroker broker;
+
+    @Value("${app.partner.events.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${app.partner.events.replay-size:100}")
+    private int replaySize;
+
+    @Value("${app.partner.events.replay-window:10m}")
+    private Duration replayWindow;
+
+    @Value("${app.partner.events.threads:2}")
+    private int threads;
+
+    @Value("${app.partner.events.subscriber-queue-size:1000}")
+    private int subscriberQueueSize;
+
+    private ThreadPoolExecutor executor;
+
+    /**
+     * Open connections per partner
+     */
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * Recent events per partner, oldest first, for Last-Event-ID resume
+     */
+    private final Map<UUID, Deque<ReplayEntry>> recentEvents = new ConcurrentHashMap<>();
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong overflowed = new AtomicLong();
+
+    private record ReplayEntry(Event event, long receivedAt) {
+    }
+
+    /**
+     * One open connection. Events are queued and sent by one drain task at a time, in
+     * arrival order; the IDs of recently sent events are remembered, so an event
+     * arriving both live and in the replay is sent once.
+     */
+    private final class Subscriber {
+        private final UUID partnerId;
+        private final SseEmitter emitter;
+        private final Deque<Event> queue = new ArrayDeque<>();
+        private final Object sendLock = new Object();
+        private boolean draining;
+
+        /**
+         * IDs already sent, oldest first; only touched by the drain task holding the queue
+         */
+        private final Set<Long> sentIds = new LinkedHashSet<>();
+
+        Subscriber(UUID partnerId, SseEmitter emitter, Long lastEventId) {
+            this.partnerId = partnerId;
+            this.emitter = emitter;
+            if (lastEventId != null) {
+                // The client already has this one
+                sentIds.add(lastEventId);
+            }
+        }
+
+        void enqueue(Event event) {
+            synchronized (this) {
+                if (queue.size() >= subscriberQueueSize) {
+                    queue.clear();
+                    overflowed.incrementAndGet();
+                    removeSubscriber(partnerId, this);
+                    emitter.complete();
+                    return;
+                }
+                queue.addLast(event);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            executor.execute(this::drain);
+        }
+
+        void heartbeat() throws IOException {
+            synchronized (sendLock) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Event event;
+                synchronized (this) {
+                    event = queue.pollFirst();
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                if (!sentIds.add(event.id())) {
+                    continue;
+                }
+                if (sentIds.size() > replaySize * 2) {
+                    Iterator<Long> oldest = sentIds.iterator();
+                    oldest.next();
+                    oldest.remove();
+                }
+
+                try {
+                    synchronized (sendLock) {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(event.id()))
+                                .name(event.type())
+                                .data(event.data(), MediaType.APPLICATION_JSON));
+                    }
+                    delivered.incrementAndGet();
+                } catch (IOException | IllegalStateException e) {
+                    dropped.incrementAndGet();
+                    removeSubscriber(partnerId, this);
+                    synchronized (this) {
+                        queue.clear();
+                        draining = false;
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1000),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "partner-events-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        broker.subscribe(this::deliver);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+        subscribers.values().forEach(partnerSubscribers ->
+                partnerSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    /**
+     * Open a push connection for a partner, replaying what it missed after lastEventId
+     */
+    public SseEmitter subscribe(UUID partnerId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(partnerId, emitter, lastEventId);
+
+        Set<Subscriber> partnerSubscribers = subscribers.computeIfAbsent(partnerId, id -> ConcurrentHashMap.newKeySet());
+        partnerSubscribers.add(subscriber);
+        Runnable remove = () -> removeSubscriber(partnerId, subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+
+        if (lastEventId != null) {
+            for (Event event : eventsAfter(partnerId, lastEventId)) {
+                subscriber.enqueue(event);
+                replayed.incrementAndGet();
+            }
+        }
+        return emitter;
+    }
+
+    /**
+     * Push an event to a partner once the current transaction commits
+     * (immediately if there is none)
+     */
+    public void publish(UUID partnerId, String type, Map<String, Object> data) {
+        if (partnerId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishNow(partnerId, type, data);
+                }
+            });
+        } else {
+            publishNow(partnerId, type, data);
+        }
+    }
+
+    /**
+     * Keep connections alive and drop expired replay entries
+     */
+    @Scheduled(fixedDelayString = "${app.partner.events.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        subscribers.forEach((partnerId, partnerSubscribers) -> {
+            for (Subscriber subscriber : partnerSubscribers) {
+                executor.execute(() -> {
+                    try {
+                        subscriber.heartbeat();
+                    } catch (IOException | IllegalStateException e) {
+                        removeSubscriber(partnerId, subscriber);
+                    }
+                });
+            }
+        });
+
+        long cutoff = System.currentTimeMillis() - replayWindow.toMillis();
+        recentEvents.forEach((partnerId, events) -> {
+            synchronized (events) {
+                while (!events.isEmpty() && events.peekFirst().receivedAt() < cutoff) {
+                    events.pollFirst();
+                }
+            }
+        });
+        recentEvents.entrySet().removeIf(entry -> entry.getValue().isEmpty());
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("broker", broker.getClass().getSimpleName());
+        stats.put("partnersConnected", subscribers.size());
+        stats.put("connections", subscribers.values().stream().mapToInt(Set::size).sum());
+        stats.put("published", published.get());
+        stats.put("delivered", delivered.get());
+        stats.put("replayed", replayed.get());
+        stats.put("dropped", dropped.get());
+        stats.put("overflowed", overflowed.get());
+        stats.put("dispatchQueue", executor.getQueue().size());
+        return stats;
+    }
+
+    // ==================== Helper Methods ====================
+
+    private void publishNow(UUID partnerId, String type, Map<String, Object> data) {
+        try {
+            broker.publish(partnerId, type, data);
+            published.incrementAndGet();
+        } catch (RuntimeException e) {
+            // Clients still see the change on their next list refresh
+            log.warn("Could not publish {} event for partner {}", type, partnerId, e);
+        }
+    }
+
+    /**
+     * Broker listener: remember the event and send it to this instance's connections
+     */
+    private void deliver(Event event) {
+        Deque<ReplayEntry> events = recentEvents.computeIfAbsent(event.partnerId(), id -> new ArrayDeque<>());
+        synchronized (events) {
+            events.addLast(new ReplayEntry(event, System.currentTimeMillis()));
+            while (events.size() > replaySize) {
+                events.pollFirst();
+            }
+        }
+
+        Set<Subscriber> partnerSubscribers = subscribers.get(event.partnerId());
+        if (partnerSubscribers == null || partnerSubscribers.isEmpty()) {
+            return;
+        }
+        for (Subscriber subscriber : partnerSubscribers) {
+            subscriber.enqueue(event);
+        }
+    }
+
+    private List<Event> eventsAfter(UUID partnerId, long lastEventId) {
+        Deque<ReplayEntry> events = recentEvents.get(partnerId);
+        List<Event> missed = new ArrayList<>();
+        if (events != null) {
+            synchronized (events) {
+                for (ReplayEntry entry : events) {
+                    if (entry.event().id() > lastEventId) {
+                        missed.add(entry.event());
+                    }
+                }
+            }
+        }
+        return missed;
+    }
+
+    private void removeSubscriber(UUID partnerId, Subscriber subscriber) {
+        subscribers.computeIfPresent(partnerId, (id, partnerSubscribers) -> {
+            partnerSubscribers.remove(subscriber);
+            return partnerSubscribers.isEmpty() ? null : partnerSubscribers;
+        });
+    }
+}
@@ -0,0 +1,275 @@
+package com.brandkit.partner.service;
+
+import com.brandkit.order.entity.PartnerOrderStatus;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Incremental partner performance counters - FRD-005 FR-63
+ *
+ * AssignmentMetricsListener reports the difference every assignment insert,
+ * status change and delete makes to its partner's counters once the change
+ * commits. Differences are summed per partner in memory and flushed every
+ * app.partner.performance.flush-interval-ms as a single UPDATE over all partners
+ * touched, which also refreshes the derived rates; partners without a metrics
+ * row yet get a full recalculation instead. Deltas still pending when the
+ * process dies are lost, and a full recalculation racing a flush can count a
+ * change twice: the nightly recalculation (PartnerPerformanceBatchService)
+ * repairs both and reports the drift it found.
+ */
+@Service
+public class PartnerMetricsAccumulator {
+    private static final Logger log = LoggerFactory.getLogger(PartnerMetricsAccumulator.class);
+
+    private static final Set<PartnerOrderStatus> ACCEPTED = Set.of(
+            PartnerOrderStatus.ACCEPTED, PartnerOrderStatus.IN_PRODUCTION, PartnerOrderStatus.READY_TO_SHIP,
+            PartnerOrderStatus.SHIPPED, PartnerOrderStatus.DELIVERED);
+    private static final Set<PartnerOrderStatus> SHIPPED = Set.of(
+            PartnerOrderStatus.SHIPPED, PartnerOrderStatus.DELIVERED);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private PartnerPerformanceService performanceService;
+
+    @Value("${app.partner.performance.flush-chunk-size:500}")
+    private int flushChunkSize;
+
+    private final Map<UUID, Delta> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong partnersFlushed = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile OffsetDateTime lastFlushAt;
+
+    /**
+     * Counter changes for one partner, in the same terms as the metrics table
+     * (shipped = total_orders_fulfilled; lead time over delivered orders)
+     */
+    public record Delta(int assigned, int accepted, int rejected, int shipped, int delivered,
+                        long leadTimeSeconds, int leadTimeOrders) {
+
+        static final Delta ZERO = new Delta(0, 0, 0, 0, 0, 0, 0);
+
+        /**
+         * What one assignment in the given status adds to its partner's counters
+         */
+        public static Delta of(PartnerOrderStatus status, OffsetDateTime acceptedAt, OffsetDateTime shippedAt) {
+            if (status == null) {
+                return ZERO;
+            }
+            boolean leadTime = status == PartnerOrderStatus.DELIVERED && acceptedAt != null && shippedAt != null;
+            return new Delta(
+                    1,
+                    ACCEPTED.contains(status) ? 1 : 0,
+                    status == PartnerOrderStatus.REJECTED ? 1 : 0,
+                    SHIPPED.contains(status) ? 1 : 0,
+                    status == PartnerOrderStatus.DELIVERED ? 1 : 0,
+                    leadTime ? Duration.between(acceptedAt, shippedAt).getSeconds() : 0,
+                    leadTime ? 1 : 0);
+        }
+
+        public Delta plus(Delta other) {
+            return new Delta(assigned + other.assigned, accepted + other.accepted, rejected + other.rejected,
+                    shipped + other.shipped, delivered + other.delivered,
+                    leadTimeSeconds + other.leadTimeSeconds, leadTimeOrders + other.leadTimeOrders);
+        }
+
+        public Delta negate() {
+            return new Delta(-assigned, -accepted, -rejected, -shipped, -delivered,
+                    -leadTimeSeconds, -leadTimeOrders);
+        }
+
+        public boolean isZero() {
+            return equals(ZERO);
+        }
+    }
+
+    /**
+     * Add a partner's counter change once the current transaction commits (immediately if there is none)
+     */
+    public void record(UUID partnerId, Delta delta) {
+        if (partnerId == null || delta.isZero()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(partnerId, delta);
+                }
+            });
+        } else {
+            add(partnerId, delta);
+        }
+    }
+
+    /**
+     * Drop pending changes for partners about to be recalculated from scratch
+     */
+    public void discardPending(Collection<UUID> partnerIds) {
+        partnerIds.forEach(pending::remove);
+    }
+
+    /**
+     * Write all pending changes
+     *
+     * @return Number of partners updated
+     */
+    @Scheduled(fixedDelayString = "${app.partner.performance.flush-interval-ms:5000}")
+    public synchronized int flush() {
+        Map<UUID, Delta> drained = new HashMap<>();
+        for (UUID partnerId : pending.keySet()) {
+            Delta delta = pending.remove(partnerId);
+            if (delta != null && !delta.isZero()) {
+                drained.put(partnerId, delta);
+            }
+        }
+        if (drained.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> apply(drained));
+            flushes.incrementAndGet();
+            partnersFlushed.addAndGet(drained.size());
+            lastFlushAt = OffsetDateTime.now();
+            return drained.size();
+        } catch (RuntimeException e) {
+            // Nothing was written; put the changes back for the next flush
+            drained.forEach(this::add);
+            failures.incrementAndGet();
+            log.error("Flushing performance counters for {} partners failed", drained.size(), e);
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("pendingPartners", pending.size());
+        stats.put("recorded", recorded.get());
+        stats.put("flushes", flushes.get());
+        stats.put("partnersFlushed", partnersFlushed.get());
+        stats.put("failures", failures.get());
+        stats.put("lastFlushAt", lastFlushAt != null ? lastFlushAt.toString() : null);
+        return stats;
+    }
+
+    // ==================== Helper Methods ====================
+
+    private void add(UUID partnerId, Delta delta) {
+        pending.merge(partnerId, delta, Delta::plus);
+        recorded.incrementAndGet();
+    }
+
+    private void apply(Map<UUID, Delta> deltas) {
+        List<UUID> partnerIds = new ArrayList<>(deltas.keySet());
+        Set<UUID> updated = new HashSet<>();
+        List<UUID> alerts = new ArrayList<>();
+
+        for (int from = 0; from < partnerIds.size(); from += flushChunkSize) {
+            List<UUID> chunk = partnerIds.subList(from, Math.min(from + flushChunkSize, partnerIds.size()));
+            for (Object row : applyChunk(chunk, deltas)) {
+                Object[] columns = (Object[]) row;
+                updated.add((UUID) columns[0]);
+                if (Boolean.TRUE.equals(columns[1])) {
+                    alerts.add((UUID) columns[0]);
+                }
+            }
+        }
+
+        // No metrics row yet: compute the partner from scratch, which includes these changes
+        List<UUID> missing = partnerIds.stream().filter(id -> !updated.contains(id)).toList();
+        if (!missing.isEmpty()) {
+            performanceService.recalculateMetrics(missing);
+        }
+        performanceService.sendPerformanceAlerts(alerts);
+    }
+
+    /**
+     * One UPDATE for the chunk; the self-join exposes the rate before the update
+     * so partners whose rate just dropped below the threshold can be alerted once
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object> applyChunk(List<UUID> partnerIds, Map<UUID, Delta> deltas) {
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < partnerIds.size(); i++) {
+            if (i > 0) {
+                values.append(", ");
+            }
+            values.append("(CAST(:partner").append(i).append(" AS UUID), :assigned").append(i)
+                    .append(", :accepted").append(i).append(", :rejected").append(i)
+                    .append(", :shipped").append(i).append(", :delivered").append(i)
+                    .append(", :leadSeconds").append(i).append(", :leadOrders").append(i).append(")");
+        }
+
+        Query query = entityManager.createNativeQuery(
+                "UPDATE partner_performance_metrics m SET " +
+                "total_orders_assigned = m.total_orders_assigned + d.assigned, " +
+                "total_orders_accepted = m.total_orders_accepted + d.accepted, " +
+                "total_orders_rejected = m.total_orders_rejected + d.rejected, " +
+                "total_orders_fulfilled = m.total_orders_fulfilled + d.shipped, " +
+                "total_orders_delivered = m.total_orders_delivered + d.delivered, " +
+                "lead_time_seconds = m.lead_time_seconds + d.lead_seconds, " +
+                "lead_time_orders = m.lead_time_orders + d.lead_orders, " +
+                "fulfillment_rate = CASE WHEN m.total_orders_assigned + d.assigned > 0 " +
+                "    THEN ROUND((m.total_orders_accepted + d.accepted) * 100.0 / (m.total_orders_assigned + d.assigned), 2) ELSE 0 END, " +
+                "delivery_success_rate = CASE WHEN m.total_orders_fulfilled + d.shipped > 0 " +
+                "    THEN ROUND((m.total_orders_delivered + d.delivered) * 100.0 / (m.total_orders_fulfilled + d.shipped), 2) ELSE 0 END, " +
+                "average_lead_time_days = CASE WHEN m.lead_time_orders + d.lead_orders > 0 " +
+                "    THEN ROUND((m.lead_time_seconds + d.lead_seconds) / 86400.0 / (m.lead_time_orders + d.lead_orders), 2) ELSE 0 END " +
+                "FROM (VALUES " + values + ") AS d(partner_id, assigned, accepted, rejected, shipped, delivered, lead_seconds, lead_orders) " +
+                "JOIN partner_performance_metrics prev ON prev.partner_id = d.partner_id " +
+                "WHERE m.id = prev.id " +
+                "RETURNING m.partner_id, (m.total_orders_assigned > 0 AND m.fulfillment_rate < :threshold " +
+                "    AND (prev.total_orders_assigned = 0 OR prev.fulfillment_rate >= :threshold))");
+
+        for (int i = 0; i < partnerIds.size(); i++) {
+            Delta delta = deltas.get(partnerIds.get(i));
+            query.setParameter("partner" + i, partnerIds.get(i));
+            query.setParameter("assigned" + i, delta.assigned());
+            query.setParameter("accepted" + i, delta.accepted());
+            query.setParameter("rejected" + i, delta.rejected());
+            query.setParameter("shipped" + i, delta.shipped());
+            query.setParameter("delivered" + i, delta.delivered());
+            query.setParameter("leadSeconds" + i, delta.leadTimeSeconds());
+            query.setParameter("leadOrders" + i, delta.leadTimeOrders());
+        }
+        query.setParameter("threshold", performanceService.getFulfillmentThreshold());
+        return query.getResultList();
+    }
+}
@@ -9,19 +9,26 @@ import com.brandkit.partner.dto.NotificationResponse.NotificationDto;
 import com.brandkit.partner.entity.NotificationType;
 import com.brandkit.partner.entity.PartnerNotification;
 import com.brandkit.partner.repository.PartnerNotificationRepository;
+import com.brandkit.partner.service.PartnerNotificationWriter.PendingNotification;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.format.DateTimeFormatter;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
 /**
  * Partner Notification Service - FRD-005 FR-53
- * In-app notifications for partners
+ * In-app notifications for partners. New notifications are written in batches by
+ * PartnerNotificationWriter after the raising transaction commits (outbox-raised
+ * ones in the handler's own transaction); unread counts come from
+ * PartnerUnreadCountCache.
  */
 @Service
 public class PartnerNotificationService {
@@ -29,6 +36,12 @@ public class PartnerNotificationService {
 
     @Autowired
     private PartnerNotificationRepository notificationRepository;
+    @Autowired
+    private PartnerNotificationWriter notificationWriter;
+    @Autowired
+    private PartnerUnreadCountCache unreadCounts;
+    @Autowired
+    private PartnerEventService eventService;
 
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
@@ -40,7 +53,7 @@ public class PartnerNotificationService {
         Page<PartnerNotification> notifications = notificationRepository
                 .findByPartnerIdOrderByCreatedAtDesc(partnerId, PageRequest.of(page, size));
 
-        long unreadCount = notificationRepository.countByPartnerIdAndIsReadFalse(partnerId);
+        long unreadCount = unreadCounts.get(partnerId);
 
         List<NotificationDto> dtos = notifications.getContent().stream()
                 .map(this::mapToDto)
@@ -59,9 +72,8 @@ public class PartnerNotificationService {
     /**
      * Get unread notification count
      */
-    @Transactional(readOnly = true)
     public long getUnreadCount(UUID partnerId) {
-        return notificationRepository.countByPartnerIdAndIsReadFalse(partnerId);
+        return unreadCounts.get(partnerId);
     }
 
     /**
@@ -69,15 +81,11 @@ public class PartnerNotificationService {
      */
     @Transactional
     public void markAsRead(UUID partnerId, UUID notificationId) {
-        PartnerNotification notification = notificationRepository.findById(notificationId)
-                .orElseThrow(() -> new IllegalArgumentException("Notification not found"));
-
-        if (!notification.getPartner().getId().equals(partnerId)) {
-            throw new IllegalArgumentException("Access denied");
+        if (notificationRepository.markAsRead(notificationId, partnerId, OffsetDateTime.now()) == 1) {
+            unreadCounts.decrementAfterCommit(partnerId);
+        } else if (!notificationRepository.existsByIdAndPartnerId(notificationId, partnerId)) {
+            throw new IllegalArgumentException("Notification not found");
         }
-
-        notification.markAsRead();
-        notificationRepository.save(notification);
     }
 
     /**
@@ -85,25 +93,49 @@ public class PartnerNotificationService {
      */
     @Transactional
     public int markAllAsRead(UUID partnerId) {
-        return notificationRepository.markAllAsReadByPartnerId(partnerId);
+        int updated = notificationRepository.markAllAsReadByPartnerId(partnerId);
+        unreadCounts.resetAfterCommit(partnerId);
+        return updated;
+    }
+
+    /**
+     * Send a notification to every active partner (platform announcement)
+     * One INSERT ... SELECT, however many partners there are; connected partners get
+     * it pushed once the insert commits
+     */
+    @Transactional
+    public int broadcast(String title, String message) {
+        List<Object[]> inserted = notificationRepository.insertForActivePartners(
+                NotificationType.SYSTEM.name(), title, message, OffsetDateTime.now());
+        unreadCounts.evictAllAfterCommit();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (Object[] row : inserted) {
+                    UUID partnerId = (UUID) row[1];
+                    eventService.publish(partnerId, "notification", PartnerNotificationWriter.toEvent((UUID) row[0],
+                            new PendingNotification(partnerId, NotificationType.SYSTEM, title, message, null)));
+                }
+            }
+        });
+        log.info("Broadcast notification '{}' to {} partners", title, inserted.size());
+        return inserted.size();
     }
 
     /**
      * Create new order notification
+     * Raised from the outbox relay: written in the handler's transaction, so the event
+     * is only marked done once the notification is stored
      */
     @Transactional
     public void createNewOrderNotification(Partner partner, Order order) {
         String productName = order.getItems().isEmpty() ? "N/A" : order.getItems().get(0).getProductName();
 
-        PartnerNotification notification = PartnerNotification.builder()
-                .partner(partner)
-                .notificationType(NotificationType.NEW_ORDER)
-                .title("New Order Assigned")
-                .message("New order " + order.getOrderNumber() + " for " + productName + " (" + order.getTotalQuantity() + " units)")
-                .order(order)
-                .build();
-
-        notificationRepository.save(notification);
+        notificationWriter.writeNow(new PendingNotification(partner.getId(),
+                NotificationType.NEW_ORDER,
+                "New Order Assigned",
+                "New order " + order.getOrderNumber() + " for " + productName + " (" + order.getTotalQuantity() + " units)",
+                order.getId()));
         log.info("Created new order notification for partner {}: order {}", partner.getId(), order.getOrderNumber());
     }
 
@@ -112,15 +144,11 @@ public class PartnerNotificationService {
      */
     @Transactional
     public void createStatusUpdateNotification(Partner partner, Order order, String status) {
-        PartnerNotification notification = PartnerNotification.builder()
-                .partner(partner)
-                .notificationType(NotificationType.STATUS_UPDATE)
-                .title("Order Status Updated")
-                .message("Order " + order.getOrderNumber() + " status updated to: " + status)
-                .order(order)
-                .build();
-
-        notificationRepository.save(notification);
+        notificationWriter.enqueue(new PendingNotification(partner.getId(),
+                NotificationType.STATUS_UPDATE,
+                "Order Status Updated",
+                "Order " + order.getOrderNumber() + " status updated to: " + status,
+                order.getId()));
     }
 
     /**
@@ -128,14 +156,11 @@ public class PartnerNotificationService {
      */
     @Transactional
     public void createSettlementNotification(Partner partner, String settlementNumber, String amount) {
-        PartnerNotification notification = PartnerNotification.builder()
-                .partner(partner)
-                .notificationType(NotificationType.SETTLEMENT_PROCESSED)
-                .title("Settlement Processed")
-                .message("Settlement " + settlementNumber + " for ₹" + amount + " has been processed")
-                .build();
-
-        notificationRepository.save(notification);
+        notificationWriter.enqueue(new PendingNotification(partner.getId(),
+                NotificationType.SETTLEMENT_PROCESSED,
+                "Settlement Processed",
+                "Settlement " + settlementNumber + " for ₹" + amount + " has been processed",
+                null));
     }
 
     /**
@@ -149,14 +174,7 @@ public class PartnerNotificationService {
                 "Your discount for " + productName + " has been approved and is now active" :
                 "Your discount for " + productName + " has been disabled by admin";
 
-        PartnerNotification notification = PartnerNotification.builder()
-                .partner(partner)
-                .notificationType(type)
-                .title(title)
-                .message(message)
-                .build();
-
-        notificationRepository.save(notification);
+        notificationWriter.enqueue(new PendingNotification(partner.getId(), type, title, message, null));
     }
 
     /**
@@ -164,14 +182,8 @@ public class PartnerNotificationService {
      */
     @Transactional
     public void createPerformanceAlertNotification(Partner partner, String message) {
-        PartnerNotification notification = PartnerNotification.builder()
-                .partner(partner)
-                .notificationType(NotificationType.PERFORMANCE_ALERT)
-                .title("Performance Alert")
-                .message(message)
-                .build();
-
-        notificationRepository.save(notification);
+        notificationWriter.enqueue(new PendingNotification(partner.getId(),
+                NotificationType.PERFORMANCE_ALERT, "Performance Alert", message, null));
     }
 
     private NotificationDto mapToDto(PartnerNotification notification) {
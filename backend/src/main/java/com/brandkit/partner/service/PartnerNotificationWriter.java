@@ -0,0 +1,249 @@
+package com.brandkit.partner.service;
+
+import com.brandkit.catalog.repository.PartnerRepository;
+import com.brandkit.order.repository.OrderRepository;
+import com.brandkit.partner.entity.NotificationType;
+import com.brandkit.partner.entity.PartnerNotification;
+import com.brandkit.partner.repository.PartnerNotificationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buffered partner notification writer - FRD-005 FR-53
+ *
+ * Notifications are queued once the transaction that raised them commits and a
+ * single background thread inserts whatever has queued up in one transaction, so
+ * Hibernate sends them as JDBC batches instead of one insert per business action.
+ * After each batch commits the unread counts are bumped and the notifications are
+ * pushed to connected partners. When the queue is full the caller writes its own
+ * notification, which slows producers down rather than dropping anything. If a
+ * batch fails, its notifications are retried one by one so a single bad row does
+ * not take the others with it.
+ *
+ * Queued notifications are lost if the process dies before they are written. Callers
+ * that must not lose one (outbox handlers, which are retried until they succeed) use
+ * writeNow instead, which inserts in the caller's transaction.
+ */
+@Service
+public class PartnerNotificationWriter {
+    private static final Logger log = LoggerFactory.getLogger(PartnerNotificationWriter.class);
+
+    @Autowired
+    private PartnerNotificationRepository notificationRepository;
+    @Autowired
+    private PartnerRepository partnerRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private PartnerUnreadCountCache unreadCounts;
+    @Autowired
+    private PartnerEventService eventService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.partner.notifications.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.partner.notifications.batch-size:200}")
+    private int batchSize;
+
+    private BlockingQueue<PendingNotification> queue;
+    private TransactionTemplate transactionTemplate;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong callerWrites = new AtomicLong();
+    private final AtomicLong rowRetries = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    /**
+     * A notification waiting to be written
+     */
+    public record PendingNotification(UUID partnerId, NotificationType type, String title, String message,
+                                      UUID orderId) {
+    }
+
+    @PostConstruct
+    void init() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // The caller-writes fallback runs in afterCommit, where the raising transaction is still bound
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        running = true;
+        writerThread = new Thread(this::drainLoop, "partner-notification-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        writerThread.interrupt();
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        List<PendingNotification> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            write(remaining);
+        }
+    }
+
+    /**
+     * Queue a notification once the current transaction commits (immediately if there is none)
+     */
+    public void enqueue(PendingNotification notification) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(notification);
+                }
+            });
+        } else {
+            offer(notification);
+        }
+    }
+
+    /**
+     * Insert a notification in the current transaction; the unread count and the push
+     * to the partner follow once it commits
+     */
+    public void writeNow(PendingNotification notification) {
+        unreadCounts.changeAfterCommit(notification.partnerId(), 1);
+        PartnerNotification saved = notificationRepository.save(toEntity(notification));
+        written.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    push(saved, notification);
+                }
+            });
+        } else {
+            push(saved, notification);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("queued", queue.size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("written", written.get());
+        stats.put("batches", batches.get());
+        stats.put("callerWrites", callerWrites.get());
+        stats.put("rowRetries", rowRetries.get());
+        stats.put("failures", failures.get());
+        return stats;
+    }
+
+    // ==================== Helper Methods ====================
+
+    private void offer(PendingNotification notification) {
+        if (!queue.offer(notification)) {
+            callerWrites.incrementAndGet();
+            write(List.of(notification));
+        }
+    }
+
+    private void drainLoop() {
+        while (running) {
+            try {
+                PendingNotification first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<PendingNotification> batch = new ArrayList<>();
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(List<PendingNotification> batch) {
+        batch.forEach(pending -> unreadCounts.beginChange(pending.partnerId()));
+        List<PartnerNotification> saved = null;
+        try {
+            saved = transactionTemplate.execute(status -> notificationRepository.saveAll(
+                    batch.stream().map(this::toEntity).toList()));
+            batches.incrementAndGet();
+        } catch (RuntimeException e) {
+            log.warn("Could not write {} partner notifications as a batch, retrying one by one", batch.size(), e);
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            PendingNotification pending = batch.get(i);
+            PartnerNotification notification = saved != null ? saved.get(i) : writeOne(pending);
+            unreadCounts.endChange(pending.partnerId(), notification != null ? 1 : 0);
+            if (notification != null) {
+                written.incrementAndGet();
+                push(notification, pending);
+            }
+        }
+    }
+
+    /**
+     * @return The saved notification, or null if it could not be written
+     */
+    private PartnerNotification writeOne(PendingNotification pending) {
+        rowRetries.incrementAndGet();
+        try {
+            return transactionTemplate.execute(status -> notificationRepository.save(toEntity(pending)));
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            log.error("Could not write {} notification for partner {}", pending.type(), pending.partnerId(), e);
+            return null;
+        }
+    }
+
+    private PartnerNotification toEntity(PendingNotification pending) {
+        return PartnerNotification.builder()
+                .partner(partnerRepository.getReferenceById(pending.partnerId()))
+                .notificationType(pending.type())
+                .title(pending.title())
+                .message(pending.message())
+                .order(pending.orderId() != null ? orderRepository.getReferenceById(pending.orderId()) : null)
+                .build();
+    }
+
+    private void push(PartnerNotification notification, PendingNotification pending) {
+        eventService.publish(pending.partnerId(), "notification", toEvent(notification.getId(), pending));
+    }
+
+    /**
+     * Server-sent "notification" event payload (also used for broadcasts)
+     */
+    static Map<String, Object> toEvent(UUID notificationId, PendingNotification pending) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", notificationId);
+        data.put("type", pending.type().name());
+        data.put("title", pending.title());
+        data.put("message", pending.message());
+        data.put("orderId", pending.orderId());
+        return data;
+    }
+}
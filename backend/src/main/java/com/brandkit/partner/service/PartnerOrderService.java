@@ -2,13 +2,16 @@ package com.brandkit.partner.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.brandkit.admin.service.CommissionService;
 import com.brandkit.auth.entity.User;
 import com.brandkit.catalog.entity.Partner;
 import com.brandkit.catalog.repository.PartnerRepository;
 import com.brandkit.order.entity.*;
+import com.brandkit.order.exception.OrderException;
 import com.brandkit.order.repository.OrderPartnerAssignmentRepository;
 import com.brandkit.order.repository.OrderRepository;
-import com.brandkit.order.repository.OrderStatusHistoryRepository;
+import com.brandkit.order.service.OrderTransitionService;
+import com.brandkit.order.service.OutboxService;
 import com.brandkit.partner.dto.*;
 import com.brandkit.partner.dto.PartnerOrderResponse.*;
 import com.brandkit.partner.entity.NotificationType;
@@ -16,6 +19,7 @@ import com.brandkit.partner.entity.ProofImage;
 import com.brandkit.partner.exception.PartnerException;
 import com.brandkit.partner.repository.ProofImageRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -26,7 +30,10 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -45,11 +52,22 @@ public class PartnerOrderService {
     @Autowired
     private OrderPartnerAssignmentRepository assignmentRepository;
     @Autowired
-    private OrderStatusHistoryRepository statusHistoryRepository;
-    @Autowired
     private ProofImageRepository proofImageRepository;
     @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private OrderTransitionService orderTransitionService;
+    @Autowired
     private PartnerNotificationService notificationService;
+    @Autowired
+    private PartnerDashboardService dashboardService;
+    @Autowired
+    private SettlementService settlementService;
+    @Autowired
+    private CommissionService commissionService;
+
+    @Value("${app.partner.bulk.max-orders:200}")
+    private int maxBulkOrders;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
@@ -193,12 +211,8 @@ public class PartnerOrderService {
         assignmentRepository.save(assignment);
 
         // Update main order status
-        Order order = assignment.getOrder();
-        order.setStatus(OrderStatus.ACCEPTED);
-        orderRepository.save(order);
-
-        // Add status history
-        addStatusHistory(order, OrderStatus.ACCEPTED, "Order accepted by partner");
+        orderTransitionService.transition(orderId, OrderStatus.ACCEPTED, "Order accepted by partner", null);
+        dashboardService.evictAfterCommit(partnerId);
 
         // TODO: Send notification to client (without partner name)
         log.info("Order {} accepted by partner {}", orderId, partnerId);
@@ -223,6 +237,9 @@ public class PartnerOrderService {
         // Reject order
         assignment.reject(request.getReason());
         assignmentRepository.save(assignment);
+        outboxService.publish(OutboxEventType.PARTNER_ORDER_REJECTED, orderId,
+                Map.of("partnerId", partnerId.toString()));
+        dashboardService.evictAfterCommit(partnerId);
 
         // Notify admin for reassignment (not client)
         log.info("Order {} rejected by partner {}, admin notified for reassignment", orderId, partnerId);
@@ -246,16 +263,14 @@ public class PartnerOrderService {
 
         // Update status
         updatePartnerOrderStatus(assignment, newStatus);
+        if (newStatus == PartnerOrderStatus.DELIVERED) {
+            settlementService.captureCommission(assignment);
+        }
         assignmentRepository.save(assignment);
 
         // Update main order status
-        Order order = assignment.getOrder();
-        OrderStatus orderStatus = mapToOrderStatus(newStatus);
-        order.setStatus(orderStatus);
-        orderRepository.save(order);
-
-        // Add status history
-        addStatusHistory(order, orderStatus, "Status updated by partner");
+        orderTransitionService.transition(orderId, mapToOrderStatus(newStatus), "Status updated by partner", null);
+        dashboardService.evictAfterCommit(partnerId);
 
         // Send notification to client
         log.info("Order {} status updated to {} by partner {}", orderId, newStatus, partnerId);
@@ -263,6 +278,123 @@ public class PartnerOrderService {
         return mapToOrderResponse(assignment);
     }
 
+    /**
+     * Accept or advance many orders at once
+     * FRD-005 FR-56, FR-57: Bulk order actions
+     *
+     * Ownership is checked with one query, order statuses move with one update per source
+     * status and timeline entries are inserted as a batch. Orders that fail validation or
+     * changed concurrently are reported and skipped; the rest are applied.
+     */
+    @Transactional
+    public BulkOrderActionResponse bulkUpdateStatus(UUID partnerId, BulkStatusUpdateRequest request) {
+        List<UUID> orderIds = distinctOrderIds(request.getOrderIds());
+        PartnerOrderStatus newStatus = parseStatus(request.getStatus());
+        log.info("Partner {} updating {} orders to: {}", partnerId, orderIds.size(), newStatus);
+
+        Map<UUID, OrderPartnerAssignment> assignments = assignmentRepository
+                .findByPartnerIdAndOrderIds(partnerId, orderIds).stream()
+                .collect(Collectors.toMap(a -> a.getOrder().getId(), a -> a));
+
+        Map<UUID, String> errors = new HashMap<>();
+        List<UUID> candidates = new ArrayList<>();
+        for (UUID orderId : orderIds) {
+            OrderPartnerAssignment assignment = assignments.get(orderId);
+            if (assignment == null) {
+                errors.put(orderId, "Order not found or not assigned to you");
+                continue;
+            }
+            try {
+                if (newStatus == PartnerOrderStatus.ACCEPTED) {
+                    if (assignment.getStatus() != PartnerOrderStatus.AWAITING_ACCEPTANCE) {
+                        throw new PartnerException("Order cannot be accepted - current status: " + assignment.getStatus());
+                    }
+                } else {
+                    validateStatusProgression(assignment.getStatus(), newStatus);
+                }
+                candidates.add(orderId);
+            } catch (PartnerException e) {
+                errors.put(orderId, e.getMessage());
+            }
+        }
+
+        String description = newStatus == PartnerOrderStatus.ACCEPTED
+                ? "Order accepted by partner" : "Status updated by partner";
+        OrderStatus target = mapToOrderStatus(newStatus);
+        OrderTransitionService.BulkTransition transitions = candidates.isEmpty()
+                ? new OrderTransitionService.BulkTransition(Map.of(), Map.of())
+                : orderTransitionService.transitionAll(findOrderStatuses(candidates),
+                        target, orderId -> description, partnerId);
+
+        List<OrderPartnerAssignment> updated = new ArrayList<>();
+        for (UUID orderId : candidates) {
+            OrderStatus rejectedFrom = transitions.rejected().get(orderId);
+            if (rejectedFrom != null) {
+                errors.put(orderId, OrderException.invalidTransition(rejectedFrom.name(), target.name()).getMessage());
+                continue;
+            }
+            if (!transitions.transitions().containsKey(orderId)) {
+                errors.put(orderId, "Order was updated concurrently - please retry");
+                continue;
+            }
+            OrderPartnerAssignment assignment = assignments.get(orderId);
+            if (newStatus == PartnerOrderStatus.ACCEPTED) {
+                assignment.accept();
+            } else {
+                updatePartnerOrderStatus(assignment, newStatus);
+                if (newStatus == PartnerOrderStatus.DELIVERED) {
+                    settlementService.captureCommission(assignment);
+                }
+            }
+            updated.add(assignment);
+        }
+        assignmentRepository.saveAll(updated);
+        if (!updated.isEmpty()) {
+            dashboardService.evictAfterCommit(partnerId);
+        }
+
+        log.info("Partner {} bulk update to {}: {} applied, {} failed", partnerId, newStatus, updated.size(), errors.size());
+        return BulkOrderActionResponse.of(orderIds.stream()
+                .map(orderId -> toResult(orderId, assignments.get(orderId), errors.get(orderId)))
+                .collect(Collectors.toList()));
+    }
+
+    private List<UUID> distinctOrderIds(List<UUID> orderIds) {
+        List<UUID> distinct = orderIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (distinct.size() > maxBulkOrders) {
+            throw new PartnerException("At most " + maxBulkOrders + " orders can be updated at once");
+        }
+        return distinct;
+    }
+
+    private PartnerOrderStatus parseStatus(String status) {
+        try {
+            return PartnerOrderStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new PartnerException("Invalid status: " + status);
+        }
+    }
+
+    private Map<UUID, OrderStatus> findOrderStatuses(List<UUID> orderIds) {
+        Map<UUID, OrderStatus> statuses = new HashMap<>();
+        for (Object[] row : orderRepository.findStatusesByIdIn(orderIds)) {
+            statuses.put((UUID) row[0], (OrderStatus) row[1]);
+        }
+        return statuses;
+    }
+
+    private BulkOrderActionResponse.OrderResult toResult(UUID orderId, OrderPartnerAssignment assignment, String error) {
+        return BulkOrderActionResponse.OrderResult.builder()
+                .orderId(orderId.toString())
+                .success(error == null)
+                .partnerStatus(assignment != null ? assignment.getStatus().name() : null)
+                .error(error)
+                .build();
+    }
+
     private OrderPartnerAssignment getAndValidateAssignment(UUID partnerId, UUID orderId) {
         OrderPartnerAssignment assignment = assignmentRepository.findByOrderId(orderId)
                 .orElseThrow(() -> new PartnerException("Order not found"));
@@ -310,14 +442,6 @@ public class PartnerOrderService {
         };
     }
 
-    private void addStatusHistory(Order order, OrderStatus status, String description) {
-        OrderStatusHistory history = new OrderStatusHistory();
-        history.setOrder(order);
-        history.setStatus(status);
-        history.setDescription(description);
-        statusHistoryRepository.save(history);
-    }
-
     private ProductDetails buildProductDetails(Order order) {
         if (order.getItems().isEmpty()) {
             return ProductDetails.builder().name("N/A").build();
@@ -367,7 +491,7 @@ public class PartnerOrderService {
         BigDecimal productAmount = order.getOriginalSubtotal();
         BigDecimal discountAmount = order.getTotalDiscount();
         BigDecimal finalAmount = order.getSubtotal();
-        BigDecimal commissionPercentage = partner.getCommissionRate();
+        BigDecimal commissionPercentage = commissionService.resolveCommissionRate(finalAmount, partner.getCommissionRate());
         BigDecimal platformCommission = finalAmount.multiply(commissionPercentage)
                 .divide(new BigDecimal(100), 2, RoundingMode.HALF_UP);
         BigDecimal partnerEarnings = finalAmount.subtract(platformCommission);
@@ -428,7 +552,7 @@ public class PartnerOrderService {
 
     private BigDecimal calculatePartnerEarnings(Order order, Partner partner) {
         BigDecimal commission = order.getSubtotal()
-                .multiply(partner.getCommissionRate())
+                .multiply(commissionService.resolveCommissionRate(order.getSubtotal(), partner.getCommissionRate()))
                 .divide(new BigDecimal(100), 2, RoundingMode.HALF_UP);
         return order.getSubtotal().subtract(commission);
     }
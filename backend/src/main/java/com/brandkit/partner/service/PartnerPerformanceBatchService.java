@@ -0,0 +1,164 @@
+package com.brandkit.partner.service;
+
+import com.brandkit.catalog.repository.PartnerRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Batch recalculation of partner performance metrics - FRD-005 FR-63
+ *
+ * Walks all partners in ID order in chunks of app.partner.performance.batch-size
+ * and hands each chunk to a worker, which recalculates it with a single upsert
+ * (PartnerPerformanceService#recalculateMetrics(Collection)) in its own transaction.
+ * A failed chunk is logged and counted; the run carries on with the next one.
+ *
+ * Between runs the counters are maintained incrementally (PartnerMetricsAccumulator);
+ * this run doubles as their reconciliation and counts the partners it found drifted.
+ */
+@Service
+public class PartnerPerformanceBatchService {
+    private static final Logger log = LoggerFactory.getLogger(PartnerPerformanceBatchService.class);
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    @Autowired
+    private PartnerRepository partnerRepository;
+    @Autowired
+    private PartnerPerformanceService performanceService;
+    @Autowired
+    private PartnerMetricsAccumulator metricsAccumulator;
+
+    @Value("${app.partner.performance.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.partner.performance.threads:2}")
+    private int threads;
+
+    private ThreadPoolExecutor executor;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong partnersRecalculated = new AtomicLong();
+    private final AtomicLong alertsSent = new AtomicLong();
+    private final AtomicLong driftRepaired = new AtomicLong();
+    private final AtomicLong failedChunks = new AtomicLong();
+    private volatile OffsetDateTime lastRunAt;
+    private volatile long lastRunMillis;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "partner-metrics-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Recalculate the metrics of every partner
+     *
+     * @return Number of partners recalculated
+     */
+    public long recalculateAll() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+
+        long started = System.currentTimeMillis();
+        AtomicLong recalculated = new AtomicLong();
+        try {
+            metricsAccumulator.flush();
+
+            List<CompletableFuture<Void>> chunks = new ArrayList<>();
+            UUID afterId = FIRST_ID;
+            List<UUID> partnerIds;
+            do {
+                partnerIds = partnerRepository.findIdsAfter(afterId, batchSize);
+                if (partnerIds.isEmpty()) {
+                    break;
+                }
+                afterId = partnerIds.get(partnerIds.size() - 1);
+
+                List<UUID> chunk = partnerIds;
+                chunks.add(CompletableFuture.runAsync(() -> recalculateChunk(chunk, recalculated), executor));
+            } while (partnerIds.size() == batchSize);
+
+            CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+            log.info("Recalculated performance metrics for {} partners in {} ms",
+                    recalculated.get(), System.currentTimeMillis() - started);
+        } finally {
+            partnersRecalculated.addAndGet(recalculated.get());
+            runs.incrementAndGet();
+            lastRunMillis = System.currentTimeMillis() - started;
+            lastRunAt = OffsetDateTime.now();
+            running.set(false);
+        }
+        return recalculated.get();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("batchSize", batchSize);
+        stats.put("threads", threads);
+        stats.put("running", running.get());
+        stats.put("runs", runs.get());
+        stats.put("partnersRecalculated", partnersRecalculated.get());
+        stats.put("alertsSent", alertsSent.get());
+        stats.put("driftRepaired", driftRepaired.get());
+        stats.put("failedChunks", failedChunks.get());
+        stats.put("lastRunMillis", lastRunMillis);
+        stats.put("lastRunAt", lastRunAt != null ? lastRunAt.toString() : null);
+        stats.put("incremental", metricsAccumulator.getStats());
+        return stats;
+    }
+
+    // ==================== Helper Methods ====================
+
+    private void recalculateChunk(List<UUID> partnerIds, AtomicLong recalculated) {
+        try {
+            PartnerPerformanceService.Recalculation result = performanceService.recalculateMetrics(partnerIds);
+            alertsSent.addAndGet(result.alerted());
+            recalculated.addAndGet(partnerIds.size());
+            if (result.drifted() > 0) {
+                driftRepaired.addAndGet(result.drifted());
+                log.warn("Repaired drifted performance counters for {} of {} partners starting at {}",
+                        result.drifted(), partnerIds.size(), partnerIds.get(0));
+            }
+        } catch (RuntimeException e) {
+            failedChunks.incrementAndGet();
+            log.error("Performance recalculation failed for {} partners starting at {}",
+                    partnerIds.size(), partnerIds.get(0), e);
+        }
+    }
+}
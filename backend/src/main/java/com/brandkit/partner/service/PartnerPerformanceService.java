@@ -4,25 +4,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.brandkit.catalog.entity.Partner;
 import com.brandkit.catalog.repository.PartnerRepository;
-import com.brandkit.order.entity.OrderPartnerAssignment;
-import com.brandkit.order.entity.PartnerOrderStatus;
-import com.brandkit.order.repository.OrderPartnerAssignmentRepository;
 import com.brandkit.partner.dto.PerformanceMetricsResponse;
 import com.brandkit.partner.dto.PerformanceMetricsResponse.*;
 import com.brandkit.partner.entity.PartnerPerformanceMetrics;
 import com.brandkit.partner.exception.PartnerException;
 import com.brandkit.partner.repository.PartnerPerformanceMetricsRepository;
-import com.brandkit.partner.repository.SettlementRepository;
-import com.brandkit.partner.entity.SettlementStatus;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.Duration;
-import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -39,29 +33,35 @@ public class PartnerPerformanceService {
     @Autowired
     private PartnerRepository partnerRepository;
     @Autowired
-    private OrderPartnerAssignmentRepository assignmentRepository;
-    @Autowired
-    private SettlementRepository settlementRepository;
-    @Autowired
     private PartnerNotificationService notificationService;
+    @Lazy
+    @Autowired
+    private PartnerMetricsAccumulator metricsAccumulator;
 
     private static final BigDecimal FULFILLMENT_THRESHOLD = new BigDecimal("85.00");
     private static final BigDecimal WARNING_THRESHOLD = new BigDecimal("90.00");
 
+    /**
+     * Outcome of a recalculation: partners alerted, and partners whose
+     * incrementally maintained counters had drifted and were repaired
+     */
+    public record Recalculation(int alerted, int drifted) {
+    }
+
     /**
      * Get performance metrics for partner
      * FRD-005 FR-63: Partner Performance Metrics
      */
-    @Transactional(readOnly = true)
+    @Transactional
     public PerformanceMetricsResponse getPerformanceMetrics(UUID partnerId, String period) {
         log.debug("Getting performance metrics for partner: {}, period: {}", partnerId, period);
 
         Partner partner = partnerRepository.findById(partnerId)
                 .orElseThrow(() -> new PartnerException("Partner not found"));
 
-        // Get or create metrics
+        // Kept current by PartnerMetricsAccumulator; computed here only the first time
         PartnerPerformanceMetrics metrics = metricsRepository.findByPartnerId(partnerId)
-                .orElseGet(() -> createDefaultMetrics(partner));
+                .orElseGet(() -> createMetrics(partnerId));
 
         // Build response
         Metrics metricsDto = Metrics.builder()
@@ -97,102 +97,64 @@ public class PartnerPerformanceService {
     public void recalculateMetrics(UUID partnerId) {
         log.info("Recalculating metrics for partner: {}", partnerId);
 
-        Partner partner = partnerRepository.findById(partnerId)
-                .orElseThrow(() -> new PartnerException("Partner not found"));
-
-        PartnerPerformanceMetrics metrics = metricsRepository.findByPartnerId(partnerId)
-                .orElseGet(() -> createDefaultMetrics(partner));
-
-        // Count orders by status
-        long assigned = getTotalAssignedOrders(partnerId);
-        long accepted = assignmentRepository.countByPartnerIdAndStatus(partnerId, PartnerOrderStatus.ACCEPTED) +
-                       assignmentRepository.countByPartnerIdAndStatus(partnerId, PartnerOrderStatus.IN_PRODUCTION) +
-                       assignmentRepository.countByPartnerIdAndStatus(partnerId, PartnerOrderStatus.READY_TO_SHIP) +
-                       assignmentRepository.countByPartnerIdAndStatus(partnerId, PartnerOrderStatus.SHIPPED) +
-                       assignmentRepository.countByPartnerIdAndStatus(partnerId, PartnerOrderStatus.DELIVERED);
-        long rejected = assignmentRepository.countByPartnerIdAndStatus(partnerId, PartnerOrderStatus.REJECTED);
-        long delivered = assignmentRepository.countByPartnerIdAndStatus(partnerId, PartnerOrderStatus.DELIVERED);
-        long shipped = assignmentRepository.countByPartnerIdAndStatus(partnerId, PartnerOrderStatus.SHIPPED) + delivered;
-
-        metrics.setTotalOrdersAssigned((int) assigned);
-        metrics.setTotalOrdersAccepted((int) accepted);
-        metrics.setTotalOrdersRejected((int) rejected);
-        metrics.setTotalOrdersFulfilled((int) shipped);
-        metrics.setTotalOrdersDelivered((int) delivered);
-
-        // Calculate fulfillment rate
-        if (assigned > 0) {
-            metrics.setFulfillmentRate(new BigDecimal(accepted)
-                    .multiply(new BigDecimal(100))
-                    .divide(new BigDecimal(assigned), 2, RoundingMode.HALF_UP));
-        }
-
-        // Calculate delivery success rate
-        if (shipped > 0) {
-            metrics.setDeliverySuccessRate(new BigDecimal(delivered)
-                    .multiply(new BigDecimal(100))
-                    .divide(new BigDecimal(shipped), 2, RoundingMode.HALF_UP));
+        if (!partnerRepository.existsById(partnerId)) {
+            throw new PartnerException("Partner not found");
         }
 
-        // Calculate average lead time
-        BigDecimal avgLeadTime = calculateAverageLeadTime(partnerId);
-        metrics.setAverageLeadTimeDays(avgLeadTime);
-
-        // Get total revenue from settlements
-        BigDecimal totalRevenue = settlementRepository
-                .sumPartnerEarningsByPartnerIdAndStatus(partnerId, SettlementStatus.COMPLETED);
-        metrics.setTotalRevenue(totalRevenue != null ? totalRevenue : BigDecimal.ZERO);
-
-        metrics.recalculate();
-        metricsRepository.save(metrics);
-
-        // Check for performance alerts
-        checkPerformanceAlerts(metrics, partner);
-
-        log.info("Metrics recalculated for partner {}: fulfillment={}%, leadTime={}d",
-                partnerId, metrics.getFulfillmentRate(), metrics.getAverageLeadTimeDays());
+        recalculateMetrics(List.of(partnerId));
     }
 
-    private long getTotalAssignedOrders(UUID partnerId) {
-        long total = 0;
-        for (PartnerOrderStatus status : PartnerOrderStatus.values()) {
-            total += assignmentRepository.countByPartnerIdAndStatus(partnerId, status);
-        }
-        return total;
-    }
-
-    private BigDecimal calculateAverageLeadTime(UUID partnerId) {
-        // Get delivered orders and calculate average time from acceptance to shipping
-        List<OrderPartnerAssignment> deliveredOrders = assignmentRepository
-                .findByPartnerIdAndStatus(partnerId, PartnerOrderStatus.DELIVERED);
-
-        if (deliveredOrders.isEmpty()) {
-            return BigDecimal.ZERO;
+    /**
+     * Recalculate performance metrics for a chunk of partners with one upsert,
+     * then alert the partners whose fulfillment rate dropped below the threshold
+     */
+    @Transactional
+    public Recalculation recalculateMetrics(Collection<UUID> partnerIds) {
+        if (partnerIds.isEmpty()) {
+            return new Recalculation(0, 0);
         }
 
-        long totalDays = 0;
-        int count = 0;
+        // Changes not yet flushed are already committed, so the upsert below counts them
+        metricsAccumulator.discardPending(partnerIds);
 
-        for (OrderPartnerAssignment assignment : deliveredOrders) {
-            if (assignment.getAcceptedAt() != null && assignment.getShippedAt() != null) {
-                Duration duration = Duration.between(assignment.getAcceptedAt(), assignment.getShippedAt());
-                totalDays += duration.toDays();
-                count++;
+        List<UUID> alerts = new ArrayList<>();
+        int drifted = 0;
+        for (Object[] row : metricsRepository.recalculateForPartners(partnerIds, FULFILLMENT_THRESHOLD)) {
+            if (Boolean.TRUE.equals(row[1])) {
+                alerts.add((UUID) row[0]);
+            }
+            if (Boolean.TRUE.equals(row[2])) {
+                drifted++;
             }
         }
+        sendPerformanceAlerts(alerts);
+        return new Recalculation(alerts.size(), drifted);
+    }
 
-        if (count == 0) {
-            return BigDecimal.ZERO;
+    /**
+     * Notify partners whose fulfillment rate has just dropped below the threshold
+     */
+    public void sendPerformanceAlerts(Collection<UUID> partnerIds) {
+        if (partnerIds.isEmpty()) {
+            return;
         }
+        for (Partner partner : partnerRepository.findAllById(partnerIds)) {
+            notificationService.createPerformanceAlertNotification(partner,
+                    "Your fulfillment rate has dropped below 85%. You may receive fewer order assignments.");
+        }
+    }
 
-        return new BigDecimal(totalDays).divide(new BigDecimal(count), 2, RoundingMode.HALF_UP);
+    /**
+     * Threshold below which a partner's fulfillment rate triggers an alert
+     */
+    public BigDecimal getFulfillmentThreshold() {
+        return FULFILLMENT_THRESHOLD;
     }
 
-    private PartnerPerformanceMetrics createDefaultMetrics(Partner partner) {
-        PartnerPerformanceMetrics metrics = PartnerPerformanceMetrics.builder()
-                .partner(partner)
-                .build();
-        return metricsRepository.save(metrics);
+    private PartnerPerformanceMetrics createMetrics(UUID partnerId) {
+        recalculateMetrics(List.of(partnerId));
+        return metricsRepository.findByPartnerId(partnerId)
+                .orElseThrow(() -> new PartnerException("Partner not found"));
     }
 
     private Benchmarks getBenchmarks() {
@@ -235,11 +197,4 @@ public class PartnerPerformanceService {
 
         return alerts;
     }
-
-    private void checkPerformanceAlerts(PartnerPerformanceMetrics metrics, Partner partner) {
-        if (metrics.getFulfillmentRate().compareTo(FULFILLMENT_THRESHOLD) < 0) {
-            notificationService.createPerformanceAlertNotification(partner,
-                    "Your fulfillment rate has dropped below 85%. You may receive fewer order assignments.");
-        }
-    }
 }
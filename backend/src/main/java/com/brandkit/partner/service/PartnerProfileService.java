@@ -5,8 +5,10 @@ import org.slf4j.LoggerFactory;
 import com.brandkit.auth.entity.User;
 import com.brandkit.auth.entity.UserType;
 import com.brandkit.auth.repository.UserRepository;
+import com.brandkit.auth.security.UserPrincipal;
 import com.brandkit.catalog.entity.Partner;
 import com.brandkit.catalog.repository.PartnerRepository;
+import com.brandkit.catalog.service.PartnerLookupService;
 import com.brandkit.order.entity.PartnerOrderStatus;
 import com.brandkit.order.repository.OrderPartnerAssignmentRepository;
 import com.brandkit.partner.dto.PartnerProfileRequest;
@@ -35,6 +37,8 @@ public class PartnerProfileService {
     private UserRepository userRepository;
     @Autowired
     private OrderPartnerAssignmentRepository assignmentRepository;
+    @Autowired
+    private PartnerLookupService partnerLookupService;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
@@ -66,6 +70,21 @@ public class PartnerProfileService {
                 .orElseThrow(() -> new PartnerException("Partner profile not found"));
     }
 
+    /**
+     * Get the partner ID of the authenticated partner user
+     * Taken from the token's partnerId claim; tokens without it fall back to the cached email lookup
+     */
+    public UUID getPartnerId(UserPrincipal principal) {
+        if (principal.getUserType() != UserType.PARTNER) {
+            throw new PartnerException("User is not a partner");
+        }
+        if (principal.getPartnerId() != null) {
+            return principal.getPartnerId();
+        }
+        return partnerLookupService.findPartnerIdByEmail(principal.getEmail())
+                .orElseThrow(() -> new PartnerException("Partner profile not found"));
+    }
+
     /**
      * Update partner profile
      */
@@ -129,6 +148,7 @@ public class PartnerProfileService {
         checkProfileComplete(partner);
 
         partnerRepository.save(partner);
+        partnerLookupService.evict(partner.getEmail());
         log.info("Profile updated for partner: {}", partnerId);
 
         return mapToProfileResponse(partner);
@@ -166,6 +186,7 @@ public class PartnerProfileService {
         }
 
         partnerRepository.save(partner);
+        partnerLookupService.evict(partner.getEmail());
         log.info("Profile completed for partner: {}", partnerId);
 
         return mapToProfileResponse(partner);
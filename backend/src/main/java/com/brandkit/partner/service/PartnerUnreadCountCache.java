@@ -0,0 +1,187 @@
+package com.brandkit.partner.service;
+
+import com.brandkit.partner.repository.PartnerNotificationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Cached unread notification counts per partner - FRD-005 FR-53
+ *
+ * The portal header asks for the unread count on every page; a hit costs no query.
+ * Counts are loaded once, then kept current from notification writes and read
+ * marking (after commit). Writes from other instances are not seen; the TTL bounds
+ * that drift, and a broadcast drops every count.
+ *
+ * A load is only cached if no change to the partner's notifications started or
+ * finished while it ran (generation check): otherwise the loaded count may or may
+ * not include that change, and the adjustment applied on commit would be lost or
+ * counted twice.
+ */
+@Service
+public class PartnerUnreadCountCache {
+
+    @Autowired
+    private PartnerNotificationRepository notificationRepository;
+
+    @Value("${app.partner.notifications.unread-cache-ttl:5m}")
+    private Duration ttl;
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    // Bumped by evictAll, so a load is not cached over it even if its entry was added mid-sweep
+    private final AtomicLong clears = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong discardedLoads = new AtomicLong();
+
+    /**
+     * One partner's count; all fields guarded by the entry
+     */
+    private static final class Entry {
+        private long generation;
+        private int changesInFlight;
+        private Long count;
+        private long expiresAt;
+    }
+
+    /**
+     * Unread notifications of a partner
+     */
+    public long get(UUID partnerId) {
+        Entry entry = entries.computeIfAbsent(partnerId, id -> new Entry());
+        long generation;
+        long clearsBefore = clears.get();
+        synchronized (entry) {
+            if (entry.count != null && entry.expiresAt > System.currentTimeMillis()) {
+                hits.incrementAndGet();
+                return Math.max(entry.count, 0);
+            }
+            generation = entry.generation;
+        }
+        misses.incrementAndGet();
+        long count = notificationRepository.countByPartnerIdAndIsReadFalse(partnerId);
+        synchronized (entry) {
+            if (entry.generation == generation && entry.changesInFlight == 0 && clears.get() == clearsBefore) {
+                entry.count = count;
+                entry.expiresAt = System.currentTimeMillis() + ttl.toMillis();
+            } else {
+                discardedLoads.incrementAndGet();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * A write of new notifications for the partner is starting; pair with {@link #endChange}
+     */
+    public void beginChange(UUID partnerId) {
+        Entry entry = entries.computeIfAbsent(partnerId, id -> new Entry());
+        synchronized (entry) {
+            entry.changesInFlight++;
+            entry.generation++;
+        }
+    }
+
+    /**
+     * A write started with {@link #beginChange} has finished
+     *
+     * @param delta Unread notifications it committed (0 if it rolled back)
+     */
+    public void endChange(UUID partnerId, long delta) {
+        Entry entry = entries.computeIfAbsent(partnerId, id -> new Entry());
+        synchronized (entry) {
+            entry.changesInFlight--;
+            entry.generation++;
+            if (entry.count != null) {
+                entry.count += delta;
+            }
+        }
+    }
+
+    /**
+     * Count a change made by the current transaction (e.g. a notification written or
+     * marked as read) once it commits
+     */
+    public void changeAfterCommit(UUID partnerId, long delta) {
+        beginChange(partnerId);
+        afterCompletion(committed -> endChange(partnerId, committed ? delta : 0));
+    }
+
+    /**
+     * Count a notification marked as read once the current transaction commits
+     */
+    public void decrementAfterCommit(UUID partnerId) {
+        changeAfterCommit(partnerId, -1);
+    }
+
+    /**
+     * All of a partner's notifications were marked as read
+     */
+    public void resetAfterCommit(UUID partnerId) {
+        beginChange(partnerId);
+        afterCompletion(committed -> {
+            endChange(partnerId, 0);
+            if (committed) {
+                Entry entry = entries.get(partnerId);
+                synchronized (entry) {
+                    entry.count = 0L;
+                    entry.expiresAt = System.currentTimeMillis() + ttl.toMillis();
+                }
+            }
+        });
+    }
+
+    /**
+     * Drop every count (after a fan-out to all partners)
+     */
+    public void evictAllAfterCommit() {
+        afterCompletion(committed -> {
+            if (committed) {
+                clears.incrementAndGet();
+                for (Entry entry : entries.values()) {
+                    synchronized (entry) {
+                        entry.count = null;
+                        entry.generation++;
+                    }
+                }
+            }
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("entries", entries.size());
+        stats.put("hits", hitCount);
+        stats.put("misses", misses.get());
+        stats.put("discardedLoads", discardedLoads.get());
+        stats.put("hitRatio", total == 0 ? 0.0 : (double) hitCount / total);
+        return stats;
+    }
+
+    private void afterCompletion(Consumer<Boolean> action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.accept(status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            action.accept(true);
+        }
+    }
+}
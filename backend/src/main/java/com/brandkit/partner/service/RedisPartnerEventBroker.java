@@ -0,0 +1,85 @@
+package com.brandkit.partner.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Multi-instance partner event broker over Redis pub/sub - FRD-005 FR-53
+ * IDs come from a shared Redis counter, so a client can resume on any instance.
+ * Requires Redis to be configured (spring.data.redis.*, with RedisAutoConfiguration
+ * no longer excluded) and app.partner.events.broker=redis.
+ */
+@Service
+@ConditionalOnProperty(name = "app.partner.events.broker", havingValue = "redis")
+public class RedisPartnerEventBroker implements PartnerEventBroker {
+    private static final Logger log = LoggerFactory.getLogger(RedisPartnerEventBroker.class);
+
+    private static final String CHANNEL = "partner-events";
+    private static final String SEQUENCE_KEY = "partner-events:seq";
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Consumer<Event>> listeners = new CopyOnWriteArrayList<>();
+    private RedisMessageListenerContainer container;
+
+    @PostConstruct
+    void init() {
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisTemplate.getRequiredConnectionFactory());
+        container.addMessageListener((message, pattern) -> {
+            try {
+                Event event = objectMapper.readValue(message.getBody(), Event.class);
+                for (Consumer<Event> listener : listeners) {
+                    listener.accept(event);
+                }
+            } catch (IOException e) {
+                log.warn("Dropping unreadable partner event: {}",
+                        new String(message.getBody(), StandardCharsets.UTF_8), e);
+            }
+        }, new ChannelTopic(CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    @PreDestroy
+    void shutdown() throws Exception {
+        container.destroy();
+    }
+
+    @Override
+    public void publish(UUID partnerId, String type, Map<String, Object> data) {
+        Long id = redisTemplate.opsForValue().increment(SEQUENCE_KEY);
+        try {
+            redisTemplate.convertAndSend(CHANNEL,
+                    objectMapper.writeValueAsString(new Event(id, partnerId, type, data)));
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize partner event {} for partner {}", type, partnerId, e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<Event> listener) {
+        listeners.add(listener);
+    }
+}
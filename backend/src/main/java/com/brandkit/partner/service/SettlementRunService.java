@@ -0,0 +1,451 @@
+package com.brandkit.partner.service;
+
+import com.brandkit.order.entity.OrderPartnerAssignment;
+import com.brandkit.order.entity.PartnerOrderStatus;
+import com.brandkit.order.repository.OrderPartnerAssignmentRepository;
+import com.brandkit.order.service.DocumentNumberAllocator;
+import com.brandkit.partner.entity.Settlement;
+import com.brandkit.partner.entity.SettlementOrder;
+import com.brandkit.partner.entity.SettlementRun;
+import com.brandkit.partner.entity.SettlementRunPartner;
+import com.brandkit.partner.entity.SettlementRunStatus;
+import com.brandkit.partner.entity.SettlementStatus;
+import com.brandkit.partner.exception.PartnerException;
+import com.brandkit.partner.repository.SettlementOrderRepository;
+import com.brandkit.partner.repository.SettlementRepository;
+import com.brandkit.partner.repository.SettlementRunPartnerRepository;
+import com.brandkit.partner.repository.SettlementRunRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monthly settlement run - FRD-005 FR-61
+ *
+ * Settles every delivered order of a month that is not in a settlement yet, one
+ * settlement per partner. Partners are settled in parallel on
+ * app.partner.settlement.run-threads workers, which also bounds the connections the
+ * run holds. Each partner's orders are walked in order ID chunks of
+ * app.partner.settlement.chunk-size; a chunk's settlement_orders, the settlement
+ * totals and the partner's checkpoint commit in
+ * one transaction, so a restarted run carries on from the last committed chunk and
+ * no order is settled twice (settlement_orders.order_id is unique as well).
+ *
+ * The run row is leased by the instance running it. A run left RUNNING by a dead
+ * instance is taken over once its lease expires; a partner that fails is retried
+ * by the next run of the same period up to app.partner.settlement.max-attempts times,
+ * after which an admin can reset its attempts (retryFailedPartners). Orders are
+ * settled at the partner earnings captured on delivery.
+ * Statements are generated afterwards by SettlementStatementService.
+ */
+@Service
+public class SettlementRunService {
+    private static final Logger log = LoggerFactory.getLogger(SettlementRunService.class);
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    @Autowired
+    private SettlementRunRepository runRepository;
+    @Autowired
+    private SettlementRunPartnerRepository runPartnerRepository;
+    @Autowired
+    private SettlementRepository settlementRepository;
+    @Autowired
+    private SettlementOrderRepository settlementOrderRepository;
+    @Autowired
+    private OrderPartnerAssignmentRepository assignmentRepository;
+    @Autowired
+    private SettlementService settlementService;
+    @Autowired
+    private SettlementStatementService statementService;
+    @Autowired
+    private DocumentNumberAllocator documentNumberAllocator;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.partner.settlement.run-threads:4}")
+    private int threads;
+
+    @Value("${app.partner.settlement.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.partner.settlement.run-lease:10m}")
+    private Duration lease;
+
+    @Value("${app.partner.settlement.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.partner.settlement.day-of-month:5}")
+    private int settlementDay;
+
+    private ThreadPoolExecutor executor;
+    private ExecutorService coordinator;
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong partnersSettled = new AtomicLong();
+    private final AtomicLong partnersFailed = new AtomicLong();
+    private final AtomicLong ordersSettled = new AtomicLong();
+    private final AtomicLong chunksSettled = new AtomicLong();
+    private volatile OffsetDateTime lastRunAt;
+    private volatile long lastRunMillis;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "settlement-run-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        coordinator = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "settlement-run-coordinator");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        coordinator.shutdown();
+        executor.shutdown();
+    }
+
+    /**
+     * Start runDueSettlements on the run's own thread and return immediately;
+     * returns false if a run is already in progress
+     */
+    public boolean submitDueSettlements() {
+        if (running.get()) {
+            log.info("Settlement run already in progress, skipping");
+            return false;
+        }
+        coordinator.execute(() -> {
+            try {
+                runDueSettlements();
+            } catch (RuntimeException e) {
+                log.error("Scheduled settlement run failed", e);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Settle the previous month once its settlement day has come; later calls in the
+     * month resume an unfinished run or find it completed
+     *
+     * @return Summary of the run, or null before the settlement day
+     */
+    public Map<String, Object> runDueSettlements() {
+        LocalDate today = LocalDate.now();
+        if (today.getDayOfMonth() < settlementDay) {
+            return null;
+        }
+        return runSettlement(YearMonth.from(today).minusMonths(1));
+    }
+
+    /**
+     * Run (or resume) the settlement of a month
+     *
+     * @return Summary of the run
+     */
+    public Map<String, Object> runSettlement(YearMonth period) {
+        if (!period.isBefore(YearMonth.now())) {
+            throw new PartnerException("Only past months can be settled: " + period);
+        }
+
+        LocalDate periodStart = period.atDay(1);
+        SettlementRun current = transactionTemplate.execute(status -> {
+            runRepository.createIfAbsent(periodStart, period.atEndOfMonth());
+            return runRepository.findByPeriodStart(periodStart).orElseThrow();
+        });
+
+        UUID runId = current.getId();
+        if (current.getStatus() == SettlementRunStatus.COMPLETED) {
+            // Statements may not have finished before a restart
+            statementService.generateStatementsAsync(runId);
+            return summarize(current);
+        }
+        if (!running.compareAndSet(false, true)) {
+            return summarize(current);
+        }
+
+        long started = System.currentTimeMillis();
+        try {
+            OffsetDateTime now = OffsetDateTime.now();
+            Integer claimed = transactionTemplate.execute(status ->
+                    runRepository.claim(runId, now, now.plus(lease)));
+            if (claimed == null || claimed == 0) {
+                log.info("Settlement run for {} is held by another instance", period);
+                return summarize(current);
+            }
+
+            SettlementRun run = execute(runId, period);
+            statementService.generateStatementsAsync(runId);
+            return summarize(run);
+        } finally {
+            runs.incrementAndGet();
+            lastRunMillis = System.currentTimeMillis() - started;
+            lastRunAt = OffsetDateTime.now();
+            running.set(false);
+        }
+    }
+
+    /**
+     * Give the partners of a month that used up their attempts another go, then resume the run
+     *
+     * @return Summary of the run
+     */
+    public Map<String, Object> retryFailedPartners(YearMonth period) {
+        LocalDate periodStart = period.atDay(1);
+        Integer reset = transactionTemplate.execute(status -> {
+            SettlementRun run = runRepository.findByPeriodStart(periodStart)
+                    .orElseThrow(() -> new PartnerException("No settlement run for " + period));
+            if (run.getStatus() == SettlementRunStatus.COMPLETED) {
+                throw new PartnerException("Settlement run for " + period + " is already completed");
+            }
+            return runPartnerRepository.resetFailed(run.getId());
+        });
+        log.info("Settlement run for {}: reset {} failed partners", period, reset);
+        return runSettlement(period);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("threads", threads);
+        stats.put("chunkSize", chunkSize);
+        stats.put("running", running.get());
+        stats.put("runs", runs.get());
+        stats.put("partnersSettled", partnersSettled.get());
+        stats.put("partnersFailed", partnersFailed.get());
+        stats.put("ordersSettled", ordersSettled.get());
+        stats.put("chunksSettled", chunksSettled.get());
+        stats.put("lastRunMillis", lastRunMillis);
+        stats.put("lastRunAt", lastRunAt != null ? lastRunAt.toString() : null);
+        stats.put("recentRuns", runRepository.findTop12ByOrderByPeriodStartDesc().stream()
+                .map(this::summarize)
+                .toList());
+        stats.put("statements", statementService.getStats());
+        return stats;
+    }
+
+    // ==================== Helper Methods ====================
+
+    private SettlementRun execute(UUID runId, YearMonth period) {
+        OffsetDateTime deliveredBefore = period.plusMonths(1).atDay(1)
+                .atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
+        AtomicLong leaseRenewAt = new AtomicLong(System.currentTimeMillis() + lease.toMillis() / 2);
+
+        List<UUID> runPartnerIds = transactionTemplate.execute(status -> {
+            runPartnerRepository.seedPartners(runId, deliveredBefore);
+            return runPartnerRepository.findOpenIds(runId, maxAttempts);
+        });
+        log.info("Settlement run for {}: settling {} partners", period, runPartnerIds.size());
+
+        List<CompletableFuture<Void>> partners = new ArrayList<>();
+        for (UUID runPartnerId : runPartnerIds) {
+            partners.add(CompletableFuture.runAsync(
+                    () -> settlePartner(runId, runPartnerId, deliveredBefore, leaseRenewAt), executor));
+        }
+        CompletableFuture.allOf(partners.toArray(CompletableFuture[]::new)).join();
+
+        return transactionTemplate.execute(status -> finish(runId, period));
+    }
+
+    private void settlePartner(UUID runId, UUID runPartnerId, OffsetDateTime deliveredBefore,
+                               AtomicLong leaseRenewAt) {
+        UUID partnerId = null;
+        try {
+            SettlementRunPartner runPartner = transactionTemplate.execute(status -> {
+                SettlementRunPartner rp = runPartnerRepository.findById(runPartnerId).orElseThrow();
+                rp.setStatus(SettlementRunStatus.RUNNING);
+                rp.setAttempts(rp.getAttempts() + 1);
+                return rp;
+            });
+            partnerId = runPartner.getPartner().getId();
+            UUID afterOrderId = runPartner.getLastOrderId() != null ? runPartner.getLastOrderId() : FIRST_ID;
+
+            List<UUID> orderIds;
+            do {
+                orderIds = assignmentRepository.findUnsettledOrderIdsAfter(
+                        partnerId, deliveredBefore, afterOrderId, chunkSize);
+                if (orderIds.isEmpty()) {
+                    break;
+                }
+                List<UUID> chunk = orderIds;
+                UUID chunkPartnerId = partnerId;
+                transactionTemplate.executeWithoutResult(status -> settleChunk(runPartnerId, chunkPartnerId, chunk));
+                afterOrderId = orderIds.get(orderIds.size() - 1);
+                chunksSettled.incrementAndGet();
+                renewLeaseIfDue(runId, leaseRenewAt);
+            } while (orderIds.size() == chunkSize);
+
+            UUID settledPartnerId = partnerId;
+            transactionTemplate.executeWithoutResult(status -> {
+                SettlementRunPartner rp = runPartnerRepository.findById(runPartnerId).orElseThrow();
+                rp.setStatus(SettlementRunStatus.COMPLETED);
+                rp.setLastError(null);
+                settlementService.evictPendingSettlement(settledPartnerId);
+            });
+            partnersSettled.incrementAndGet();
+        } catch (RuntimeException e) {
+            partnersFailed.incrementAndGet();
+            log.error("Settlement failed for partner {} (run partner {})", partnerId, runPartnerId, e);
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    SettlementRunPartner rp = runPartnerRepository.findById(runPartnerId).orElseThrow();
+                    rp.setStatus(SettlementRunStatus.FAILED);
+                    rp.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+                });
+            } catch (RuntimeException markFailed) {
+                log.error("Could not mark run partner {} as failed", runPartnerId, markFailed);
+            }
+        }
+    }
+
+    /**
+     * Settle one chunk of orders: settlement rows, settlement totals and checkpoint together
+     */
+    private void settleChunk(UUID runPartnerId, UUID partnerId, List<UUID> orderIds) {
+        SettlementRunPartner runPartner = runPartnerRepository.findById(runPartnerId).orElseThrow();
+        SettlementRun run = runPartner.getRun();
+
+        Settlement settlement = runPartner.getSettlement();
+        if (settlement == null) {
+            settlement = settlementRepository
+                    .findByPartnerIdAndPeriodStartAndPeriodEnd(partnerId, run.getPeriodStart(), run.getPeriodEnd())
+                    .orElseGet(() -> settlementRepository.save(Settlement.builder()
+                            .settlementNumber(documentNumberAllocator.nextSettlementNumber())
+                            .partner(runPartner.getPartner())
+                            .periodStart(run.getPeriodStart())
+                            .periodEnd(run.getPeriodEnd())
+                            .status(SettlementStatus.PENDING)
+                            .build()));
+            runPartner.setSettlement(settlement);
+        }
+
+        List<OrderPartnerAssignment> assignments = assignmentRepository
+                .findWithOrderByPartnerIdAndOrderIds(partnerId, PartnerOrderStatus.DELIVERED, orderIds);
+
+        List<SettlementOrder> rows = new ArrayList<>(assignments.size());
+        BigDecimal productAmount = BigDecimal.ZERO;
+        BigDecimal platformCommission = BigDecimal.ZERO;
+        BigDecimal partnerEarnings = BigDecimal.ZERO;
+        for (OrderPartnerAssignment assignment : assignments) {
+            SettlementService.CommissionDetails commission = settlementService.settledCommission(assignment);
+            rows.add(SettlementOrder.builder()
+                    .settlement(settlement)
+                    .order(assignment.getOrder())
+                    .productAmount(commission.getProductAmount())
+                    .discountAmount(commission.getDiscountAmount())
+                    .finalAmount(commission.getFinalAmount())
+                    .commissionPercentage(commission.getCommissionPercentage())
+                    .platformCommission(commission.getPlatformCommission())
+                    .partnerEarnings(commission.getPartnerEarnings())
+                    .build());
+            productAmount = productAmount.add(commission.getProductAmount());
+            platformCommission = platformCommission.add(commission.getPlatformCommission());
+            partnerEarnings = partnerEarnings.add(commission.getPartnerEarnings());
+        }
+        settlementOrderRepository.saveAll(rows);
+
+        settlement.setTotalOrders(settlement.getTotalOrders() + rows.size());
+        settlement.setTotalProductAmount(settlement.getTotalProductAmount().add(productAmount));
+        settlement.setTotalPlatformCommission(settlement.getTotalPlatformCommission().add(platformCommission));
+        settlement.setTotalPartnerEarnings(settlement.getTotalPartnerEarnings().add(partnerEarnings));
+
+        runPartner.setLastOrderId(orderIds.get(orderIds.size() - 1));
+        runPartner.setOrdersSettled(runPartner.getOrdersSettled() + rows.size());
+        ordersSettled.addAndGet(rows.size());
+    }
+
+    private void renewLeaseIfDue(UUID runId, AtomicLong leaseRenewAt) {
+        long renewAt = leaseRenewAt.get();
+        long now = System.currentTimeMillis();
+        if (now >= renewAt && leaseRenewAt.compareAndSet(renewAt, now + lease.toMillis() / 2)) {
+            transactionTemplate.execute(status ->
+                    runRepository.renewLease(runId, OffsetDateTime.now().plus(lease)));
+        }
+    }
+
+    private SettlementRun finish(UUID runId, YearMonth period) {
+        SettlementRun run = runRepository.findById(runId).orElseThrow();
+        int total = 0;
+        int done = 0;
+        int failed = 0;
+        long orders = 0;
+        for (Object[] row : runPartnerRepository.countByRunIdGroupByStatus(runId)) {
+            int count = ((Number) row[1]).intValue();
+            total += count;
+            orders += ((Number) row[2]).longValue();
+            if (row[0] == SettlementRunStatus.COMPLETED) {
+                done = count;
+            } else if (row[0] == SettlementRunStatus.FAILED) {
+                failed = count;
+            }
+        }
+
+        run.setPartnersTotal(total);
+        run.setPartnersDone(done);
+        run.setPartnersFailed(failed);
+        run.setOrdersSettled((int) orders);
+        run.setStatus(done == total ? SettlementRunStatus.COMPLETED : SettlementRunStatus.FAILED);
+        run.setLeaseUntil(null);
+        if (run.getStatus() == SettlementRunStatus.COMPLETED) {
+            run.setCompletedAt(OffsetDateTime.now());
+        }
+        log.info("Settlement run for {} {}: {} of {} partners settled, {} failed, {} orders",
+                period, run.getStatus(), done, total, failed, orders);
+        return run;
+    }
+
+    private Map<String, Object> summarize(SettlementRun run) {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("runId", run.getId());
+        summary.put("period", YearMonth.from(run.getPeriodStart()).toString());
+        summary.put("status", run.getStatus().name());
+        summary.put("partnersTotal", run.getPartnersTotal());
+        summary.put("partnersDone", run.getPartnersDone());
+        summary.put("partnersFailed", run.getPartnersFailed());
+        summary.put("ordersSettled", run.getOrdersSettled());
+        summary.put("startedAt", run.getStartedAt() != null ? run.getStartedAt().toString() : null);
+        summary.put("completedAt", run.getCompletedAt() != null ? run.getCompletedAt().toString() : null);
+        return summary;
+    }
+}
@@ -2,6 +2,7 @@ package com.brandkit.partner.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.brandkit.admin.service.CommissionService;
 import com.brandkit.catalog.entity.Partner;
 import com.brandkit.catalog.repository.PartnerRepository;
 import com.brandkit.order.entity.Order;
@@ -19,17 +20,23 @@ import com.brandkit.partner.exception.PartnerException;
 import com.brandkit.partner.repository.SettlementOrderRepository;
 import com.brandkit.partner.repository.SettlementRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -85,6 +92,21 @@ public class SettlementService {
     private OrderPartnerAssignmentRepository assignmentRepository;
     @Autowired
     private PartnerNotificationService notificationService;
+    @Autowired
+    private CommissionService commissionService;
+
+    @Value("${app.partner.settlement.pending-cache-ttl:10m}")
+    private Duration pendingCacheTtl;
+
+    /**
+     * Pending settlement per partner; evicted on delivery and when orders are settled
+     */
+    private final Map<UUID, CachedAmount> pendingSettlements = new ConcurrentHashMap<>();
+
+    private record CachedAmount(BigDecimal amount, long expiresAt) {
+    }
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("MMMM yyyy");
@@ -166,11 +188,11 @@ public class SettlementService {
         BigDecimal discountAmount = order.getTotalDiscount() != null ? order.getTotalDiscount() : BigDecimal.ZERO;
         BigDecimal finalAmount = productAmount.subtract(discountAmount);
 
-        // Get commission rate based on order value
-        BigDecimal commissionPercentage = getCommissionRate(finalAmount, partner);
+        // Partner's own rate, or the configured tier for the order value
+        BigDecimal commissionPercentage = commissionService.resolveCommissionRate(finalAmount, partner.getCommissionRate());
 
         BigDecimal platformCommission = finalAmount.multiply(commissionPercentage)
-                .divide(new BigDecimal(100), 2, RoundingMode.HALF_UP);
+                .divide(HUNDRED, 2, RoundingMode.HALF_UP);
         BigDecimal partnerEarnings = finalAmount.subtract(platformCommission);
 
         return new CommissionDetails(
@@ -183,19 +205,59 @@ public class SettlementService {
         );
     }
 
-    private BigDecimal getCommissionRate(BigDecimal amount, Partner partner) {
-        // Use partner's configured rate, or default tiered rates
-        if (partner.getCommissionRate() != null) {
-            return partner.getCommissionRate();
+    /**
+     * Commission to settle a delivered assignment at: the earnings captured on delivery,
+     * so the settlement matches the pending amount the partner was shown
+     * FRD-005 FR-61: computed now only for assignments delivered before capture existed
+     */
+    public CommissionDetails settledCommission(OrderPartnerAssignment assignment) {
+        if (assignment.getPartnerEarnings() == null) {
+            return calculateCommission(assignment.getOrder(), assignment.getPartner());
         }
 
-        // Tiered commission: 10% for <10k, 12% for 10k-50k, 15% for >50k
-        if (amount.compareTo(new BigDecimal(10000)) < 0) {
-            return new BigDecimal("10.00");
-        } else if (amount.compareTo(new BigDecimal(50000)) < 0) {
-            return new BigDecimal("12.00");
+        Order order = assignment.getOrder();
+        BigDecimal productAmount = order.getOriginalSubtotal();
+        BigDecimal discountAmount = order.getTotalDiscount() != null ? order.getTotalDiscount() : BigDecimal.ZERO;
+        BigDecimal finalAmount = productAmount.subtract(discountAmount);
+        BigDecimal partnerEarnings = assignment.getPartnerEarnings();
+        BigDecimal platformCommission = finalAmount.subtract(partnerEarnings);
+        BigDecimal commissionPercentage = finalAmount.signum() == 0 ? BigDecimal.ZERO
+                : platformCommission.multiply(HUNDRED).divide(finalAmount, 2, RoundingMode.HALF_UP);
+
+        return new CommissionDetails(
+                productAmount,
+                discountAmount,
+                finalAmount,
+                commissionPercentage,
+                platformCommission,
+                partnerEarnings
+        );
+    }
+
+    /**
+     * Capture the partner's earnings on an assignment as it is delivered
+     * FRD-005 FR-60: the pending settlement sums these instead of recomputing every order
+     */
+    public void captureCommission(OrderPartnerAssignment assignment) {
+        CommissionDetails commission = calculateCommission(assignment.getOrder(), assignment.getPartner());
+        assignment.setPartnerEarnings(commission.getPartnerEarnings());
+        evictPendingSettlement(assignment.getPartner().getId());
+    }
+
+    /**
+     * Drop a partner's cached pending settlement once the current transaction commits
+     * (immediately if there is none)
+     */
+    public void evictPendingSettlement(UUID partnerId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pendingSettlements.remove(partnerId);
+                }
+            });
         } else {
-            return new BigDecimal("15.00");
+            pendingSettlements.remove(partnerId);
         }
     }
 
@@ -234,21 +296,27 @@ public class SettlementService {
     }
 
     private BigDecimal calculatePendingSettlement(UUID partnerId) {
-        // Find delivered orders that haven't been included in a settlement
-        List<OrderPartnerAssignment> deliveredOrders = assignmentRepository
-                .findByPartnerIdAndStatus(partnerId, PartnerOrderStatus.DELIVERED);
-
-        BigDecimal pending = BigDecimal.ZERO;
-        Partner partner = partnerRepository.findById(partnerId).orElse(null);
-
-        for (OrderPartnerAssignment assignment : deliveredOrders) {
-            // Check if order is already in a settlement
-            if (!settlementOrderRepository.existsByOrderId(assignment.getOrder().getId())) {
-                CommissionDetails commission = calculateCommission(assignment.getOrder(), partner);
-                pending = pending.add(commission.getPartnerEarnings());
+        CachedAmount cached = pendingSettlements.get(partnerId);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return cached.amount();
+        }
+
+        // Delivered orders that haven't been included in a settlement, summed in one query
+        Object[] totals = assignmentRepository
+                .sumUnsettledEarnings(partnerId, PartnerOrderStatus.DELIVERED).get(0);
+        BigDecimal pending = (BigDecimal) totals[0];
+
+        // Orders delivered without captured earnings are computed here
+        if (((Number) totals[1]).longValue() > 0) {
+            for (OrderPartnerAssignment assignment : assignmentRepository
+                    .findUnsettledWithoutEarnings(partnerId, PartnerOrderStatus.DELIVERED)) {
+                pending = pending.add(calculateCommission(assignment.getOrder(), assignment.getPartner())
+                        .getPartnerEarnings());
             }
         }
 
+        pendingSettlements.put(partnerId,
+                new CachedAmount(pending, System.currentTimeMillis() + pendingCacheTtl.toMillis()));
         return pending;
     }
 
@@ -0,0 +1,196 @@
+package com.brandkit.partner.service;
+
+import com.brandkit.customization.service.LogoStorageService;
+import com.brandkit.partner.entity.Settlement;
+import com.brandkit.partner.entity.SettlementRunPartner;
+import com.brandkit.partner.repository.SettlementOrderRepository;
+import com.brandkit.partner.repository.SettlementRunPartnerRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Settlement statement generation - FRD-005 FR-61
+ *
+ * Second stage of a settlement run: once a run has settled its partners, their
+ * statements are generated on a single background thread, a page of
+ * app.partner.settlement.statement-batch-size partners per transaction, and each partner
+ * is notified. A statement is a CSV of the settled orders and totals, uploaded
+ * under settlements/{partnerId}/ through the configured storage (local or S3).
+ * Partners are flagged as they are done, so a stage that is interrupted picks up
+ * where it stopped the next time the run is looked at.
+ */
+@Service
+public class SettlementStatementService {
+    private static final Logger log = LoggerFactory.getLogger(SettlementStatementService.class);
+
+    @Autowired
+    private SettlementRunPartnerRepository runPartnerRepository;
+    @Autowired
+    private SettlementOrderRepository settlementOrderRepository;
+    @Autowired
+    private LogoStorageService storageService;
+    @Autowired
+    private PartnerNotificationService notificationService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.partner.settlement.statement-batch-size:100}")
+    private int batchSize;
+
+    private ExecutorService executor;
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Runs queued or generating statements, so a run is never queued twice
+     */
+    private final Set<UUID> queuedRuns = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong statementsGenerated = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "settlement-statements");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Queue statement generation for the settled partners of a run
+     */
+    public void generateStatementsAsync(UUID runId) {
+        if (queuedRuns.add(runId)) {
+            executor.execute(() -> {
+                try {
+                    generateStatements(runId);
+                } finally {
+                    queuedRuns.remove(runId);
+                }
+            });
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("queuedRuns", queuedRuns.size());
+        stats.put("statementsGenerated", statementsGenerated.get());
+        stats.put("failures", failures.get());
+        return stats;
+    }
+
+    // ==================== Helper Methods ====================
+
+    private void generateStatements(UUID runId) {
+        int generated = 0;
+        try {
+            Integer page;
+            do {
+                page = transactionTemplate.execute(status -> generateBatch(runId));
+                generated += page;
+            } while (page == batchSize);
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            log.error("Statement generation failed for settlement run {}", runId, e);
+        }
+        if (generated > 0) {
+            log.info("Generated {} settlement statements for run {}", generated, runId);
+        }
+    }
+
+    private int generateBatch(UUID runId) {
+        List<SettlementRunPartner> pending = runPartnerRepository
+                .findStatementsPending(runId, PageRequest.of(0, batchSize));
+        for (SettlementRunPartner runPartner : pending) {
+            Settlement settlement = runPartner.getSettlement();
+
+            String storageKey = String.format("settlements/%s/%s.csv",
+                    runPartner.getPartner().getId(),
+                    settlement.getSettlementNumber());
+            settlement.setStatementUrl(uploadStatement(settlement, storageKey));
+            settlement.setStatementS3Key(storageKey);
+            runPartner.setStatementGenerated(true);
+
+            notificationService.createSettlementNotification(runPartner.getPartner(),
+                    settlement.getSettlementNumber(), settlement.getTotalPartnerEarnings().toPlainString());
+        }
+        statementsGenerated.addAndGet(pending.size());
+        return pending.size();
+    }
+
+    /**
+     * Write a settlement's statement to a temp file and store it
+     *
+     * @return Public URL of the statement
+     */
+    private String uploadStatement(Settlement settlement, String storageKey) {
+        try {
+            Path statement = storageService.createTempFile();
+            try (BufferedWriter writer = Files.newBufferedWriter(statement, StandardCharsets.UTF_8)) {
+                writer.write("Settlement," + settlement.getSettlementNumber());
+                writer.newLine();
+                writer.write("Period," + settlement.getPeriodStart() + "," + settlement.getPeriodEnd());
+                writer.newLine();
+                writer.newLine();
+                writer.write("Order Number,Order Amount,Commission %,Platform Commission,Partner Earnings");
+                writer.newLine();
+                for (Object[] line : settlementOrderRepository.findStatementLines(settlement.getId())) {
+                    writer.write(line[0] + "," + plain(line[1]) + "," + plain(line[2]) + ","
+                            + plain(line[3]) + "," + plain(line[4]));
+                    writer.newLine();
+                }
+                writer.newLine();
+                writer.write("Total Orders," + settlement.getTotalOrders());
+                writer.newLine();
+                writer.write("Total Product Amount," + plain(settlement.getTotalProductAmount()));
+                writer.newLine();
+                writer.write("Total Platform Commission," + plain(settlement.getTotalPlatformCommission()));
+                writer.newLine();
+                writer.write("Total Partner Earnings," + plain(settlement.getTotalPartnerEarnings()));
+                writer.newLine();
+            } catch (IOException | RuntimeException e) {
+                storageService.deleteQuietly(statement);
+                throw e;
+            }
+            return storageService.store(statement, storageKey);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store statement " + storageKey, e);
+        }
+    }
+
+    private static String plain(Object amount) {
+        return amount != null ? ((BigDecimal) amount).toPlainString() : "";
+    }
+}
@@ -3,18 +3,31 @@ package com.brandkit.partner.service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.brandkit.order.entity.*;
+import com.brandkit.order.exception.OrderException;
 import com.brandkit.order.repository.OrderPartnerAssignmentRepository;
 import com.brandkit.order.repository.OrderRepository;
-import com.brandkit.order.repository.OrderStatusHistoryRepository;
+import com.brandkit.order.service.OrderTransitionService;
+import com.brandkit.partner.dto.BulkOrderActionResponse;
+import com.brandkit.partner.dto.BulkShipmentRequest;
 import com.brandkit.partner.dto.ShipmentRequest;
 import com.brandkit.partner.entity.Shipment;
 import com.brandkit.partner.exception.PartnerException;
 import com.brandkit.partner.repository.ShipmentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Shipment Service - FRD-005 FR-59
@@ -31,7 +44,12 @@ public class ShipmentService {
     @Autowired
     private OrderRepository orderRepository;
     @Autowired
-    private OrderStatusHistoryRepository statusHistoryRepository;
+    private OrderTransitionService orderTransitionService;
+    @Autowired
+    private SettlementService settlementService;
+
+    @Value("${app.partner.bulk.max-orders:200}")
+    private int maxBulkOrders;
 
     /**
      * Create shipment and mark order as shipped
@@ -54,23 +72,9 @@ public class ShipmentService {
             throw new PartnerException("Shipment already exists for this order");
         }
 
-        Order order = assignment.getOrder();
-
         // Create shipment
-        Shipment shipment = Shipment.builder()
-                .order(order)
-                .partner(assignment.getPartner())
-                .courierName(request.getCourierName())
-                .trackingId(request.getTrackingId())
-                .shipDate(request.getShipDate())
-                .weightKg(request.getWeightKg())
-                .numPackages(request.getNumPackages() != null ? request.getNumPackages() : 1)
-                .notes(request.getNotes())
-                .build();
-
-        // Generate tracking URL
-        String trackingUrl = shipment.generateTrackingUrl();
-        shipment.setTrackingUrl(trackingUrl);
+        Shipment shipment = buildShipment(assignment, request);
+        String trackingUrl = shipment.getTrackingUrl();
 
         shipmentRepository.save(shipment);
 
@@ -79,18 +83,10 @@ public class ShipmentService {
         assignmentRepository.save(assignment);
 
         // Update main order
-        order.setStatus(OrderStatus.SHIPPED);
-        order.setTrackingId(request.getTrackingId());
-        order.setCourierName(request.getCourierName());
-        order.setTrackingUrl(trackingUrl);
-        orderRepository.save(order);
-
-        // Add status history
-        OrderStatusHistory history = new OrderStatusHistory();
-        history.setOrder(order);
-        history.setStatus(OrderStatus.SHIPPED);
-        history.setDescription("Order shipped via " + request.getCourierName() + ". Tracking ID: " + request.getTrackingId());
-        statusHistoryRepository.save(history);
+        orderTransitionService.transition(orderId, OrderStatus.SHIPPED, null,
+                "Order shipped via " + request.getCourierName() + ". Tracking ID: " + request.getTrackingId(), null,
+                from -> orderRepository.updateTracking(orderId, request.getTrackingId(), request.getCourierName(),
+                        trackingUrl, java.time.OffsetDateTime.now()));
 
         // TODO: Send notification to client with tracking link
 
@@ -98,6 +94,99 @@ public class ShipmentService {
         return shipment;
     }
 
+    /**
+     * Create shipments for many orders and mark them as shipped
+     * FRD-005 FR-59: Bulk shipment creation
+     *
+     * Ownership and existing shipments are checked with one query each, the orders move to
+     * SHIPPED together and shipments, assignments and timeline entries are written as
+     * batches. Orders that fail validation or changed concurrently are reported and skipped.
+     */
+    @Transactional
+    public BulkOrderActionResponse createShipments(UUID partnerId, BulkShipmentRequest request) {
+        Map<UUID, BulkShipmentRequest.Item> items = new LinkedHashMap<>();
+        for (BulkShipmentRequest.Item item : request.getShipments()) {
+            items.putIfAbsent(item.getOrderId(), item);
+        }
+        if (items.size() > maxBulkOrders) {
+            throw new PartnerException("At most " + maxBulkOrders + " orders can be shipped at once");
+        }
+        List<UUID> orderIds = new ArrayList<>(items.keySet());
+        log.info("Partner {} marking {} orders as shipped", partnerId, orderIds.size());
+
+        Map<UUID, OrderPartnerAssignment> assignments = assignmentRepository
+                .findByPartnerIdAndOrderIds(partnerId, orderIds).stream()
+                .collect(Collectors.toMap(a -> a.getOrder().getId(), a -> a));
+        Set<UUID> alreadyShipped = new HashSet<>(shipmentRepository.findOrderIdsByOrderIdIn(orderIds));
+
+        Map<UUID, String> errors = new HashMap<>();
+        Map<UUID, OrderStatus> candidates = new HashMap<>();
+        for (Object[] row : orderRepository.findStatusesByIdIn(orderIds)) {
+            UUID orderId = (UUID) row[0];
+            OrderPartnerAssignment assignment = assignments.get(orderId);
+            if (assignment == null) {
+                continue;
+            }
+            if (assignment.getStatus() != PartnerOrderStatus.READY_TO_SHIP) {
+                errors.put(orderId, "Order must be in READY_TO_SHIP status. Current: " + assignment.getStatus());
+            } else if (alreadyShipped.contains(orderId)) {
+                errors.put(orderId, "Shipment already exists for this order");
+            } else {
+                candidates.put(orderId, (OrderStatus) row[1]);
+            }
+        }
+
+        OrderTransitionService.BulkTransition transitions = candidates.isEmpty()
+                ? new OrderTransitionService.BulkTransition(Map.of(), Map.of())
+                : orderTransitionService.transitionAll(candidates, OrderStatus.SHIPPED,
+                        orderId -> "Order shipped via " + items.get(orderId).getCourierName()
+                                + ". Tracking ID: " + items.get(orderId).getTrackingId(),
+                        partnerId);
+
+        List<Shipment> shipments = new ArrayList<>();
+        List<OrderPartnerAssignment> shipped = new ArrayList<>();
+        OffsetDateTime now = OffsetDateTime.now();
+        for (UUID orderId : orderIds) {
+            if (!assignments.containsKey(orderId)) {
+                errors.put(orderId, "Order not found or not assigned to you");
+                continue;
+            }
+            if (!candidates.containsKey(orderId)) {
+                continue;
+            }
+            OrderStatus rejectedFrom = transitions.rejected().get(orderId);
+            if (rejectedFrom != null) {
+                errors.put(orderId, OrderException.invalidTransition(rejectedFrom.name(), OrderStatus.SHIPPED.name())
+                        .getMessage());
+                continue;
+            }
+            if (!transitions.transitions().containsKey(orderId)) {
+                errors.put(orderId, "Order was updated concurrently - please retry");
+                continue;
+            }
+            OrderPartnerAssignment assignment = assignments.get(orderId);
+            Shipment shipment = buildShipment(assignment, items.get(orderId));
+            shipments.add(shipment);
+            orderRepository.updateTracking(orderId, shipment.getTrackingId(), shipment.getCourierName(),
+                    shipment.getTrackingUrl(), now);
+            assignment.ship();
+            shipped.add(assignment);
+        }
+        shipmentRepository.saveAll(shipments);
+        assignmentRepository.saveAll(shipped);
+
+        log.info("Partner {} bulk shipment: {} shipped, {} failed", partnerId, shipped.size(), errors.size());
+        return BulkOrderActionResponse.of(orderIds.stream()
+                .map(orderId -> BulkOrderActionResponse.OrderResult.builder()
+                        .orderId(orderId.toString())
+                        .success(!errors.containsKey(orderId))
+                        .partnerStatus(assignments.containsKey(orderId)
+                                ? assignments.get(orderId).getStatus().name() : null)
+                        .error(errors.get(orderId))
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
     /**
      * Get shipment details
      */
@@ -130,28 +219,39 @@ public class ShipmentService {
         // If delivered, update order and assignment
         if ("DELIVERED".equalsIgnoreCase(status)) {
             Order order = shipment.getOrder();
-            order.setStatus(OrderStatus.DELIVERED);
-            order.setActualDeliveryDate(java.time.LocalDate.now());
-            orderRepository.save(order);
+            orderTransitionService.transition(order.getId(), OrderStatus.DELIVERED, null, "Order delivered", null,
+                    from -> orderRepository.markDelivered(order.getId(), java.time.LocalDate.now(),
+                            java.time.OffsetDateTime.now()));
 
             OrderPartnerAssignment assignment = assignmentRepository.findByOrderId(order.getId())
                     .orElse(null);
             if (assignment != null) {
                 assignment.deliver();
+                settlementService.captureCommission(assignment);
                 assignmentRepository.save(assignment);
             }
-
-            // Add status history
-            OrderStatusHistory history = new OrderStatusHistory();
-            history.setOrder(order);
-            history.setStatus(OrderStatus.DELIVERED);
-            history.setDescription("Order delivered");
-            statusHistoryRepository.save(history);
         }
 
         return shipment;
     }
 
+    private Shipment buildShipment(OrderPartnerAssignment assignment, ShipmentRequest request) {
+        Shipment shipment = Shipment.builder()
+                .order(assignment.getOrder())
+                .partner(assignment.getPartner())
+                .courierName(request.getCourierName())
+                .trackingId(request.getTrackingId())
+                .shipDate(request.getShipDate())
+                .weightKg(request.getWeightKg())
+                .numPackages(request.getNumPackages() != null ? request.getNumPackages() : 1)
+                .notes(request.getNotes())
+                .build();
+
+        // Generate tracking URL
+        shipment.setTrackingUrl(shipment.generateTrackingUrl());
+        return shipment;
+    }
+
     private OrderPartnerAssignment getAndValidateAssignment(UUID partnerId, UUID orderId) {
         OrderPartnerAssignment assignment = assignmentRepository.findByOrderId(orderId)
                 .orElseThrow(() -> new PartnerException("Order not found"));
@@ -0,0 +1,127 @@
+package com.brandkit.admin.service;
+
+import com.brandkit.admin.entity.CommissionConfig;
+import com.brandkit.admin.entity.CommissionTier;
+import com.brandkit.admin.repository.CommissionConfigRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Commission rate lookup over the compiled tier table, with a micro-benchmark of
+ * the lookup against the per-call tier scan it replaced (which also queried the
+ * database every time)
+ */
+class CommissionServiceTest {
+
+    private CommissionConfigRepository configRepository;
+    private CommissionService commissionService;
+    private CommissionConfig config;
+
+    @BeforeEach
+    void setUp() {
+        configRepository = mock(CommissionConfigRepository.class);
+        commissionService = new CommissionService();
+        ReflectionTestUtils.setField(commissionService, "configRepository", configRepository);
+
+        // 8% to ₹5,000, 9% to ₹20,000, 11% from ₹20,001 with a (capped) max of ₹1,00,000
+        config = CommissionConfig.builder().name("Default").isDefault(true).isActive(true).build();
+        config.addTier(tier("0", "5000", "8.00"));
+        config.addTier(tier("5001", "20000", "9.00"));
+        config.addTier(tier("20001", "100000", "11.00"));
+        when(configRepository.findDefaultConfigWithTiers()).thenReturn(Optional.of(config));
+    }
+
+    @Test
+    void ratesComeFromConfiguredTiers() {
+        assertEquals(new BigDecimal("8.00"), commissionService.calculateCommissionRate(new BigDecimal("0")));
+        assertEquals(new BigDecimal("8.00"), commissionService.calculateCommissionRate(new BigDecimal("5000")));
+        assertEquals(new BigDecimal("8.00"), commissionService.calculateCommissionRate(new BigDecimal("5000.50")));
+        assertEquals(new BigDecimal("9.00"), commissionService.calculateCommissionRate(new BigDecimal("5001")));
+        assertEquals(new BigDecimal("11.00"), commissionService.calculateCommissionRate(new BigDecimal("20001")));
+    }
+
+    @Test
+    void lastConfiguredTierIsOpenEnded() {
+        // Above the last tier's max: still the last tier, not the built-in 15%
+        assertEquals(new BigDecimal("11.00"), commissionService.calculateCommissionRate(new BigDecimal("100000.01")));
+        assertEquals(new BigDecimal("11.00"), commissionService.calculateCommissionRate(new BigDecimal("2500000")));
+    }
+
+    @Test
+    void partnerRateOverridesTiers() {
+        assertEquals(new BigDecimal("6.50"),
+                commissionService.resolveCommissionRate(new BigDecimal("30000"), new BigDecimal("6.50")));
+    }
+
+    @Test
+    void builtInTiersApplyWithoutDefaultConfig() {
+        when(configRepository.findDefaultConfigWithTiers()).thenReturn(Optional.empty());
+        commissionService.refresh();
+
+        assertEquals(new BigDecimal("10.00"), commissionService.calculateCommissionRate(new BigDecimal("9999")));
+        assertEquals(new BigDecimal("15.00"), commissionService.calculateCommissionRate(new BigDecimal("75000")));
+    }
+
+    @Test
+    void lookupBenchmark() {
+        BigDecimal[] amounts = new BigDecimal[1024];
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = BigDecimal.valueOf(i * 157L, 0).add(new BigDecimal("0.99"));
+        }
+        int iterations = 2_000_000;
+
+        // Warm up both paths so the JIT has compiled them before timing
+        long sink = 0;
+        for (int i = 0; i < 200_000; i++) {
+            sink += commissionService.calculateCommissionRate(amounts[i & 1023]).intValue();
+            sink += scanTiers(amounts[i & 1023]).intValue();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += commissionService.calculateCommissionRate(amounts[i & 1023]).intValue();
+        }
+        long tableNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += scanTiers(amounts[i & 1023]).intValue();
+        }
+        long scanNanos = System.nanoTime() - start;
+
+        double tablePerLookup = (double) tableNanos / iterations;
+        double scanPerLookup = (double) scanNanos / iterations;
+        System.out.printf("Commission rate lookup: table %.1f ns, tier scan %.1f ns (sink %d)%n",
+                tablePerLookup, scanPerLookup, sink);
+
+        // Loose bound so a slow CI machine does not fail; the table must stay cheap and never go to the database
+        assertTrue(tablePerLookup < 2_000, "Rate lookup took " + tablePerLookup + " ns");
+        verify(configRepository, times(1)).findDefaultConfigWithTiers();
+    }
+
+    /**
+     * Previous lookup, minus its database round trip: stream over the config's tier entities
+     */
+    private BigDecimal scanTiers(BigDecimal amount) {
+        return config.getTiers().stream()
+                .filter(tier -> tier.contains(amount))
+                .findFirst()
+                .map(CommissionTier::getCommissionPercentage)
+                .orElse(BigDecimal.valueOf(12.00));
+    }
+
+    private static CommissionTier tier(String min, String max, String rate) {
+        return CommissionTier.builder()
+                .minOrderValue(new BigDecimal(min))
+                .maxOrderValue(new BigDecimal(max))
+                .commissionPercentage(new BigDecimal(rate))
+                .build();
+    }
+}
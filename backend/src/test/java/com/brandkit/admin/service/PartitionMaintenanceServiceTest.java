@@ -0,0 +1,94 @@
+package com.brandkit.admin.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Partition maintenance: months whose rows fell into the default partition are
+ * partitioned before the upcoming ones, and a default partition that is still
+ * not empty fails the run for that table
+ */
+class PartitionMaintenanceServiceTest {
+
+    private EntityManager entityManager;
+    private PartitionMaintenanceService service;
+
+    // Result of each native statement, keyed by its SQL prefix and table
+    private final Map<String, Object> results = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        entityManager = mock(EntityManager.class);
+        when(entityManager.createNativeQuery(anyString())).thenAnswer(invocation -> query(invocation.getArgument(0)));
+
+        service = new PartitionMaintenanceService();
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+        ReflectionTestUtils.setField(service, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "monthsAhead", 6);
+        ReflectionTestUtils.setField(service, "retentionMonths", 0);
+
+        for (String table : PartitionMaintenanceService.PARTITIONED_TABLES) {
+            results.put("partition_default_rows:" + table, 0);
+            results.put("create_monthly_partitions:" + table, 0);
+            results.put("SELECT COUNT(*) FROM " + table + "_default", 0L);
+        }
+    }
+
+    @Test
+    void monthsStuckInDefaultPartitionAreRecovered() {
+        results.put("partition_default_rows:order_status_history", 2);
+        results.put("create_monthly_partitions:order_status_history", 7);
+
+        assertEquals(9, service.runMaintenance());
+
+        Map<String, Object> stats = service.getStats();
+        assertEquals(9L, stats.get("partitionsCreated"));
+        assertEquals(2L, stats.get("partitionsRecovered"));
+        assertEquals(0L, stats.get("failures"));
+    }
+
+    @Test
+    void rowsLeftInDefaultPartitionFailTheTable() {
+        results.put("SELECT COUNT(*) FROM admin_audit_logs_default", 3L);
+        results.put("create_monthly_partitions:order_status_history", 1);
+
+        assertEquals(1, service.runMaintenance());
+
+        assertEquals(1L, service.getStats().get("failures"));
+    }
+
+    private Query query(String sql) {
+        Query query = mock(Query.class);
+        String[] table = new String[1];
+        when(query.setParameter(anyString(), any())).thenAnswer(invocation -> {
+            if ("table".equals(invocation.getArgument(0))) {
+                table[0] = invocation.getArgument(1);
+            }
+            return query;
+        });
+        when(query.getSingleResult()).thenAnswer(invocation -> {
+            if (sql.startsWith("SELECT COUNT(*) FROM pg_inherits")) {
+                return 8L;
+            }
+            for (String function : List.of("partition_default_rows", "create_monthly_partitions")) {
+                if (sql.contains(function)) {
+                    return results.get(function + ":" + table[0]);
+                }
+            }
+            return results.get(sql);
+        });
+        return query;
+    }
+}
@@ -0,0 +1,104 @@
+package com.brandkit.catalog.service;
+
+import com.brandkit.catalog.entity.Product;
+import com.brandkit.catalog.entity.ProductImage;
+import com.brandkit.catalog.repository.ProductImageRepository;
+import com.brandkit.catalog.repository.ProductRepository;
+import com.brandkit.customization.service.LogoStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Deleting a product image removes its stored file, but only once the delete commits
+ */
+class ImageServiceTest {
+
+    @TempDir
+    Path root;
+
+    private final UUID productId = UUID.randomUUID();
+
+    private ProductImageRepository imageRepository;
+    private LogoStorageService storageService;
+    private ImageService imageService;
+
+    @BeforeEach
+    void setUp() {
+        imageRepository = mock(ProductImageRepository.class);
+        storageService = new LogoStorageService();
+        ReflectionTestUtils.setField(storageService, "uploadPath", root.toString());
+        ReflectionTestUtils.setField(storageService, "cdnBaseUrl", "https://cdn.test");
+        ReflectionTestUtils.setField(storageService, "storageType", "local");
+        ReflectionTestUtils.invokeMethod(storageService, "init");
+
+        imageService = new ImageService();
+        ReflectionTestUtils.setField(imageService, "imageRepository", imageRepository);
+        ReflectionTestUtils.setField(imageService, "productRepository", mock(ProductRepository.class));
+        ReflectionTestUtils.setField(imageService, "storageService", storageService);
+    }
+
+    @Test
+    void deletedImageFileIsRemovedAfterCommit() throws IOException {
+        Path file = storedImage("products/" + productId + "/a.jpg");
+        ProductImage image = image("https://cdn.test/products/" + productId + "/a.jpg");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            imageService.deleteImage(productId, image.getId());
+            assertTrue(Files.exists(file), "file removed before commit");
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertFalse(Files.exists(file));
+        verify(imageRepository).delete(image);
+    }
+
+    @Test
+    void externalUrlsAreLeftAlone() throws IOException {
+        Path file = storedImage("products/" + productId + "/b.jpg");
+        ProductImage image = image("https://elsewhere.test/products/" + productId + "/b.jpg");
+
+        imageService.deleteImage(productId, image.getId());
+
+        assertTrue(Files.exists(file));
+    }
+
+    private Path storedImage(String key) throws IOException {
+        Path file = root.resolve(key);
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[]{1, 2, 3});
+        return file;
+    }
+
+    private ProductImage image(String url) {
+        Product product = Product.builder().build();
+        product.setId(productId);
+        ProductImage image = ProductImage.builder()
+                .product(product)
+                .imageUrl(url)
+                .thumbnailUrl(url.replace("/products/", "/products/thumbnails/200/"))
+                .isPrimary(false)
+                .build();
+        image.setId(UUID.randomUUID());
+        when(imageRepository.findById(image.getId())).thenReturn(Optional.of(image));
+        return image;
+    }
+}
@@ -0,0 +1,69 @@
+package com.brandkit.customization.service;
+
+import com.brandkit.catalog.repository.ProductRepository;
+import com.brandkit.customization.dto.BatchValidationRequest;
+import com.brandkit.customization.entity.LogoFile;
+import com.brandkit.customization.repository.LogoFileRepository;
+import com.brandkit.customization.service.CustomizationValidationService.BatchItemResult;
+import com.brandkit.customization.service.CustomizationValidationService.BatchValidationResult;
+import com.brandkit.customization.service.CustomizationValidationService.ValidationError;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Batch validation only sees the caller's own logos
+ */
+class CustomizationValidationServiceTest {
+
+    private final UUID userId = UUID.randomUUID();
+
+    private LogoFileRepository logoFileRepository;
+    private CustomizationValidationService validationService;
+
+    @BeforeEach
+    void setUp() {
+        logoFileRepository = mock(LogoFileRepository.class);
+        validationService = new CustomizationValidationService();
+        ReflectionTestUtils.setField(validationService, "logoFileRepository", logoFileRepository);
+        ReflectionTestUtils.setField(validationService, "productRepository", mock(ProductRepository.class));
+    }
+
+    @Test
+    void otherUsersLogoIsReportedAsNotFound() {
+        // Still pending validation: a distinct error shows the caller's own logo was loaded
+        LogoFile own = LogoFile.builder().userId(userId).validationStatus("pending").build();
+        own.setId(UUID.randomUUID());
+        UUID foreignLogoId = UUID.randomUUID();
+        when(logoFileRepository.findByIdInAndUserId(anyCollection(), eq(userId))).thenReturn(List.of(own));
+
+        BatchValidationResult result = validationService.validateBatch(List.of(item(own.getId()), item(foreignLogoId)), userId);
+
+        verify(logoFileRepository, never()).findAllById(any());
+        assertTrue(codes(result.getItems().get(0)).contains("CUST_016"));
+        // Nothing about the other user's logo leaks beyond "not found"
+        List<String> foreignLogoErrors = result.getItems().get(1).getErrors().stream()
+                .filter(error -> "logo".equals(error.getField()))
+                .map(ValidationError::getMessage)
+                .toList();
+        assertEquals(List.of("Logo file not found in system"), foreignLogoErrors);
+    }
+
+    private static BatchValidationRequest.Item item(UUID logoFileId) {
+        BatchValidationRequest.Item item = new BatchValidationRequest.Item();
+        item.setLogoFileId(logoFileId);
+        item.setProductId(UUID.randomUUID());
+        return item;
+    }
+
+    private static List<String> codes(BatchItemResult item) {
+        return item.getErrors().stream().map(ValidationError::getCode).toList();
+    }
+}
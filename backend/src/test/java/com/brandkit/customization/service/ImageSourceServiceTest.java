@@ -0,0 +1,176 @@
+package com.brandkit.customization.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ImageSourceService against a local HTTP stub
+ */
+class ImageSourceServiceTest {
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private String baseUrl;
+    private final AtomicInteger requests = new AtomicInteger();
+    private ImageSourceService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        byte[] png = png(400, 200);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/image.png", exchange -> {
+            requests.incrementAndGet();
+            exchange.sendResponseHeaders(200, png.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(png);
+            }
+        });
+        server.createContext("/missing.png", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.createContext("/slow.png", exchange -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, png.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(png);
+            }
+        });
+        server.createContext("/trickle.png", exchange -> {
+            // Headers at once, then the body a byte at a time
+            exchange.sendResponseHeaders(200, png.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                for (byte b : png) {
+                    body.write(b);
+                    body.flush();
+                    Thread.sleep(100);
+                }
+            } catch (InterruptedException | IOException e) {
+                // Client gave up
+            }
+        });
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.start();
+        baseUrl = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+
+        service = new ImageSourceService();
+        ReflectionTestUtils.setField(service, "connectTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(service, "readTimeoutMs", 500L);
+        ReflectionTestUtils.setField(service, "totalTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(service, "maxBytes", 1_000_000L);
+        ReflectionTestUtils.setField(service, "maxDecodeDimension", 100);
+        ReflectionTestUtils.setField(service, "cacheBudgetBytes", 10_000_000L);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void fetchesBytesFromUrl() throws IOException {
+        byte[] bytes = service.fetchBytes(baseUrl + "/image.png");
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
+        assertEquals(400, image.getWidth());
+        assertEquals(200, image.getHeight());
+    }
+
+    @Test
+    void rejectsNonOkResponses() {
+        IOException error = assertThrows(IOException.class, () -> service.fetchBytes(baseUrl + "/missing.png"));
+        assertTrue(error.getMessage().contains("HTTP 404"));
+    }
+
+    @Test
+    void rejectsImagesOverSizeLimit() {
+        ReflectionTestUtils.setField(service, "maxBytes", 100L);
+
+        assertThrows(IOException.class, () -> service.fetchBytes(baseUrl + "/image.png"));
+    }
+
+    @Test
+    void timesOutSlowResponses() {
+        assertThrows(IOException.class, () -> service.fetchBytes(baseUrl + "/slow.png"));
+    }
+
+    @Test
+    void slowBodyIsCutOffAtTotalDeadline() {
+        long start = System.nanoTime();
+        IOException error = assertThrows(IOException.class, () -> service.fetchBytes(baseUrl + "/trickle.png"));
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(error.getMessage().contains("exceeded"), error.getMessage());
+        assertTrue(elapsedMs < 3000, "took " + elapsedMs + "ms");
+    }
+
+    @Test
+    void subsamplesLargeImagesToMaxDimension() throws IOException {
+        BufferedImage image = service.decode(png(400, 200));
+
+        assertTrue(image.getWidth() <= 100, "width " + image.getWidth());
+        assertTrue(image.getHeight() <= 100, "height " + image.getHeight());
+    }
+
+    @Test
+    void decodesLogosAtFullResolution() throws IOException {
+        BufferedImage image = service.decodeFullResolution(png(400, 200));
+
+        assertEquals(400, image.getWidth());
+        assertEquals(200, image.getHeight());
+    }
+
+    @Test
+    void cachedProductImageSkipsNetworkAndDecode() throws IOException {
+        BufferedImage first = service.getProductBaseImage("digest-1", baseUrl + "/image.png", null);
+        BufferedImage second = service.getProductBaseImage("digest-1", baseUrl + "/image.png", null);
+
+        assertSame(first, second);
+        assertEquals(1, requests.get());
+        assertEquals(1L, service.getStats().get("hits"));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedOverBudget() throws IOException {
+        BufferedImage first = service.getProductBaseImage("digest-1", baseUrl + "/image.png", null);
+        long weight = (long) service.getStats().get("cachedBytes");
+        ReflectionTestUtils.setField(service, "cacheBudgetBytes", weight);
+
+        service.getProductBaseImage("digest-2", baseUrl + "/image.png", null);
+        BufferedImage again = service.getProductBaseImage("digest-1", baseUrl + "/image.png", null);
+
+        assertNotSame(first, again);
+        assertEquals(3, requests.get());
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,88 @@
+package com.brandkit.customization.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LogoStorageService key listing on local disk
+ */
+class LogoStorageServiceTest {
+
+    @TempDir
+    Path root;
+
+    private LogoStorageService service;
+    private final Instant future = Instant.now().plusSeconds(3600);
+
+    @BeforeEach
+    void setUp() {
+        service = new LogoStorageService();
+        ReflectionTestUtils.setField(service, "uploadPath", root.toString());
+        ReflectionTestUtils.setField(service, "cdnBaseUrl", "https://cdn.test");
+        ReflectionTestUtils.setField(service, "storageType", "local");
+        service.init();
+    }
+
+    @Test
+    void listsKeysUnderPrefixInKeyOrder() throws IOException {
+        touch("logos/u1/b.png", "logos/u1/a.png", "logos/u1.png", "logos/u10/c.png", "products/p.png", "tmp/logo-1.upload");
+
+        List<String> keys = service.listKeysAfter("logos/", null, 100, future);
+
+        assertEquals(List.of("logos/u1.png", "logos/u1/a.png", "logos/u1/b.png", "logos/u10/c.png"), keys);
+    }
+
+    @Test
+    void pagesFromCursorUntilExhausted() throws IOException {
+        touch("logos/u1/a.png", "logos/u1/b.png", "logos/u2/a.png", "logos/u2/b.png", "logos/u3/a.png");
+
+        List<String> all = new ArrayList<>();
+        String cursor = null;
+        List<String> page;
+        do {
+            page = service.listKeysAfter("logos/", cursor, 2, future);
+            all.addAll(page);
+            if (!page.isEmpty()) {
+                cursor = page.get(page.size() - 1);
+            }
+        } while (page.size() == 2);
+
+        assertEquals(List.of("logos/u1/a.png", "logos/u1/b.png", "logos/u2/a.png", "logos/u2/b.png", "logos/u3/a.png"), all);
+    }
+
+    @Test
+    void skipsRecentlyModifiedObjects() throws IOException {
+        touch("logos/u1/old.png", "logos/u1/new.png");
+        Files.setLastModifiedTime(root.resolve("logos/u1/old.png"), FileTime.from(Instant.now().minusSeconds(7200)));
+
+        List<String> keys = service.listKeysAfter("logos/", null, 100, Instant.now().minusSeconds(3600));
+
+        assertEquals(List.of("logos/u1/old.png"), keys);
+    }
+
+    @Test
+    void missingPrefixListsNothing() throws IOException {
+        assertTrue(service.listKeysAfter("logos/", null, 100, future).isEmpty());
+        assertTrue(service.listKeysAfter("../", null, 100, future).isEmpty());
+    }
+
+    private void touch(String... keys) throws IOException {
+        for (String key : keys) {
+            Path path = root.resolve(key);
+            Files.createDirectories(path.getParent());
+            Files.write(path, new byte[]{1});
+        }
+    }
+}
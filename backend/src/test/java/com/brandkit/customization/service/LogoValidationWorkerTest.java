@@ -0,0 +1,121 @@
+package com.brandkit.customization.service;
+
+import com.brandkit.customization.entity.LogoFile;
+import com.brandkit.customization.repository.LogoFileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * LogoValidationWorker against files on local disk
+ */
+class LogoValidationWorkerTest {
+
+    @TempDir
+    Path dir;
+
+    private LogoFileRepository logoFileRepository;
+    private LogoStorageService logoStorageService;
+    private LogoValidationWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        logoFileRepository = mock(LogoFileRepository.class);
+        logoStorageService = mock(LogoStorageService.class);
+        when(logoFileRepository.save(any(LogoFile.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        worker = new LogoValidationWorker();
+        ReflectionTestUtils.setField(worker, "logoFileRepository", logoFileRepository);
+        ReflectionTestUtils.setField(worker, "logoStorageService", logoStorageService);
+        ReflectionTestUtils.setField(worker, "maxPixels", 40_000_000L);
+    }
+
+    @Test
+    void validatesIntactPng() throws IOException {
+        LogoFile logo = validate("image/png", encode(image(1200, 800), "png"));
+
+        assertEquals(LogoValidationWorker.STATUS_VALIDATED, logo.getValidationStatus());
+        assertTrue(logo.getIsValidated());
+        assertEquals(1200, logo.getWidth());
+        assertEquals(800, logo.getHeight());
+    }
+
+    @Test
+    void rejectsTruncatedPng() throws IOException {
+        byte[] png = encode(image(1200, 800), "png");
+
+        LogoFile logo = validate("image/png", Arrays.copyOf(png, png.length / 2));
+
+        assertEquals(LogoValidationWorker.STATUS_REJECTED, logo.getValidationStatus());
+        assertFalse(logo.getIsValidated());
+        assertNotNull(logo.getValidationError());
+    }
+
+    @Test
+    void rejectsTruncatedJpeg() throws IOException {
+        byte[] jpeg = encode(image(1200, 800), "jpg");
+
+        LogoFile logo = validate("image/jpeg", Arrays.copyOf(jpeg, jpeg.length / 2));
+
+        assertEquals(LogoValidationWorker.STATUS_REJECTED, logo.getValidationStatus());
+        assertFalse(logo.getIsValidated());
+    }
+
+    @Test
+    void rejectsImageOverPixelBudgetWithoutDecoding() throws IOException {
+        ReflectionTestUtils.setField(worker, "maxPixels", 1_000_000L);
+
+        LogoFile logo = validate("image/png", encode(image(1200, 900), "png"));
+
+        assertEquals(LogoValidationWorker.STATUS_REJECTED, logo.getValidationStatus());
+        assertTrue(logo.getValidationError().startsWith("Image too large"));
+    }
+
+    private LogoFile validate(String fileType, byte[] bytes) throws IOException {
+        Path file = Files.write(dir.resolve(UUID.randomUUID() + ".img"), bytes);
+        LogoFile logo = LogoFile.builder()
+                .id(UUID.randomUUID())
+                .fileType(fileType)
+                .fileUrl("https://cdn.test/" + file.getFileName())
+                .build();
+        when(logoFileRepository.findById(logo.getId())).thenReturn(Optional.of(logo));
+        when(logoStorageService.resolveLocalPath(logo.getFileUrl())).thenReturn(file);
+
+        worker.validate(logo.getId());
+        return logo;
+    }
+
+    private static BufferedImage image(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, Color.RED, width, height, Color.BLUE));
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        return image;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+}
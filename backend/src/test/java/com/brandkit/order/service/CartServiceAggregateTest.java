@@ -0,0 +1,110 @@
+package com.brandkit.order.service;
+
+import com.brandkit.catalog.entity.Product;
+import com.brandkit.order.dto.UpdateCartItemRequest;
+import com.brandkit.order.entity.Cart;
+import com.brandkit.order.entity.CartItem;
+import com.brandkit.order.repository.CartItemRepository;
+import com.brandkit.order.repository.CartRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Cart aggregate deltas: a line takes out of original_subtotal exactly what it put
+ * in, even if the product's base price changed in between.
+ */
+class CartServiceAggregateTest {
+
+    private final UUID cartId = UUID.randomUUID();
+    private final UUID itemId = UUID.randomUUID();
+
+    private CartRepository cartRepository;
+    private CartItemRepository cartItemRepository;
+    private PriceCalculationService priceCalculationService;
+    private CartService cartService;
+    private Cart cart;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        cartRepository = mock(CartRepository.class);
+        cartItemRepository = mock(CartItemRepository.class);
+        priceCalculationService = mock(PriceCalculationService.class);
+        when(priceCalculationService.calculateTierPrice(any(Product.class), anyInt()))
+                .thenAnswer(invocation -> invocation.<Product>getArgument(0).getBasePrice());
+        when(priceCalculationService.getActiveDiscount(any())).thenReturn(Optional.empty());
+        when(priceCalculationService.getFreeDeliveryThreshold()).thenReturn(new BigDecimal("5000"));
+        CartRepository.CartSummary summary = mock(CartRepository.CartSummary.class);
+        when(summary.getSubtotal()).thenReturn(BigDecimal.ZERO);
+        when(summary.getOriginalSubtotal()).thenReturn(BigDecimal.ZERO);
+        when(cartRepository.findSummaryById(cartId)).thenReturn(Optional.of(summary));
+
+        cartService = new CartService();
+        ReflectionTestUtils.setField(cartService, "cartRepository", cartRepository);
+        ReflectionTestUtils.setField(cartService, "cartItemRepository", cartItemRepository);
+        ReflectionTestUtils.setField(cartService, "priceCalculationService", priceCalculationService);
+
+        cart = new Cart();
+        cart.setId(cartId);
+        product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setName("Tee");
+        product.setBasePrice(new BigDecimal("100.00"));
+    }
+
+    @Test
+    void pricingSnapshotsBasePrice() {
+        CartItem item = cartService.priceLine(itemId, product, null, 2);
+
+        product.setBasePrice(new BigDecimal("150.00"));
+
+        assertEquals(new BigDecimal("100.00"), item.getOriginalUnitPrice());
+        assertEquals(0, new BigDecimal("200.00").compareTo(item.getOriginalSubtotal()));
+    }
+
+    @Test
+    void removeTakesOutWhatWasAddedAfterBasePriceChange() {
+        storedLine(2);
+        product.setBasePrice(new BigDecimal("150.00"));
+
+        cartService.removeCartItem(cart, itemId);
+
+        assertEquals(0, new BigDecimal("-200.00").compareTo(originalSubtotalDelta()));
+    }
+
+    @Test
+    void repricedLineDeltaIsFromOldSnapshotToNew() {
+        storedLine(2);
+        product.setBasePrice(new BigDecimal("150.00"));
+
+        UpdateCartItemRequest request = new UpdateCartItemRequest();
+        request.setQuantity(3);
+        cartService.updateCartItem(cart, itemId, request);
+
+        // -2 x 100 at the old snapshot, +3 x 150 at the new one
+        assertEquals(0, new BigDecimal("250.00").compareTo(originalSubtotalDelta()));
+    }
+
+    private CartItem storedLine(int quantity) {
+        CartItem item = cartService.priceLine(itemId, product, null, quantity);
+        item.setCart(cart);
+        when(cartItemRepository.findByIdAndCartId(itemId, cartId)).thenReturn(Optional.of(item));
+        return item;
+    }
+
+    private BigDecimal originalSubtotalDelta() {
+        ArgumentCaptor<BigDecimal> delta = ArgumentCaptor.forClass(BigDecimal.class);
+        verify(cartRepository).applyAggregateDelta(eq(cartId), anyInt(), anyInt(), any(), delta.capture(), any());
+        return delta.getValue();
+    }
+}
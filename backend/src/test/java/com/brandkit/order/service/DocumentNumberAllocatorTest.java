@@ -0,0 +1,123 @@
+package com.brandkit.order.service;
+
+import com.brandkit.order.repository.InvoiceRepository;
+import com.brandkit.order.repository.OrderRepository;
+import com.brandkit.partner.repository.SettlementRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * DocumentNumberAllocator under concurrent checkouts on several nodes sharing
+ * one sequence (simulated with the same INCREMENT BY as the V11 sequences)
+ */
+class DocumentNumberAllocatorTest {
+
+    private static final int NODES = 4;
+    private static final int THREADS_PER_NODE = 8;
+    private static final int CHECKOUTS_PER_THREAD = 500;
+
+    @Test
+    void concurrentCheckoutsAcrossNodesNeverCollide() throws Exception {
+        AtomicLong sequence = new AtomicLong(1);
+        AtomicLong leases = new AtomicLong();
+        List<DocumentNumberAllocator> nodes = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(allocator(() -> {
+                leases.incrementAndGet();
+                return sequence.getAndAdd(DocumentNumberAllocator.BLOCK_SIZE);
+            }));
+        }
+
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(NODES * THREADS_PER_NODE);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (DocumentNumberAllocator node : nodes) {
+                for (int t = 0; t < THREADS_PER_NODE; t++) {
+                    futures.add(pool.submit(() -> {
+                        start.await();
+                        for (int n = 0; n < CHECKOUTS_PER_THREAD; n++) {
+                            String number = node.nextOrderNumber();
+                            assertTrue(numbers.add(number), "Duplicate order number " + number);
+                        }
+                        return null;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        int total = NODES * THREADS_PER_NODE * CHECKOUTS_PER_THREAD;
+        assertEquals(total, numbers.size());
+        // One sequence round trip per block, not per checkout
+        assertEquals(total / DocumentNumberAllocator.BLOCK_SIZE, leases.get(), NODES);
+        for (String number : numbers) {
+            assertTrue(number.matches("BK-\\d{8}-\\d{6}"), number);
+        }
+    }
+
+    @Test
+    void suffixWidensPastSixDigitsAndFitsColumn() {
+        AtomicLong sequence = new AtomicLong(999_999);
+        DocumentNumberAllocator allocator = allocator(() -> sequence.getAndAdd(DocumentNumberAllocator.BLOCK_SIZE));
+
+        assertTrue(allocator.nextOrderNumber().endsWith("-999999"));
+        String widened = allocator.nextOrderNumber();
+
+        assertTrue(widened.matches("BK-\\d{8}-1000000"), widened);
+        assertTrue(widened.length() <= 20);
+    }
+
+    @Test
+    void documentTypesUseTheirOwnSequences() {
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
+        SettlementRepository settlementRepository = mock(SettlementRepository.class);
+        when(orderRepository.nextOrderNumberBlock()).thenReturn(1L);
+        when(invoiceRepository.nextInvoiceNumberBlock()).thenReturn(41L);
+        when(settlementRepository.nextSettlementNumberBlock()).thenReturn(81L);
+        DocumentNumberAllocator allocator = allocator(orderRepository, invoiceRepository, settlementRepository);
+
+        assertTrue(allocator.nextOrderNumber().matches("BK-\\d{8}-000001"));
+        assertTrue(allocator.nextInvoiceNumber().matches("INV-\\d{4}-000041"));
+        assertTrue(allocator.nextSettlementNumber().matches("SET-\\d{4}-\\d{2}-000081"));
+    }
+
+    private DocumentNumberAllocator allocator(LongSupplier orderSequence) {
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        when(orderRepository.nextOrderNumberBlock()).thenAnswer(invocation -> orderSequence.getAsLong());
+        return allocator(orderRepository, mock(InvoiceRepository.class), mock(SettlementRepository.class));
+    }
+
+    private DocumentNumberAllocator allocator(OrderRepository orderRepository, InvoiceRepository invoiceRepository,
+                                              SettlementRepository settlementRepository) {
+        DocumentNumberAllocator allocator = new DocumentNumberAllocator();
+        ReflectionTestUtils.setField(allocator, "orderRepository", orderRepository);
+        ReflectionTestUtils.setField(allocator, "invoiceRepository", invoiceRepository);
+        ReflectionTestUtils.setField(allocator, "settlementRepository", settlementRepository);
+        allocator.init();
+        return allocator;
+    }
+}
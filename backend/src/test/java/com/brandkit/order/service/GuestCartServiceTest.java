@@ -0,0 +1,152 @@
+package com.brandkit.order.service;
+
+import com.brandkit.catalog.repository.ProductRepository;
+import com.brandkit.customization.repository.CustomizationRepository;
+import com.brandkit.order.dto.AddToCartRequest;
+import com.brandkit.order.entity.Cart;
+import com.brandkit.order.repository.CartRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Guest cart store: bounded local copies, Redis as the shared copy, a guest
+ * cart saved by a concurrent request, and the cookie signing key.
+ */
+class GuestCartServiceTest {
+
+    private CartRepository cartRepository;
+    private CartService cartService;
+    private ProductRepository productRepository;
+    private CustomizationRepository customizationRepository;
+
+    @BeforeEach
+    void setUp() {
+        cartRepository = mock(CartRepository.class);
+        cartService = mock(CartService.class);
+        productRepository = mock(ProductRepository.class);
+        customizationRepository = mock(CustomizationRepository.class);
+    }
+
+    @Test
+    void localCopiesAreCappedLeastRecentlyUsedFirst() {
+        GuestCartService service = newService(null, 2);
+
+        service.addToCart("a", add(UUID.randomUUID()));
+        service.addToCart("b", add(UUID.randomUUID()));
+        service.getCartItemCount("a");
+        service.addToCart("c", add(UUID.randomUUID()));
+
+        assertEquals(1, service.getCartItemCount("a"));
+        assertEquals(0, service.getCartItemCount("b"));
+        assertEquals(1, service.getCartItemCount("c"));
+        assertEquals(2, ((Map<?, ?>) ReflectionTestUtils.getField(service, "carts")).size());
+    }
+
+    @Test
+    void readsSeeWritesFromOtherInstances() {
+        StringRedisTemplate redis = sharedRedis(new ConcurrentHashMap<>());
+        GuestCartService nodeA = newService(redis, 100);
+        GuestCartService nodeB = newService(redis, 100);
+
+        nodeA.addToCart("s", add(UUID.randomUUID()));
+        assertEquals(1, nodeA.getCartItemCount("s"));
+        nodeB.addToCart("s", add(UUID.randomUUID()));
+
+        // node A holds a one-line local copy, but Redis has both lines
+        assertEquals(2, nodeA.getCartItemCount("s"));
+    }
+
+    @Test
+    void addGoesToSavedCartWhenConcurrentRequestPersistedFirst() {
+        GuestCartService service = newService(null, 100);
+        service.addToCart("s", add(UUID.randomUUID()));
+        service.addToCart("s", add(UUID.randomUUID()));
+
+        Cart saved = new Cart();
+        saved.setId(UUID.randomUUID());
+        saved.setSessionId("s");
+        when(cartRepository.createGuestCartIfAbsent("s")).thenReturn(0);
+        when(cartRepository.findBySessionId("s")).thenReturn(Optional.empty(), Optional.of(saved));
+
+        AddToCartRequest third = add(UUID.randomUUID());
+        service.addToCart("s", third);
+
+        verify(cartService).addToCart(saved, third);
+        verify(cartService, never()).mergeGuestLines(any(Cart.class), anyList());
+        verify(cartRepository, never()).save(any(Cart.class));
+    }
+
+    @Test
+    void tokensAreSignedWithTheGuestCartSecret() {
+        GuestCartService service = newService(sharedRedis(new ConcurrentHashMap<>()), 10);
+        ReflectionTestUtils.setField(service, "cookieSecret", "guest-cart-secret-at-least-32-characters");
+        ReflectionTestUtils.setField(service, "jwtSecret", "jwt-secret-at-least-32-characters-long");
+        service.initCookieKey();
+
+        String token = service.newToken();
+        String sessionId = token.substring(0, token.indexOf('.'));
+        assertEquals(sessionId, service.resolveSessionId(token));
+        assertNull(service.resolveSessionId(sessionId + ".forged"));
+    }
+
+    @Test
+    void startupFailsWithoutASeparateSecret() {
+        GuestCartService service = newService(sharedRedis(new ConcurrentHashMap<>()), 10);
+        String jwtSecret = "jwt-secret-at-least-32-characters-long";
+        ReflectionTestUtils.setField(service, "jwtSecret", jwtSecret);
+
+        ReflectionTestUtils.setField(service, "cookieSecret", "");
+        assertThrows(IllegalStateException.class, service::initCookieKey);
+
+        ReflectionTestUtils.setField(service, "cookieSecret", jwtSecret);
+        assertThrows(IllegalStateException.class, service::initCookieKey);
+    }
+
+    private GuestCartService newService(StringRedisTemplate redis, int localMaxEntries) {
+        GuestCartService service = new GuestCartService();
+        ReflectionTestUtils.setField(service, "cartService", cartService);
+        ReflectionTestUtils.setField(service, "cartRepository", cartRepository);
+        ReflectionTestUtils.setField(service, "productRepository", productRepository);
+        ReflectionTestUtils.setField(service, "customizationRepository", customizationRepository);
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(service, "redisTemplate", redis);
+        ReflectionTestUtils.setField(service, "ttl", Duration.ofDays(7));
+        ReflectionTestUtils.setField(service, "persistMinLines", 3);
+        ReflectionTestUtils.setField(service, "maxLines", 50);
+        ReflectionTestUtils.setField(service, "localMaxEntries", localMaxEntries);
+        return service;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static StringRedisTemplate sharedRedis(Map<String, String> store) {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redis.opsForValue()).thenReturn(values);
+        when(values.get(anyString())).thenAnswer(invocation -> store.get(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> store.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(values).set(anyString(), anyString(), any(Duration.class));
+        when(redis.delete(anyString())).thenAnswer(invocation -> store.remove(invocation.<String>getArgument(0)) != null);
+        return redis;
+    }
+
+    private static AddToCartRequest add(UUID productId) {
+        AddToCartRequest request = new AddToCartRequest();
+        request.setProductId(productId);
+        request.setQuantity(1);
+        return request;
+    }
+}
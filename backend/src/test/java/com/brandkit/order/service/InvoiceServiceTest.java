@@ -0,0 +1,66 @@
+package com.brandkit.order.service;
+
+import com.brandkit.auth.entity.User;
+import com.brandkit.order.entity.Address;
+import com.brandkit.order.entity.Invoice;
+import com.brandkit.order.entity.Order;
+import com.brandkit.order.entity.OrderStatus;
+import com.brandkit.order.repository.InvoiceRepository;
+import com.brandkit.order.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Invoice generation writes the invoice number and URL onto the order with
+ * targeted updates, so the cached order view has to be dropped for both
+ */
+class InvoiceServiceTest {
+
+    @Test
+    void invoiceUpdatesEvictTheCachedOrderView() {
+        UUID orderId = UUID.randomUUID();
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
+        DocumentNumberAllocator numberAllocator = mock(DocumentNumberAllocator.class);
+        OrderViewCache orderViewCache = mock(OrderViewCache.class);
+
+        InvoiceService service = new InvoiceService();
+        ReflectionTestUtils.setField(service, "orderRepository", orderRepository);
+        ReflectionTestUtils.setField(service, "invoiceRepository", invoiceRepository);
+        ReflectionTestUtils.setField(service, "numberAllocator", numberAllocator);
+        ReflectionTestUtils.setField(service, "orderViewCache", orderViewCache);
+
+        Order order = paidOrder(orderId);
+        when(orderRepository.findByIdWithItems(orderId)).thenReturn(Optional.of(order));
+        when(numberAllocator.nextInvoiceNumber()).thenReturn("INV-2024-000001");
+        when(invoiceRepository.save(any(Invoice.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.generateInvoice(orderId);
+
+        verify(orderRepository).setInvoiceNumber(eq(orderId), eq("INV-2024-000001"), any());
+        verify(orderRepository).setInvoiceUrl(eq(orderId), anyString(), any());
+        verify(orderViewCache, times(2)).evictAfterCommit(orderId);
+    }
+
+    private Order paidOrder(UUID orderId) {
+        User user = mock(User.class);
+        when(user.getId()).thenReturn(UUID.randomUUID());
+        Address address = mock(Address.class);
+        when(address.getState()).thenReturn("Gujarat");
+
+        Order order = mock(Order.class);
+        when(order.getId()).thenReturn(orderId);
+        when(order.getStatus()).thenReturn(OrderStatus.CONFIRMED);
+        when(order.getUser()).thenReturn(user);
+        when(order.getDeliveryAddress()).thenReturn(address);
+        when(order.getTotalAmount()).thenReturn(new BigDecimal("1180.00"));
+        return order;
+    }
+}
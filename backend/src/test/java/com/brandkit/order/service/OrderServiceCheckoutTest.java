@@ -0,0 +1,226 @@
+package com.brandkit.order.service;
+
+import com.brandkit.auth.entity.User;
+import com.brandkit.catalog.entity.Product;
+import com.brandkit.catalog.entity.ProductImage;
+import com.brandkit.catalog.repository.ProductImageRepository;
+import com.brandkit.order.dto.CheckoutRequest;
+import com.brandkit.order.dto.OrderResponse;
+import com.brandkit.order.entity.Address;
+import com.brandkit.order.entity.Cart;
+import com.brandkit.order.entity.CartItem;
+import com.brandkit.order.entity.DeliveryOption;
+import com.brandkit.order.entity.Order;
+import com.brandkit.order.entity.PinCodeServiceability;
+import com.brandkit.order.repository.AddressRepository;
+import com.brandkit.order.repository.CartItemRepository;
+import com.brandkit.order.repository.CartRepository;
+import com.brandkit.order.repository.OrderItemRepository;
+import com.brandkit.order.repository.OrderRepository;
+import com.brandkit.order.repository.OrderStatusHistoryRepository;
+import com.brandkit.order.repository.PinCodeServiceabilityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checkout write path: repository round trips must not grow with the cart size.
+ * Order items and the first history row cascade from the single order save and
+ * go out as JDBC batches (hibernate.jdbc.batch_size). Includes a latency
+ * micro-benchmark of a 100-line checkout with the repositories mocked out.
+ */
+class OrderServiceCheckoutTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID addressId = UUID.randomUUID();
+
+    private OrderRepository orderRepository;
+    private OrderItemRepository orderItemRepository;
+    private OrderStatusHistoryRepository statusHistoryRepository;
+    private CartRepository cartRepository;
+    private CartItemRepository cartItemRepository;
+    private ProductImageRepository productImageRepository;
+    private AddressRepository addressRepository;
+    private PinCodeServiceabilityRepository pinCodeRepository;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        orderItemRepository = mock(OrderItemRepository.class);
+        statusHistoryRepository = mock(OrderStatusHistoryRepository.class);
+        cartRepository = mock(CartRepository.class);
+        cartItemRepository = mock(CartItemRepository.class);
+        productImageRepository = mock(ProductImageRepository.class);
+        addressRepository = mock(AddressRepository.class);
+        pinCodeRepository = mock(PinCodeServiceabilityRepository.class);
+        DocumentNumberAllocator numberAllocator = mock(DocumentNumberAllocator.class);
+        when(numberAllocator.nextOrderNumber()).thenReturn("BK-20260101-000001");
+
+        orderService = new OrderService();
+        ReflectionTestUtils.setField(orderService, "orderRepository", orderRepository);
+        ReflectionTestUtils.setField(orderService, "orderItemRepository", orderItemRepository);
+        ReflectionTestUtils.setField(orderService, "statusHistoryRepository", statusHistoryRepository);
+        ReflectionTestUtils.setField(orderService, "cartRepository", cartRepository);
+        ReflectionTestUtils.setField(orderService, "cartItemRepository", cartItemRepository);
+        ReflectionTestUtils.setField(orderService, "productImageRepository", productImageRepository);
+        ReflectionTestUtils.setField(orderService, "addressRepository", addressRepository);
+        ReflectionTestUtils.setField(orderService, "pinCodeRepository", pinCodeRepository);
+        ReflectionTestUtils.setField(orderService, "priceCalculationService", mock(PriceCalculationService.class));
+        ReflectionTestUtils.setField(orderService, "numberAllocator", numberAllocator);
+
+        Address address = new Address();
+        address.setId(addressId);
+        address.setState("Karnataka");
+        address.setPinCode("560001");
+        PinCodeServiceability pinCode = new PinCodeServiceability();
+        pinCode.setPinCode("560001");
+        when(addressRepository.findByIdAndUserId(addressId, userId)).thenReturn(Optional.of(address));
+        when(pinCodeRepository.findByPinCode("560001")).thenReturn(Optional.of(pinCode));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void checkoutRoundTripsDoNotGrowWithCartSize() {
+        int small = checkoutAndCountRepositoryCalls(1);
+        int large = checkoutAndCountRepositoryCalls(100);
+
+        // cart fetch-join, address, PIN code, primary images, order save, item delete, cart reset
+        assertEquals(7, small);
+        assertEquals(small, large);
+    }
+
+    @Test
+    void itemsAndHistoryCascadeFromSingleOrderSave() {
+        OrderResponse response = orderService.createOrder(user(), checkout(cartWithLines(100)));
+
+        ArgumentCaptor<Order> saved = ArgumentCaptor.forClass(Order.class);
+        verify(orderRepository, times(1)).save(saved.capture());
+        assertEquals(100, saved.getValue().getItems().size());
+        assertEquals(1, saved.getValue().getStatusHistory().size());
+        assertEquals(100, response.getItemCount());
+        verify(productImageRepository, times(1)).findByProductIds(anyCollection());
+        verifyNoInteractions(orderItemRepository, statusHistoryRepository);
+    }
+
+    @Test
+    void orderInsertsAreBatched() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = getClass().getResourceAsStream("/application.properties")) {
+            properties.load(in);
+        }
+
+        int batchSize = Integer.parseInt(properties.getProperty("spring.jpa.properties.hibernate.jdbc.batch_size"));
+        assertTrue(batchSize >= 50, "100 order items should go out in at most two batches");
+        assertEquals("true", properties.getProperty("spring.jpa.properties.hibernate.order_inserts"));
+        assertEquals("true", properties.getProperty("spring.datasource.hikari.data-source-properties.reWriteBatchedInserts"));
+    }
+
+    @Test
+    void checkoutLatencyBenchmark() {
+        User user = user();
+        CheckoutRequest request = checkout(cartWithLines(100));
+        int iterations = 1_000;
+
+        // Warm up so the JIT has compiled the checkout path before timing
+        for (int i = 0; i < 300; i++) {
+            orderService.createOrder(user, request);
+            clearRepositoryInvocations();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            orderService.createOrder(user, request);
+            if (i % 100 == 0) {
+                clearRepositoryInvocations();
+            }
+        }
+        double microsPerCheckout = (System.nanoTime() - start) / 1_000.0 / iterations;
+        System.out.printf("100-line checkout (repositories mocked): %.1f us%n", microsPerCheckout);
+
+        // Loose bound so a slow CI machine does not fail; in-memory order assembly must stay far below a round trip
+        assertTrue(microsPerCheckout < 20_000, "100-line checkout took " + microsPerCheckout + " us");
+    }
+
+    private void clearRepositoryInvocations() {
+        clearInvocations(orderRepository, orderItemRepository, statusHistoryRepository, cartRepository,
+                cartItemRepository, productImageRepository, addressRepository, pinCodeRepository);
+    }
+
+    private int checkoutAndCountRepositoryCalls(int lines) {
+        clearRepositoryInvocations();
+
+        orderService.createOrder(user(), checkout(cartWithLines(lines)));
+
+        int calls = 0;
+        for (Object repository : List.of(orderRepository, orderItemRepository, statusHistoryRepository,
+                cartRepository, cartItemRepository, productImageRepository, addressRepository, pinCodeRepository)) {
+            calls += mockingDetails(repository).getInvocations().size();
+        }
+        return calls;
+    }
+
+    private User user() {
+        User user = new User();
+        user.setId(userId);
+        return user;
+    }
+
+    private CheckoutRequest checkout(Cart cart) {
+        when(cartRepository.findByUserIdForCheckout(userId)).thenReturn(Optional.of(cart));
+
+        CheckoutRequest request = new CheckoutRequest();
+        request.setDeliveryAddressId(addressId);
+        request.setDeliveryOption(DeliveryOption.STANDARD);
+        request.setTermsAccepted(true);
+        return request;
+    }
+
+    private Cart cartWithLines(int lines) {
+        Cart cart = new Cart();
+        cart.setId(UUID.randomUUID());
+        List<CartItem> items = new ArrayList<>();
+        List<ProductImage> images = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            Product product = new Product();
+            product.setId(UUID.randomUUID());
+            product.setName("Product " + i);
+            product.setSlug("product-" + i);
+            product.setBasePrice(new BigDecimal("100.00"));
+
+            CartItem item = new CartItem();
+            item.setCart(cart);
+            item.setProduct(product);
+            item.setQuantity(10);
+            item.setUnitPrice(new BigDecimal("90.00"));
+            item.setDiscountPercentage(new BigDecimal("10.00"));
+            item.setCustomizationFee(BigDecimal.ZERO);
+            item.setSubtotal(new BigDecimal("900.00"));
+            items.add(item);
+
+            ProductImage image = new ProductImage();
+            image.setProduct(product);
+            image.setImageUrl("https://cdn.test/products/" + i + ".png");
+            image.setIsPrimary(true);
+            images.add(image);
+        }
+        cart.setItems(items);
+        when(productImageRepository.findByProductIds(anyCollection())).thenReturn(images);
+        return cart;
+    }
+}
@@ -0,0 +1,166 @@
+package com.brandkit.order.service;
+
+import com.brandkit.auth.entity.User;
+import com.brandkit.order.dto.OrderListResponse;
+import com.brandkit.order.dto.OrderResponse;
+import com.brandkit.order.entity.DeliveryOption;
+import com.brandkit.order.entity.Order;
+import com.brandkit.order.entity.OrderItem;
+import com.brandkit.order.entity.OrderStatus;
+import com.brandkit.order.repository.OrderItemRepository;
+import com.brandkit.order.repository.OrderRepository;
+import com.brandkit.order.repository.OrderStatusHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Order read path: repository round trips per request. A detail miss costs the
+ * order and its history, a hit costs nothing, and a list page costs one item
+ * summary query however many rows it has (no per-row lazy loads).
+ */
+class OrderServiceReadTest {
+
+    private final UUID userId = UUID.randomUUID();
+
+    private OrderRepository orderRepository;
+    private OrderItemRepository orderItemRepository;
+    private OrderStatusHistoryRepository statusHistoryRepository;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        orderItemRepository = mock(OrderItemRepository.class);
+        statusHistoryRepository = mock(OrderStatusHistoryRepository.class);
+
+        OrderViewCache orderViewCache = new OrderViewCache();
+        ReflectionTestUtils.setField(orderViewCache, "maxEntries", 100);
+        ReflectionTestUtils.setField(orderViewCache, "ttl", Duration.ofMinutes(1));
+        ReflectionTestUtils.invokeMethod(orderViewCache, "init");
+
+        orderService = new OrderService();
+        ReflectionTestUtils.setField(orderService, "orderRepository", orderRepository);
+        ReflectionTestUtils.setField(orderService, "orderItemRepository", orderItemRepository);
+        ReflectionTestUtils.setField(orderService, "statusHistoryRepository", statusHistoryRepository);
+        ReflectionTestUtils.setField(orderService, "orderViewCache", orderViewCache);
+    }
+
+    @Test
+    void orderDetailMissCostsTwoQueriesAndHitNone() {
+        Order order = order(OrderStatus.CONFIRMED);
+        order.setItems(new ArrayList<>());
+        when(orderRepository.findByIdAndUserIdWithDetails(order.getId(), userId)).thenReturn(Optional.of(order));
+
+        orderService.getOrder(user(), order.getId());
+        // order with items and address, then history
+        assertEquals(2, repositoryCalls());
+
+        clearInvocations(orderRepository, orderItemRepository, statusHistoryRepository);
+        OrderResponse cached = orderService.getOrder(user(), order.getId());
+        assertEquals(0, repositoryCalls());
+        assertEquals(order.getId(), cached.getId());
+    }
+
+    @Test
+    void orderListPageCostsOneSummaryQueryWhateverItsSize() {
+        assertEquals(2, listAndCountRepositoryCalls(1));
+        // page query + item summaries, never one items load per row
+        assertEquals(2, listAndCountRepositoryCalls(50));
+    }
+
+    @Test
+    void orderListTakesQuantitiesFromSummaryRows() {
+        Order order = order(OrderStatus.DELIVERED);
+        order.setItems(unloadedItems());
+        Pageable pageable = PageRequest.of(0, 20);
+        when(orderRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable))
+                .thenReturn(new PageImpl<>(List.of(order), pageable, 1));
+        when(orderItemRepository.findListSummariesByOrderIds(anyCollection())).thenReturn(List.of(
+                new Object[]{order.getId(), "Mug", "https://cdn/mug.png", 3},
+                new Object[]{order.getId(), "Tee", "https://cdn/tee.png", 2}));
+
+        OrderListResponse row = orderService.getUserOrders(user(), pageable).getContent().get(0);
+
+        assertEquals(2, row.getItemCount());
+        assertEquals(5, row.getTotalQuantity());
+        assertEquals("Mug", row.getFirstProductName());
+    }
+
+    private int listAndCountRepositoryCalls(int rows) {
+        List<Order> orders = new ArrayList<>();
+        List<Object[]> summaries = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            Order order = order(OrderStatus.CONFIRMED);
+            order.setItems(unloadedItems());
+            orders.add(order);
+            summaries.add(new Object[]{order.getId(), "Product " + i, null, 1});
+        }
+        Pageable pageable = PageRequest.of(0, Math.max(rows, 1));
+        when(orderRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable))
+                .thenReturn(new PageImpl<>(orders, pageable, rows));
+        when(orderItemRepository.findListSummariesByOrderIds(anyCollection())).thenReturn(summaries);
+        clearInvocations(orderRepository, orderItemRepository, statusHistoryRepository);
+
+        Page<OrderListResponse> page = orderService.getUserOrders(user(), pageable);
+
+        assertEquals(rows, page.getNumberOfElements());
+        verify(orderItemRepository, times(1)).findListSummariesByOrderIds(anyCollection());
+        return repositoryCalls();
+    }
+
+    private int repositoryCalls() {
+        int calls = 0;
+        for (Object repository : List.of(orderRepository, orderItemRepository, statusHistoryRepository)) {
+            calls += mockingDetails(repository).getInvocations().size();
+        }
+        return calls;
+    }
+
+    /**
+     * Stands in for an uninitialized lazy collection: touching it would be a query per row
+     */
+    private List<OrderItem> unloadedItems() {
+        return new AbstractList<>() {
+            @Override
+            public OrderItem get(int index) {
+                throw new AssertionError("Order items loaded for a list row");
+            }
+
+            @Override
+            public int size() {
+                throw new AssertionError("Order items loaded for a list row");
+            }
+        };
+    }
+
+    private Order order(OrderStatus status) {
+        Order order = new Order();
+        order.setId(UUID.randomUUID());
+        order.setOrderNumber("BK-20260101-" + order.getId().toString().substring(0, 6));
+        order.setStatus(status);
+        order.setDeliveryOption(DeliveryOption.STANDARD);
+        return order;
+    }
+
+    private User user() {
+        User user = new User();
+        user.setId(userId);
+        return user;
+    }
+}
@@ -0,0 +1,216 @@
+package com.brandkit.order.service;
+
+import com.brandkit.order.entity.Order;
+import com.brandkit.order.entity.OrderStatus;
+import com.brandkit.order.entity.OrderStatusHistory;
+import com.brandkit.order.exception.OrderException;
+import com.brandkit.order.repository.OrderRepository;
+import com.brandkit.order.repository.OrderStatusHistoryRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * OrderTransitionService against a simulated order row whose compare-and-set
+ * behaves like the versioned UPDATE: concurrent writers never lose an update
+ */
+class OrderTransitionServiceTest {
+
+    private final UUID orderId = UUID.randomUUID();
+
+    private OrderRow row;
+    private OrderStatusHistoryRepository statusHistoryRepository;
+    private OrderTransitionService service;
+
+    /**
+     * One orders row: (status, version), updated atomically
+     */
+    private static final class OrderRow {
+        private OrderStatus status;
+        private long version;
+
+        OrderRow(OrderStatus status) {
+            this.status = status;
+        }
+
+        synchronized OrderRepository.StatusVersion read() {
+            OrderStatus currentStatus = status;
+            long currentVersion = version;
+            return new OrderRepository.StatusVersion() {
+                public OrderStatus getStatus() { return currentStatus; }
+                public Long getVersion() { return currentVersion; }
+                public UUID getPartnerId() { return null; }
+            };
+        }
+
+        synchronized int compareAndSet(OrderStatus expectedStatus, long expectedVersion, OrderStatus newStatus) {
+            if (status != expectedStatus || version != expectedVersion) {
+                return 0;
+            }
+            status = newStatus;
+            version++;
+            return 1;
+        }
+
+        synchronized OrderStatus status() {
+            return status;
+        }
+
+        synchronized long version() {
+            return version;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        row = new OrderRow(OrderStatus.PENDING_PAYMENT);
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        when(orderRepository.findStatusVersion(orderId)).thenAnswer(invocation -> Optional.of(row.read()));
+        when(orderRepository.compareAndSetStatus(eq(orderId), any(OrderStatus.class), anyLong(),
+                any(OrderStatus.class), any(OffsetDateTime.class)))
+                .thenAnswer(invocation -> row.compareAndSet(invocation.getArgument(1),
+                        invocation.<Long>getArgument(2), invocation.getArgument(3)));
+        statusHistoryRepository = mock(OrderStatusHistoryRepository.class);
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.getReference(Order.class, orderId)).thenReturn(new Order());
+
+        service = new OrderTransitionService();
+        ReflectionTestUtils.setField(service, "orderRepository", orderRepository);
+        ReflectionTestUtils.setField(service, "statusHistoryRepository", statusHistoryRepository);
+        ReflectionTestUtils.setField(service, "outboxService", mock(OutboxService.class));
+        ReflectionTestUtils.setField(service, "orderViewCache", mock(OrderViewCache.class));
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+        ReflectionTestUtils.setField(service, "maxAttempts", 50);
+        ReflectionTestUtils.setField(service, "backoffMs", 1L);
+    }
+
+    @Test
+    void concurrentConfirmAndTimeoutApplyExactlyOnce() throws Exception {
+        int writers = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < writers; i++) {
+                // Payment confirmation and payment-timeout cancellation race on the same order
+                OrderStatus target = i % 2 == 0 ? OrderStatus.CONFIRMED : OrderStatus.CANCELLED;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        OrderTransitionService.Transition transition = service.transition(orderId, target,
+                                EnumSet.of(OrderStatus.PENDING_PAYMENT), "test", null, null);
+                        if (transition.applied()) {
+                            applied.incrementAndGet();
+                        }
+                    } catch (OrderException e) {
+                        assertEquals("ORD_023", e.getErrorCode());
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, applied.get());
+        assertEquals(1L, row.version());
+        assertTrue(row.status() == OrderStatus.CONFIRMED || row.status() == OrderStatus.CANCELLED);
+        verify(statusHistoryRepository, times(1)).save(any(OrderStatusHistory.class));
+        // Writers for the losing target see the invalid move instead of overwriting the winner
+        assertEquals(writers / 2, rejected.get());
+    }
+
+    @Test
+    void concurrentForwardTransitionsAreAllRecordedInOrder() throws Exception {
+        row = new OrderRow(OrderStatus.CONFIRMED);
+        OrderStatus[] lifecycle = {OrderStatus.ACCEPTED, OrderStatus.IN_PRODUCTION};
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                OrderStatus target = lifecycle[i % lifecycle.length];
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    // Retry until the order has reached or passed this step, like a redelivered event
+                    while (row.status() != target && row.status() != OrderStatus.IN_PRODUCTION) {
+                        try {
+                            service.transition(orderId, target, "test", null);
+                        } catch (OrderException e) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(OrderStatus.IN_PRODUCTION, row.status());
+        assertEquals(2L, row.version());
+        verify(statusHistoryRepository, times(2)).save(any(OrderStatusHistory.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bulkTransitionClaimsOnlyOrdersItMovedAndReportsInvalidOnes() {
+        UUID moved = UUID.randomUUID();
+        UUID movedElsewhere = UUID.randomUUID();
+        UUID notReady = UUID.randomUUID();
+        OrderRepository orderRepository = (OrderRepository) ReflectionTestUtils.getField(service, "orderRepository");
+        OutboxService outboxService = (OutboxService) ReflectionTestUtils.getField(service, "outboxService");
+        // Another request has already shipped movedElsewhere, so the update only returns moved
+        when(orderRepository.compareAndSetStatuses(anyList(), eq("READY_TO_SHIP"), eq("SHIPPED"), any()))
+                .thenReturn(List.of(moved));
+
+        OrderTransitionService.BulkTransition result = service.transitionAll(Map.of(
+                        moved, OrderStatus.READY_TO_SHIP,
+                        movedElsewhere, OrderStatus.READY_TO_SHIP,
+                        notReady, OrderStatus.IN_PRODUCTION),
+                OrderStatus.SHIPPED, id -> "shipped", null);
+
+        assertEquals(Set.of(moved), result.transitions().keySet());
+        assertEquals(Map.of(notReady, OrderStatus.IN_PRODUCTION), result.rejected());
+        ArgumentCaptor<List<OrderStatusHistory>> histories = ArgumentCaptor.forClass(List.class);
+        verify(statusHistoryRepository).saveAll(histories.capture());
+        assertEquals(1, histories.getValue().size());
+        verify(outboxService, times(1)).publishStatusChanged(moved, OrderStatus.SHIPPED, null);
+        verifyNoMoreInteractions(outboxService);
+    }
+}
@@ -0,0 +1,84 @@
+package com.brandkit.order.service;
+
+import com.brandkit.order.dto.OrderResponse;
+import com.brandkit.order.entity.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OrderViewCache versioned puts
+ */
+class OrderViewCacheTest {
+
+    private final UUID orderId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+    private OrderViewCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new OrderViewCache();
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(1));
+        cache.init();
+    }
+
+    @Test
+    void cachesViewLoadedWithoutInterveningEviction() {
+        long version = cache.version(orderId);
+        cache.put(orderId, userId, view(OrderStatus.CONFIRMED), version);
+
+        assertNotNull(cache.get(orderId, userId));
+        assertNull(cache.get(orderId, UUID.randomUUID()));
+    }
+
+    @Test
+    void dropsViewLoadedBeforeConcurrentCommit() {
+        long version = cache.version(orderId);
+        OrderResponse loaded = view(OrderStatus.CONFIRMED);
+        // The writer commits and evicts while the reader is still mapping its (old) view
+        cache.evict(orderId);
+        cache.put(orderId, userId, loaded, version);
+
+        assertNull(cache.get(orderId, userId));
+        assertEquals(1L, cache.getStats().get("stalePutsDropped"));
+
+        // The next reader loads after the commit and may cache
+        long next = cache.version(orderId);
+        cache.put(orderId, userId, view(OrderStatus.IN_PRODUCTION), next);
+        assertEquals(OrderStatus.IN_PRODUCTION, cache.get(orderId, userId).getStatus());
+    }
+
+    @Test
+    void statusEvictionInvalidatesInFlightLoads() {
+        long version = cache.version(orderId);
+        cache.evictByStatus(OrderStatus.PENDING_PAYMENT);
+        cache.put(orderId, userId, view(OrderStatus.PENDING_PAYMENT), version);
+
+        assertNull(cache.get(orderId, userId));
+    }
+
+    @Test
+    void statusEvictionRemovesOnlyThatStatus() {
+        UUID otherId = UUID.randomUUID();
+        cache.put(orderId, userId, view(OrderStatus.PENDING_PAYMENT), cache.version(orderId));
+        cache.put(otherId, userId, view(OrderStatus.CONFIRMED), cache.version(otherId));
+
+        cache.evictByStatus(OrderStatus.PENDING_PAYMENT);
+
+        assertNull(cache.get(orderId, userId));
+        assertNotNull(cache.get(otherId, userId));
+    }
+
+    private OrderResponse view(OrderStatus status) {
+        OrderResponse response = new OrderResponse();
+        response.setId(orderId);
+        response.setStatus(status);
+        return response;
+    }
+}
@@ -0,0 +1,166 @@
+package com.brandkit.partner.service;
+
+import com.brandkit.admin.service.CommissionService;
+import com.brandkit.catalog.repository.PartnerRepository;
+import com.brandkit.order.entity.PartnerOrderStatus;
+import com.brandkit.order.repository.OrderItemRepository;
+import com.brandkit.order.repository.OrderPartnerAssignmentRepository;
+import com.brandkit.order.repository.OrderPartnerAssignmentRepository.RecentAssignmentView;
+import com.brandkit.partner.dto.PartnerDashboardResponse;
+import com.brandkit.partner.entity.DiscountStatus;
+import com.brandkit.partner.repository.PartnerDiscountRepository;
+import com.brandkit.partner.repository.PartnerNotificationRepository;
+import com.brandkit.partner.repository.SettlementRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Partner dashboard read path: a fixed number of queries however many recent
+ * orders there are, and none at all while the cached dashboard is fresh.
+ */
+class PartnerDashboardServiceTest {
+
+    private final UUID partnerId = UUID.randomUUID();
+
+    private PartnerRepository partnerRepository;
+    private OrderPartnerAssignmentRepository assignmentRepository;
+    private OrderItemRepository orderItemRepository;
+    private PartnerNotificationRepository notificationRepository;
+    private PartnerDiscountRepository discountRepository;
+    private SettlementRepository settlementRepository;
+    private PartnerDashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        partnerRepository = mock(PartnerRepository.class);
+        assignmentRepository = mock(OrderPartnerAssignmentRepository.class);
+        orderItemRepository = mock(OrderItemRepository.class);
+        notificationRepository = mock(PartnerNotificationRepository.class);
+        discountRepository = mock(PartnerDiscountRepository.class);
+        settlementRepository = mock(SettlementRepository.class);
+        CommissionService commissionService = mock(CommissionService.class);
+        when(commissionService.resolveCommissionRate(any(), any())).thenReturn(BigDecimal.TEN);
+
+        when(partnerRepository.existsById(partnerId)).thenReturn(true);
+        when(assignmentRepository.countByPartnerIdGroupByStatus(partnerId)).thenReturn(List.<Object[]>of(
+                new Object[]{PartnerOrderStatus.AWAITING_ACCEPTANCE, 3L},
+                new Object[]{PartnerOrderStatus.READY_TO_SHIP, 2L}));
+        when(discountRepository.countByPartnerIdGroupByStatus(partnerId)).thenReturn(List.<Object[]>of(
+                new Object[]{DiscountStatus.PENDING, 1L}));
+        when(settlementRepository.sumPartnerEarningsByPartnerIdAndStatus(eq(partnerId), any()))
+                .thenReturn(new BigDecimal("1200.00"));
+        when(notificationRepository.countByPartnerIdAndIsReadFalse(partnerId)).thenReturn(4L);
+
+        dashboardService = new PartnerDashboardService();
+        ReflectionTestUtils.setField(dashboardService, "partnerRepository", partnerRepository);
+        ReflectionTestUtils.setField(dashboardService, "assignmentRepository", assignmentRepository);
+        ReflectionTestUtils.setField(dashboardService, "orderItemRepository", orderItemRepository);
+        ReflectionTestUtils.setField(dashboardService, "notificationRepository", notificationRepository);
+        ReflectionTestUtils.setField(dashboardService, "discountRepository", discountRepository);
+        ReflectionTestUtils.setField(dashboardService, "settlementRepository", settlementRepository);
+        ReflectionTestUtils.setField(dashboardService, "commissionService", commissionService);
+        ReflectionTestUtils.setField(dashboardService, "threads", 4);
+        ReflectionTestUtils.setField(dashboardService, "cacheTtl", Duration.ofMinutes(1));
+        dashboardService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dashboardService.shutdown();
+    }
+
+    @Test
+    void queriesDoNotGrowWithRecentOrders() {
+        int one = buildAndCountRepositoryCalls(1);
+        int ten = buildAndCountRepositoryCalls(10);
+
+        // partner check, assignment counts, discount counts, earnings, unread, recent assignments, their items
+        assertEquals(7, one);
+        assertEquals(one, ten);
+    }
+
+    @Test
+    void freshDashboardIsServedFromCache() {
+        stubRecentOrders(10);
+        PartnerDashboardResponse first = dashboardService.getDashboard(partnerId);
+        clearRepositoryInvocations();
+
+        assertSame(first, dashboardService.getDashboard(partnerId));
+        assertEquals(0, repositoryCalls());
+
+        dashboardService.evictAfterCommit(partnerId);
+        dashboardService.getDashboard(partnerId);
+        assertEquals(7, repositoryCalls());
+    }
+
+    @Test
+    void sectionsAreAssembledFromGroupedCounts() {
+        stubRecentOrders(2);
+        PartnerDashboardResponse response = dashboardService.getDashboard(partnerId);
+
+        assertEquals(3L, response.getSummary().getPendingOrders());
+        assertEquals(2L, response.getSummary().getReadyToShip());
+        assertEquals(new BigDecimal("1200.00"), response.getSummary().getRevenueThisMonth());
+        assertEquals(1L, response.getDiscountStatus().getPending());
+        assertEquals(4L, response.getUnreadNotifications());
+        assertEquals(3, response.getAlerts().size());
+        assertEquals(2, response.getRecentOrders().size());
+        assertEquals("Tee", response.getRecentOrders().get(0).getProductName());
+        assertEquals(7, response.getRecentOrders().get(0).getQuantity());
+        assertEquals(new BigDecimal("90.00"), response.getRecentOrders().get(0).getPartnerEarnings());
+    }
+
+    private int buildAndCountRepositoryCalls(int recentOrders) {
+        stubRecentOrders(recentOrders);
+        dashboardService.evictAfterCommit(partnerId);
+        clearRepositoryInvocations();
+        dashboardService.getDashboard(partnerId);
+        return repositoryCalls();
+    }
+
+    private void stubRecentOrders(int count) {
+        List<RecentAssignmentView> assignments = new ArrayList<>();
+        List<Object[]> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            UUID orderId = UUID.randomUUID();
+            RecentAssignmentView view = mock(RecentAssignmentView.class);
+            when(view.getOrderId()).thenReturn(orderId);
+            when(view.getOrderNumber()).thenReturn("BK-" + i);
+            when(view.getStatus()).thenReturn(PartnerOrderStatus.AWAITING_ACCEPTANCE);
+            when(view.getSubtotal()).thenReturn(new BigDecimal("100.00"));
+            when(view.getOrderCreatedAt()).thenReturn(OffsetDateTime.now());
+            assignments.add(view);
+            items.add(new Object[]{orderId, "Tee", 5});
+            items.add(new Object[]{orderId, "Mug", 2});
+        }
+        when(assignmentRepository.findRecentByPartnerId(eq(partnerId), any())).thenReturn(assignments);
+        when(orderItemRepository.findQuantitiesByOrderIds(anyCollection())).thenReturn(items);
+    }
+
+    private void clearRepositoryInvocations() {
+        clearInvocations(partnerRepository, assignmentRepository, orderItemRepository,
+                notificationRepository, discountRepository, settlementRepository);
+    }
+
+    private int repositoryCalls() {
+        int calls = 0;
+        for (Object repository : List.of(partnerRepository, assignmentRepository, orderItemRepository,
+                notificationRepository, discountRepository, settlementRepository)) {
+            calls += mockingDetails(repository).getInvocations().size();
+        }
+        return calls;
+    }
+}
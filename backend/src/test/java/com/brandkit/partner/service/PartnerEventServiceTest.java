@@ -0,0 +1,122 @@
+package com.brandkit.partner.service;
+
+import com.brandkit.partner.service.PartnerEventBroker.Event;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Partner push channel: per-connection ordering and sending each event once
+ */
+class PartnerEventServiceTest {
+
+    private final UUID partnerId = UUID.randomUUID();
+
+    private InMemoryPartnerEventBroker broker;
+    private PartnerEventService eventService;
+
+    @BeforeEach
+    void setUp() {
+        broker = new InMemoryPartnerEventBroker();
+        eventService = new PartnerEventService();
+        ReflectionTestUtils.setField(eventService, "broker", broker);
+        ReflectionTestUtils.setField(eventService, "timeout", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(eventService, "replaySize", 100);
+        ReflectionTestUtils.setField(eventService, "replayWindow", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(eventService, "threads", 4);
+        ReflectionTestUtils.setField(eventService, "subscriberQueueSize", 10_000);
+        eventService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventService.shutdown();
+    }
+
+    @Test
+    void eventsGoOutInArrivalOrderOnAMultiThreadedPool() throws InterruptedException {
+        SseEmitter emitter = eventService.subscribe(partnerId, null);
+
+        for (int i = 0; i < 2000; i++) {
+            broker.publish(partnerId, "order", Map.of("n", i));
+        }
+
+        List<Long> ids = awaitSentIds(emitter, 2000);
+        assertEquals(2000, ids.size());
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i) > ids.get(i - 1), "event " + ids.get(i) + " sent after " + ids.get(i - 1));
+        }
+    }
+
+    @Test
+    void eventReplayedAndDeliveredLiveIsSentOnce() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            broker.publish(partnerId, "notification", Map.of("n", i));
+        }
+        List<Event> recent = recentEvents();
+        long resumeAfter = recent.get(0).id();
+
+        SseEmitter emitter = eventService.subscribe(partnerId, resumeAfter);
+        // The same events reach this instance again, e.g. from the broker after a reconnect
+        for (Event event : recent) {
+            ReflectionTestUtils.invokeMethod(eventService, "deliver", event);
+        }
+        broker.publish(partnerId, "notification", Map.of("n", 5));
+
+        // Four replayed, then only the new one: the rest were sent already or are the client's last event
+        awaitSentIds(emitter, 5);
+        Thread.sleep(100);
+        List<Long> ids = sentIds(emitter);
+        assertEquals(5, ids.size(), "sent " + ids);
+        assertEquals(ids.size(), ids.stream().distinct().count());
+        assertFalse(ids.contains(resumeAfter));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Event> recentEvents() {
+        Map<UUID, Collection<?>> recent = (Map<UUID, Collection<?>>) ReflectionTestUtils.getField(eventService, "recentEvents");
+        List<Event> events = new ArrayList<>();
+        for (Object entry : recent.get(partnerId)) {
+            events.add((Event) ReflectionTestUtils.invokeMethod(entry, "event"));
+        }
+        return events;
+    }
+
+    private static List<Long> awaitSentIds(SseEmitter emitter, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        List<Long> ids = sentIds(emitter);
+        while (ids.size() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            ids = sentIds(emitter);
+        }
+        return ids;
+    }
+
+    /**
+     * IDs of the events sent so far: an emitter not yet bound to a response buffers what is sent to it
+     */
+    private static List<Long> sentIds(SseEmitter emitter) {
+        List<Long> ids = new ArrayList<>();
+        synchronized (emitter) {
+            Collection<?> early = (Collection<?>) ReflectionTestUtils.getField(emitter, "earlySendAttempts");
+            for (Object part : early) {
+                Object data = ReflectionTestUtils.invokeMethod(part, "getData");
+                if (data instanceof String text && text.startsWith("id:")) {
+                    ids.add(Long.parseLong(text.substring(3, text.indexOf('\n'))));
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,120 @@
+package com.brandkit.partner.service;
+
+import com.brandkit.catalog.repository.PartnerRepository;
+import com.brandkit.order.repository.OrderRepository;
+import com.brandkit.partner.entity.NotificationType;
+import com.brandkit.partner.entity.PartnerNotification;
+import com.brandkit.partner.repository.PartnerNotificationRepository;
+import com.brandkit.partner.service.PartnerNotificationWriter.PendingNotification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Partner notification writer: failed batches fall back to row-by-row writes, the
+ * caller-writes fallback gets its own transaction, and outbox-raised notifications
+ * are written in the caller's transaction
+ */
+class PartnerNotificationWriterTest {
+
+    private final UUID partnerId = UUID.randomUUID();
+
+    private PartnerNotificationRepository notificationRepository;
+    private PartnerUnreadCountCache unreadCounts;
+    private PartnerEventService eventService;
+    private PlatformTransactionManager transactionManager;
+    private PartnerNotificationWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(PartnerNotificationRepository.class);
+        unreadCounts = mock(PartnerUnreadCountCache.class);
+        eventService = mock(PartnerEventService.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+
+        writer = new PartnerNotificationWriter();
+        ReflectionTestUtils.setField(writer, "notificationRepository", notificationRepository);
+        ReflectionTestUtils.setField(writer, "partnerRepository", mock(PartnerRepository.class));
+        ReflectionTestUtils.setField(writer, "orderRepository", mock(OrderRepository.class));
+        ReflectionTestUtils.setField(writer, "unreadCounts", unreadCounts);
+        ReflectionTestUtils.setField(writer, "eventService", eventService);
+        ReflectionTestUtils.setField(writer, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(writer, "queueCapacity", 100);
+        ReflectionTestUtils.setField(writer, "batchSize", 50);
+        writer.init();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.shutdown();
+    }
+
+    @Test
+    void failedBatchIsRetriedRowByRow() {
+        when(notificationRepository.saveAll(anyList())).thenThrow(new IllegalStateException("bad row"));
+        when(notificationRepository.save(any(PartnerNotification.class)))
+                .thenAnswer(invocation -> saved(invocation.getArgument(0)))
+                .thenThrow(new IllegalStateException("bad row"))
+                .thenAnswer(invocation -> saved(invocation.getArgument(0)));
+
+        ReflectionTestUtils.invokeMethod(writer, "write", List.of(pending("a"), pending("b"), pending("c")));
+
+        verify(notificationRepository, times(3)).save(any(PartnerNotification.class));
+        verify(eventService, times(2)).publish(eq(partnerId), eq("notification"), any());
+        verify(unreadCounts, times(3)).beginChange(partnerId);
+        verify(unreadCounts, times(2)).endChange(partnerId, 1);
+        verify(unreadCounts, times(1)).endChange(partnerId, 0);
+        Map<String, Object> stats = writer.getStats();
+        assertEquals(2L, stats.get("written"));
+        assertEquals(1L, stats.get("failures"));
+    }
+
+    @Test
+    void writesRunInTheirOwnTransaction() {
+        when(notificationRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> invocation.<List<PartnerNotification>>getArgument(0).stream()
+                        .map(this::saved).toList());
+
+        // Same path as the caller-writes fallback, which runs in the raising transaction's afterCommit
+        ReflectionTestUtils.invokeMethod(writer, "write", List.of(pending("a")));
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getValue().getPropagationBehavior());
+        verify(eventService).publish(eq(partnerId), eq("notification"), any());
+    }
+
+    @Test
+    void writeNowInsertsInCallersTransaction() {
+        when(notificationRepository.save(any(PartnerNotification.class)))
+                .thenAnswer(invocation -> saved(invocation.getArgument(0)));
+
+        writer.writeNow(pending("order"));
+
+        verify(notificationRepository).save(any(PartnerNotification.class));
+        verifyNoInteractions(transactionManager);
+        verify(unreadCounts).changeAfterCommit(partnerId, 1);
+        verify(eventService).publish(eq(partnerId), eq("notification"), any());
+    }
+
+    private PendingNotification pending(String title) {
+        return new PendingNotification(partnerId, NotificationType.SYSTEM, title, "message", null);
+    }
+
+    private PartnerNotification saved(PartnerNotification notification) {
+        notification.setId(UUID.randomUUID());
+        return notification;
+    }
+}
@@ -0,0 +1,108 @@
+package com.brandkit.partner.service;
+
+import com.brandkit.partner.repository.PartnerNotificationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unread count cache: adjustments on commit, and loads that overlap a write are
+ * not cached
+ */
+class PartnerUnreadCountCacheTest {
+
+    private final UUID partnerId = UUID.randomUUID();
+
+    private PartnerNotificationRepository notificationRepository;
+    private PartnerUnreadCountCache cache;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(PartnerNotificationRepository.class);
+        cache = new PartnerUnreadCountCache();
+        ReflectionTestUtils.setField(cache, "notificationRepository", notificationRepository);
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void committedWritesAdjustTheCachedCount() {
+        when(notificationRepository.countByPartnerIdAndIsReadFalse(partnerId)).thenReturn(3L);
+        assertEquals(3, cache.get(partnerId));
+
+        cache.beginChange(partnerId);
+        cache.endChange(partnerId, 2);
+        cache.decrementAfterCommit(partnerId);
+
+        assertEquals(4, cache.get(partnerId));
+        verify(notificationRepository, times(1)).countByPartnerIdAndIsReadFalse(partnerId);
+    }
+
+    @Test
+    void loadOverlappingAWriteIsNotCached() {
+        // The write commits while the count query runs: the loaded 5 already includes it
+        when(notificationRepository.countByPartnerIdAndIsReadFalse(partnerId)).thenAnswer(invocation -> {
+            cache.beginChange(partnerId);
+            cache.endChange(partnerId, 1);
+            return 5L;
+        }).thenReturn(5L);
+
+        assertEquals(5, cache.get(partnerId));
+        // Reloaded rather than cached and then bumped to 6
+        assertEquals(5, cache.get(partnerId));
+        assertEquals(5, cache.get(partnerId));
+        verify(notificationRepository, times(2)).countByPartnerIdAndIsReadFalse(partnerId);
+    }
+
+    @Test
+    void loadDuringAnUncommittedWriteIsNotCached() {
+        when(notificationRepository.countByPartnerIdAndIsReadFalse(partnerId)).thenReturn(2L, 3L);
+        TransactionSynchronizationManager.initSynchronization();
+        cache.changeAfterCommit(partnerId, 1);
+
+        assertEquals(2, cache.get(partnerId));
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(3, cache.get(partnerId));
+        assertEquals(3, cache.get(partnerId));
+        verify(notificationRepository, times(2)).countByPartnerIdAndIsReadFalse(partnerId);
+    }
+
+    @Test
+    void rolledBackChangeLeavesCountAlone() {
+        when(notificationRepository.countByPartnerIdAndIsReadFalse(partnerId)).thenReturn(3L);
+        assertEquals(3, cache.get(partnerId));
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.decrementAfterCommit(partnerId);
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(3, cache.get(partnerId));
+        verify(notificationRepository, times(1)).countByPartnerIdAndIsReadFalse(partnerId);
+    }
+
+    private static void completeTransaction(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(status);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
@@ -0,0 +1,138 @@
+package com.brandkit.partner.service;
+
+import com.brandkit.admin.service.CommissionService;
+import com.brandkit.catalog.entity.Partner;
+import com.brandkit.order.entity.Order;
+import com.brandkit.order.entity.OrderPartnerAssignment;
+import com.brandkit.partner.entity.SettlementRun;
+import com.brandkit.partner.entity.SettlementRunStatus;
+import com.brandkit.partner.exception.PartnerException;
+import com.brandkit.partner.repository.SettlementRunPartnerRepository;
+import com.brandkit.partner.repository.SettlementRunRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Settlement run: scheduler handoff, retrying partners that used up their attempts,
+ * and settling at the earnings captured on delivery
+ */
+class SettlementRunServiceTest {
+
+    private final YearMonth period = YearMonth.now().minusMonths(1);
+
+    private SettlementRunRepository runRepository;
+    private SettlementRunPartnerRepository runPartnerRepository;
+    private SettlementRunService runService;
+
+    @BeforeEach
+    void setUp() {
+        runRepository = mock(SettlementRunRepository.class);
+        runPartnerRepository = mock(SettlementRunPartnerRepository.class);
+
+        runService = spy(new SettlementRunService());
+        ReflectionTestUtils.setField(runService, "runRepository", runRepository);
+        ReflectionTestUtils.setField(runService, "runPartnerRepository", runPartnerRepository);
+        ReflectionTestUtils.setField(runService, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(runService, "threads", 2);
+        ReflectionTestUtils.setField(runService, "lease", Duration.ofMinutes(10));
+        runService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        runService.shutdown();
+    }
+
+    @Test
+    void scheduledRunHandsOffToItsOwnThread() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicReference<String> runThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            runThread.set(Thread.currentThread().getName());
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(runService).runDueSettlements();
+
+        assertTrue(runService.submitDueSettlements());
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals("settlement-run-coordinator", runThread.get());
+        release.countDown();
+    }
+
+    @Test
+    void retryResetsFailedPartnersAndResumesRun() {
+        SettlementRun run = run(SettlementRunStatus.FAILED);
+        when(runRepository.findByPeriodStart(period.atDay(1))).thenReturn(Optional.of(run));
+        when(runPartnerRepository.resetFailed(run.getId())).thenReturn(2);
+        doReturn(Map.of("status", "COMPLETED")).when(runService).runSettlement(period);
+
+        runService.retryFailedPartners(period);
+
+        verify(runPartnerRepository).resetFailed(run.getId());
+        verify(runService).runSettlement(period);
+    }
+
+    @Test
+    void completedRunIsNotReset() {
+        when(runRepository.findByPeriodStart(period.atDay(1))).thenReturn(Optional.of(run(SettlementRunStatus.COMPLETED)));
+
+        assertThrows(PartnerException.class, () -> runService.retryFailedPartners(period));
+        verify(runPartnerRepository, never()).resetFailed(any());
+        verify(runService, never()).runSettlement(any());
+    }
+
+    @Test
+    void ordersSettleAtCapturedEarnings() {
+        CommissionService commissionService = mock(CommissionService.class);
+        SettlementService settlementService = new SettlementService();
+        ReflectionTestUtils.setField(settlementService, "commissionService", commissionService);
+
+        Order order = new Order();
+        order.setOriginalSubtotal(new BigDecimal("1200.00"));
+        order.setTotalDiscount(new BigDecimal("200.00"));
+        Partner partner = new Partner();
+        partner.setId(UUID.randomUUID());
+        OrderPartnerAssignment assignment = new OrderPartnerAssignment();
+        assignment.setOrder(order);
+        assignment.setPartner(partner);
+        assignment.setPartnerEarnings(new BigDecimal("880.00"));
+
+        SettlementService.CommissionDetails commission = settlementService.settledCommission(assignment);
+
+        // The rate has changed since delivery: the captured earnings still win
+        assertEquals(new BigDecimal("880.00"), commission.getPartnerEarnings());
+        assertEquals(new BigDecimal("1000.00"), commission.getFinalAmount());
+        assertEquals(new BigDecimal("120.00"), commission.getPlatformCommission());
+        assertEquals(new BigDecimal("12.00"), commission.getCommissionPercentage());
+        verifyNoInteractions(commissionService);
+    }
+
+    private SettlementRun run(SettlementRunStatus status) {
+        SettlementRun run = new SettlementRun();
+        run.setId(UUID.randomUUID());
+        run.setPeriodStart(period.atDay(1));
+        run.setPeriodEnd(period.atEndOfMonth());
+        run.setStatus(status);
+        return run;
+    }
+}
@@ -0,0 +1,126 @@
+package com.brandkit.partner.service;
+
+import com.brandkit.catalog.entity.Partner;
+import com.brandkit.customization.service.LogoStorageService;
+import com.brandkit.partner.entity.Settlement;
+import com.brandkit.partner.entity.SettlementRunPartner;
+import com.brandkit.partner.repository.SettlementOrderRepository;
+import com.brandkit.partner.repository.SettlementRunPartnerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Statement stage: each settled partner gets a stored CSV statement and a notification
+ */
+class SettlementStatementServiceTest {
+
+    @TempDir
+    Path root;
+
+    private final UUID runId = UUID.randomUUID();
+
+    private SettlementRunPartnerRepository runPartnerRepository;
+    private SettlementOrderRepository settlementOrderRepository;
+    private PartnerNotificationService notificationService;
+    private SettlementStatementService statementService;
+
+    @BeforeEach
+    void setUp() {
+        runPartnerRepository = mock(SettlementRunPartnerRepository.class);
+        settlementOrderRepository = mock(SettlementOrderRepository.class);
+        notificationService = mock(PartnerNotificationService.class);
+
+        LogoStorageService storageService = new LogoStorageService();
+        ReflectionTestUtils.setField(storageService, "uploadPath", root.toString());
+        ReflectionTestUtils.setField(storageService, "cdnBaseUrl", "https://cdn.test");
+        ReflectionTestUtils.setField(storageService, "storageType", "local");
+        ReflectionTestUtils.invokeMethod(storageService, "init");
+
+        statementService = new SettlementStatementService();
+        ReflectionTestUtils.setField(statementService, "runPartnerRepository", runPartnerRepository);
+        ReflectionTestUtils.setField(statementService, "settlementOrderRepository", settlementOrderRepository);
+        ReflectionTestUtils.setField(statementService, "storageService", storageService);
+        ReflectionTestUtils.setField(statementService, "notificationService", notificationService);
+        ReflectionTestUtils.setField(statementService, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(statementService, "batchSize", 100);
+        statementService.init();
+    }
+
+    @Test
+    void storesStatementAndRecordsItsUrl() throws IOException {
+        SettlementRunPartner runPartner = settledPartner();
+        Settlement settlement = runPartner.getSettlement();
+        when(runPartnerRepository.findStatementsPending(eq(runId), any())).thenReturn(List.of(runPartner));
+        when(settlementOrderRepository.findStatementLines(settlement.getId())).thenReturn(List.<Object[]>of(
+                new Object[]{"BK-20260301-000001", new BigDecimal("1000.00"), new BigDecimal("10.00"),
+                        new BigDecimal("100.00"), new BigDecimal("900.00")},
+                new Object[]{"BK-20260302-000002", new BigDecimal("500.00"), new BigDecimal("10.00"),
+                        new BigDecimal("50.00"), new BigDecimal("450.00")}));
+
+        int generated = ReflectionTestUtils.invokeMethod(statementService, "generateBatch", runId);
+
+        String key = "settlements/" + runPartner.getPartner().getId() + "/SET-2026-03-001.csv";
+        assertEquals(1, generated);
+        assertEquals("https://cdn.test/" + key, settlement.getStatementUrl());
+        assertEquals(key, settlement.getStatementS3Key());
+        assertTrue(runPartner.getStatementGenerated());
+
+        List<String> lines = Files.readAllLines(root.resolve(key));
+        assertEquals("Settlement,SET-2026-03-001", lines.get(0));
+        assertTrue(lines.contains("BK-20260301-000001,1000.00,10.00,100.00,900.00"));
+        assertTrue(lines.contains("BK-20260302-000002,500.00,10.00,50.00,450.00"));
+        assertTrue(lines.contains("Total Partner Earnings,1350.00"));
+        verify(notificationService).createSettlementNotification(runPartner.getPartner(), "SET-2026-03-001", "1350.00");
+    }
+
+    @Test
+    void failedUploadLeavesStatementPending() {
+        SettlementRunPartner runPartner = settledPartner();
+        when(runPartnerRepository.findStatementsPending(eq(runId), any())).thenReturn(List.of(runPartner));
+        when(settlementOrderRepository.findStatementLines(any())).thenThrow(new IllegalStateException("db down"));
+
+        assertThrows(IllegalStateException.class,
+                () -> ReflectionTestUtils.invokeMethod(statementService, "generateBatch", runId));
+
+        assertNull(runPartner.getSettlement().getStatementUrl());
+        assertFalse(runPartner.getStatementGenerated());
+        verifyNoInteractions(notificationService);
+    }
+
+    private SettlementRunPartner settledPartner() {
+        Partner partner = new Partner();
+        partner.setId(UUID.randomUUID());
+        Settlement settlement = Settlement.builder()
+                .settlementNumber("SET-2026-03-001")
+                .partner(partner)
+                .periodStart(LocalDate.of(2026, 3, 1))
+                .periodEnd(LocalDate.of(2026, 3, 31))
+                .build();
+        settlement.setId(UUID.randomUUID());
+        settlement.setTotalOrders(2);
+        settlement.setTotalProductAmount(new BigDecimal("1500.00"));
+        settlement.setTotalPlatformCommission(new BigDecimal("150.00"));
+        settlement.setTotalPartnerEarnings(new BigDecimal("1350.00"));
+
+        SettlementRunPartner runPartner = new SettlementRunPartner();
+        runPartner.setPartner(partner);
+        runPartner.setSettlement(settlement);
+        runPartner.setStatementGenerated(false);
+        return runPartner;
+    }
+}
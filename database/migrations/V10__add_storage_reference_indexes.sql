@@ -0,0 +1,19 @@
+-- ============================================================================
+-- BrandKit Database Schema - Housekeeping (FRD-003)
+-- Lookups used by the orphaned-media sweep and draft listing
+-- ============================================================================
+
+-- Hash indexes: equality-only lookups on long URL columns
+CREATE INDEX IF NOT EXISTS idx_logo_files_file_url ON logo_files USING HASH (file_url);
+CREATE INDEX IF NOT EXISTS idx_customizations_logo_file_url ON customizations USING HASH (logo_file_url);
+CREATE INDEX IF NOT EXISTS idx_customizations_print_image_url ON customizations USING HASH (print_image_url);
+CREATE INDEX IF NOT EXISTS idx_customization_drafts_logo_file_url ON customization_drafts USING HASH (logo_file_url);
+CREATE INDEX IF NOT EXISTS idx_print_renders_print_image_url ON print_renders USING HASH (print_image_url);
+CREATE INDEX IF NOT EXISTS idx_product_images_image_url ON product_images USING HASH (image_url);
+CREATE INDEX IF NOT EXISTS idx_proof_images_image_url ON proof_images USING HASH (image_url);
+
+-- Logo expiry purge checks whether any customization still uses the logo
+CREATE INDEX IF NOT EXISTS idx_customizations_logo_file_id ON customizations(logo_file_id);
+
+-- Draft listing filters expiry in SQL
+CREATE INDEX IF NOT EXISTS idx_customization_drafts_user_expires ON customization_drafts(user_id, expires_at);
@@ -0,0 +1,45 @@
+-- ============================================================================
+-- BrandKit Database Schema - Document Number Allocation (FRD-004, FRD-005)
+-- Sequence-backed order, invoice and settlement numbers
+-- ============================================================================
+-- The V5/V6 triggers computed MAX(suffix) + 1 over a LIKE scan on every insert,
+-- raced on the UNIQUE constraint under concurrent checkouts and capped the
+-- 3-digit suffix at 999 per day. Numbers now come from sequences.
+--
+-- INCREMENT BY 20: the application leases a block of 20 numbers per nextval()
+-- (DocumentNumberAllocator.BLOCK_SIZE must match). Unused numbers in a block
+-- are skipped; numbers are unique but not gap-free.
+-- Suffixes are zero-padded to 6 digits; the 20-character columns leave room
+-- for 8 (orders, settlements) or 11 (invoices) digits.
+
+CREATE SEQUENCE IF NOT EXISTS order_number_seq START WITH 1 INCREMENT BY 20;
+CREATE SEQUENCE IF NOT EXISTS invoice_number_seq START WITH 1 INCREMENT BY 20;
+CREATE SEQUENCE IF NOT EXISTS settlement_number_seq START WITH 1 INCREMENT BY 20;
+
+-- Fallback for rows inserted without a number (e.g. manual SQL); uses a whole block
+CREATE OR REPLACE FUNCTION generate_order_number()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.order_number := 'BK-' || TO_CHAR(CURRENT_DATE, 'YYYYMMDD') || '-' ||
+                        LPAD(nextval('order_number_seq')::TEXT, 6, '0');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION generate_invoice_number()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.invoice_number := 'INV-' || TO_CHAR(CURRENT_DATE, 'YYYY') || '-' ||
+                          LPAD(nextval('invoice_number_seq')::TEXT, 6, '0');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION generate_settlement_number()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.settlement_number := 'SET-' || TO_CHAR(CURRENT_DATE, 'YYYY-MM') || '-' ||
+                             LPAD(nextval('settlement_number_seq')::TEXT, 6, '0');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
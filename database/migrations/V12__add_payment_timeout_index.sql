@@ -0,0 +1,12 @@
+-- ============================================================================
+-- BrandKit Database Schema - Payment Timeout Sweep (FRD-004)
+-- Partial index for the expiry sweeper
+-- ============================================================================
+-- PaymentTimeoutService cancels PENDING_PAYMENT orders whose payment_timeout_at
+-- has passed, oldest first, and reports the backlog and the oldest overdue
+-- timeout. Only unpaid orders are indexed, so the index stays small however
+-- many orders the table holds.
+
+CREATE INDEX IF NOT EXISTS idx_orders_payment_timeout_pending
+    ON orders(payment_timeout_at)
+    WHERE status = 'PENDING_PAYMENT';
@@ -0,0 +1,36 @@
+-- ============================================================================
+-- BrandKit Database Schema - Order Event Outbox (FRD-004)
+-- ============================================================================
+-- Rows are written in the same transaction as the order change, one per
+-- consumer, and delivered by OutboxRelayService. The identity id orders
+-- delivery per (aggregate_id, consumer); next_attempt_at doubles as the
+-- relay lease and the retry backoff.
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    aggregate_id UUID NOT NULL, -- Order ID
+    event_type VARCHAR(50) NOT NULL,
+    consumer VARCHAR(50) NOT NULL,
+    payload TEXT,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING'
+        CHECK (status IN ('PENDING', 'DONE', 'DEAD')),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP WITH TIME ZONE
+);
+
+-- Relay claim: due pending events in id order
+CREATE INDEX IF NOT EXISTS idx_outbox_events_due
+    ON outbox_events(next_attempt_at, id)
+    WHERE status = 'PENDING';
+
+-- Per-order ordering check and lookups by order
+CREATE INDEX IF NOT EXISTS idx_outbox_events_aggregate
+    ON outbox_events(aggregate_id, consumer, id);
+
+-- Retention purge of delivered events
+CREATE INDEX IF NOT EXISTS idx_outbox_events_processed
+    ON outbox_events(processed_at)
+    WHERE status = 'DONE';
@@ -0,0 +1,10 @@
+-- ============================================================================
+-- BrandKit Database Schema - Order Version Column (FRD-004 FR-46)
+-- Optimistic concurrency for order status transitions
+-- ============================================================================
+-- Status changes are applied as UPDATE ... WHERE status = ? AND version = ?
+-- by OrderTransitionService, and the JPA entity carries the same column as
+-- its @Version, so concurrent writers detect each other instead of silently
+-- overwriting. Existing rows start at version 0.
+
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,203 @@
+-- ============================================================================
+-- BrandKit Database Schema - Monthly Partitioning and Archival (FRD-004, FRD-006)
+-- Range-partitions the append-only history tables on created_at
+-- ============================================================================
+-- order_status_history and admin_audit_logs only ever grow: rows are inserted
+-- and never updated. Both are rebuilt as tables partitioned by month on
+-- created_at, so range queries only touch the months they ask for and old
+-- months can be detached into the archive schema instead of deleted row by row.
+--
+-- orders and payments stay unpartitioned. Nine tables reference orders(id) and
+-- refunds references payments(id); a partitioned table can only be referenced
+-- through a key that includes the partition key, which would mean carrying
+-- created_at in every child table. Their dashboard queries are instead written
+-- as plain ranges on created_at so idx_orders_created_at serves them.
+--
+-- PartitionMaintenanceService keeps partitions created ahead of time and
+-- archives expired ones through the two functions below.
+
+CREATE SCHEMA IF NOT EXISTS archive;
+
+-- ============================================================================
+-- PARTITION MAINTENANCE FUNCTIONS
+-- ============================================================================
+
+-- Create the monthly partitions <parent>_pYYYYMM for p_months months starting
+-- at the month of p_from; existing partitions are left alone
+CREATE OR REPLACE FUNCTION create_monthly_partitions(
+    p_parent TEXT,
+    p_from DATE,
+    p_months INTEGER
+)
+RETURNS INTEGER AS $$
+DECLARE
+    v_month DATE := date_trunc('month', p_from)::DATE;
+    v_name TEXT;
+    v_created INTEGER := 0;
+BEGIN
+    FOR i IN 1..p_months LOOP
+        v_name := p_parent || '_p' || to_char(v_month, 'YYYYMM');
+        IF to_regclass('public.' || v_name) IS NULL THEN
+            EXECUTE format(
+                'CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                v_name, p_parent, v_month, (v_month + INTERVAL '1 month')::DATE
+            );
+            v_created := v_created + 1;
+        END IF;
+        v_month := (v_month + INTERVAL '1 month')::DATE;
+    END LOOP;
+    RETURN v_created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Detach every monthly partition of p_parent that ends on or before p_cutoff
+-- and move it to the archive schema; returns the archived partition names
+CREATE OR REPLACE FUNCTION archive_monthly_partitions(
+    p_parent TEXT,
+    p_cutoff DATE
+)
+RETURNS SETOF TEXT AS $$
+DECLARE
+    v_partition RECORD;
+BEGIN
+    FOR v_partition IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        JOIN pg_class p ON p.oid = i.inhparent
+        JOIN pg_namespace n ON n.oid = p.relnamespace
+        WHERE n.nspname = 'public'
+          AND p.relname = p_parent
+          AND c.relname ~ ('^' || p_parent || '_p[0-9]{6}$')
+          AND (to_date(right(c.relname, 6), 'YYYYMM') + INTERVAL '1 month')::DATE <= p_cutoff
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', p_parent, v_partition.relname);
+        EXECUTE format('ALTER TABLE %I SET SCHEMA archive', v_partition.relname);
+        RETURN NEXT v_partition.relname;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- ============================================================================
+-- ORDER_STATUS_HISTORY
+-- ============================================================================
+
+ALTER TABLE order_status_history RENAME TO order_status_history_unpartitioned;
+ALTER TABLE order_status_history_unpartitioned RENAME CONSTRAINT order_status_history_pkey TO order_status_history_unpartitioned_pkey;
+
+CREATE TABLE order_status_history (
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    order_id UUID NOT NULL REFERENCES orders(id) ON DELETE CASCADE,
+    status order_status NOT NULL,
+    description VARCHAR(500),
+    internal_notes TEXT, -- Admin/Partner notes (NEVER exposed to clients)
+    created_by UUID REFERENCES users(id),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE order_status_history_default PARTITION OF order_status_history DEFAULT;
+
+-- Existing months plus three ahead
+SELECT create_monthly_partitions(
+    'order_status_history',
+    COALESCE((SELECT MIN(created_at) FROM order_status_history_unpartitioned), CURRENT_TIMESTAMP)::DATE,
+    (SELECT (EXTRACT(YEAR FROM age(date_trunc('month', CURRENT_TIMESTAMP),
+                date_trunc('month', COALESCE(MIN(created_at), CURRENT_TIMESTAMP)))) * 12
+           + EXTRACT(MONTH FROM age(date_trunc('month', CURRENT_TIMESTAMP),
+                date_trunc('month', COALESCE(MIN(created_at), CURRENT_TIMESTAMP)))))::INTEGER + 4
+     FROM order_status_history_unpartitioned)
+);
+
+INSERT INTO order_status_history (id, order_id, status, description, internal_notes, created_by, created_at)
+SELECT id, order_id, status, description, internal_notes, created_by, created_at
+FROM order_status_history_unpartitioned;
+
+DROP TABLE order_status_history_unpartitioned;
+
+CREATE INDEX idx_order_status_history_order_id ON order_status_history(order_id, created_at);
+CREATE INDEX idx_order_status_history_created_at ON order_status_history(created_at);
+
+ALTER TABLE order_status_history ENABLE ROW LEVEL SECURITY;
+
+CREATE POLICY order_status_history_service_all ON order_status_history
+    FOR ALL
+    USING (current_setting('app.is_service_role', TRUE) = 'true');
+
+CREATE POLICY order_status_history_admin_all ON order_status_history
+    FOR ALL
+    USING (current_setting('app.current_user_type', TRUE) = 'ADMIN');
+
+CREATE POLICY order_status_history_user_view ON order_status_history
+    FOR SELECT
+    USING (
+        EXISTS (
+            SELECT 1 FROM orders
+            WHERE orders.id = order_status_history.order_id
+            AND orders.user_id::TEXT = current_setting('app.current_user_id', TRUE)
+        )
+    );
+
+COMMENT ON TABLE order_status_history IS 'Track order status changes, partitioned by month - FRD-004 FR-46';
+
+-- ============================================================================
+-- ADMIN_AUDIT_LOGS
+-- ============================================================================
+
+ALTER TABLE admin_audit_logs RENAME TO admin_audit_logs_unpartitioned;
+ALTER TABLE admin_audit_logs_unpartitioned RENAME CONSTRAINT admin_audit_logs_pkey TO admin_audit_logs_unpartitioned_pkey;
+
+CREATE TABLE admin_audit_logs (
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    admin_id UUID NOT NULL REFERENCES users(id),
+    action_type VARCHAR(100) NOT NULL,
+    entity_type VARCHAR(50) NOT NULL,
+    entity_id UUID,
+    old_values JSONB,
+    new_values JSONB,
+    ip_address INET,
+    user_agent TEXT,
+    additional_info JSONB,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE admin_audit_logs_default PARTITION OF admin_audit_logs DEFAULT;
+
+SELECT create_monthly_partitions(
+    'admin_audit_logs',
+    COALESCE((SELECT MIN(created_at) FROM admin_audit_logs_unpartitioned), CURRENT_TIMESTAMP)::DATE,
+    (SELECT (EXTRACT(YEAR FROM age(date_trunc('month', CURRENT_TIMESTAMP),
+                date_trunc('month', COALESCE(MIN(created_at), CURRENT_TIMESTAMP)))) * 12
+           + EXTRACT(MONTH FROM age(date_trunc('month', CURRENT_TIMESTAMP),
+                date_trunc('month', COALESCE(MIN(created_at), CURRENT_TIMESTAMP)))))::INTEGER + 4
+     FROM admin_audit_logs_unpartitioned)
+);
+
+INSERT INTO admin_audit_logs (id, admin_id, action_type, entity_type, entity_id, old_values, new_values,
+                              ip_address, user_agent, additional_info, created_at)
+SELECT id, admin_id, action_type, entity_type, entity_id, old_values, new_values,
+       ip_address, user_agent, additional_info, created_at
+FROM admin_audit_logs_unpartitioned;
+
+DROP TABLE admin_audit_logs_unpartitioned;
+
+CREATE INDEX idx_audit_logs_admin ON admin_audit_logs(admin_id);
+CREATE INDEX idx_audit_logs_action ON admin_audit_logs(action_type);
+CREATE INDEX idx_audit_logs_entity ON admin_audit_logs(entity_type, entity_id);
+CREATE INDEX idx_audit_logs_created ON admin_audit_logs(created_at DESC);
+
+ALTER TABLE admin_audit_logs ENABLE ROW LEVEL SECURITY;
+
+CREATE POLICY admin_audit_logs_service_all ON admin_audit_logs
+    FOR ALL
+    USING (current_setting('app.is_service_role', TRUE) = 'true');
+
+CREATE POLICY admin_audit_logs_admin_read ON admin_audit_logs
+    FOR SELECT
+    USING (current_setting('app.current_user_type', TRUE) = 'ADMIN');
+
+COMMENT ON TABLE admin_audit_logs IS 'Immutable audit trail for all admin actions, partitioned by month - FRD-006 FR-75, NFR-129';
@@ -0,0 +1,32 @@
+-- ============================================================================
+-- BrandKit Database Schema - Cart Aggregates (FRD-004 FR-39)
+-- Item count, quantity and subtotals stored on the cart
+-- ============================================================================
+-- CartService adjusts these columns by the difference each mutation makes
+-- (UPDATE carts SET subtotal = subtotal + ?), so add/update/remove responses
+-- and the header badge count no longer reload and re-sum every item.
+-- Multi-item changes rebuild them from cart_items.
+
+ALTER TABLE carts
+    ADD COLUMN IF NOT EXISTS item_count INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS total_quantity INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS subtotal DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS original_subtotal DECIMAL(12, 2) NOT NULL DEFAULT 0; -- Before discounts
+
+-- Backfill existing carts
+UPDATE carts c SET
+    item_count = agg.item_count,
+    total_quantity = agg.total_quantity,
+    subtotal = agg.subtotal,
+    original_subtotal = agg.original_subtotal
+FROM (
+    SELECT ci.cart_id,
+           COUNT(*) AS item_count,
+           SUM(ci.quantity) AS total_quantity,
+           SUM(ci.subtotal) AS subtotal,
+           SUM((p.base_price + COALESCE(ci.customization_fee, 0)) * ci.quantity) AS original_subtotal
+    FROM cart_items ci
+    JOIN products p ON p.id = ci.product_id
+    GROUP BY ci.cart_id
+) agg
+WHERE c.id = agg.cart_id;
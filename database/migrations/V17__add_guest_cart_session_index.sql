@@ -0,0 +1,13 @@
+-- ============================================================================
+-- BrandKit Database Schema - Guest Carts (FRD-004 FR-39)
+-- One saved guest cart per session
+-- ============================================================================
+-- GuestCartService saves a guest cart as a carts row keyed by session_id once
+-- it grows past a few lines. The unique index keeps two concurrent requests of
+-- the same session from saving two carts, and serves the session lookups.
+
+DROP INDEX IF EXISTS idx_carts_session_id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_carts_session_id
+    ON carts(session_id)
+    WHERE user_id IS NULL AND session_id IS NOT NULL;
@@ -0,0 +1,28 @@
+-- ============================================================================
+-- BrandKit Database Schema - Partner Lead Time Totals (FRD-005 FR-63)
+-- Running sums behind average_lead_time_days
+-- ============================================================================
+-- PartnerMetricsAccumulator keeps partner_performance_metrics current between
+-- nightly recalculations by adding the difference each assignment transition
+-- makes. An average cannot be adjusted that way, so the total accept-to-ship
+-- time and the number of orders it covers are stored alongside it.
+
+ALTER TABLE partner_performance_metrics
+    ADD COLUMN IF NOT EXISTS lead_time_seconds BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS lead_time_orders INTEGER NOT NULL DEFAULT 0;
+
+-- Backfill from delivered assignments
+UPDATE partner_performance_metrics m SET
+    lead_time_seconds = agg.lead_time_seconds,
+    lead_time_orders = agg.lead_time_orders
+FROM (
+    SELECT partner_id,
+           SUM(FLOOR(EXTRACT(EPOCH FROM shipped_at - accepted_at))::BIGINT) AS lead_time_seconds,
+           COUNT(*) AS lead_time_orders
+    FROM order_partner_assignments
+    WHERE status = 'DELIVERED' AND accepted_at IS NOT NULL AND shipped_at IS NOT NULL
+    GROUP BY partner_id
+) agg
+WHERE m.partner_id = agg.partner_id;
+
+COMMENT ON COLUMN partner_performance_metrics.lead_time_seconds IS 'Total accept-to-ship seconds over lead_time_orders delivered orders';
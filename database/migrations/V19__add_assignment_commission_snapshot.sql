@@ -0,0 +1,25 @@
+-- ============================================================================
+-- BrandKit Database Schema - Commission Snapshot on Delivery (FRD-005 FR-60, FR-61)
+-- Partner earnings captured when an assignment is delivered
+-- ============================================================================
+-- The pending settlement on the partner settlement dashboard is the sum of
+-- earnings over delivered orders that are not yet in a settlement. Storing each
+-- order's earnings at delivery lets that be one anti-join aggregate instead of
+-- loading every delivered order and recomputing its commission.
+
+ALTER TABLE order_partner_assignments
+    ADD COLUMN IF NOT EXISTS partner_earnings DECIMAL(12, 2); -- Set on delivery (SettlementService.captureCommission)
+
+-- Backfill delivered assignments with the commission they would be settled at today
+UPDATE order_partner_assignments a SET
+    partner_earnings = (o.original_subtotal - COALESCE(o.total_discount, 0))
+        - ROUND((o.original_subtotal - COALESCE(o.total_discount, 0)) * p.commission_rate / 100, 2)
+FROM orders o, partners p
+WHERE o.id = a.order_id
+  AND p.id = a.partner_id
+  AND a.status = 'DELIVERED'
+  AND a.partner_earnings IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_order_partner_delivered
+    ON order_partner_assignments(partner_id, order_id)
+    WHERE status = 'DELIVERED';
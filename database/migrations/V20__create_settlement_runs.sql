@@ -0,0 +1,75 @@
+-- ============================================================================
+-- BrandKit Database Schema - Monthly Settlement Runs (FRD-005 FR-61)
+-- ============================================================================
+-- SettlementRunService settles each month on the 5th of the next one. A run
+-- has one row per partner with unsettled delivered orders; each partner is
+-- settled in keyset chunks of orders, and every chunk commits its
+-- settlement_orders rows, the settlement totals and the partner's checkpoint
+-- (last_order_id) together. A run that dies is resumed from the checkpoints
+-- once its lease expires; the unique indexes below keep a retried chunk from
+-- settling an order twice or opening a second settlement for the period.
+
+CREATE TABLE IF NOT EXISTS settlement_runs (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    period_start DATE NOT NULL UNIQUE,
+    period_end DATE NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING'
+        CHECK (status IN ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED')),
+    lease_until TIMESTAMP WITH TIME ZONE, -- Held by the instance running it
+    partners_total INTEGER NOT NULL DEFAULT 0,
+    partners_done INTEGER NOT NULL DEFAULT 0,
+    partners_failed INTEGER NOT NULL DEFAULT 0,
+    orders_settled INTEGER NOT NULL DEFAULT 0,
+    started_at TIMESTAMP WITH TIME ZONE,
+    completed_at TIMESTAMP WITH TIME ZONE,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS settlement_run_partners (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    run_id UUID NOT NULL REFERENCES settlement_runs(id) ON DELETE CASCADE,
+    partner_id UUID NOT NULL REFERENCES partners(id) ON DELETE CASCADE,
+    settlement_id UUID REFERENCES settlements(id) ON DELETE SET NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING'
+        CHECK (status IN ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED')),
+    last_order_id UUID, -- Keyset checkpoint: orders up to here are settled
+    orders_settled INTEGER NOT NULL DEFAULT 0,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    statement_generated BOOLEAN NOT NULL DEFAULT FALSE,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT unique_settlement_run_partner UNIQUE (run_id, partner_id)
+);
+
+-- Partners still to settle in a run
+CREATE INDEX IF NOT EXISTS idx_settlement_run_partners_open
+    ON settlement_run_partners(run_id)
+    WHERE status <> 'COMPLETED';
+
+-- Settled partners still waiting for their statement
+CREATE INDEX IF NOT EXISTS idx_settlement_run_partners_statement
+    ON settlement_run_partners(run_id)
+    WHERE status = 'COMPLETED' AND statement_generated = FALSE;
+
+-- One settlement per partner and period
+CREATE UNIQUE INDEX IF NOT EXISTS unique_settlement_partner_period
+    ON settlements(partner_id, period_start);
+
+-- An order is settled at most once
+DROP INDEX IF EXISTS idx_settlement_orders_order_id;
+CREATE UNIQUE INDEX IF NOT EXISTS idx_settlement_orders_order_id ON settlement_orders(order_id);
+
+CREATE TRIGGER trg_settlement_runs_updated_at
+    BEFORE UPDATE ON settlement_runs
+    FOR EACH ROW
+    EXECUTE FUNCTION update_updated_at_column();
+
+CREATE TRIGGER trg_settlement_run_partners_updated_at
+    BEFORE UPDATE ON settlement_run_partners
+    FOR EACH ROW
+    EXECUTE FUNCTION update_updated_at_column();
+
+COMMENT ON TABLE settlement_runs IS 'Monthly settlement runs - FRD-005 FR-61';
+COMMENT ON TABLE settlement_run_partners IS 'Per-partner progress and checkpoint of a settlement run - FRD-005 FR-61';
@@ -0,0 +1,14 @@
+-- ============================================================================
+-- BrandKit Database Schema - Housekeeping (FRD-003)
+-- Remaining URL columns checked by the orphaned-media sweep
+-- ============================================================================
+
+-- Hash indexes: equality-only lookups on long URL columns
+CREATE INDEX IF NOT EXISTS idx_order_items_product_image_url ON order_items USING HASH (product_image_url);
+CREATE INDEX IF NOT EXISTS idx_order_items_preview_image_url ON order_items USING HASH (preview_image_url);
+CREATE INDEX IF NOT EXISTS idx_order_items_print_ready_image_url ON order_items USING HASH (print_ready_image_url);
+CREATE INDEX IF NOT EXISTS idx_orders_invoice_url ON orders USING HASH (invoice_url);
+CREATE INDEX IF NOT EXISTS idx_settlements_statement_url ON settlements USING HASH (statement_url);
+CREATE INDEX IF NOT EXISTS idx_categories_image_url ON categories USING HASH (image_url);
+CREATE INDEX IF NOT EXISTS idx_users_profile_picture_url ON users USING HASH (profile_picture_url);
+CREATE INDEX IF NOT EXISTS idx_partners_profile_picture_url ON partners USING HASH (profile_picture_url);
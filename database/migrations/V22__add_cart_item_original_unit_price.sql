@@ -0,0 +1,13 @@
+-- ============================================================================
+-- BrandKit Database Schema - Cart (FRD-004)
+-- Base price captured when a cart line is priced, so the original subtotal
+-- aggregate is not skewed when the product's base price changes later
+-- ============================================================================
+
+ALTER TABLE cart_items ADD COLUMN IF NOT EXISTS original_unit_price DECIMAL(10, 2);
+
+UPDATE cart_items ci
+SET original_unit_price = p.base_price
+FROM products p
+WHERE p.id = ci.product_id
+  AND ci.original_unit_price IS NULL;
@@ -0,0 +1,8 @@
+-- ============================================================================
+-- BrandKit Database Schema - Render cache (FRD-003 Sub-Prompt 4)
+-- Renders used to be recorded under a placeholder URL without the file ever
+-- being uploaded; drop those rows so the next request renders and stores it
+-- ============================================================================
+
+DELETE FROM print_renders
+WHERE print_image_url LIKE 'https://s3.brandkit.com/prints/%';
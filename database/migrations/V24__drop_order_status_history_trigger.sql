@@ -0,0 +1,10 @@
+-- ============================================================================
+-- BrandKit Database Schema - Order status timeline (FRD-004)
+-- The application writes order_status_history itself, with the actor and reason
+-- of each change: OrderTransitionService for single and bulk transitions, the
+-- payment-timeout sweep and checkout for the initial row. The V5 trigger added a
+-- second, generic row for every status update on top of those.
+-- ============================================================================
+
+DROP TRIGGER IF EXISTS trg_orders_track_status ON orders;
+DROP FUNCTION IF EXISTS track_order_status_change();
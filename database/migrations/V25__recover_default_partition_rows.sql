@@ -0,0 +1,83 @@
+-- ============================================================================
+-- BrandKit Database Schema - Default partition recovery (FRD-004, FRD-006)
+-- ============================================================================
+-- Rows for a month without a partition land in <parent>_default. Creating that
+-- month's partition afterwards fails, because PostgreSQL refuses a new partition
+-- whose range still has rows in the default partition, so a missed maintenance
+-- run used to wedge the table for good.
+--
+-- create_monthly_partitions now detaches the default partition, creates the
+-- month, moves its rows out of the default and reattaches it, all in the
+-- caller's transaction. partition_default_rows does that for every month found
+-- in the default partition, including months behind the maintenance window.
+
+CREATE OR REPLACE FUNCTION create_monthly_partitions(
+    p_parent TEXT,
+    p_from DATE,
+    p_months INTEGER
+)
+RETURNS INTEGER AS $$
+DECLARE
+    v_month DATE := date_trunc('month', p_from)::DATE;
+    v_next DATE;
+    v_name TEXT;
+    v_default TEXT := p_parent || '_default';
+    v_stuck BOOLEAN;
+    v_created INTEGER := 0;
+BEGIN
+    FOR i IN 1..p_months LOOP
+        v_next := (v_month + INTERVAL '1 month')::DATE;
+        v_name := p_parent || '_p' || to_char(v_month, 'YYYYMM');
+        IF to_regclass('public.' || v_name) IS NULL THEN
+            EXECUTE format(
+                'SELECT EXISTS (SELECT 1 FROM %I WHERE created_at >= %L AND created_at < %L)',
+                v_default, v_month, v_next
+            ) INTO v_stuck;
+
+            IF v_stuck THEN
+                EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', p_parent, v_default);
+            END IF;
+
+            EXECUTE format(
+                'CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                v_name, p_parent, v_month, v_next
+            );
+
+            IF v_stuck THEN
+                EXECUTE format(
+                    'WITH moved AS (DELETE FROM %I WHERE created_at >= %L AND created_at < %L RETURNING *) ' ||
+                    'INSERT INTO %I SELECT * FROM moved',
+                    v_default, v_month, v_next, v_name
+                );
+                EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I DEFAULT', p_parent, v_default);
+            END IF;
+
+            v_created := v_created + 1;
+        END IF;
+        v_month := v_next;
+    END LOOP;
+    RETURN v_created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Create the partition of every month that has rows in <parent>_default and
+-- move those rows into it; returns the number of partitions created
+CREATE OR REPLACE FUNCTION partition_default_rows(p_parent TEXT)
+RETURNS INTEGER AS $$
+DECLARE
+    v_month DATE;
+    v_created INTEGER := 0;
+BEGIN
+    FOR v_month IN EXECUTE format(
+        'SELECT DISTINCT date_trunc(''month'', created_at)::DATE FROM %I ORDER BY 1',
+        p_parent || '_default'
+    ) LOOP
+        v_created := v_created + create_monthly_partitions(p_parent, v_month, 1);
+    END LOOP;
+    RETURN v_created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Recover anything that fell into the default partitions before this migration
+SELECT partition_default_rows('order_status_history');
+SELECT partition_default_rows('admin_audit_logs');
@@ -0,0 +1,38 @@
+-- ============================================================================
+-- BrandKit Database Schema - Content Hashing and Render Cache (FRD-003)
+-- Content-addressed deduplication of uploaded images and rendered prints
+-- ============================================================================
+
+-- ============================================================================
+-- CONTENT DIGESTS
+-- SHA-256 hex of the original file bytes
+-- ============================================================================
+
+ALTER TABLE logo_files ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+ALTER TABLE product_images ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+
+-- Deduplication lookup: same user uploading identical bytes
+CREATE INDEX idx_logo_files_user_content_hash ON logo_files(user_id, content_hash) WHERE content_hash IS NOT NULL;
+
+-- ============================================================================
+-- PRINT_RENDERS TABLE
+-- Durable tier of the render cache; key = SHA-256 of
+-- (logo digest, product image digest, crop data, DPI)
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS print_renders (
+    render_key VARCHAR(64) PRIMARY KEY,
+    logo_hash VARCHAR(64) NOT NULL,
+    product_image_hash VARCHAR(64) NOT NULL,
+    dpi INTEGER NOT NULL,
+    print_image_url TEXT NOT NULL,
+    file_size_bytes BIGINT,
+    hit_count BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_accessed_at TIMESTAMP
+);
+
+CREATE INDEX idx_print_renders_logo_hash ON print_renders(logo_hash);
+CREATE INDEX idx_print_renders_last_accessed ON print_renders(last_accessed_at);
+
+COMMENT ON TABLE print_renders IS 'Content-addressed cache of high-res print renders - FRD-003 Sub-Prompt 4';
@@ -0,0 +1,15 @@
+-- ============================================================================
+-- BrandKit Database Schema - Logo Validation (FRD-003)
+-- Server-side logo ingestion and asynchronous validation
+-- ============================================================================
+
+ALTER TABLE logo_files ADD COLUMN IF NOT EXISTS dpi INTEGER;
+ALTER TABLE logo_files ADD COLUMN IF NOT EXISTS validation_status VARCHAR(20) DEFAULT 'pending'; -- pending, processing, validated, rejected
+ALTER TABLE logo_files ADD COLUMN IF NOT EXISTS validation_error VARCHAR(500);
+
+-- Existing rows: keep whatever the validated flag already says
+UPDATE logo_files SET validation_status = 'validated' WHERE is_validated = TRUE;
+
+-- Sweep for logos whose validation never completed
+CREATE INDEX idx_logo_files_validation_pending ON logo_files(created_at)
+    WHERE validation_status IN ('pending', 'processing');